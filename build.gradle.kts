@@ -28,6 +28,12 @@ javafx {
     modules = listOf("javafx.controls", "javafx.graphics")
 }
 
+// JMH 벤치마크 전용 소스셋(src/jmh/java). main 클래스/리소스를 그대로 쓴다.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets["main"].runtimeClasspath
+}
+
 dependencies {
 
     implementation ("com.fasterxml.jackson.core:jackson-databind:2.17.1")
@@ -40,6 +46,9 @@ dependencies {
 
     testCompileOnly("org.projectlombok:lombok:1.18.32")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.32")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 
@@ -50,3 +59,110 @@ tasks.test {
 tasks.withType<JavaCompile>().configureEach {
     options.encoding = "UTF-8"
 }
+
+// 정의 데이터 검증 + 바이너리 스냅샷(gamedata.bin). DataLoader가 실행 시 JSON 대신 읽는다.
+// 원본 json이 바뀌면 스냅샷은 자동으로 무시되므로(fingerprint) 다시 만들기만 하면 된다.
+// 예: gradle gameDataSnapshot -Psnapshot.strict  (검증 경고가 있으면 실패)
+val gameDataSnapshotDir = layout.buildDirectory.dir("generated/gamedata")
+val gameDataSnapshot = tasks.register<JavaExec>("gameDataSnapshot") {
+    group = "build"
+    description = "Validates the json definitions and writes build/generated/gamedata/gamedata.bin"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("desia.loader.GameDataSnapshot")
+    val out = gameDataSnapshotDir.get().file("gamedata.bin").asFile
+    args(out.absolutePath)
+    if (project.hasProperty("snapshot.strict")) args("--strict")
+    inputs.files(sourceSets["main"].runtimeClasspath)
+    outputs.file(out)
+}
+
+tasks.jar {
+    from(gameDataSnapshot)
+}
+
+// 지표 덤프(desia.metrics.MetricsReporter). 예: gradle balanceSweep -Pmetrics.dump=build/metrics.json
+fun JavaExec.metricsDump() {
+    (project.findProperty("metrics.dump") as String?)?.let { systemProperty("desia.metrics.dump", it) }
+    (project.findProperty("metrics.interval") as String?)?.let { systemProperty("desia.metrics.interval", it) }
+}
+
+// 이벤트 기록(desia.event.EventTaps). 예: gradle sessionHost -Pevents.log=build/events.devt -Pevents.counters
+fun JavaExec.eventTaps() {
+    (project.findProperty("events.log") as String?)?.let { systemProperty("desia.events.log", it) }
+    if (project.hasProperty("events.counters")) systemProperty("desia.events.counters", "true")
+}
+
+tasks.named<JavaExec>("run") {
+    classpath += files(gameDataSnapshotDir).builtBy(gameDataSnapshot)
+    metricsDump()
+    eventTaps()
+}
+
+// 몬테카를로 밸런스 스윕(헤드리스 전투). 예: gradle balanceSweep --args="--fights=500 --step=5"
+tasks.register<JavaExec>("balanceSweep") {
+    group = "balance"
+    description = "Simulates every (class, level, enemy, level) cell and writes build/balance/balance.{csv,json}"
+    classpath = sourceSets["main"].runtimeClasspath + files(gameDataSnapshotDir).builtBy(gameDataSnapshot)
+    mainClass.set("desia.sim.BalanceRunner")
+    workingDir = rootDir
+    metricsDump()
+    eventTaps()
+}
+
+// 여러 플레이어 세션 호스트. 예: gradle sessionHost --args="--port=7777 --idle-seconds=300"
+tasks.register<JavaExec>("sessionHost") {
+    group = "application"
+    description = "Runs many game sessions in one JVM over a line protocol (stdin/stdout or a loopback port)"
+    classpath = sourceSets["main"].runtimeClasspath + files(gameDataSnapshotDir).builtBy(gameDataSnapshot)
+    mainClass.set("desia.host.SessionHost")
+    workingDir = rootDir
+    standardInput = System.`in`
+    metricsDump()
+    eventTaps()
+}
+
+// JMH 벤치마크. 예: gradle jmh -Pjmh.include=DamageBenchmark
+val jmhResults = layout.buildDirectory.file("jmh/results.json")
+val jmhBaselineFile = layout.projectDirectory.file("src/jmh/baseline.json")
+val jmhBudgetsFile = layout.projectDirectory.file("src/jmh/budgets.json")
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks in src/jmh and writes build/jmh/results.json"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    workingDir = rootDir
+    val out = jmhResults.get().asFile
+    args("-rf", "json", "-rff", out.absolutePath)
+    (project.findProperty("jmh.include") as String?)?.let { args(it) }
+    doFirst { out.parentFile.mkdirs() }
+}
+
+// 결과를 기준선과 비교해 회귀가 있거나 기준선에 없는 벤치마크가 있으면 실패.
+// 회귀 = 허용치(기본 10%)를 넘게 나빠졌고 두 결과의 오차 구간(score ± scoreError)이 겹치지 않는 것.
+// 이 VM 은 같은 코드도 실행마다 2배 가까이 흔들리고 오차가 ±30% 를 넘기도 한다: 구간이 겹치면 noise 로만 표시한다.
+// 기준선과 별개로 src/jmh/budgets.json 의 절대 상한(예: 5:5 전투 2.5ms)을 넘어도 실패.
+// 예: gradle jmhCompare -Pjmh.threshold=15 (새 벤치마크를 추가하는 중이면 -Pjmh.allowNew)
+tasks.register<JavaExec>("jmhCompare") {
+    group = "benchmark"
+    description = "Compares build/jmh/results.json with src/jmh/baseline.json"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("desia.bench.JmhCompare")
+    workingDir = rootDir
+    args(
+        jmhBaselineFile.asFile.absolutePath,
+        jmhResults.get().asFile.absolutePath,
+        (project.findProperty("jmh.threshold") as String?) ?: "10",
+        "--budgets=" + jmhBudgetsFile.asFile.absolutePath
+    )
+    if (project.hasProperty("jmh.allowNew")) args("--allow-new")
+}
+
+// 현재 결과를 기준선으로 저장(커밋해서 공유)
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Copies build/jmh/results.json to src/jmh/baseline.json"
+    from(jmhResults)
+    into(jmhBaselineFile.asFile.parentFile)
+    rename { "baseline.json" }
+}
@@ -0,0 +1,59 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.bench.BenchData;
+import desia.loader.GameData;
+import desia.progress.GameSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncounterEngine 다대다 전투 1회(세션/적 생성 포함). size = 한쪽 인원.
+ * 5:5 는 1회 2.5ms(= 2000회 5초) 안쪽이어야 한다. 벽시계 단언 대신 src/jmh/budgets.json 의 절대 상한으로
+ * jmhCompare 가 지킨다(기준선 대비 회귀 검사와 별개).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncounterBenchmark {
+
+    @Param({"1", "5"})
+    public int size;
+
+    private GameData data;
+    private List<String> enemyNames;
+    private EncounterEngine engine;
+    private final BattleStats stats = new BattleStats();
+    private long seed;
+
+    @Setup
+    public void setup() {
+        data = BenchData.data();
+        enemyNames = new ArrayList<>(new TreeSet<>(data.enemies().keySet()));
+        engine = new EncounterEngine(new Random(1), 200, data.compiledSkills());
+    }
+
+    @Benchmark
+    public BattleOutcome fight() {
+        long s = seed++;
+        List<GameSession> party = new ArrayList<>(size);
+        List<PlayerPolicy> policies = new ArrayList<>(size);
+        List<EnemyInstance> enemies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            party.add(BenchData.session(20, s + i));
+            policies.add(PlayerPolicy.firstAffordableSkill());
+            String name = enemyNames.get((int) ((s * 7 + i * 13) % enemyNames.size()));
+            enemies.add(new EnemyInstance(data.enemies().get(name), 20));
+        }
+        engine.reseed(s);
+        return engine.fight(party, policies, enemies, null, null, stats);
+    }
+}
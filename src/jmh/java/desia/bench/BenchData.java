@@ -0,0 +1,42 @@
+package desia.bench;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+
+import java.util.TreeSet;
+
+/**
+ * 벤치마크 공용 데이터. 실제 리소스(json)를 JVM당 한 번만 읽는다.
+ */
+public final class BenchData {
+
+    private BenchData() {}
+
+    private static GameData data;
+
+    public static synchronized GameData data() {
+        if (data == null) data = new DataLoader().loadAll();
+        return data;
+    }
+
+    /** playables.json 첫 직업으로 만든 시드 고정 세션. */
+    public static GameSession session(int level, long seed) {
+        GameData d = data();
+        Player p = d.playables().get(0);
+        GameSession s = GameSession.newSession(d, p, "bench", new GameRng(seed));
+        s.setLevel(level);
+        s.refreshKnownSkills();
+        return s;
+    }
+
+    /** 이름순 첫 적을 해당 레벨로 만든다(GameData 맵은 순서가 없으니 실행마다 같은 적이 되도록). */
+    public static EnemyInstance enemy(int level) {
+        Enemy e = data().enemies().get(new TreeSet<>(data().enemies().keySet()).first());
+        return new EnemyInstance(e, level);
+    }
+}
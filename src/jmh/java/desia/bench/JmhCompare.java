@@ -0,0 +1,176 @@
+package desia.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH JSON 결과를 기준선과 비교한다(gradle jmhCompare).
+ *
+ * 사용: JmhCompare <baseline.json> <results.json> [허용 %, 기본 10] [--allow-new] [--budgets=<budgets.json>]
+ * - avgt/sample/ss 는 작을수록, thrpt 는 클수록 좋은 것으로 본다.
+ * - 회귀 = 허용치를 넘게 나빠졌고, 두 결과의 오차 구간(score ± primaryMetric.scoreError, 99.9%)이 겹치지 않는 것.
+ *   이 VM 에서는 같은 코드도 실행마다 오차가 ±30% 를 넘기도 해서 허용치만 보면 잡음을 회귀로 잡는다.
+ *   허용치는 넘었지만 구간이 겹치면 "noise" 로 표시만 한다. scoreError 가 없으면(반복 1회) 허용치만 본다.
+ * - 회귀가 하나라도 있으면 종료 코드 1.
+ * - 기준선에 없는 벤치마크(NEW)도 비교하지 못한 것이므로 종료 코드 1. 새 벤치마크를 추가하는 중이면
+ *   --allow-new(gradle jmhCompare -Pjmh.allowNew)로 경고만 하고 통과시킨 뒤, jmhBaseline 으로 기준선을 갱신해 커밋한다.
+ * - 기준선과 별개로 절대 상한(budgets.json)을 넘는 벤치마크가 있으면 종료 코드 1. 기준선이 느려진 채 갱신돼도 상한은 남는다.
+ *   형식: {"벤치마크명 param=value,...": {"max": 2500, "unit": "us/op"}}. score(평균)를 본다. 결과에 없는 항목은 건너뛴다.
+ */
+public final class JmhCompare {
+
+    private JmhCompare() {}
+
+    public static void main(String[] args) throws Exception {
+        boolean allowNew = false;
+        File budgetFile = null;
+        List<String> pos = new ArrayList<>();
+        for (String a : args) {
+            if ("--allow-new".equals(a)) allowNew = true;
+            else if (a.startsWith("--budgets=")) budgetFile = new File(a.substring("--budgets=".length()));
+            else pos.add(a);
+        }
+        if (pos.size() < 2) {
+            System.out.println("사용법: JmhCompare <baseline.json> <results.json> [threshold%] [--allow-new] [--budgets=<file>]");
+            System.exit(2);
+        }
+        File baseFile = new File(pos.get(0));
+        File curFile = new File(pos.get(1));
+        double threshold = (pos.size() > 2) ? Double.parseDouble(pos.get(2)) : 10.0;
+
+        if (!curFile.isFile()) {
+            System.out.println("[jmh] 결과 파일이 없습니다. 먼저 gradle jmh 를 실행하세요: " + curFile);
+            System.exit(2);
+        }
+
+        ObjectMapper om = new ObjectMapper();
+        Map<String, JsonNode> base = baseFile.isFile() ? index(om.readTree(baseFile)) : Map.of();
+        Map<String, JsonNode> cur = index(om.readTree(curFile));
+
+        if (base.isEmpty()) {
+            System.out.println("[jmh] 기준선이 비어 있습니다. gradle jmhBaseline 으로 만든 뒤 커밋하세요: " + baseFile);
+        }
+
+        int regressions = 0, noisy = 0, missing = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> e : cur.entrySet()) {
+            JsonNode c = e.getValue();
+            double cs = c.path("primaryMetric").path("score").asDouble();
+            String unit = c.path("primaryMetric").path("scoreUnit").asText("");
+
+            JsonNode b = base.get(e.getKey());
+            if (b == null) {
+                missing++;
+                System.out.printf("%-70s %14s %14.3f %9s  %s  <-- NO BASELINE%n", e.getKey(), "-", cs, "NEW", unit);
+                continue;
+            }
+            double bs = b.path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(c.path("mode").asText());
+            // 양수 = 나빠짐(%)
+            double worse = (bs == 0) ? 0 : (higherIsBetter ? (bs - cs) / bs : (cs - bs) / bs) * 100.0;
+            boolean overThreshold = worse > threshold;
+            boolean overlap = overlaps(bs, error(b), cs, error(c));
+            boolean regressed = overThreshold && !overlap;
+            if (regressed) regressions++;
+            else if (overThreshold) noisy++;
+
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    e.getKey(), bs, cs, -worse, unit,
+                    regressed ? "  <-- REGRESSION" : overThreshold ? "  (noise: 오차 구간이 겹침)" : "");
+        }
+
+        int overBudget = (budgetFile != null && budgetFile.isFile()) ? checkBudgets(om.readTree(budgetFile), cur) : 0;
+
+        if (missing > 0) {
+            System.out.println("\n[jmh] !!! 기준선에 없는 벤치마크 " + missing + "건: 회귀 여부를 알 수 없습니다."
+                    + " gradle jmhBaseline 으로 기준선을 갱신해 커밋하세요.");
+        }
+        if (noisy > 0) {
+            System.out.println("\n[jmh] 허용치는 넘었지만 오차 구간이 겹치는 벤치마크 " + noisy + "건(회귀로 보지 않음)");
+        }
+        if (regressions > 0) {
+            System.out.println("\n[jmh] 허용치(" + threshold + "%)를 넘고 오차 구간이 겹치지 않는 회귀 " + regressions + "건");
+        }
+        if (overBudget > 0) {
+            System.out.println("\n[jmh] 절대 상한(" + budgetFile.getName() + ")을 넘은 벤치마크 " + overBudget + "건");
+        }
+        if (regressions > 0 || overBudget > 0) System.exit(1);
+        if (missing > 0 && !allowNew) {
+            System.out.println("[jmh] 실패(새 벤치마크를 추가하는 중이면 -Pjmh.allowNew)");
+            System.exit(1);
+        }
+        System.out.println("\n[jmh] 회귀 없음(허용치 " + threshold + "%)" + (missing > 0 ? ", 기준선 없음 " + missing + "건" : ""));
+    }
+
+    // 상한을 넘은 수. 단위가 다르면 비교할 수 없으므로 넘은 것으로 센다
+    private static int checkBudgets(JsonNode budgets, Map<String, JsonNode> cur) {
+        Map<String, JsonNode> byBudgetKey = new LinkedHashMap<>();
+        for (JsonNode n : cur.values()) byBudgetKey.put(budgetKey(n), n);
+
+        int over = 0;
+        System.out.printf("%n%-70s %14s %14s%n", "budget", "max", "current");
+        for (Map.Entry<String, JsonNode> e : budgets.properties()) {
+            JsonNode c = byBudgetKey.get(e.getKey());
+            if (c == null) continue;
+            double max = e.getValue().path("max").asDouble();
+            String unit = e.getValue().path("unit").asText("");
+            double cs = c.path("primaryMetric").path("score").asDouble();
+            String cunit = c.path("primaryMetric").path("scoreUnit").asText("");
+
+            String mark = "";
+            if (!unit.equals(cunit)) {
+                over++;
+                mark = "  <-- UNIT MISMATCH (" + unit + ")";
+            } else if (cs > max) {
+                over++;
+                mark = "  <-- OVER BUDGET";
+            }
+            System.out.printf("%-70s %14.3f %14.3f  %s%s%n", e.getKey(), max, cs, cunit, mark);
+        }
+        return over;
+    }
+
+    // "벤치마크명 param=value,..." (파라미터가 없으면 이름만)
+    private static String budgetKey(JsonNode n) {
+        StringBuilder sb = new StringBuilder(n.path("benchmark").asText());
+        JsonNode params = n.get("params");
+        if (params != null && params.size() > 0) {
+            String sep = " ";
+            for (Map.Entry<String, JsonNode> p : params.properties()) {
+                sb.append(sep).append(p.getKey()).append('=').append(p.getValue().asText());
+                sep = ",";
+            }
+        }
+        return sb.toString();
+    }
+
+    // primaryMetric.scoreError(없거나 NaN 이면 0: 구간 없이 점수만 비교)
+    private static double error(JsonNode n) {
+        double e = n.path("primaryMetric").path("scoreError").asDouble(0);
+        return (Double.isNaN(e) || Double.isInfinite(e)) ? 0 : Math.abs(e);
+    }
+
+    // [a - ea, a + ea] 와 [b - eb, b + eb] 가 겹치는지
+    static boolean overlaps(double a, double ea, double b, double eb) {
+        return Math.abs(a - b) <= ea + eb;
+    }
+
+    // "벤치마크명 {param=value,...}" -> 결과 노드
+    private static Map<String, JsonNode> index(JsonNode root) {
+        Map<String, JsonNode> out = new LinkedHashMap<>();
+        if (root == null || !root.isArray()) return out;
+        for (JsonNode n : root) {
+            String key = n.path("benchmark").asText();
+            JsonNode params = n.get("params");
+            if (params != null && params.size() > 0) key += " " + params;
+            out.put(key, n);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,53 @@
+package desia.combat;
+
+import desia.Character.EnemyInstance;
+import desia.bench.BenchData;
+import desia.progress.GameSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DamageEngine.deal / ShieldCarrier.absorbDamage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DamageBenchmark {
+
+    private GameSession player;
+    private EnemyInstance enemy;
+
+    @Setup
+    public void setup() {
+        player = BenchData.session(20, 1);
+        enemy = BenchData.enemy(20);
+    }
+
+    @Benchmark
+    public double dealPhysical() {
+        enemy.setHp(enemy.getMaxHp());
+        return DamageEngine.deal(player, enemy, player.getAtk(), DamageType.PHYSICAL, 1);
+    }
+
+    @Benchmark
+    public double dealMagicMultiHit() {
+        enemy.setHp(enemy.getMaxHp());
+        return DamageEngine.deal(player, enemy, player.getMagic(), DamageType.MAGIC, 3);
+    }
+
+    @Benchmark
+    public double absorbDamagePartial() {
+        enemy.setShield(10);
+        return enemy.absorbDamage(25);
+    }
+
+    @Benchmark
+    public double absorbDamageNoShield() {
+        enemy.setShield(0);
+        return enemy.absorbDamage(25);
+    }
+}
@@ -0,0 +1,49 @@
+package desia.equipment;
+
+import desia.bench.BenchData;
+import desia.progress.GameSession;
+import desia.progress.RngStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EquipmentDropService.rollOptions(일반 3지선다 / 드래곤 세트 강제) + 상점 장비 진열.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DropBenchmark {
+
+    @Param({"1", "4"})
+    public int chapter;
+
+    private GameSession session;
+    private EquipmentDropService drops;
+
+    @Setup
+    public void setup() {
+        session = BenchData.session(30, 1);
+        session.setChapter(chapter);
+        drops = new EquipmentDropService(null); // rollOptions는 Io를 쓰지 않는다
+    }
+
+    @Benchmark
+    public List<?> rollThree() {
+        return drops.rollOptions(session, 3, null);
+    }
+
+    @Benchmark
+    public List<?> rollDragonSet() {
+        return drops.rollOptions(session, 3, "드래곤");
+    }
+
+    @Benchmark
+    public List<?> rollShopStock() {
+        return session.lootTables().rollShop(session.rng(RngStream.SHOP), chapter, 5);
+    }
+}
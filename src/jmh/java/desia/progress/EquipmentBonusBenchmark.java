@@ -0,0 +1,84 @@
+package desia.progress;
+
+import desia.bench.BenchData;
+import desia.item.EquipmentDef;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameSession.recalcEquipmentBonuses(빈 슬롯 / 세트 부위를 최대한 채운 상태)
+ * + 한 슬롯만 바꾸는 증분 경로(setEquippedSlot).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EquipmentBonusBenchmark {
+
+    private GameSession empty;
+    private GameSession geared;
+    private String swapSlot;
+    private String swapA;
+    private String swapB;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        empty = BenchData.session(30, 1);
+        geared = BenchData.session(30, 1);
+
+        // 슬롯 이름이 맞는 장비를 하나씩 채운다(이름순으로 슬롯별 첫 장비, 실행마다 같은 조합).
+        Map<String, String> equip = new HashMap<>();
+        for (EquipmentDef d : new TreeMap<>(geared.equipmentsView()).values()) {
+            String slot = slotKey(d.getSlot());
+            if (slot != null) equip.putIfAbsent(slot, d.getName());
+        }
+        geared.setEquipped(equip);
+
+        // 장착된 장비 하나를 빼고 끼기를 반복한다
+        swapSlot = GameSession.SLOT_HELMET;
+        swapA = geared.equippedItem(swapSlot);
+        swapB = null;
+    }
+
+    // EquipmentService의 슬롯 매핑과 동일(양손 무기는 방패와 같이 들 수 없으니 제외)
+    private static String slotKey(String slot) {
+        if (slot == null) return null;
+        return switch (slot) {
+            case "투구" -> GameSession.SLOT_HELMET;
+            case "흉갑" -> GameSession.SLOT_CHEST;
+            case "각반" -> GameSession.SLOT_LEGS;
+            case "부츠" -> GameSession.SLOT_BOOTS;
+            case "망토" -> GameSession.SLOT_CLOAK;
+            case "반지" -> GameSession.SLOT_RING1;
+            case "한손 무기" -> GameSession.SLOT_WEAPON1;
+            case "방패" -> GameSession.SLOT_WEAPON2;
+            default -> null;
+        };
+    }
+
+    @Benchmark
+    public double recalcEmpty() {
+        empty.recalcEquipmentBonuses();
+        return empty.getMaxHp();
+    }
+
+    @Benchmark
+    public double recalcGeared() {
+        geared.recalcEquipmentBonuses();
+        return geared.getMaxHp();
+    }
+
+    @Benchmark
+    public double swapOneSlot() {
+        flip = !flip;
+        geared.setEquippedSlot(swapSlot, flip ? swapB : swapA);
+        return geared.getMaxHp();
+    }
+}
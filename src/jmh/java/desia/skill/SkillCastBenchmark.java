@@ -0,0 +1,67 @@
+package desia.skill;
+
+import desia.Character.EnemyInstance;
+import desia.bench.BenchData;
+import desia.loader.GameData;
+import desia.progress.GameSession;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * skills.json 의 모든 스킬을 1회씩 시전(MP 비용 0으로 고정해 전부 끝까지 평가).
+ * 점수는 "전체 스킬 1바퀴" 기준이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillCastBenchmark {
+
+    private String[] names;
+    private SkillDef[] defs;
+    private SkillEngine precompiled;
+    private SkillEngine lazy;
+    private GameSession caster;
+    private EnemyInstance target;
+
+    @Setup
+    public void setup() {
+        GameData d = BenchData.data();
+        Map<String, SkillDef> skills = d.skills();
+        names = skills.keySet().toArray(new String[0]);
+        defs = new SkillDef[names.length];
+        for (int i = 0; i < names.length; i++) defs[i] = skills.get(names[i]);
+
+        precompiled = new SkillEngine(new Random(1), d.compiledSkills());
+        lazy = new SkillEngine(new Random(1));
+        caster = BenchData.session(30, 1);
+        target = BenchData.enemy(30);
+    }
+
+    @Benchmark
+    public void castAllPrecompiled(Blackhole bh) {
+        castAll(precompiled, bh);
+    }
+
+    // GameData 없이 SkillDef만 가진 호출부(첫 시전 때 컴파일 후 캐시)
+    @Benchmark
+    public void castAllLazyCache(Blackhole bh) {
+        castAll(lazy, bh);
+    }
+
+    private void castAll(SkillEngine engine, Blackhole bh) {
+        for (int i = 0; i < names.length; i++) {
+            target.setHp(target.getMaxHp());
+            target.setShield(0);
+            target.statuses().clearAll();
+            caster.setHp(caster.getMaxHp());
+            bh.consume(engine.cast(names[i], defs[i], caster, target, 0));
+        }
+    }
+}
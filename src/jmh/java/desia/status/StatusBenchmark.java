@@ -0,0 +1,48 @@
+package desia.status;
+
+import desia.Character.EnemyInstance;
+import desia.bench.BenchData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatusEngine.applyEndPhase(상태 없음 / 도트+제어계 혼합).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBenchmark {
+
+    private EnemyInstance clean;
+    private EnemyInstance afflicted;
+
+    @Setup
+    public void setup() {
+        clean = BenchData.enemy(20);
+        afflicted = BenchData.enemy(20);
+    }
+
+    @Benchmark
+    public int endPhaseNoStatus() {
+        return StatusEngine.applyEndPhase(clean);
+    }
+
+    @Benchmark
+    public int endPhaseMixed() {
+        StatusContainer st = afflicted.statuses();
+        afflicted.setHp(afflicted.getMaxHp());
+        st.addStacks(StatusType.POISON, 1);
+        st.addStacks(StatusType.PARALYSIS, 1);
+        if (!st.has(StatusType.BLEED)) st.addStacks(StatusType.BLEED, 2);
+        return StatusEngine.applyEndPhase(afflicted);
+    }
+
+    @Benchmark
+    public boolean blocksAction() {
+        return StatusEngine.blocksAction(afflicted);
+    }
+}
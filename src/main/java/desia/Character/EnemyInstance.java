@@ -15,6 +15,15 @@ public class EnemyInstance implements Combatant {
     private final Enemy def;
     private final int level;
 
+    // 레벨 반영 스탯. def(불변)와 level이 고정이라 생성 시 1번만 계산한다.
+    private final double maxHp;
+    private final double maxMp;
+    private final double atk;
+    private final double defense;
+    private final double magic;
+    private final double mdef;
+    private final double spd;
+
     private double hp;
     private double mp;
     private double shield = 0;
@@ -26,6 +35,13 @@ public class EnemyInstance implements Combatant {
     public EnemyInstance(Enemy def, int level){
         this.def = Objects.requireNonNull(def, "def");
         this.level= Math.max(1, level);
+        this.maxHp = Math.max(1, Math.round(scale(def.getMaxHp(), def.getGrowthMaxHp())));
+        this.maxMp = Math.max(0, Math.round(scale(def.getMaxMp(), def.getGrowthMaxMp())));
+        this.atk = Math.max(0, Math.round(scale(def.getAtk(), def.getGrowthAtk())));
+        this.defense = Math.max(0, Math.round(scale(def.getDef(), def.getGrowthDef())));
+        this.magic = Math.max(0, Math.round(scale(def.getMagic(), def.getGrowthMagic())));
+        this.mdef = Math.max(0, Math.round(scale(def.getMdef(), def.getGrowthMdef())));
+        this.spd = Math.max(0, Math.round(scale(def.getSpd(), def.getGrowthSpd())));
         // 스탯/자원은 정수로 취급한다.
         this.hp = Math.round(getMaxHp());
         this.mp = Math.round(getMaxMp());
@@ -92,14 +108,14 @@ public class EnemyInstance implements Combatant {
         return base + growth * (level - 1);
     }
 
-    // getter함수. 레벨에 따른 스탯들을 리턴.
-    public double getMaxHp() { return Math.max(1, Math.round(scale(def.getMaxHp(), def.getGrowthMaxHp()))); }
-    public double getMaxMp() { return Math.max(0, Math.round(scale(def.getMaxMp(), def.getGrowthMaxMp()))); }
-    public double getAtk()   { return Math.max(0, Math.round(scale(def.getAtk(), def.getGrowthAtk()))); }
-    public double getDef(){ return Math.max(0, Math.round(scale(def.getDef(), def.getGrowthDef()))); }
-    public double getMagic()   { return Math.max(0, Math.round(scale(def.getMagic(), def.getGrowthMagic()))); }
-    public double getMdef(){ return Math.max(0, Math.round(scale(def.getMdef(), def.getGrowthMdef()))); }
-    public double getSpd(){ return Math.max(0, Math.round(scale(def.getSpd(), def.getGrowthSpd()))); }
+    // getter함수. 레벨에 따른 스탯들을 리턴(생성 시 계산해 둔 값).
+    public double getMaxHp() { return maxHp; }
+    public double getMaxMp() { return maxMp; }
+    public double getAtk()   { return atk; }
+    public double getDef(){ return defense; }
+    public double getMagic()   { return magic; }
+    public double getMdef(){ return mdef; }
+    public double getSpd(){ return spd; }
 
     // 현재 체력 리턴하는 getter함수.
     public double getHp() { return hp; }
@@ -108,14 +124,14 @@ public class EnemyInstance implements Combatant {
      * 1단계: min 함수로 최댓값을 넘지 않도록 보정한다. 2단계: max 함수로 수치가 음수가 되는 것을 방지한다. */
     public void setHp(double hp) {
         long v = Math.round(hp);
-        long max = Math.round(getMaxHp());
+        long max = (long) maxHp;
         if (v < 0) v = 0;
         if (v > max) v = max;
         this.hp = v;
     }
     public void setMp(double mp) {
         long v = Math.round(mp);
-        long max = Math.round(getMaxMp());
+        long max = (long) maxMp;
         if (v < 0) v = 0;
         if (v > max) v = max;
         this.mp = v;
@@ -1,6 +1,8 @@
 package desia;
 
 import desia.Character.Player;
+import desia.io.AsyncIo;
+import desia.io.InputFlow;
 import desia.io.Io;
 import desia.io.ConsoleIo;
 import desia.loader.DataLoader;
@@ -10,11 +12,13 @@ import desia.loader.Ranking;
 import desia.progress.GameSession;
 import desia.progress.CampaignEngine;
 import desia.progress.ChapterRepository;
-import desia.story.StoryRepository;
+import desia.progress.GameRng;
 import desia.story.StoryService;
 import desia.ui.ConsoleUi;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class Game {
 
@@ -38,120 +42,176 @@ public class Game {
     }
 
     public Game(Io io) {
+        this(io, new DataLoader().loadAll());
+    }
+
+    // 이미 로드한 GameData를 공유한다(여러 플레이어를 한 JVM에서 돌리는 SessionHost용).
+    public Game(Io io, GameData data) {
         this.io = io;
         this.loader = new DataLoader();
-        this.data = loader.loadAll();
+        this.data = data;
         this.gl = new GameLoad();
         this.rk = new Ranking();
-        this.chapterRepo = new ChapterRepository();
-        this.storyService = new StoryService(io, new StoryRepository());
+        // 챕터/스토리도 loadAll에서 이미 읽었다(리소스 재로딩 없음).
+        this.chapterRepo = data.chapters();
+        this.storyService = new StoryService(io, data.story());
     }
 
     // 게임 시작. 메인함수의 첫 시작점.
     public void start(){
+        InputFlow.join(startAsync());
+    }
+
+    /**
+     * 메인 메뉴를 입력 이벤트로 이어 가며 돈다(입력을 기다리는 동안 스레드를 잡지 않는다).
+     * io 가 AsyncIo(FxIo 등)면 그 입력 완료 스레드에서 이어지고, 블로킹 Io 면 호출 스레드에서 끝까지 돈다.
+     * 게임 종료를 고르면 완료된다.
+     */
+    public CompletableFuture<Void> startAsync() {
+        printTitle();
+        return new MainMenu(null).start();
+    }
+
+    private static void printTitle() {
         System.out.println("\t\t\t\t\tD e s i a\n\t\t\t\t  신 화    시 대 ");
-        while(true) {
-            int input = io.choose("[메인 메뉴]", List.of("새 게임", "계속하기", "불러오기", "랭킹", "게임 종료"));
-            // arrow switch문은 내부적으로 break가 강제되어 있는 형태이다. break문이 필요 없다.
-            switch (input) {
-                case 1 -> newGame();
-                case 2 -> continueGame();
-                case 3 -> {
-                    GameSession loaded = gl.gameLoad(io, data, chapterRepo);
-                    if (loaded != null){
-                        currentSession = loaded;
-                        new CampaignEngine(io, storyService).run(currentSession);
-                    }
-                }
-                case 4 -> rk.printRanking();
-                case 5 -> { if (io.confirmExit()) return; }
-            }
-        }
     }
 
-    // 새 게임 시작하는 메소드.
-    // ★★★★★로드된 데이터 -> 세션으로의 이동 코드는 여기에 있다.★★★★★
-    public void newGame() {
-        // 게임이 진행 중인 상태에서 새로운 게임을 시작할 경우, 플레이어에게 체크 요구
-        if (currentSession != null) {
-            System.out.println("진행 중인 게임이 있습니다. 새 게임을 시작하시겠습니까?");
-            if (!io.confirm(">>>", "예", "아니오")) return;
+    // 세션을 이어서 진행한 뒤 메인 메뉴로 돌아간다(SessionHost가 디스크로 내보냈던 세션을 되살릴 때).
+    public void resume(GameSession session) {
+        currentSession = session;
+        InputFlow.join(new MainMenu(session).start());
+    }
+
+    // 진행 중인 세션(없으면 null)
+    public GameSession currentSession() {
+        return currentSession;
+    }
+
+    // 메인 메뉴 -> (새 게임/계속/불러오기) 캠페인 -> 메인 메뉴. 캠페인은 CampaignEngine.runAsync 로 돈다.
+    private final class MainMenu extends InputFlow<Void> {
+        private final AsyncIo aio = (io instanceof AsyncIo a) ? a : AsyncIo.of(io);
+        private final GameSession resume;
+
+        MainMenu(GameSession resume) {
+            this.resume = resume;
+        }
+
+        @Override
+        protected void begin() {
+            if (resume == null) {
+                go(this::menu);
+                return;
+            }
+            await(new CampaignEngine(aio, storyService).runAsync(resume), v -> {
+                printTitle();
+                go(this::menu);
+            });
         }
 
-        final List<Player> playables;
-        try {
-            // DataLoad 클래스의 loadPlayables함수가 리턴한 playables 객체 리스트를, 이곳에 있는 객체 리스트에 배당해줌.
-            playables = data.playables();
-        } catch (Exception e) {
-            System.out.println("플레이어블 로딩 실패: " + e.getMessage());
-            return;
+        private void menu() {
+            await(aio.chooseAsync("[메인 메뉴]", List.of("새 게임", "계속하기", "불러오기", "랭킹", "게임 종료")), input -> {
+                // arrow switch문은 내부적으로 break가 강제되어 있는 형태이다. break문이 필요 없다.
+                switch (input) {
+                    case 1 -> newGame();
+                    case 2 -> continueGame();
+                    case 3 -> await(aio.callBlocking(() -> gl.gameLoad(aio.blocking(), data)), loaded -> {
+                        if (loaded == null) {
+                            go(this::menu);
+                            return;
+                        }
+                        currentSession = loaded;
+                        campaign(loaded);
+                    });
+                    case 4 -> {
+                        rk.printRanking();
+                        go(this::menu);
+                    }
+                    case 5 -> await(aio.confirmExitAsync(), yes -> {
+                        if (yes) finish(null);
+                        else go(this::menu);
+                    });
+                    default -> go(this::menu);
+                }
+            });
         }
 
-        int selectedIndex = selectPlayable(playables); // -1이면 뒤로가기
-        if (selectedIndex == -1)
-            return;
-
-        Player chosen = playables.get(selectedIndex);
-
-        // 닉네임 입력(직업classes와 분리)
-        String nickname = askPlayerNickname();
-
-        // ★★★★★세션 생성. 여기가 바로 DataLoader 클래스에서 로드한 json 데이터를 GameSesseion 클래스로 넘겨주는 구간이다.
-        GameSession session;
-        try {
-            session = GameSession.newSession(
-                    chosen,
-                    data.enemies(),
-                    data.consumables(),
-                    data.skills(),
-                    data.equipments(),
-                    data.equipmentSets(),
-                    chapterRepo,
-                    nickname
-            );
-        } catch (Exception e) {
-            System.out.println("게임 데이터 로딩 실패: " + e.getMessage());
-            return;
+        // 캠페인 실행(챕터/액트/상점/스토리/전투). 메인메뉴로 나오거나 게임 오버/클리어하면 메인 메뉴로
+        private void campaign(GameSession session) {
+            await(new CampaignEngine(aio, storyService).runAsync(session), v -> go(this::menu));
         }
 
-        // 시작 스토리(개발자가 story.json에서 수정)
-        currentSession = session;
-        storyService.printStory("game.start");
-        // 캠페인 실행(챕터/액트/상점/스토리/전투)
-        /* 이 코드는 원래 다음 두 줄의 코드를 압축한 것이다.
-         * CampaignEngine engine = new CampaignEngine(io, storyService);
-         * engine.run(session);
-         * 즉, 생성자 호출과 객체 생성을 한꺼번에 하고(new CampaignEngine(io, storyService)),
-         * 실행(.run())까지 동시에 한 것이다. */
-        new CampaignEngine(io, storyService).run(session);
-    }
-    //
-    private void continueGame(){
-        if(currentSession == null){
-            System.out.println("진행 중인 게임이 없습니다.");
-            return;
+        // 새 게임 시작하는 메소드.
+        // ★★★★★로드된 데이터 -> 세션으로의 이동 코드는 여기에 있다.★★★★★
+        private void newGame() {
+            // 게임이 진행 중인 상태에서 새로운 게임을 시작할 경우, 플레이어에게 체크 요구
+            if (currentSession != null) {
+                System.out.println("진행 중인 게임이 있습니다. 새 게임을 시작하시겠습니까?");
+                await(aio.confirmAsync(">>>", "예", "아니오"), yes -> {
+                    if (yes) go(this::selectPlayable);
+                    else go(this::menu);
+                });
+                return;
+            }
+            go(this::selectPlayable);
         }
-        new CampaignEngine(io, storyService).run(currentSession);
-    }
 
-    // 플레이어블 캐릭터 선택하는 메소드
-    private int selectPlayable(List<Player> playables) {
-        while (true) {
+        // 플레이어블 캐릭터 선택(뒤로가기면 메인 메뉴)
+        private void selectPlayable() {
+            final List<Player> playables;
+            try {
+                // DataLoad 클래스의 loadPlayables함수가 리턴한 playables 객체 리스트를, 이곳에 있는 객체 리스트에 배당해줌.
+                playables = data.playables();
+            } catch (Exception e) {
+                System.out.println("플레이어블 로딩 실패: " + e.getMessage());
+                go(this::menu);
+                return;
+            }
+
             System.out.println("플레이할 캐릭터를 선택하세요.");
             loader.printAllPlayables(playables);
-            java.util.ArrayList<String> labels = new java.util.ArrayList<>();
+            List<String> labels = new ArrayList<>();
             for (Player p : playables) labels.add(p.getClasses());
-            int pick = io.chooseAllowCancel("[캐릭터 선택]", labels, "뒤로");
-            if (pick == 0) return -1;
-            int idx = pick - 1;
-            if (idx >= 0 && idx < playables.size()) return idx;
+            await(aio.chooseAllowCancelAsync("[캐릭터 선택]", labels, "뒤로"), pick -> {
+                if (pick == 0) {
+                    go(this::menu);
+                    return;
+                }
+                int idx = pick - 1;
+                if (idx < 0 || idx >= playables.size()) {
+                    go(this::selectPlayable);
+                    return;
+                }
+                // 닉네임 입력(직업classes와 분리)
+                System.out.print("플레이어 이름을 정하세요: ");
+                await(aio.readNonEmptyStringAsync(">>>", 20), nickname -> startNew(playables.get(idx), nickname));
+            });
         }
-    }
 
-    // 플레이어 이름 정하는 메소드
-    private String askPlayerNickname() {
-        System.out.print("플레이어 이름을 정하세요: ");
-        return io.readNonEmptyString(">>>",20);
+        private void startNew(Player chosen, String nickname) {
+            // ★★★★★세션 생성. 여기가 바로 DataLoader 클래스에서 로드한 json 데이터를 GameSesseion 클래스로 넘겨주는 구간이다.
+            GameSession session;
+            try {
+                session = GameSession.newSession(data, chosen, nickname, GameRng.unseeded());
+            } catch (Exception e) {
+                System.out.println("게임 데이터 로딩 실패: " + e.getMessage());
+                go(this::menu);
+                return;
+            }
+
+            // 시작 스토리(개발자가 story.json에서 수정)
+            currentSession = session;
+            storyService.showStory("game.start");
+            await(aio.continueAsync(), v -> campaign(session));
+        }
+
+        private void continueGame() {
+            if (currentSession == null) {
+                System.out.println("진행 중인 게임이 없습니다.");
+                go(this::menu);
+                return;
+            }
+            campaign(currentSession);
+        }
     }
 
     // 콘솔 화면 정리 메소드 가져와서 실행
@@ -1,9 +1,13 @@
 package desia;
 
 import desia.Game;
+import desia.event.EventTaps;
+import desia.metrics.MetricsReporter;
 
 public class Main {
     public static void main(String[] args) {
+        MetricsReporter.startFromProperties();
+        EventTaps.startFromProperties();
 
         Game gm1 = new Game();
         gm1.start();
@@ -0,0 +1,40 @@
+package desia.battle;
+
+import desia.skill.SkillDef;
+
+/**
+ * 플레이어 정책(PlayerPolicy)이 고르는 행동 1개.
+ *
+ * 기본 공격/도망은 상수를 재사용하고, 스킬/아이템 행동은 정책 쪽에서 미리 만들어 캐싱해 두면
+ * 전투 중 할당이 생기지 않는다.
+ */
+public final class BattleAction {
+
+    public enum Kind { ATTACK, SKILL, ITEM, ESCAPE }
+
+    public static final BattleAction ATTACK = new BattleAction(Kind.ATTACK, null, null);
+    public static final BattleAction ESCAPE = new BattleAction(Kind.ESCAPE, null, null);
+
+    private final Kind kind;
+    private final String name;
+    private final SkillDef skill;
+
+    private BattleAction(Kind kind, String name, SkillDef skill) {
+        this.kind = kind;
+        this.name = name;
+        this.skill = skill;
+    }
+
+    public static BattleAction skill(String name, SkillDef def) {
+        return new BattleAction(Kind.SKILL, name, def);
+    }
+
+    public static BattleAction item(String name) {
+        return new BattleAction(Kind.ITEM, name, null);
+    }
+
+    public Kind kind() { return kind; }
+    // 스킬/아이템 이름(기본 공격/도망이면 null)
+    public String name() { return name; }
+    public SkillDef skill() { return skill; }
+}
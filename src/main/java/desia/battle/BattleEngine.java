@@ -1,190 +1,302 @@
 package desia.battle;
 
 import desia.Character.EnemyInstance;
+import desia.event.EventBus;
+import desia.event.GameEvent;
+import desia.io.AsyncIo;
+import desia.io.InputFlow;
 import desia.io.Io;
+import desia.metrics.JfrEvents;
 import desia.progress.GameSession;
+import desia.progress.RngStream;
 import desia.ui.ConsoleUi;
 import desia.status.StatusEngine;
 import desia.skill.*;
 import desia.item.ConsumableEngine;
 import desia.item.Consumables;
-import desia.combat.DamageEngine;
-import desia.combat.DamageType;
 
 import java.util.Random;
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 플레이어가 직접 조작하는 전투.
+ *
+ * 전투는 입력 이벤트로 한 단계씩 진행하는 상태 머신(Fight)이다.
+ * - fightAsync: 입력을 기다리는 동안 스레드를 잡지 않는다(AsyncIo 가 입력을 완료하는 스레드에서 이어 간다).
+ * - fight: 같은 상태 머신을 블로킹 Io 로 호출 스레드에서 끝까지 돌린다.
+ */
 public class BattleEngine {
-    private final Io io;
-    private final Random random = new Random();
-    private final SkillSetRepository skillSets = new SkillSetRepository();
-    private final SkillEngine skillEngine = new SkillEngine(random);
+    private final AsyncIo io;
+    // 전투 난수는 세션의 BATTLE 스트림을 쓴다(fight 시작 시 연결).
+    private Random random;
+    private SkillEngine skillEngine;
+    // 이번 전투 적의 행동 표(세션의 적 AI 에서 전투 시작 때 고른다)
+    private EnemyPolicy enemyPolicy = EnemyPolicy.DEFAULT;
+    // 스킬 메뉴 미리보기(메뉴를 열 때마다 부른다, 스탯이 그대로면 캐시 적중)
+    private final SkillOutcomeCalculator outcomes = new SkillOutcomeCalculator();
 
 
     public BattleEngine(Io io) {
+        this(AsyncIo.of(io));
+    }
+
+    public BattleEngine(AsyncIo io) {
         this.io = io;
     }
 
     public BattleOutcome fight(GameSession session, EnemyInstance enemy) {
+        return InputFlow.join(fightAsync(session, enemy));
+    }
 
-        // 상태이상 초기화
-        session.resetBattleStatuses();
+    /** 전투를 시작한다. 결과는 전투가 끝날 때 완료된다. 한 엔진에서 동시에 한 전투만. */
+    public CompletableFuture<BattleOutcome> fightAsync(GameSession session, EnemyInstance enemy) {
+        return new Fight(session, enemy).start();
+    }
 
-        System.out.println("\n[전투] " + enemy.getName());
-        System.out.println(enemy.getDescription());
 
-        while (session.getHp() > 0 && enemy.getHp() > 0) {
+    private void bindRandom(Random r) {
+        if (r == random) return;
+        random = r;
+        skillEngine = new SkillEngine(r);
+    }
 
-            boolean playerFirst = (session.getSpd() >= enemy.getSpd());
 
-            ConsoleUi.clearConsole();
-            String pLine = "\nLv. " + session.getLevel() + " " + session.getPlayerName()
-                    + "\nHP: " + Math.round(session.getHp()) + "/" + Math.round(session.getMaxHp())
-                    + " MP: " + Math.round(session.getMp()) + "/" + Math.round(session.getMaxMp());
-            // 실드를 보유하지 않는 개체는 처음부터 표기하지 않는다.
-            if (Math.round(session.getShield()) > 0 || Math.round(session.getEquipBaseShield()) > 0) {
-                pLine += " SHD: " + Math.round(session.getShield());
-            }
-            System.out.println(pLine);
+    // 플레이어 턴 결과
+    private enum TurnResult { NO_TURN, TURN_SPENT, ESCAPE }
+
+    /*
+     * 상태 흐름(한 라운드):
+     *   round -> (적 선공이면 적 턴) -> playerTurn -> command -> (스킬/아이템 선택) -> afterPlayer
+     *         -> (플레이어 선공이면 적 턴) -> 엔드 페이즈 -> [계속] -> round
+     * 입력이 필요한 곳에서만 await 로 끊긴다.
+     */
+    private final class Fight extends InputFlow<BattleOutcome> {
+        private final GameSession session;
+        private final EnemyInstance enemy;
+        private boolean playerFirst;
+        // 지표: 시작 시각, 플레이어가 행동한 턴 수
+        private long startNanos;
+        private JfrEvents.Battle jfr;
+        private int turns;
+
+        Fight(GameSession session, EnemyInstance enemy) {
+            this.session = session;
+            this.enemy = enemy;
+        }
 
-            ConsoleUi.printSeparator(30);
-            String eLine = "Lv. " + enemy.getLevel() + " " + enemy.getName()
-                    + "\nHP: " + Math.round(enemy.getHp()) + "/" + Math.round(enemy.getMaxHp());
-            if (Math.round(enemy.getShield()) > 0) {
-                eLine += " SHD: " + Math.round(enemy.getShield());
+        @Override
+        protected void begin() {
+            startNanos = BattleMetrics.INTERACTIVE.start();
+            jfr = BattleMetrics.beginJfr();
+            bindRandom(session.rng(RngStream.BATTLE));
+            // 전투 문구는 이벤트로 낸다: 이 UI 의 렌더러를 세션 버스에 붙인다(이미 있으면 그대로).
+            session.events().add(io.eventRenderer());
+            skillEngine.setEvents(session.events());
+            enemyPolicy = session.enemyPolicy().bind(enemy);
+
+            // 상태이상 초기화
+            session.resetBattleStatuses();
+
+            publish(session, new GameEvent.BattleStarted(enemy.getName(), enemy.getLevel(), enemy.getDescription()));
+            go(this::round);
+        }
+
+        private void round() {
+            if (session.getHp() <= 0 || enemy.getHp() <= 0) {
+                go(this::end);
+                return;
             }
-            System.out.println(eLine);
 
-            if (playerFirst) {
-                TurnResult r = playerTurn(session, enemy);
-                if (r == TurnResult.NO_TURN) { io.anythingToContinue(); continue; }
-                if (r == TurnResult.ESCAPE) {
-                    session.endBattleCleanup();
-                    return BattleOutcome.ESCAPE;
-                }
-                if (enemy.getHp() <= 0) break;
+            playerFirst = (session.getSpd() >= enemy.getSpd());
+            printStatus(session, enemy);
 
+            if (!playerFirst) {
                 enemyTurn(session, enemy);
-            } else {
-                enemyTurn(session, enemy);
-                if (session.getHp() <= 0) break;
-
-                TurnResult r = playerTurn(session, enemy);
-                if (r == TurnResult.NO_TURN) { io.anythingToContinue(); continue; }
-                if (r == TurnResult.ESCAPE) {
-                    session.endBattleCleanup();
-                    return BattleOutcome.ESCAPE;
+                if (session.getHp() <= 0) {
+                    go(this::end);
+                    return;
                 }
             }
-
-            // === 엔드 페이즈 ===
-            // 상태이상 스택 감소
-            if (session.getHp() > 0 && enemy.getHp() > 0) {
-                int pDot = StatusEngine.applyEndPhase(session);
-                int eDot = StatusEngine.applyEndPhase(enemy);
-                if (pDot > 0) System.out.println("\n[엔드] " + session.getPlayerName() + " 도트 피해: " + pDot);
-                if (eDot > 0) System.out.println("\n[엔드] " + enemy.getName() + " 도트 피해: " + eDot);
-            }
-
-            io.anythingToContinue();
-        }
-
-        if (session.getHp() <= 0) {
-            System.out.println("\n패배... 게임 오버");
-            io.anythingToContinue();
-            session.endBattleCleanup();
-            return BattleOutcome.LOSE;
+            go(this::playerTurn);
         }
 
-        System.out.println("\n승리!");
-        io.anythingToContinue();
-        session.endBattleCleanup();
-        return BattleOutcome.WIN;
-    }
-
-
-    // 이하 3개는 헬퍼 메소드
-    // 플레이어 턴
-    private enum TurnResult { NO_TURN, TURN_SPENT, ESCAPE }
-
-    private TurnResult playerTurn(GameSession session, EnemyInstance enemy) {
-
-        // 행동 불가(스택형 제어계)
-        if (StatusEngine.blocksAction(session)) {
-            System.out.println("\n" + StatusEngine.blockReason(session) + " 상태로 행동할 수 없다!");
-            return TurnResult.TURN_SPENT;
+        private void playerTurn() {
+            // 행동 불가(스택형 제어계)
+            if (StatusEngine.blocksAction(session)) {
+                System.out.println("\n" + StatusEngine.blockReason(session) + " 상태로 행동할 수 없다!");
+                afterPlayer(TurnResult.TURN_SPENT);
+                return;
+            }
+            await(io.chooseAsync("[행동 선택]", List.of("기본 공격", "스킬", "아이템", "도망")), this::command);
         }
 
-        int cmd = io.choose("[행동 선택]", List.of("기본 공격", "스킬", "아이템", "도망"));
-
-        switch (cmd) {
-            case 1 -> {
-                double raw = Math.max(1, session.getAtk());
-                double dealtToHp = DamageEngine.deal(session, enemy, raw, DamageType.PHYSICAL, 1);
-                double finalDmg = Math.max(1, raw - enemy.getDef() * 0.5);
-                double absorbed = Math.max(0, finalDmg - dealtToHp);
-                if (absorbed > 0) {
-                    System.out.println("플레이어의 공격! 실드 " + Math.round(absorbed) + " 흡수 + HP " + Math.round(dealtToHp) + " 피해");
-                } else {
-                    System.out.println("플레이어의 공격! " + Math.round(dealtToHp) + " 피해");
+        private void command(int cmd) {
+            switch (cmd) {
+                case 1 -> {
+                    basicAttack(session, enemy);
+                    afterPlayer(TurnResult.TURN_SPENT);
                 }
-                return TurnResult.TURN_SPENT;
-            }
-            case 2 -> {
-                // 레벨업/룰 기반으로 해금된 스킬만 표시
-                List<String> nameList = session.knownSkillsList();
-                List<String> validNames = new ArrayList<>();
-                List<SkillDef> defs = new ArrayList<>();
-
-                for (String n : nameList) {
-                    SkillDef def = session.skillDef(n);
-                    if (def != null) {
-                        validNames.add(n);
-                        defs.add(def);
+                case 2 -> skillMenu();
+                case 3 -> itemMenu();
+                case 4 -> {
+                    // 도망 시도는 "턴 소모"
+                    boolean ok = tryEscape(session, enemy);
+                    if (ok) {
+                        System.out.println("\n도망 성공!");
+                        afterPlayer(TurnResult.ESCAPE);
+                    } else {
+                        System.out.println("\n도망 실패!");
+                        afterPlayer(TurnResult.TURN_SPENT);
                     }
                 }
+                default -> afterPlayer(TurnResult.NO_TURN);
+            }
+        }
 
-                if (defs.isEmpty()) {
-                    System.out.println("\n사용 가능한 스킬이 없다. (resources/skillsets.json / skill_unlocks.json 확인)");
-                    return TurnResult.NO_TURN;
+        private void skillMenu() {
+            // 레벨업/룰 기반으로 해금된 스킬만 표시
+            List<String> nameList = session.knownSkillsList();
+            List<String> validNames = new ArrayList<>();
+            List<SkillDef> defs = new ArrayList<>();
+
+            for (String n : nameList) {
+                SkillDef def = session.skillDef(n);
+                if (def != null) {
+                    validNames.add(n);
+                    defs.add(def);
                 }
+            }
 
-                List<String> labels = new ArrayList<>();
-                for (int i = 0; i < defs.size(); i++) {
-                    SkillDef d = defs.get(i);
-                    labels.add(validNames.get(i) + "  (MP: " + d.getMpCost() + ")");
-                }
-                int pick = io.chooseAllowCancel("[스킬 선택]", labels, "뒤로");
-                if (pick == 0) return TurnResult.NO_TURN;
+            if (defs.isEmpty()) {
+                System.out.println("\n사용 가능한 스킬이 없다. (resources/skillsets.json / skill_unlocks.json 확인)");
+                afterPlayer(TurnResult.NO_TURN);
+                return;
+            }
 
+            List<String> labels = new ArrayList<>();
+            for (int i = 0; i < defs.size(); i++) {
+                SkillDef d = defs.get(i);
+                String preview = outcomes.outcome(skillEngine.compiled(validNames.get(i), d), session, enemy).summary();
+                labels.add(validNames.get(i) + "  (MP: " + d.getMpCost() + (preview.isEmpty() ? "" : ", 예상 " + preview) + ")");
+            }
+            await(io.chooseAllowCancelAsync("[스킬 선택]", labels, "뒤로"), pick -> {
+                if (pick == 0) {
+                    afterPlayer(TurnResult.NO_TURN);
+                    return;
+                }
                 String chosenName = validNames.get(pick - 1);
                 SkillDef chosen = defs.get(pick - 1);
 
                 SkillCastResult r = skillEngine.cast(chosenName, chosen, session, enemy);
                 for (String line : r.getLogs()) System.out.println(line);
-                io.anythingToContinue();
+                TurnResult result = r.isSpentTurn() ? TurnResult.TURN_SPENT : TurnResult.NO_TURN;
+                await(io.continueAsync(), v -> afterPlayer(result));
+            });
+        }
 
-                return r.isSpentTurn() ? TurnResult.TURN_SPENT : TurnResult.NO_TURN;
+        private void itemMenu() {
+            List<String> usable = usableItems(session);
+            if (usable == null) {
+                afterPlayer(TurnResult.NO_TURN);
+                return;
+            }
+            Map<String, Integer> inv = session.inventoryView();
+            List<String> itemLabels = new ArrayList<>();
+            for (String name : usable) {
+                int cnt = inv.getOrDefault(name, 0);
+                itemLabels.add(name + " x" + cnt);
             }
+            await(io.chooseAllowCancelAsync("[아이템]", itemLabels, "뒤로"), pick -> {
+                if (pick == 0) {
+                    afterPlayer(TurnResult.NO_TURN);
+                    return;
+                }
+                afterPlayer(useItem(session, enemy, usable.get(pick - 1)));
+            });
+        }
 
-            case 3 -> {
-                return itemTurn(session, enemy);
+        private void afterPlayer(TurnResult r) {
+            if (r == TurnResult.NO_TURN) {
+                await(io.continueAsync(), v -> go(this::round));
+                return;
+            }
+            turns++;
+            if (r == TurnResult.ESCAPE) {
+                session.endBattleCleanup();
+                publish(session, new GameEvent.BattleEnded(enemy.getName(), BattleOutcome.ESCAPE));
+                done(BattleOutcome.ESCAPE);
+                return;
             }
-            case 4 -> {
-                // 도망 시도는 "턴 소모"
-                boolean ok = tryEscape(session, enemy);
-                if (ok) {
-                    System.out.println("\n도망 성공!");
-                    return TurnResult.ESCAPE;
-                } else {
-                    System.out.println("\n도망 실패!");
-                    return TurnResult.TURN_SPENT;
+            if (playerFirst) {
+                if (enemy.getHp() <= 0) {
+                    go(this::end);
+                    return;
                 }
+                enemyTurn(session, enemy);
             }
-            default -> {
-                return TurnResult.NO_TURN;
+
+            // === 엔드 페이즈 ===
+            // 상태이상 스택 감소
+            if (session.getHp() > 0 && enemy.getHp() > 0) {
+                int pDot = StatusEngine.applyEndPhase(session);
+                int eDot = StatusEngine.applyEndPhase(enemy);
+                if (pDot > 0) publish(session, new GameEvent.DamageDealt(null, session.getPlayerName(), false, GameEvent.Cause.DOT, pDot, 0));
+                if (eDot > 0) publish(session, new GameEvent.DamageDealt(null, enemy.getName(), false, GameEvent.Cause.DOT, eDot, 0));
             }
+
+            await(io.continueAsync(), v -> go(this::round));
+        }
+
+        private void end() {
+            BattleOutcome outcome = (session.getHp() <= 0) ? BattleOutcome.LOSE : BattleOutcome.WIN;
+            publish(session, new GameEvent.BattleEnded(enemy.getName(), outcome));
+            await(io.continueAsync(), v -> {
+                session.endBattleCleanup();
+                done(outcome);
+            });
+        }
+
+        private void done(BattleOutcome outcome) {
+            BattleMetrics.INTERACTIVE.finish(startNanos, jfr, outcome, turns, enemy.getName());
+            finish(outcome);
+        }
+    }
+
+
+    // 이하 헬퍼 메소드(입력 없음)
+    private static void publish(GameSession session, GameEvent event) {
+        EventBus bus = session.events();
+        if (bus.active()) bus.publish(event);
+    }
+
+    private static void printStatus(GameSession session, EnemyInstance enemy) {
+        ConsoleUi.clearConsole();
+        String pLine = "\nLv. " + session.getLevel() + " " + session.getPlayerName()
+                + "\nHP: " + Math.round(session.getHp()) + "/" + Math.round(session.getMaxHp())
+                + " MP: " + Math.round(session.getMp()) + "/" + Math.round(session.getMaxMp());
+        // 실드를 보유하지 않는 개체는 처음부터 표기하지 않는다.
+        if (Math.round(session.getShield()) > 0 || Math.round(session.getEquipBaseShield()) > 0) {
+            pLine += " SHD: " + Math.round(session.getShield());
+        }
+        System.out.println(pLine);
+
+        ConsoleUi.printSeparator(30);
+        String eLine = "Lv. " + enemy.getLevel() + " " + enemy.getName()
+                + "\nHP: " + Math.round(enemy.getHp()) + "/" + Math.round(enemy.getMaxHp());
+        if (Math.round(enemy.getShield()) > 0) {
+            eLine += " SHD: " + Math.round(enemy.getShield());
         }
+        System.out.println(eLine);
+    }
+
+    private static void basicAttack(GameSession session, EnemyInstance enemy) {
+        double raw = Math.max(1, session.getAtk());
+        double dealtToHp = BattleRules.basicAttack(session, enemy);
+        double finalDmg = Math.max(1, raw - enemy.getDef() * 0.5);
+        double absorbed = Math.max(0, finalDmg - dealtToHp);
+        publish(session, new GameEvent.DamageDealt(session.getPlayerName(), enemy.getName(), true,
+                GameEvent.Cause.ATTACK, dealtToHp, absorbed));
     }
 
     /**
@@ -192,12 +304,13 @@ public class BattleEngine {
      * - 인벤토리에서 전투 중 사용 가능한 소모품(useInBattle=true)만 보여준다.
      * - 사용 성공 시 기본적으로 턴을 소모한다.
      * - ESCAPE 타입 아이템은 보스가 아니면 즉시 전투를 종료한다.
+     * usableItems: 고를 수 있는 아이템 목록(없으면 안내를 출력하고 null), useItem: 고른 아이템 적용.
      */
-    private TurnResult itemTurn(GameSession session, EnemyInstance enemy) {
+    private static List<String> usableItems(GameSession session) {
         Map<String, Integer> inv = session.inventoryView();
         if (inv.isEmpty()) {
             System.out.println("\n전투 중 사용할 아이템이 없다.");
-            return TurnResult.NO_TURN;
+            return null;
         }
 
         // 전투 중 사용 가능한 아이템만 추린다.
@@ -214,19 +327,12 @@ public class BattleEngine {
 
         if (usable.isEmpty()) {
             System.out.println("\n전투 중 사용 가능한 아이템이 없다.");
-            return TurnResult.NO_TURN;
+            return null;
         }
+        return usable;
+    }
 
-        List<String> itemLabels = new ArrayList<>();
-        for (int i = 0; i < usable.size(); i++) {
-            String name = usable.get(i);
-            int cnt = inv.getOrDefault(name, 0);
-            itemLabels.add(name + " x" + cnt);
-        }
-        int pick = io.chooseAllowCancel("[아이템]", itemLabels, "뒤로");
-        if (pick == 0) return TurnResult.NO_TURN;
-
-        String name = usable.get(pick - 1);
+    private TurnResult useItem(GameSession session, EnemyInstance enemy, String name) {
         Consumables c = session.consumableDef(name);
         if (c == null) {
             System.out.println("정의되지 않은 아이템이라 사용 불가: " + name);
@@ -249,6 +355,7 @@ public class BattleEngine {
             return TurnResult.NO_TURN;
         }
 
+        publish(session, new GameEvent.ItemUsed(session.getPlayerName(), name, true));
         if (r.escaped) {
             return TurnResult.ESCAPE;
         }
@@ -256,17 +363,9 @@ public class BattleEngine {
     }
 
 
-    // 도주 확률 공식 메소드
+    // 도주 확률 공식 메소드(공식은 BattleRules)
     private boolean tryEscape(GameSession session, EnemyInstance enemy) {
-
-        // 속도 차이 1당 2%
-        double escapeChance = (session.getSpd() - enemy.getSpd()) * 2;
-        if (escapeChance <= 0)
-            escapeChance = 0;
-
-        int roll = random.nextInt(100) + 1; // 1~100
-
-        return roll <= escapeChance;
+        return BattleRules.rollEscape(random, session, enemy);
     }
 
 
@@ -279,30 +378,43 @@ public class BattleEngine {
             return;
         }
 
-        // 적도 기본/스킬만 있다고 치자(임시)
         // 적 스킬 사용 여부는 "적 MP"로만 내부 판단(표시는 절대 하지 않음)
-        boolean canSkill = enemy.getMp() >= 5;
-        boolean useSkill = canSkill && random.nextInt(100) < 40; // 40%
+        EnemyMove move = enemyPolicy.choose(enemy, session, random);
+        if (move.skill() != null) {
+            SkillCastResult r = skillEngine.cast(move.skill(), enemy, session, null);
+            if (r.isSpentTurn()) {
+                printEnemySkill(enemy, move.skill(), r);
+                return;
+            }
+            move = EnemyMove.ATTACK; // MP 부족 등: 기본 공격으로 대체
+        }
+        boolean useSkill = move.action() == EnemyAction.SKILL;
 
         double dmg;
+        double dealtToHp;
+        double finalDmg;
 
         if (useSkill) {
-            enemy.setMp(enemy.getMp() - 5);
             dmg = Math.max(1, enemy.getMagic());
-            System.out.println("\n" + enemy.getName() + "의 스킬 공격!");
-            double dealtToHp = DamageEngine.deal(enemy, session, dmg, DamageType.MAGIC, 1);
-            double finalDmg = Math.max(1, dmg - session.getMdef() * 0.5);
-            double absorbed = Math.max(0, finalDmg - dealtToHp);
-            if (absorbed > 0) System.out.println("실드 " + Math.round(absorbed) + " 흡수 + HP " + Math.round(dealtToHp) + " 피해를 입었다.");
-            else System.out.println(Math.round(dealtToHp) + " 피해를 입었다.");
+            dealtToHp = BattleRules.enemySkillAttack(enemy, session);
+            finalDmg = Math.max(1, dmg - session.getMdef() * 0.5);
         } else {
             dmg = Math.max(1, enemy.getAtk());
-            System.out.println("\n" + enemy.getName() + "의 공격!");
-            double dealtToHp = DamageEngine.deal(enemy, session, dmg, DamageType.PHYSICAL, 1);
-            double finalDmg = Math.max(1, dmg - session.getDef() * 0.5);
-            double absorbed = Math.max(0, finalDmg - dealtToHp);
-            if (absorbed > 0) System.out.println("실드 " + Math.round(absorbed) + " 흡수 + HP " + Math.round(dealtToHp) + " 피해를 입었다.");
-            else System.out.println(Math.round(dealtToHp) + " 피해를 입었다.");
+            dealtToHp = BattleRules.basicAttack(enemy, session);
+            finalDmg = Math.max(1, dmg - session.getDef() * 0.5);
+        }
+        double absorbed = Math.max(0, finalDmg - dealtToHp);
+        publish(session, new GameEvent.DamageDealt(enemy.getName(), session.getPlayerName(), false,
+                useSkill ? GameEvent.Cause.SKILL : GameEvent.Cause.ATTACK, dealtToHp, absorbed));
+    }
+
+    // 적 데이터 스킬 결과. 피해 문구는 DamageDealt 이벤트가 이미 그렸으니 나머지(회복/실드/상태이상)만 보인다.
+    private static void printEnemySkill(EnemyInstance enemy, CompiledSkill skill, SkillCastResult r) {
+        if (!skill.targetsEnemy()) System.out.println("\n" + enemy.getName() + "의 " + skill.name() + "!");
+        List<String> logs = r.getLogs();
+        for (int i = 1; i < logs.size(); i++) {
+            String line = logs.get(i);
+            if (!line.startsWith("피해:")) System.out.println(line);
         }
     }
 }
@@ -0,0 +1,25 @@
+package desia.battle;
+
+/**
+ * 헤드리스 전투의 구조화 이벤트 수신기(선택).
+ *
+ * 문자열을 만들지 않도록 원시값만 넘긴다. 필요한 메소드만 오버라이드하면 된다.
+ */
+public interface BattleEventSink {
+
+    BattleEventSink NONE = new BattleEventSink() {};
+
+    default void onRoundStart(int round) {}
+
+    /** 플레이어 행동. hpDamage는 적 HP로 들어간 피해(스킬/아이템이면 0일 수 있음). */
+    default void onPlayerAction(int round, BattleAction action, double hpDamage) {}
+
+    default void onEnemyAction(int round, EnemyAction action, double hpDamage) {}
+
+    /** 제어계 상태이상으로 행동 불가. */
+    default void onActionBlocked(int round, boolean player) {}
+
+    default void onEndPhase(int round, int playerDot, int enemyDot) {}
+
+    default void onFinish(BattleOutcome outcome, int rounds) {}
+}
@@ -0,0 +1,59 @@
+package desia.battle;
+
+import desia.metrics.Counter;
+import desia.metrics.Histogram;
+import desia.metrics.JfrEvents;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+
+/**
+ * 전투 1회가 끝날 때 남기는 지표(턴 수, 경과 시간, 결과별 건수) + JFR 이벤트.
+ *
+ * 조작 전투(battle.*)와 헤드리스 전투(headless.battle.*), 다대다 전투(headless.encounter.*)는 따로 센다:
+ * 조작 전투의 시간에는 입력 대기가 들어 있어서 섞으면 둘 다 읽을 수 없다.
+ */
+final class BattleMetrics {
+
+    static final BattleMetrics INTERACTIVE = new BattleMetrics("battle", false);
+    static final BattleMetrics HEADLESS = new BattleMetrics("headless.battle", true);
+    static final BattleMetrics ENCOUNTER = new BattleMetrics("headless.encounter", true);
+
+    private final boolean headless;
+    private final Histogram turns;
+    private final Timer time;
+    private final Counter[] outcomes;
+
+    private BattleMetrics(String prefix, boolean headless) {
+        this.headless = headless;
+        this.turns = Metrics.histogram(prefix + ".turns");
+        this.time = Metrics.timer(prefix + ".time");
+        BattleOutcome[] all = BattleOutcome.values();
+        this.outcomes = new Counter[all.length];
+        for (BattleOutcome o : all) outcomes[o.ordinal()] = Metrics.counter(prefix + ".outcome." + o);
+    }
+
+    long start() {
+        return time.start();
+    }
+
+    // 전투 전체를 덮는 JFR 이벤트(녹화 중이 아니면 finish 에서 그냥 버려진다)
+    static JfrEvents.Battle beginJfr() {
+        JfrEvents.Battle jfr = new JfrEvents.Battle();
+        jfr.begin();
+        return jfr;
+    }
+
+    void finish(long startNanos, JfrEvents.Battle jfr, BattleOutcome outcome, int turnCount, String enemy) {
+        time.stop(startNanos);
+        turns.record(turnCount);
+        outcomes[outcome.ordinal()].inc();
+
+        if (jfr.shouldCommit()) {
+            jfr.enemy = enemy;
+            jfr.rounds = turnCount;
+            jfr.outcome = outcome.name();
+            jfr.headless = headless;
+            jfr.commit();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package desia.battle;
 
 public enum BattleOutcome {
-    WIN, LOSE, ESCAPE
+    WIN, LOSE, ESCAPE,
+    // 헤드리스 시뮬레이션 전용: 턴 상한에 도달해 승부가 나지 않음
+    DRAW
 }
@@ -0,0 +1,302 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.progress.GameSession;
+import desia.skill.SkillDef;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 헤드리스 전투 1회의 리플레이 로그.
+ *
+ * 기록 내용: 전투 시드, 적 이름/레벨, 플레이어 결정 전부, 결과(승패/라운드/양측 최종 HP 비트값).
+ * 적 행동은 EnemyPolicy + 시드로 다시 나오므로 기록하지 않는다(EnemyPolicy는 난수 외 상태가 없어야 함).
+ *
+ * 재현 조건: 같은 시작 상태의 세션(레벨/스탯/스킬/인벤토리)과 같은 EnemyPolicy.
+ * 세션 쪽 상태는 로그에 없으므로 호출하는 쪽이 맞춰야 한다.
+ *
+ * 바이너리 형식(빅엔디언, DataOutputStream):
+ * magic "DRPL", version(1), seed(long), enemyName(UTF), enemyLevel(varint),
+ * 이름 테이블[count(varint), UTF...], 결정[count(varint), (kind byte [+ 이름 인덱스 varint])...],
+ * outcome(byte), rounds(varint), playerHp(double), enemyHp(double)
+ */
+public final class BattleReplay {
+
+    private static final int MAGIC = 0x4452504C; // "DRPL"
+    private static final int VERSION = 1;
+
+    private static final BattleAction.Kind[] KINDS = BattleAction.Kind.values();
+    private static final BattleOutcome[] OUTCOMES = BattleOutcome.values();
+
+    private final long seed;
+    private final String enemyName;
+    private final int enemyLevel;
+    private final List<String> names;
+    private final byte[] kinds;
+    private final int[] nameIndex; // 이름이 없는 행동은 -1
+    private final BattleOutcome outcome;
+    private final int rounds;
+    private final double playerHp;
+    private final double enemyHp;
+
+    private BattleReplay(long seed, String enemyName, int enemyLevel, List<String> names,
+                         byte[] kinds, int[] nameIndex,
+                         BattleOutcome outcome, int rounds, double playerHp, double enemyHp) {
+        this.seed = seed;
+        this.enemyName = enemyName;
+        this.enemyLevel = enemyLevel;
+        this.names = names;
+        this.kinds = kinds;
+        this.nameIndex = nameIndex;
+        this.outcome = outcome;
+        this.rounds = rounds;
+        this.playerHp = playerHp;
+        this.enemyHp = enemyHp;
+    }
+
+    public long seed() { return seed; }
+    public String enemyName() { return enemyName; }
+    public int enemyLevel() { return enemyLevel; }
+    public int decisionCount() { return kinds.length; }
+    public BattleOutcome outcome() { return outcome; }
+    public int rounds() { return rounds; }
+    public double playerHp() { return playerHp; }
+    public double enemyHp() { return enemyHp; }
+
+    /** 기록된 적을 세션의 적 정의로 다시 만든다(레벨 고정). */
+    public EnemyInstance spawnEnemy(GameSession session) {
+        return new EnemyInstance(session.enemyDef(enemyName), enemyLevel);
+    }
+
+    // =========================
+    // 기록 / 재생
+    // =========================
+
+    /** seed로 엔진 난수를 맞춘 뒤 전투를 치르고, 그 전투의 리플레이를 만든다. */
+    public static BattleReplay record(HeadlessBattleEngine engine, long seed,
+                                      GameSession session, EnemyInstance enemy,
+                                      PlayerPolicy playerPolicy, EnemyPolicy enemyPolicy) {
+        Objects.requireNonNull(engine, "engine");
+        Recorder rec = new Recorder(playerPolicy == null ? PlayerPolicy.attackOnly() : playerPolicy);
+        BattleStats stats = new BattleStats();
+
+        engine.reseed(seed);
+        engine.fight(session, enemy, rec, enemyPolicy, null, stats);
+
+        return new BattleReplay(seed, enemy.getName(), enemy.getLevel(), List.copyOf(rec.names),
+                rec.kinds(), rec.nameIndex(),
+                stats.outcome(), stats.rounds(), stats.playerHpLeft(), stats.enemyHpLeft());
+    }
+
+    /**
+     * 기록된 결정을 그대로 다시 넣어 전투를 재생하고, 결과가 비트 단위로 같은지 돌려준다.
+     *
+     * @param session 기록 당시와 같은 시작 상태의 세션
+     * @param enemy   null이면 spawnEnemy(session)
+     */
+    public boolean replay(HeadlessBattleEngine engine, GameSession session, EnemyInstance enemy,
+                          EnemyPolicy enemyPolicy, BattleStats stats) {
+        Objects.requireNonNull(engine, "engine");
+        EnemyInstance e = (enemy == null) ? spawnEnemy(session) : enemy;
+        BattleStats st = (stats == null) ? new BattleStats() : stats;
+        Playback player = new Playback();
+
+        engine.reseed(seed);
+        engine.fight(session, e, player, enemyPolicy, null, st);
+
+        return !player.diverged
+                && player.next == kinds.length
+                && st.outcome() == outcome
+                && st.rounds() == rounds
+                && Double.doubleToLongBits(st.playerHpLeft()) == Double.doubleToLongBits(playerHp)
+                && Double.doubleToLongBits(st.enemyHpLeft()) == Double.doubleToLongBits(enemyHp);
+    }
+
+    // 결정을 순서대로 꺼내 주는 정책. 이름 행동은 인덱스별로 한 번만 만든다.
+    private final class Playback implements PlayerPolicy {
+        private final BattleAction[] byName = new BattleAction[names.size()];
+        private int next;
+        private boolean diverged;
+
+        @Override
+        public BattleAction decide(GameSession self, EnemyInstance enemy) {
+            if (next >= kinds.length) {
+                diverged = true;
+                return BattleAction.ATTACK;
+            }
+            int i = next++;
+            BattleAction.Kind kind = KINDS[kinds[i]];
+            switch (kind) {
+                case ATTACK -> { return BattleAction.ATTACK; }
+                case ESCAPE -> { return BattleAction.ESCAPE; }
+                default -> {
+                    int n = nameIndex[i];
+                    BattleAction a = byName[n];
+                    if (a == null) {
+                        String name = names.get(n);
+                        if (kind == BattleAction.Kind.SKILL) {
+                            SkillDef def = self.skillDef(name);
+                            if (def == null) {
+                                diverged = true;
+                                return BattleAction.ATTACK;
+                            }
+                            a = BattleAction.skill(name, def);
+                        } else {
+                            a = BattleAction.item(name);
+                        }
+                        byName[n] = a;
+                    }
+                    return a;
+                }
+            }
+        }
+    }
+
+    // 실제 정책을 감싸 결정을 기록한다.
+    private static final class Recorder implements PlayerPolicy {
+        private final PlayerPolicy delegate;
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> nameIds = new HashMap<>();
+        private byte[] kinds = new byte[64];
+        private int[] nameIndex = new int[64];
+        private int size;
+
+        Recorder(PlayerPolicy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public BattleAction decide(GameSession self, EnemyInstance enemy) {
+            BattleAction a = delegate.decide(self, enemy);
+            if (a == null) a = BattleAction.ATTACK;
+
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                nameIndex = Arrays.copyOf(nameIndex, size * 2);
+            }
+            kinds[size] = (byte) a.kind().ordinal();
+            nameIndex[size] = (a.name() == null) ? -1 : nameIds.computeIfAbsent(a.name(), n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+            size++;
+            return a;
+        }
+
+        byte[] kinds() { return Arrays.copyOf(kinds, size); }
+        int[] nameIndex() { return Arrays.copyOf(nameIndex, size); }
+    }
+
+    // =========================
+    // 바이너리 입출력
+    // =========================
+
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeUTF(enemyName);
+        writeVarInt(out, enemyLevel);
+
+        writeVarInt(out, names.size());
+        for (String n : names) out.writeUTF(n);
+
+        writeVarInt(out, kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            out.writeByte(kinds[i]);
+            if (nameIndex[i] >= 0) writeVarInt(out, nameIndex[i]);
+        }
+
+        out.writeByte(outcome.ordinal());
+        writeVarInt(out, rounds);
+        out.writeDouble(playerHp);
+        out.writeDouble(enemyHp);
+        out.flush();
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(32 + kinds.length * 2);
+        try {
+            write(bos);
+        } catch (IOException e) {
+            throw new RuntimeException(e); // 메모리 스트림이라 발생하지 않음
+        }
+        return bos.toByteArray();
+    }
+
+    public static BattleReplay read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) throw new IOException("리플레이 파일이 아닙니다.");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("지원하지 않는 리플레이 버전: " + version);
+
+        long seed = in.readLong();
+        String enemyName = in.readUTF();
+        int enemyLevel = readVarInt(in);
+
+        int nameCount = readVarInt(in);
+        List<String> names = new ArrayList<>(nameCount);
+        for (int i = 0; i < nameCount; i++) names.add(in.readUTF());
+
+        int count = readVarInt(in);
+        byte[] kinds = new byte[count];
+        int[] nameIndex = new int[count];
+        for (int i = 0; i < count; i++) {
+            int k = in.readUnsignedByte();
+            if (k >= KINDS.length) throw new IOException("잘못된 행동 코드: " + k);
+            kinds[i] = (byte) k;
+            BattleAction.Kind kind = KINDS[k];
+            if (kind == BattleAction.Kind.SKILL || kind == BattleAction.Kind.ITEM) {
+                int n = readVarInt(in);
+                if (n >= nameCount) throw new IOException("잘못된 이름 인덱스: " + n);
+                nameIndex[i] = n;
+            } else {
+                nameIndex[i] = -1;
+            }
+        }
+
+        int o = in.readUnsignedByte();
+        if (o >= OUTCOMES.length) throw new IOException("잘못된 결과 코드: " + o);
+        int rounds = readVarInt(in);
+        double playerHp = in.readDouble();
+        double enemyHp = in.readDouble();
+
+        return new BattleReplay(seed, enemyName, enemyLevel, List.copyOf(names), kinds, nameIndex,
+                OUTCOMES[o], rounds, playerHp, enemyHp);
+    }
+
+    public static BattleReplay fromBytes(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("잘못된 varint");
+    }
+}
@@ -0,0 +1,52 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+import desia.combat.DamageEngine;
+import desia.combat.DamageType;
+
+import java.util.Random;
+
+/**
+ * 전투 규칙(출력 없음).
+ *
+ * 콘솔 전투(BattleEngine)와 헤드리스 전투(HeadlessBattleEngine)가 같은 공식을 쓰도록
+ * 기본 공격/적 스킬/도주 판정을 여기로 모았다.
+ */
+final class BattleRules {
+    private BattleRules() {}
+
+    // 적 스킬 공격 MP 소모량(임시 규칙)
+    static final int ENEMY_SKILL_MP_COST = 5;
+    // 기존 적 정책(EnemyPolicy.DEFAULT)이 MP 가 될 때 스킬 공격을 고르는 확률(%)
+    static final int ENEMY_SKILL_PERCENT = 40;
+
+    // 기본 공격: 공격력만큼 물리 피해. @return HP로 들어간 피해
+    static double basicAttack(Combatant attacker, Combatant target) {
+        double raw = Math.max(1, attacker.getAtk());
+        return DamageEngine.deal(attacker, target, raw, DamageType.PHYSICAL, 1);
+    }
+
+    // 기본 공격의 예상 피해(방어 감산 후, 실드 흡수 전). 상태를 바꾸지 않는다
+    static double basicAttackPreview(Combatant attacker, Combatant target) {
+        return DamageEngine.mitigate(target, Math.max(1, attacker.getAtk()), DamageType.PHYSICAL);
+    }
+
+    // 적 스킬 공격: MP 5 소모, 주문력만큼 마법 피해. @return HP로 들어간 피해
+    static double enemySkillAttack(EnemyInstance enemy, Combatant target) {
+        enemy.setMp(enemy.getMp() - ENEMY_SKILL_MP_COST);
+        double raw = Math.max(1, enemy.getMagic());
+        return DamageEngine.deal(enemy, target, raw, DamageType.MAGIC, 1);
+    }
+
+    // 도주 확률(%): 속도 차이 1당 2%
+    static double escapeChance(double playerSpd, double enemySpd) {
+        double chance = (playerSpd - enemySpd) * 2;
+        return Math.max(0, chance);
+    }
+
+    static boolean rollEscape(Random rng, Combatant player, Combatant enemy) {
+        int roll = rng.nextInt(100) + 1; // 1~100
+        return roll <= escapeChance(player.getSpd(), enemy.getSpd());
+    }
+}
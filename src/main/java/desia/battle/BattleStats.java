@@ -0,0 +1,64 @@
+package desia.battle;
+
+/**
+ * 헤드리스 전투 1회의 통계.
+ *
+ * 시뮬레이션에서 객체를 재사용할 수 있도록 가변으로 두고, 전투 시작 시 reset() 된다.
+ */
+public final class BattleStats {
+    BattleOutcome outcome;
+    int rounds;
+    int playerActions;
+    int enemyActions;
+    int playerSkillCasts;
+    int playerItemUses;
+    double damageToEnemy;
+    double damageToPlayer;
+    int dotToEnemy;
+    int dotToPlayer;
+    double playerHpLeft;
+    double playerMaxHp;
+    double enemyHpLeft;
+
+    void reset() {
+        outcome = null;
+        rounds = 0;
+        playerActions = 0;
+        enemyActions = 0;
+        playerSkillCasts = 0;
+        playerItemUses = 0;
+        damageToEnemy = 0;
+        damageToPlayer = 0;
+        dotToEnemy = 0;
+        dotToPlayer = 0;
+        playerHpLeft = 0;
+        playerMaxHp = 0;
+        enemyHpLeft = 0;
+    }
+
+    public BattleOutcome outcome() { return outcome; }
+    public int rounds() { return rounds; }
+    public int playerActions() { return playerActions; }
+    public int enemyActions() { return enemyActions; }
+    public int playerSkillCasts() { return playerSkillCasts; }
+    public int playerItemUses() { return playerItemUses; }
+    public double damageToEnemy() { return damageToEnemy; }
+    public double damageToPlayer() { return damageToPlayer; }
+    public int dotToEnemy() { return dotToEnemy; }
+    public int dotToPlayer() { return dotToPlayer; }
+    public double playerHpLeft() { return playerHpLeft; }
+    public double enemyHpLeft() { return enemyHpLeft; }
+
+    /** 전투 종료 시 남은 HP 비율(0~1). */
+    public double playerHpRatio() {
+        return (playerMaxHp <= 0) ? 0 : playerHpLeft / playerMaxHp;
+    }
+
+    @Override
+    public String toString() {
+        return "BattleStats{outcome=" + outcome + ", rounds=" + rounds
+                + ", dmgToEnemy=" + Math.round(damageToEnemy) + ", dmgToPlayer=" + Math.round(damageToPlayer)
+                + ", playerHp=" + Math.round(playerHpLeft) + "/" + Math.round(playerMaxHp)
+                + ", enemyHp=" + Math.round(enemyHpLeft) + "}";
+    }
+}
@@ -0,0 +1,352 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+import desia.item.ConsumableEngine;
+import desia.item.Consumables;
+import desia.metrics.JfrEvents;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillEngine;
+import desia.status.StatusEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 다대다 헤드리스 전투(아군 N 명 대 적 M 명, 밸런스 시뮬레이션용).
+ *
+ * - 행동 순서: TurnTimeline(속도가 빠를수록 자주 행동, 같은 시각이면 아군 먼저 -> 목록 순서).
+ * - 라운드: 시작 시 가장 느린 참가자가 1번 행동하는 시간. maxRounds 를 넘기면 무승부.
+ * - 대상: 아군은 HP 가 가장 낮은 적을 노리고(집중 공격), 적은 HP 가 가장 낮은 아군을 노린다. 같으면 목록 앞쪽.
+ * - plural 스킬은 대상 쪽 전체에 한 번에 건다(SkillEngine.castBatch). 나머지 스킬/기본 공격/아이템은 1:1 과 같은 규칙.
+ * - 엔드 페이즈(도트/스택 감소)는 라운드 끝이 아니라 각자 자기 행동 뒤에 한다.
+ * - 도주는 아군 1명이 성공하면 전원 도주.
+ * - 출력 없음. 엔진/통계/배열을 전투끼리 재사용한다. 스레드마다 1개씩 만들어 쓸 것(스레드 안전하지 않음).
+ *
+ * BattleStats 는 아군/적 전체 합계로 채운다(playerHpLeft = 아군 남은 HP 합 등).
+ */
+public class EncounterEngine {
+
+    private final Random random;
+    private final SkillEngine skillEngine;
+    private final int maxRounds;
+    private final TurnTimeline timeline = new TurnTimeline();
+
+    // 전투마다 다시 채우는 칸. 아군이 칸 [0, partySize), 적이 [partySize, partySize + enemyCount)
+    private GameSession[] party = new GameSession[0];
+    private PlayerPolicy[] policies = new PlayerPolicy[0];
+    private EnemyInstance[] enemies = new EnemyInstance[0];
+    private EnemyPolicy[] brains = new EnemyPolicy[0];
+    private Combatant[] targets = new Combatant[0];
+    private int partySize;
+    private int enemyCount;
+
+    public EncounterEngine(Random random) {
+        this(random, HeadlessBattleEngine.DEFAULT_MAX_ROUNDS, null);
+    }
+
+    /**
+     * @param compiledSkills GameData.compiledSkills(). 주면 스킬 컴파일을 전투 중에 하지 않는다.
+     */
+    public EncounterEngine(Random random, int maxRounds, Map<String, CompiledSkill> compiledSkills) {
+        this.random = (random == null) ? new Random() : random;
+        this.skillEngine = new SkillEngine(this.random, compiledSkills);
+        this.maxRounds = Math.max(1, maxRounds);
+    }
+
+    /** 엔진 난수(스킬 엔진 공유분 포함)를 seed로 되돌린다. */
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * @param policyList  아군마다 1개(같은 순서). null 이거나 짧으면 모자란 자리는 기본 공격만
+     * @param enemyPolicy null 이면 첫 아군 세션의 적 AI. 적마다 결정 표를 전투 시작에 1번 고른다
+     * @param sink        null이면 이벤트를 보내지 않는다.
+     * @param stats       재사용할 통계 객체(시작 시 reset).
+     */
+    public BattleOutcome fight(List<GameSession> partyList, List<PlayerPolicy> policyList,
+                               List<EnemyInstance> enemyList, EnemyPolicy enemyPolicy,
+                               BattleEventSink sink, BattleStats stats) {
+        Objects.requireNonNull(stats, "stats");
+        if (partyList == null || partyList.isEmpty()) throw new IllegalArgumentException("아군이 없다.");
+        if (enemyList == null || enemyList.isEmpty()) throw new IllegalArgumentException("적이 없다.");
+        BattleEventSink out = (sink == null) ? BattleEventSink.NONE : sink;
+
+        load(partyList, policyList, enemyList, (enemyPolicy == null) ? partyList.get(0).enemyPolicy() : enemyPolicy);
+
+        long t0 = BattleMetrics.ENCOUNTER.start();
+        JfrEvents.Battle jfr = BattleMetrics.beginJfr();
+        stats.reset();
+
+        // 라운드 길이 = 가장 느린 참가자의 행동 간격
+        double roundLength = 0;
+        for (int slot = 0; slot < partySize + enemyCount; slot++) {
+            roundLength = Math.max(roundLength, timeline.step(slot));
+        }
+
+        BattleOutcome outcome = null;
+        int round = 0;
+        int partyAlive = partySize;
+        int enemiesAlive = enemyCount;
+
+        while (partyAlive > 0 && enemiesAlive > 0 && !timeline.isEmpty()) {
+            int slot = timeline.next();
+            Combatant actor = combatant(slot);
+            if (actor.getHp() <= 0) continue; // 쓰러진 칸은 다시 넣지 않는다
+
+            int r = (int) Math.ceil(timeline.time(slot) / roundLength - 1e-9);
+            if (r > round) {
+                if (r > maxRounds) {
+                    outcome = BattleOutcome.DRAW;
+                    break;
+                }
+                round = r;
+                out.onRoundStart(round);
+            }
+
+            if (slot < partySize) {
+                if (partyTurn(slot, out, stats, round)) {
+                    outcome = BattleOutcome.ESCAPE;
+                    break;
+                }
+            } else {
+                enemyTurn(slot - partySize, out, stats, round);
+            }
+
+            partyAlive = countAlive(0, partySize);
+            enemiesAlive = countAlive(partySize, partySize + enemyCount);
+            if (partyAlive == 0 || enemiesAlive == 0) break;
+
+            // === 엔드 페이즈(행동한 참가자만) ===
+            if (actor.getHp() > 0) {
+                int dot = StatusEngine.applyEndPhase(actor);
+                if (slot < partySize) {
+                    stats.dotToPlayer += dot;
+                    out.onEndPhase(round, dot, 0);
+                } else {
+                    stats.dotToEnemy += dot;
+                    out.onEndPhase(round, 0, dot);
+                }
+                if (actor.getHp() <= 0) {
+                    partyAlive = countAlive(0, partySize);
+                    enemiesAlive = countAlive(partySize, partySize + enemyCount);
+                    continue;
+                }
+            }
+            timeline.requeue(slot);
+        }
+
+        if (outcome == null) {
+            outcome = (partyAlive == 0) ? BattleOutcome.LOSE : BattleOutcome.WIN;
+        }
+
+        stats.outcome = outcome;
+        stats.rounds = round;
+        for (int i = 0; i < partySize; i++) {
+            stats.playerHpLeft += Math.max(0, party[i].getHp());
+            stats.playerMaxHp += party[i].getMaxHp();
+            party[i].endBattleCleanup();
+        }
+        for (int i = 0; i < enemyCount; i++) stats.enemyHpLeft += Math.max(0, enemies[i].getHp());
+
+        BattleMetrics.ENCOUNTER.finish(t0, jfr, outcome, round, enemies[0].getName());
+        out.onFinish(outcome, round);
+        clearRefs();
+        return outcome;
+    }
+
+    private void load(List<GameSession> partyList, List<PlayerPolicy> policyList,
+                      List<EnemyInstance> enemyList, EnemyPolicy enemyPolicy) {
+        partySize = partyList.size();
+        enemyCount = enemyList.size();
+        if (party.length < partySize) {
+            party = new GameSession[partySize];
+            policies = new PlayerPolicy[partySize];
+        }
+        if (enemies.length < enemyCount) {
+            enemies = new EnemyInstance[enemyCount];
+            brains = new EnemyPolicy[enemyCount];
+        }
+        if (targets.length < Math.max(partySize, enemyCount)) targets = new Combatant[Math.max(partySize, enemyCount)];
+
+        timeline.reset(partySize + enemyCount);
+        for (int i = 0; i < partySize; i++) {
+            GameSession s = Objects.requireNonNull(partyList.get(i), "party");
+            PlayerPolicy p = (policyList == null || i >= policyList.size()) ? null : policyList.get(i);
+            party[i] = s;
+            policies[i] = (p == null) ? PlayerPolicy.attackOnly() : p;
+            s.resetBattleStatuses();
+            timeline.add(i, s.getSpd());
+        }
+        for (int i = 0; i < enemyCount; i++) {
+            EnemyInstance e = Objects.requireNonNull(enemyList.get(i), "enemy");
+            enemies[i] = e;
+            brains[i] = enemyPolicy.bind(e);
+            timeline.add(partySize + i, e.getSpd());
+        }
+    }
+
+    // 세션/정책을 전투 뒤까지 붙잡고 있지 않는다
+    private void clearRefs() {
+        for (int i = 0; i < partySize; i++) {
+            party[i] = null;
+            policies[i] = null;
+        }
+        for (int i = 0; i < enemyCount; i++) {
+            enemies[i] = null;
+            brains[i] = null;
+        }
+        for (int i = 0; i < targets.length; i++) targets[i] = null;
+    }
+
+    private Combatant combatant(int slot) {
+        return (slot < partySize) ? party[slot] : enemies[slot - partySize];
+    }
+
+    private int countAlive(int from, int to) {
+        int n = 0;
+        for (int slot = from; slot < to; slot++) if (combatant(slot).getHp() > 0) n++;
+        return n;
+    }
+
+    // HP 가 가장 낮은 살아 있는 칸(같으면 앞쪽). 모두 쓰러졌으면 -1
+    private int weakest(int from, int to) {
+        int best = -1;
+        double bestHp = Double.MAX_VALUE;
+        for (int slot = from; slot < to; slot++) {
+            double hp = combatant(slot).getHp();
+            if (hp > 0 && hp < bestHp) {
+                bestHp = hp;
+                best = slot;
+            }
+        }
+        return best;
+    }
+
+    // targets 에 [from, to) 의 살아 있는 참가자를 채운다. @return 채운 수
+    private int fillAlive(int from, int to) {
+        int n = 0;
+        for (int slot = from; slot < to; slot++) {
+            Combatant c = combatant(slot);
+            if (c.getHp() > 0) targets[n++] = c;
+        }
+        return n;
+    }
+
+    private double hpSum(int count) {
+        double sum = 0;
+        for (int i = 0; i < count; i++) sum += targets[i].getHp();
+        return sum;
+    }
+
+    // plural 스킬: 적 대상이면 반대편 전체, 아니면 자기편 전체. @return 반대편 HP 로 들어간 피해(MP 부족이면 -1)
+    private double castPlural(CompiledSkill skill, Combatant caster, boolean casterIsParty) {
+        boolean enemySide = skill.targetsEnemy() == casterIsParty;
+        int count = enemySide ? fillAlive(partySize, partySize + enemyCount) : fillAlive(0, partySize);
+        double before = hpSum(count);
+        if (!skillEngine.castBatch(skill, caster, targets, count)) return -1;
+        double dealt = skill.targetsEnemy() ? Math.max(0, before - hpSum(count)) : 0;
+        for (int i = 0; i < count; i++) targets[i] = null;
+        return dealt;
+    }
+
+    // @return true면 도망 성공
+    private boolean partyTurn(int slot, BattleEventSink out, BattleStats stats, int round) {
+        GameSession self = party[slot];
+        if (StatusEngine.blocksAction(self)) {
+            out.onActionBlocked(round, true);
+            return false;
+        }
+
+        EnemyInstance target = enemies[weakest(partySize, partySize + enemyCount) - partySize];
+        stats.playerActions++;
+        BattleAction action = policies[slot].decide(self, target);
+        if (action == null) action = BattleAction.ATTACK;
+
+        switch (action.kind()) {
+            case SKILL -> {
+                CompiledSkill skill = skillEngine.compiled(action.name(), action.skill());
+                double dealt;
+                if (skill.isPlural()) {
+                    dealt = castPlural(skill, self, true);
+                } else {
+                    double before = target.getHp();
+                    dealt = skillEngine.castQuiet(skill, self, target) ? Math.max(0, before - target.getHp()) : -1;
+                }
+                if (dealt >= 0) {
+                    stats.playerSkillCasts++;
+                    stats.damageToEnemy += dealt;
+                    out.onPlayerAction(round, action, dealt);
+                    return false;
+                }
+            }
+            case ITEM -> {
+                Boolean escaped = useItem(self, target, action.name());
+                if (escaped != null) {
+                    stats.playerItemUses++;
+                    out.onPlayerAction(round, action, 0);
+                    return escaped;
+                }
+            }
+            case ESCAPE -> {
+                boolean ok = BattleRules.rollEscape(random, self, target);
+                out.onPlayerAction(round, action, 0);
+                return ok;
+            }
+            default -> {
+            }
+        }
+
+        // 기본 공격(또는 실패한 스킬/아이템의 대체 행동)
+        double dealt = BattleRules.basicAttack(self, target);
+        stats.damageToEnemy += dealt;
+        out.onPlayerAction(round, BattleAction.ATTACK, dealt);
+        return false;
+    }
+
+    // @return null이면 사용 실패(대체 행동 필요), 아니면 도망 여부
+    private Boolean useItem(GameSession session, EnemyInstance enemy, String name) {
+        Consumables c = session.consumableDef(name);
+        if (c == null || !c.isUseInBattle()) return null;
+        if (!session.removeItem(name, 1)) return null;
+
+        ConsumableEngine.ApplyResult r = ConsumableEngine.applyInBattle(session, enemy, c, skillEngine);
+        if (!r.success) {
+            session.addItem(name, 1);
+            return null;
+        }
+        return r.escaped;
+    }
+
+    private void enemyTurn(int index, BattleEventSink out, BattleStats stats, int round) {
+        EnemyInstance self = enemies[index];
+        if (StatusEngine.blocksAction(self)) {
+            out.onActionBlocked(round, false);
+            return;
+        }
+
+        GameSession target = party[weakest(0, partySize)];
+        stats.enemyActions++;
+        EnemyMove move = brains[index].choose(self, target, random);
+        double dealt = -1;
+        if (move.skill() != null) {
+            // 데이터 스킬. 실패(MP 부족)면 기본 공격으로 대체
+            if (move.skill().isPlural()) {
+                dealt = castPlural(move.skill(), self, false);
+            } else {
+                double before = target.getHp();
+                if (skillEngine.castQuiet(move.skill(), self, target)) dealt = Math.max(0, before - target.getHp());
+            }
+            if (dealt < 0) move = EnemyMove.ATTACK;
+        } else if (move.action() == EnemyAction.SKILL) {
+            dealt = BattleRules.enemySkillAttack(self, target);
+        }
+        if (dealt < 0) dealt = BattleRules.basicAttack(self, target);
+        stats.damageToPlayer += dealt;
+        out.onEnemyAction(round, move.action(), dealt);
+    }
+}
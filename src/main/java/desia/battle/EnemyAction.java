@@ -0,0 +1,6 @@
+package desia.battle;
+
+/** 적 턴 행동 종류. */
+public enum EnemyAction {
+    ATTACK, SKILL
+}
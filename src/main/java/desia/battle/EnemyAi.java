@@ -0,0 +1,268 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillSetRepository;
+import desia.status.StatusContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * enemy_ai.json 을 적마다 결정 표(EnemyBrain)로 컴파일한 결과(불변, 세션/스레드끼리 공유).
+ *
+ * 스킬 목록: enemies[이름].skills + skillsets[enemies[이름].skillset], 둘 다 없으면 properties[속성].
+ * 목록이 비면 기존 적 스킬(MP 5, 주문력 1배 마법 피해)을 유일한 공격 스킬로 둔다.
+ * 행동 규칙: tiers[등급].phases, 없으면 기존 규칙(HP 전 구간 40% 스킬).
+ * 설정이 비어 있으면 모든 적이 EnemyPolicy.DEFAULT 와 같은 난수 소비로 같은 행동을 한다.
+ *
+ * 정책으로 쓸 때는 bind(enemy) 가 전투 시작에 적 이름으로 표를 1번 찾는다.
+ */
+public final class EnemyAi implements EnemyPolicy {
+
+    private static final EnemyAiPhase LEGACY_PHASE = new EnemyAiPhase(100, 40, 0, "random");
+
+    private final EnemyAiConfig config;
+    private final Map<String, EnemyBrain> brains;
+    private final EnemyBrain legacy;
+    private final List<String> problems;
+
+    private EnemyAi(EnemyAiConfig config, Map<String, EnemyBrain> brains, List<String> problems) {
+        this.config = config;
+        this.brains = brains;
+        this.legacy = compileBrain("(기본)", List.of(LEGACY_PHASE), List.of(), List.of());
+        this.problems = problems;
+    }
+
+    /** 설정 없이(모든 적이 기존 규칙). */
+    public static EnemyAi empty() {
+        return new EnemyAi(new EnemyAiConfig(), Map.of(), List.of());
+    }
+
+    /**
+     * @param enemies  이름 -> 적 정의(전부 컴파일한다)
+     * @param compiled 이름 -> 컴파일된 스킬(GameData.compiledSkills)
+     */
+    public static EnemyAi compile(EnemyAiConfig config, Map<String, Enemy> enemies,
+                                  Map<String, CompiledSkill> compiled, SkillSetRepository skillSets) {
+        EnemyAiConfig cfg = (config == null) ? new EnemyAiConfig() : config;
+        List<String> problems = new ArrayList<>();
+        Map<String, List<EnemyAiPhase>> phases = new HashMap<>();
+        if (cfg.getTiers() != null) {
+            cfg.getTiers().forEach((tier, ai) -> phases.put(tier.toLowerCase(Locale.ROOT), checkPhases(tier, ai, problems)));
+        }
+        Map<String, List<String>> sets = (skillSets == null) ? Map.of() : skillSets.rawSets();
+
+        if (cfg.getEnemies() != null) {
+            for (String name : cfg.getEnemies().keySet()) {
+                if (!enemies.containsKey(name)) problems.add("알 수 없는 적 '" + name + "'");
+            }
+        }
+
+        Map<String, EnemyBrain> brains = new HashMap<>();
+        for (Enemy e : enemies.values()) {
+            if (e == null || e.getName() == null) continue;
+            String tier = (e.getTier() == null) ? "" : e.getTier().toLowerCase(Locale.ROOT);
+            List<EnemyAiPhase> ph = phases.getOrDefault(tier, List.of(LEGACY_PHASE));
+
+            Set<String> names = new LinkedHashSet<>();
+            EnemySkillPool pool = (cfg.getEnemies() == null) ? null : cfg.getEnemies().get(e.getName());
+            boolean explicit = pool != null;
+            if (pool != null) {
+                if (pool.getSkills() != null) names.addAll(pool.getSkills());
+                if (pool.getSkillset() != null) {
+                    List<String> set = sets.get(pool.getSkillset());
+                    if (set == null) problems.add(e.getName() + ": 알 수 없는 스킬셋 '" + pool.getSkillset() + "'");
+                    else names.addAll(set);
+                }
+            }
+            if (names.isEmpty() && cfg.getProperties() != null && e.getProperty() != null) {
+                names.addAll(cfg.getProperties().getOrDefault(e.getProperty(), List.of()));
+            }
+
+            List<CompiledSkill> attacks = new ArrayList<>();
+            List<CompiledSkill> supports = new ArrayList<>();
+            for (String s : names) {
+                CompiledSkill cs = compiled.get(s);
+                if (cs == null) {
+                    problems.add(e.getName() + ": 알 수 없는 스킬 '" + s + "'");
+                    continue;
+                }
+                switch (role(cs)) {
+                    case ATTACK -> attacks.add(cs);
+                    case SUPPORT -> supports.add(cs);
+                    case NONE -> {
+                        // 속성 목록은 여러 적이 나눠 쓰므로 개별 목록에 있을 때만 알린다
+                        if (explicit) problems.add(e.getName() + ": 적 AI 가 쓸 수 없는 스킬 '" + s + "'(피해/상태이상/회복/실드 없음)");
+                    }
+                }
+            }
+            // 센 것부터(로드 시 정의 기본 스탯으로 어림). 같으면 목록 순서
+            attacks.sort(Comparator.comparingDouble((CompiledSkill cs) -> -power(cs, e)));
+            brains.put(e.getName(), compileBrain(e.getName(), ph, attacks, supports));
+        }
+        return new EnemyAi(cfg, Collections.unmodifiableMap(brains), List.copyOf(problems));
+    }
+
+    private enum Role { ATTACK, SUPPORT, NONE }
+
+    private static Role role(CompiledSkill cs) {
+        boolean damage = false, heal = false;
+        for (int i = 0; i < cs.componentCount(); i++) {
+            CompiledSkill.Kind k = cs.kind(i);
+            if (k == CompiledSkill.Kind.DAMAGE) damage = true;
+            if (k == CompiledSkill.Kind.SHIELD || (k == CompiledSkill.Kind.HEAL && !cs.isMpHeal())) heal = true;
+        }
+        if (cs.targetsEnemy()) return (damage || statusMask(cs) != 0) ? Role.ATTACK : Role.NONE;
+        return heal ? Role.SUPPORT : Role.NONE;
+    }
+
+    private static int statusMask(CompiledSkill cs) {
+        int mask = 0;
+        for (int i = 0; i < cs.effectCount(); i++) {
+            if (cs.effectTargetsEnemy(i)) mask |= StatusContainer.bit(cs.effectStatus(i));
+        }
+        return mask;
+    }
+
+    private static double power(CompiledSkill cs, Enemy e) {
+        double sum = 0;
+        for (int i = 0; i < cs.componentCount(); i++) {
+            if (cs.kind(i) == CompiledSkill.Kind.DAMAGE) sum += cs.estimate(i, e.getAtk(), e.getMagic());
+        }
+        return sum;
+    }
+
+    private static List<EnemyAiPhase> checkPhases(String tier, EnemyTierAi ai, List<String> problems) {
+        List<EnemyAiPhase> list = new ArrayList<>();
+        if (ai != null && ai.getPhases() != null) {
+            for (EnemyAiPhase p : ai.getPhases()) if (p != null) list.add(p);
+        }
+        if (list.isEmpty()) {
+            problems.add("등급 " + tier + ": phases 가 비어 있음(기존 규칙 사용)");
+            return List.of(LEGACY_PHASE);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            EnemyAiPhase p = list.get(i);
+            if (i > 0 && p.getHpBelow() >= list.get(i - 1).getHpBelow()) {
+                problems.add("등급 " + tier + ": hp_below 는 내림차순이어야 함(" + p.getHpBelow() + ")");
+            }
+            if (!"random".equals(p.getPick()) && !"strongest".equals(p.getPick())) {
+                problems.add("등급 " + tier + ": 알 수 없는 pick '" + p.getPick() + "'(random 사용)");
+            }
+        }
+        return list;
+    }
+
+    private static EnemyBrain compileBrain(String name, List<EnemyAiPhase> phases,
+                                           List<CompiledSkill> attacks, List<CompiledSkill> supports) {
+        int n = phases.size();
+        int[] skillChance = new int[n];
+        int[] supportChance = new int[n];
+        boolean[] strongest = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            EnemyAiPhase p = phases.get(i);
+            skillChance[i] = clampPercent(p.getSkillChance());
+            supportChance[i] = clampPercent(p.getSupportChance());
+            strongest[i] = "strongest".equals(p.getPick());
+        }
+
+        // HP% 가 hp_below 이하인 마지막 구간(첫 구간은 위쪽 전부)
+        byte[] phaseOfPct = new byte[101];
+        for (int pct = 0; pct <= 100; pct++) {
+            int ph = 0;
+            for (int i = 1; i < n; i++) {
+                if (pct <= phases.get(i).getHpBelow()) ph = i;
+            }
+            phaseOfPct[pct] = (byte) ph;
+        }
+
+        EnemyMove[] attackMoves;
+        int[] attackCost;
+        int[] attackStatus;
+        boolean[] statusOnly;
+        if (attacks.isEmpty()) {
+            attackMoves = new EnemyMove[]{EnemyMove.LEGACY_SKILL};
+            attackCost = new int[]{BattleRules.ENEMY_SKILL_MP_COST};
+            attackStatus = new int[1];
+            statusOnly = new boolean[1];
+        } else {
+            int m = attacks.size();
+            attackMoves = new EnemyMove[m];
+            attackCost = new int[m];
+            attackStatus = new int[m];
+            statusOnly = new boolean[m];
+            for (int i = 0; i < m; i++) {
+                CompiledSkill cs = attacks.get(i);
+                attackMoves[i] = EnemyMove.of(cs);
+                attackCost[i] = cs.mpCost();
+                attackStatus[i] = statusMask(cs);
+                boolean damage = false;
+                for (int c = 0; c < cs.componentCount(); c++) damage |= cs.kind(c) == CompiledSkill.Kind.DAMAGE;
+                statusOnly[i] = !damage;
+            }
+        }
+
+        int s = supports.size();
+        EnemyMove[] supportMoves = new EnemyMove[s];
+        int[] supportCost = new int[s];
+        boolean[] supportShield = new boolean[s];
+        for (int i = 0; i < s; i++) {
+            CompiledSkill cs = supports.get(i);
+            supportMoves[i] = EnemyMove.of(cs);
+            supportCost[i] = cs.mpCost();
+            boolean heal = false;
+            for (int c = 0; c < cs.componentCount(); c++) heal |= cs.kind(c) == CompiledSkill.Kind.HEAL;
+            supportShield[i] = !heal;
+        }
+
+        return new EnemyBrain(name, phaseOfPct, skillChance, supportChance, strongest,
+                attackMoves, attackCost, attackStatus, statusOnly, supportMoves, supportCost, supportShield);
+    }
+
+    private static int clampPercent(int v) {
+        return Math.max(0, Math.min(100, v));
+    }
+
+    /** 적 이름의 결정 표. 모르는 적이면 기존 규칙 표. */
+    public EnemyBrain brain(String enemyName) {
+        EnemyBrain b = (enemyName == null) ? null : brains.get(enemyName);
+        return (b == null) ? legacy : b;
+    }
+
+    @Override
+    public EnemyPolicy bind(EnemyInstance enemy) {
+        return brain(enemy.getName());
+    }
+
+    // bind 없이 불렸을 때(테스트/외부 호출): 매번 이름으로 찾는다
+    @Override
+    public EnemyMove choose(EnemyInstance self, Combatant target, Random rng) {
+        return brain(self.getName()).choose(self, target, rng);
+    }
+
+    @Override
+    public EnemyAction decide(EnemyInstance self, Combatant target, Random rng) {
+        return choose(self, target, rng).action();
+    }
+
+    /** 컴파일 원본(스냅샷 저장용). */
+    public EnemyAiConfig config() {
+        return config;
+    }
+
+    /** 컴파일 경고(모르는 적/스킬/스킬셋, 쓸 수 없는 스킬, 구간 순서). */
+    public List<String> problems() {
+        return problems;
+    }
+}
@@ -0,0 +1,37 @@
+package desia.battle;
+
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * enemy_ai.json 루트.
+ * {
+ *   "tiers": { "minion": { "phases": [...] }, "elite": {...}, "boss": {...} },
+ *   "properties": { "불": ["파이어", ...] },
+ *   "enemies": { "고블린 마법사": { "skillset": "마법사" }, "트롤": { "skills": [...] } }
+ * }
+ * 로드 후 EnemyAi.compile 이 적마다 결정 표(EnemyBrain)로 바꾼다.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class EnemyAiConfig {
+
+    // 등급(enemies.json 의 tier) -> HP 구간별 행동 규칙. 없는 등급은 기존 규칙(40% 스킬)
+    @Builder.Default
+    private Map<String, EnemyTierAi> tiers = new LinkedHashMap<>();
+
+    // 속성(enemies.json 의 property) -> 스킬 목록. 적 개별 목록이 없을 때 쓴다
+    @Builder.Default
+    private Map<String, List<String>> properties = new LinkedHashMap<>();
+
+    // 적 이름 -> 스킬 목록/스킬셋
+    @Builder.Default
+    private Map<String, EnemySkillPool> enemies = new LinkedHashMap<>();
+}
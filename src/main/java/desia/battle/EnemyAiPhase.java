@@ -0,0 +1,34 @@
+package desia.battle;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+/**
+ * HP 구간 1개. 예: {"hp_below": 30, "skill_chance": 80, "support_chance": 40, "pick": "strongest"}
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class EnemyAiPhase {
+
+    // 이 구간이 시작되는 HP%(이하)
+    @JsonProperty("hp_below")
+    @Builder.Default
+    private int hpBelow = 100;
+
+    // 공격 스킬을 쓸 확률(%)
+    @JsonProperty("skill_chance")
+    @Builder.Default
+    private int skillChance = 40;
+
+    // 회복/실드 스킬을 먼저 시도할 확률(%)
+    @JsonProperty("support_chance")
+    private int supportChance;
+
+    // 공격 스킬 고르는 법: random(쓸 수 있는 것 중 균등) / strongest(가장 센 것)
+    @Builder.Default
+    private String pick = "random";
+}
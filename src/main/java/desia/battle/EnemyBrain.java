@@ -0,0 +1,242 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+
+import java.util.Random;
+
+/**
+ * 적 1종의 결정 표(EnemyAi.compile 이 로드 시 만든다, 불변).
+ *
+ * 한 번의 결정:
+ *   HP% -> phaseOfPct[HP%] 로 구간 -> (support_chance) 회복/실드 -> (skill_chance) 공격 스킬 -> 기본 공격.
+ * 스킬 후보는 배열을 한 번 훑는다(적 1종당 보통 2~6개). 할당 없음, 난수 외 상태 없음(리플레이 가능).
+ *
+ * 상태 인식:
+ * - 공격 스킬은 대상에게 아직 없는 상태이상을 거는 것을 먼저 고른다(없으면 전체 후보).
+ * - 피해 없이 상태이상만 거는 스킬은 대상이 이미 그 상태면 후보에서 뺀다.
+ * - 실드 스킬은 이미 실드가 있으면, 회복 스킬은 HP 가 가득이면 쓰지 않는다.
+ */
+public final class EnemyBrain implements EnemyPolicy {
+
+    final String enemy;
+
+    // HP%(0~100) -> 구간 번호
+    final byte[] phaseOfPct;
+    // 구간별 규칙
+    final int[] skillChance;
+    final int[] supportChance;
+    final boolean[] strongest;
+
+    // 공격 스킬(세기 내림차순)
+    final EnemyMove[] attacks;
+    final int[] attackCost;
+    // 대상에게 거는 상태이상 비트(StatusContainer.bit)
+    final int[] attackStatus;
+    final boolean[] statusOnly;
+    final int minAttackCost;
+
+    // 자기 회복/실드 스킬(목록 순서)
+    final EnemyMove[] supports;
+    final int[] supportCost;
+    final boolean[] supportShield;
+
+    EnemyBrain(String enemy, byte[] phaseOfPct, int[] skillChance, int[] supportChance, boolean[] strongest,
+               EnemyMove[] attacks, int[] attackCost, int[] attackStatus, boolean[] statusOnly,
+               EnemyMove[] supports, int[] supportCost, boolean[] supportShield) {
+        this.enemy = enemy;
+        this.phaseOfPct = phaseOfPct;
+        this.skillChance = skillChance;
+        this.supportChance = supportChance;
+        this.strongest = strongest;
+        this.attacks = attacks;
+        this.attackCost = attackCost;
+        this.attackStatus = attackStatus;
+        this.statusOnly = statusOnly;
+        this.supports = supports;
+        this.supportCost = supportCost;
+        this.supportShield = supportShield;
+        int min = Integer.MAX_VALUE;
+        for (int c : attackCost) min = Math.min(min, c);
+        this.minAttackCost = min;
+    }
+
+    @Override
+    public EnemyAction decide(EnemyInstance self, Combatant target, Random rng) {
+        return choose(self, target, rng).action();
+    }
+
+    @Override
+    public EnemyMove choose(EnemyInstance self, Combatant target, Random rng) {
+        int phase = phaseOfPct[hpPercent(self)];
+        double mp = self.getMp();
+
+        if (supportChance[phase] > 0 && supports.length > 0 && rng.nextInt(100) < supportChance[phase]) {
+            int s = firstSupport(mp, self.getShield() > 0, self.getHp() >= self.getMaxHp());
+            if (s >= 0) return supports[s];
+        }
+
+        // 쓸 수 있는 공격 스킬이 없으면 굴리지 않는다(기존 규칙과 같은 난수 소비)
+        if (mp < minAttackCost) return EnemyMove.ATTACK;
+        if (rng.nextInt(100) >= skillChance[phase]) return EnemyMove.ATTACK;
+        return pickAttack(target, mp, strongest[phase], rng);
+    }
+
+    /** choose 가 고르는 행동 1개와 그 확률. */
+    @FunctionalInterface
+    public interface Branches {
+        void on(EnemyMove move, double p);
+    }
+
+    /**
+     * choose 가 고를 수 있는 행동을 난수 대신 확률로 모두 내보낸다(합 = p). FightEstimator 가 갈래로 쓴다.
+     * 인자는 choose 가 self/target 에서 읽는 값 그대로다.
+     *
+     * @param targetMask 대상의 StatusContainer.activeMask()
+     */
+    void branches(int hpPercent, double mp, boolean hasShield, boolean fullHp, int targetMask, double p, Branches out) {
+        int phase = phaseOfPct[Math.max(0, Math.min(100, hpPercent))];
+        double rest = p;
+
+        if (supportChance[phase] > 0 && supports.length > 0) {
+            int s = firstSupport(mp, hasShield, fullHp);
+            if (s >= 0) {
+                double q = p * supportChance[phase] / 100.0;
+                out.on(supports[s], q);
+                rest = p - q;
+            }
+        }
+        if (rest <= 0) return;
+
+        if (mp < minAttackCost) {
+            out.on(EnemyMove.ATTACK, rest);
+            return;
+        }
+        double skill = rest * skillChance[phase] / 100.0;
+        if (rest - skill > 0) out.on(EnemyMove.ATTACK, rest - skill);
+        if (skill <= 0) return;
+
+        int fresh = 0, usable = 0;
+        for (int i = 0; i < attacks.length; i++) {
+            if (!usable(i, targetMask, mp)) continue;
+            usable++;
+            if ((attackStatus[i] & ~targetMask) != 0) fresh++;
+        }
+        if (usable == 0) {
+            out.on(EnemyMove.ATTACK, skill);
+            return;
+        }
+        boolean onlyFresh = fresh > 0;
+        int n = onlyFresh ? fresh : usable;
+        boolean first = strongest[phase] || n == 1;
+        for (int i = 0; i < attacks.length; i++) {
+            if (!usable(i, targetMask, mp)) continue;
+            if (onlyFresh && (attackStatus[i] & ~targetMask) == 0) continue;
+            out.on(attacks[i], first ? skill : skill / n);
+            if (first) return;
+        }
+    }
+
+    /**
+     * 전투 시작 상태(자신 HP/MP 가득, 실드 없음, 대상 상태이상 없음)에서 choose 가 고를 행동과 확률(합 1).
+     * 전투 밖 추정(자동 장착의 유효 체력)에 쓴다.
+     */
+    public void openingBranches(EnemyInstance self, Branches out) {
+        branches(100, self.getMaxMp(), false, true, 0, 1.0, out);
+    }
+
+    /**
+     * EnemyPolicy.bind 결과의 결정 표. EnemyBrain 은 그대로, EnemyPolicy.DEFAULT 는 같은 규칙의 표
+     * (MP 5 이상이면 40% 기존 적 스킬). 그 밖의 정책은 표로 나타낼 수 없어 null.
+     */
+    public static EnemyBrain of(EnemyPolicy bound) {
+        if (bound instanceof EnemyBrain b) return b;
+        if (bound == EnemyPolicy.DEFAULT) return Legacy.BRAIN;
+        return null;
+    }
+
+    // EnemyAi 가 EnemyBrain 을 만들므로 처음 쓸 때 만든다
+    private static final class Legacy {
+        static final EnemyBrain BRAIN = EnemyAi.empty().brain(null);
+    }
+
+    // 쓸 수 있는 첫 회복/실드 스킬(없으면 -1). 실드는 이미 있으면, 회복은 HP 가 가득이면 건너뛴다
+    private int firstSupport(double mp, boolean hasShield, boolean fullHp) {
+        for (int i = 0; i < supports.length; i++) {
+            if (mp < supportCost[i]) continue;
+            if (supportShield[i] ? hasShield : fullHp) continue;
+            return i;
+        }
+        return -1;
+    }
+
+    // 후보 2단계: 대상에게 없는 상태이상을 거는 스킬 > 나머지. 같은 단계 안에서 strongest 면 첫 번째(가장 셈), 아니면 균등.
+    private EnemyMove pickAttack(Combatant target, double mp, boolean strongestFirst, Random rng) {
+        int has = target.statuses().activeMask();
+        int fresh = 0, usable = 0;
+        for (int i = 0; i < attacks.length; i++) {
+            if (!usable(i, has, mp)) continue;
+            usable++;
+            if ((attackStatus[i] & ~has) != 0) fresh++;
+        }
+        if (usable == 0) return EnemyMove.ATTACK;
+
+        boolean onlyFresh = fresh > 0;
+        int n = onlyFresh ? fresh : usable;
+        int k = (strongestFirst || n == 1) ? 0 : rng.nextInt(n);
+        for (int i = 0; i < attacks.length; i++) {
+            if (!usable(i, has, mp)) continue;
+            if (onlyFresh && (attackStatus[i] & ~has) == 0) continue;
+            if (k-- == 0) return attacks[i];
+        }
+        return EnemyMove.ATTACK;
+    }
+
+    private boolean usable(int i, int targetStatus, double mp) {
+        if (mp < attackCost[i]) return false;
+        return !statusOnly[i] || (attackStatus[i] & ~targetStatus) != 0;
+    }
+
+    private static int hpPercent(EnemyInstance self) {
+        return hpPercent(self.getHp(), self.getMaxHp());
+    }
+
+    /** choose 가 구간을 고를 때 쓰는 HP%(0~100, 내림). */
+    static int hpPercent(double hp, double maxHp) {
+        if (maxHp <= 0) return 100;
+        int pct = (int) (hp * 100 / maxHp);
+        return Math.max(0, Math.min(100, pct));
+    }
+
+    /** 적 이름. */
+    public String enemy() {
+        return enemy;
+    }
+
+    /** 구간 수. */
+    public int phaseCount() {
+        return skillChance.length;
+    }
+
+    /** HP% 에 해당하는 구간 번호. */
+    public int phaseAt(int hpPercent) {
+        return phaseOfPct[Math.max(0, Math.min(100, hpPercent))];
+    }
+
+    /** 공격 스킬 수(세기 순). 스킬 목록이 없는 적은 기존 적 스킬(EnemyMove.LEGACY_SKILL) 1개. */
+    public int attackCount() {
+        return attacks.length;
+    }
+
+    public EnemyMove attack(int i) {
+        return attacks[i];
+    }
+
+    public int supportCount() {
+        return supports.length;
+    }
+
+    public EnemyMove support(int i) {
+        return supports[i];
+    }
+}
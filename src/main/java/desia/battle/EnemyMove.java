@@ -0,0 +1,18 @@
+package desia.battle;
+
+import desia.skill.CompiledSkill;
+
+/**
+ * 적 턴 행동 1개. 결정 표가 미리 만들어 두고 돌려준다(결정마다 새로 만들지 않는다).
+ *
+ * @param skill null 이면 기본 공격(ATTACK) 또는 기존 적 스킬(SKILL: MP 5, 주문력 1배 마법 피해)
+ */
+public record EnemyMove(EnemyAction action, CompiledSkill skill) {
+
+    public static final EnemyMove ATTACK = new EnemyMove(EnemyAction.ATTACK, null);
+    public static final EnemyMove LEGACY_SKILL = new EnemyMove(EnemyAction.SKILL, null);
+
+    public static EnemyMove of(CompiledSkill skill) {
+        return new EnemyMove(EnemyAction.SKILL, skill);
+    }
+}
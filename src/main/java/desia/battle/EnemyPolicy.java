@@ -0,0 +1,38 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+
+import java.util.Random;
+
+/**
+ * 적 턴 행동 결정 정책.
+ *
+ * 콘솔 전투와 헤드리스 시뮬레이션이 같은 정책을 공유한다.
+ * 엔진은 전투 시작 때 bind(enemy) 로 그 적의 정책을 1번 고르고, 턴마다 choose 를 부른다.
+ */
+@FunctionalInterface
+public interface EnemyPolicy {
+
+    EnemyAction decide(EnemyInstance self, Combatant target, Random rng);
+
+    /**
+     * 이번 턴 행동(쓸 스킬까지). 기본 구현은 decide 결과를 기존 적 스킬(MP 5, 주문력 1배 마법 피해)로 옮긴다.
+     * 미리 만들어 둔 EnemyMove 를 돌려줄 것(적 턴은 할당 없이 돈다).
+     */
+    default EnemyMove choose(EnemyInstance self, Combatant target, Random rng) {
+        return (decide(self, target, rng) == EnemyAction.SKILL) ? EnemyMove.LEGACY_SKILL : EnemyMove.ATTACK;
+    }
+
+    /** 이 적과의 전투 1번 동안 쓸 정책. 적마다 표를 고르는 정책(EnemyAi)이 여기서 1번만 찾는다. */
+    default EnemyPolicy bind(EnemyInstance enemy) {
+        return this;
+    }
+
+    /** 기존 규칙: MP 5 이상이면 40% 확률로 스킬 공격, 아니면 기본 공격. */
+    EnemyPolicy DEFAULT = (self, target, rng) -> {
+        boolean canSkill = self.getMp() >= BattleRules.ENEMY_SKILL_MP_COST;
+        boolean useSkill = canSkill && rng.nextInt(100) < BattleRules.ENEMY_SKILL_PERCENT;
+        return useSkill ? EnemyAction.SKILL : EnemyAction.ATTACK;
+    };
+}
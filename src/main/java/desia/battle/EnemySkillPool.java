@@ -0,0 +1,22 @@
+package desia.battle;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 적 1종의 스킬 목록. skills 와 skillset(skillsets.json 의 키)을 둘 다 쓰면 합친다.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class EnemySkillPool {
+
+    @Builder.Default
+    private List<String> skills = List.of();
+
+    private String skillset;
+}
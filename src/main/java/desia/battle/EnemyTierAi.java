@@ -0,0 +1,21 @@
+package desia.battle;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 등급 1개의 행동 규칙: HP 구간(phase) 목록.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class EnemyTierAi {
+
+    // hp_below 내림차순(첫 구간은 보통 100). HP% 가 hp_below 이하인 마지막 구간이 적용된다
+    @Builder.Default
+    private List<EnemyAiPhase> phases = List.of();
+}
@@ -0,0 +1,23 @@
+package desia.battle;
+
+/**
+ * FightEstimator 결과: 1:1 전투 1번의 결과 분포(난수 없이 계산한 값).
+ *
+ * @param win            승리 확률
+ * @param lose           패배 확률
+ * @param draw           최대 라운드 도달(무승부) 확률
+ * @param avgRounds      기대 라운드 수(무승부는 최대 라운드로 센다)
+ * @param avgHpLeftOnWin 승리했을 때 남은 HP 비율의 기대값(0~1). 승리 확률이 0 이면 0
+ * @param escapeChance   도주 1회 시도의 성공 확률(BattleRules 공식, 0~1)
+ * @param states         계산 중 가장 많았던 상태 수(분기 폭 확인용)
+ */
+public record FightEstimate(
+        double win,
+        double lose,
+        double draw,
+        double avgRounds,
+        double avgHpLeftOnWin,
+        double escapeChance,
+        int states
+) {
+}
@@ -0,0 +1,501 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+import desia.combat.DamageEngine;
+import desia.combat.DamageType;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillCompiler;
+import desia.skill.SkillDef;
+import desia.skill.SkillOutcome;
+import desia.skill.SkillOutcomeCalculator;
+import desia.status.StatusContainer;
+import desia.status.StatusEngine;
+import desia.status.StatusType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1:1 전투 결과를 난수 없이 계산한다(전투 상태 분포에 대한 동적 계획법). 전 레벨 x 전 적 x 전 직업 스캔용.
+ *
+ * HeadlessBattleEngine 과 같은 규칙을 라운드 단위로 따라가되, 전투 1번을 굴리는 대신
+ * 상태(양쪽 HP/MP/실드/상태이상 스택) -> 확률 표를 라운드마다 한 번에 넘긴다. 같은 상태는 합친다.
+ *
+ * - 적은 엔진과 같은 정책을 쓴다: 데이터 적 AI(enemy_ai.json)면 EnemyBrain 이 고를 수 있는 행동(HP% 구간, MP 로 거르는
+ *   공격/회복/실드 스킬, 플레이어 상태이상에 따른 후보)을 확률대로 모두 갈래로 나누고, EnemyPolicy.DEFAULT 면 기존 규칙 표를 쓴다.
+ *   적 스킬 값도 플레이어와 같은 SkillOutcomeCalculator 로 구한다. 그 밖의 EnemyPolicy 는 계산할 수 없어 거부한다.
+ * - 플레이어는 Plan 으로 정한다(PlayerPolicy.attackOnly / firstAffordableSkill 과 같은 선택).
+ *   스킬 효과 값은 SkillOutcomeCalculator 로 구하고, 상태이상은 걸림/안 걸림 두 갈래로 나눈다.
+ * - 방어 감산(DamageEngine.mitigate), 실드 흡수, 엔드 페이즈 도트/스택 감소, 피격 시 수면 해제/화상 감소를 그대로 따른다.
+ * - 스킬의 회복/실드 컴포넌트가 여러 개면 합계를 한 번에 반올림한다(엔진은 컴포넌트마다). 그 밖에는 엔진과 같다.
+ * - 확률 PRUNE 미만인 상태는 버린다(win + lose + draw 가 1 보다 그만큼 작을 수 있다).
+ *
+ * 엔진처럼 인스턴스 1개를 여러 번 쓰고, 스레드마다 1개씩 만든다(스레드 안전하지 않음).
+ */
+public final class FightEstimator {
+
+    /** 플레이어 행동 규칙. */
+    public enum Plan {
+        /** PlayerPolicy.attackOnly 와 같다. */
+        ATTACK_ONLY,
+        /** PlayerPolicy.firstAffordableSkill 과 같다. */
+        FIRST_AFFORDABLE_SKILL
+    }
+
+    static final double PRUNE = 1e-12;
+
+    // 상태이상 스택을 long 하나에 9비트씩 담는다(최대 511 에서 자름)
+    private static final int BITS = 9;
+    private static final int STACK_MAX = (1 << BITS) - 1;
+    private static final int STATUS_TYPES = StatusType.values().length;
+    private static final int BLEED = StatusType.BLEED.ordinal();
+    private static final int POISON = StatusType.POISON.ordinal();
+    private static final int BURN = StatusType.BURN.ordinal();
+    private static final int SLEEP = StatusType.SLEEP.ordinal();
+    private static final int[] CONTROL = {
+            StatusType.PARALYSIS.ordinal(), StatusType.PANIC.ordinal(), StatusType.FREEZE.ordinal(), SLEEP
+    };
+
+    private final int maxRounds;
+    private final Map<String, CompiledSkill> compiledSkills;
+
+    // 스킬 값 계산용 대역(상태의 HP/MP 를 넣어 계산기에 넘긴다)
+    private final SkillOutcomeCalculator outcomes = new SkillOutcomeCalculator();
+    private final Probe playerProbe = new Probe();
+    private final Probe enemyProbe = new Probe();
+
+    // estimate 1번 동안의 값
+    private List<CompiledSkill> skills;
+    private EnemyBrain brain;
+    private long basicToEnemy, enemyAttack, enemySkill;
+    private int playerMaxHp, playerMaxMp, enemyMaxHp, enemyMaxMp;
+    private double hpRatioBase, enemyMaxHpExact;
+
+    public FightEstimator() {
+        this(HeadlessBattleEngine.DEFAULT_MAX_ROUNDS, null);
+    }
+
+    /**
+     * @param compiledSkills GameData.compiledSkills(). null 이면 필요할 때 컴파일한다.
+     */
+    public FightEstimator(int maxRounds, Map<String, CompiledSkill> compiledSkills) {
+        this.maxRounds = Math.max(1, maxRounds);
+        this.compiledSkills = (compiledSkills == null) ? Map.of() : compiledSkills;
+    }
+
+    /**
+     * 현재 세션(HP/MP/스탯/장비 기본 실드)과 적으로 전투 1번의 결과 분포를 구한다. 세션/적은 바꾸지 않는다.
+     * 적 정책은 엔진의 기본값(session.enemyPolicy())이다.
+     */
+    public FightEstimate estimate(GameSession session, EnemyInstance enemy, Plan plan) {
+        return estimate(session, enemy, plan, null);
+    }
+
+    /**
+     * @param enemyPolicy HeadlessBattleEngine.fight 에 넘기는 것과 같은 값(null 이면 session.enemyPolicy()).
+     *                    EnemyAi(데이터 적 AI) 또는 EnemyPolicy.DEFAULT 만 계산할 수 있다.
+     * @throws IllegalArgumentException 그 밖의 정책
+     */
+    public FightEstimate estimate(GameSession session, EnemyInstance enemy, Plan plan, EnemyPolicy enemyPolicy) {
+        brain = brainOf(((enemyPolicy == null) ? session.enemyPolicy() : enemyPolicy).bind(enemy));
+        playerProbe.load(session);
+        enemyProbe.load(enemy);
+        skills = (plan == Plan.FIRST_AFFORDABLE_SKILL) ? knownSkills(session) : List.of();
+
+        playerMaxHp = (int) Math.round(session.getMaxHp());
+        playerMaxMp = (int) Math.round(session.getMaxMp());
+        hpRatioBase = Math.max(1, session.getMaxHp());
+        enemyMaxHp = (int) enemy.getMaxHp();
+        enemyMaxHpExact = enemy.getMaxHp();
+        enemyMaxMp = (int) enemy.getMaxMp();
+        basicToEnemy = DamageEngine.mitigate(enemy, Math.max(1, session.getAtk()), DamageType.PHYSICAL);
+        enemyAttack = DamageEngine.mitigate(session, Math.max(1, enemy.getAtk()), DamageType.PHYSICAL);
+        enemySkill = DamageEngine.mitigate(session, Math.max(1, enemy.getMagic()), DamageType.MAGIC);
+        boolean playerFirst = session.getSpd() >= enemy.getSpd();
+
+        // 전투 시작: 플레이어 상태이상은 지우고 실드는 장비 기본값(resetBattleStatuses)
+        State start = new State();
+        start.pHp = (int) Math.round(session.getHp());
+        start.pMp = (int) Math.round(session.getMp());
+        start.pShield = (int) Math.round(session.getEquipBaseShield());
+        start.eHp = (int) Math.round(enemy.getHp());
+        start.eMp = (int) Math.round(enemy.getMp());
+        start.eShield = (int) Math.round(enemy.getShield());
+        start.eSt = pack(enemy.statuses());
+
+        Map<State, Double> cur = new HashMap<>();
+        Map<State, Double> mid = new HashMap<>();
+        cur.put(start, 1.0);
+
+        double win = 0, lose = 0, rounds = 0, hpOnWin = 0;
+        int peak = 1;
+        Tally tally = new Tally();
+
+        for (int round = 1; round <= maxRounds && !cur.isEmpty(); round++) {
+            for (int half = 0; half < 2; half++) {
+                mid.clear();
+                boolean playerActs = (half == 0) == playerFirst;
+                for (Map.Entry<State, Double> e : cur.entrySet()) {
+                    if (playerActs) playerTurn(e.getKey(), e.getValue(), mid);
+                    else enemyTurn(e.getKey(), e.getValue(), mid);
+                }
+                cur.clear();
+                settle(mid, cur, tally);
+            }
+
+            mid.clear();
+            for (Map.Entry<State, Double> e : cur.entrySet()) {
+                State s = e.getKey().copy();
+                endPhase(s);
+                add(mid, s, e.getValue());
+            }
+            cur.clear();
+            settle(mid, cur, tally);
+            peak = Math.max(peak, cur.size());
+
+            win += tally.win;
+            lose += tally.lose;
+            hpOnWin += tally.hpOnWin;
+            rounds += (tally.win + tally.lose) * round;
+            tally.clear();
+        }
+
+        double draw = 0;
+        for (double p : cur.values()) draw += p;
+        rounds += draw * maxRounds;
+
+        double escape = BattleRules.escapeChance(session.getSpd(), enemy.getSpd()) / 100.0;
+        return new FightEstimate(win, lose, draw, rounds, (win <= 0) ? 0 : hpOnWin / win, Math.min(1.0, escape), peak);
+    }
+
+    private static EnemyBrain brainOf(EnemyPolicy bound) {
+        EnemyBrain b = EnemyBrain.of(bound);
+        if (b != null) return b;
+        throw new IllegalArgumentException("FightEstimator 가 계산할 수 없는 적 정책: " + bound);
+    }
+
+    private List<CompiledSkill> knownSkills(GameSession session) {
+        List<CompiledSkill> out = new ArrayList<>();
+        for (String n : session.knownSkillsList()) {
+            SkillDef def = session.skillDef(n);
+            if (def == null) continue;
+            CompiledSkill cs = compiledSkills.get(n);
+            out.add((cs != null && cs.source() == def) ? cs : SkillCompiler.compile(n, def));
+        }
+        return out;
+    }
+
+    // 엔진의 종료 판정: 플레이어가 쓰러졌으면 패배, 아니면 적이 쓰러졌을 때 승리
+    private void settle(Map<State, Double> from, Map<State, Double> alive, Tally tally) {
+        for (Map.Entry<State, Double> e : from.entrySet()) {
+            State s = e.getKey();
+            double p = e.getValue();
+            if (s.pHp <= 0) {
+                tally.lose += p;
+            } else if (s.eHp <= 0) {
+                tally.win += p;
+                tally.hpOnWin += p * s.pHp / hpRatioBase;
+            } else if (p >= PRUNE) {
+                alive.put(s, p);
+            }
+        }
+    }
+
+    // ===== 행동 =====
+
+    private void playerTurn(State s, double p, Map<State, Double> out) {
+        if (blocked(s.pSt)) {
+            add(out, s, p);
+            return;
+        }
+
+        CompiledSkill skill = null;
+        for (int i = 0; i < skills.size(); i++) {
+            if (skills.get(i).mpCost() <= s.pMp) {
+                skill = skills.get(i);
+                break;
+            }
+        }
+
+        if (skill == null) {
+            State n = s.copy();
+            hitEnemy(n, basicToEnemy, 1);
+            add(out, n, p);
+            return;
+        }
+        cast(s, skill, true, p, out);
+    }
+
+    private void enemyTurn(State s, double p, Map<State, Double> out) {
+        if (blocked(s.eSt)) {
+            add(out, s, p);
+            return;
+        }
+
+        int hpPct = EnemyBrain.hpPercent(s.eHp, enemyMaxHpExact);
+        brain.branches(hpPct, s.eMp, s.eShield > 0, s.eHp >= enemyMaxHp, activeMask(s.pSt), p, (move, q) -> {
+            if (move.skill() != null) {
+                cast(s, move.skill(), false, q, out);
+                return;
+            }
+            State n = s.copy();
+            if (move.action() == EnemyAction.SKILL) {
+                // 기존 적 스킬(BattleRules.enemySkillAttack)
+                n.eMp = clamp(n.eMp - BattleRules.ENEMY_SKILL_MP_COST, enemyMaxMp);
+                hitPlayer(n, enemySkill, 1);
+            } else {
+                hitPlayer(n, enemyAttack, 1);
+            }
+            add(out, n, q);
+        });
+    }
+
+    // SkillEngine.castQuiet 과 같은 적용(MP 는 정책이 이미 확인했다). byPlayer 면 플레이어가, 아니면 적이 시전한다
+    private void cast(State s, CompiledSkill skill, boolean byPlayer, double p, Map<State, Double> out) {
+        State n = s.copy();
+        if (byPlayer) n.pMp = clamp(n.pMp - skill.mpCost(), playerMaxMp);
+        else n.eMp = clamp(n.eMp - skill.mpCost(), enemyMaxMp);
+        playerProbe.set(s.pHp, s.pMp);
+        enemyProbe.set(s.eHp, s.eMp);
+        SkillOutcome o = byPlayer
+                ? outcomes.outcome(skill, playerProbe, enemyProbe)
+                : outcomes.outcome(skill, enemyProbe, playerProbe);
+
+        int hits = 0;
+        for (int i = 0; i < skill.componentCount(); i++) {
+            if (skill.kind(i) == CompiledSkill.Kind.DAMAGE) hits++;
+        }
+        // 대상이 적 쪽: 플레이어가 적을 노리거나, 적이 자기 자신에게 쓸 때
+        if (skill.targetsEnemy() == byPlayer) {
+            if (hits > 0) hitEnemy(n, Math.round(o.damage()), hits);
+            if (o.isMpHeal()) n.eMp = clamp(n.eMp + (int) Math.round(o.heal()), enemyMaxMp);
+            else n.eHp = clamp(n.eHp + (int) Math.round(o.heal()), enemyMaxHp);
+            n.eShield += (int) Math.round(o.shield());
+        } else {
+            if (hits > 0) hitPlayer(n, Math.round(o.damage()), hits);
+            if (o.isMpHeal()) n.pMp = clamp(n.pMp + (int) Math.round(o.heal()), playerMaxMp);
+            else n.pHp = clamp(n.pHp + (int) Math.round(o.heal()), playerMaxHp);
+            n.pShield += (int) Math.round(o.shield());
+        }
+
+        branchEffects(skill, byPlayer, 0, n, p, out);
+    }
+
+    // 상태이상 효과 i 부터: 걸림(chance) / 안 걸림(1 - chance) 두 갈래
+    private void branchEffects(CompiledSkill skill, boolean byPlayer, int i, State s, double p, Map<State, Double> out) {
+        if (i == skill.effectCount()) {
+            add(out, s, p);
+            return;
+        }
+        double chance = Math.min(1.0, Math.max(0.0, skill.effectChance(i)));
+        if (chance < 1.0) branchEffects(skill, byPlayer, i + 1, s, p * (1 - chance), out);
+        if (chance > 0.0) {
+            State n = s.copy();
+            int type = skill.effectStatus(i).ordinal();
+            if (skill.effectTargetsEnemy(i) == byPlayer) n.eSt = addStacks(n.eSt, type, skill.effectStacks(i));
+            else n.pSt = addStacks(n.pSt, type, skill.effectStacks(i));
+            branchEffects(skill, byPlayer, i + 1, n, p * chance, out);
+        }
+    }
+
+    // DamageEngine.deal 과 같은 순서: 실드 흡수 -> HP -> 피격 처리(수면 해제, 화상 -hits)
+    private void hitEnemy(State s, long dmg, int hits) {
+        long rest = dmg;
+        if (s.eShield > 0) {
+            long absorbed = Math.min(s.eShield, rest);
+            s.eShield -= (int) absorbed;
+            rest -= absorbed;
+        }
+        s.eHp = clamp(s.eHp - (int) rest, enemyMaxHp);
+        s.eSt = onHit(s.eSt, hits);
+    }
+
+    private void hitPlayer(State s, long dmg, int hits) {
+        long rest = dmg;
+        if (s.pShield > 0) {
+            long absorbed = Math.min(s.pShield, rest);
+            s.pShield -= (int) absorbed;
+            rest -= absorbed;
+        }
+        s.pHp = clamp(s.pHp - (int) rest, playerMaxHp);
+        s.pSt = onHit(s.pSt, hits);
+    }
+
+    // StatusEngine.applyEndPhase 와 같은 규칙(양쪽 모두 살아 있을 때만 불린다)
+    private void endPhase(State s) {
+        int pDot = dot(s.pSt);
+        if (pDot > 0) {
+            int absorbed = Math.min(s.pShield, pDot);
+            s.pShield -= absorbed;
+            s.pHp = clamp(s.pHp - (pDot - absorbed), playerMaxHp);
+        }
+        s.pSt = decay(s.pSt);
+
+        int eDot = dot(s.eSt);
+        if (eDot > 0) {
+            int absorbed = Math.min(s.eShield, eDot);
+            s.eShield -= absorbed;
+            s.eHp = clamp(s.eHp - (eDot - absorbed), enemyMaxHp);
+        }
+        s.eSt = decay(s.eSt);
+    }
+
+    private static int clamp(int v, int max) {
+        return Math.max(0, Math.min(max, v));
+    }
+
+    private static void add(Map<State, Double> out, State s, double p) {
+        out.merge(s, p, Double::sum);
+    }
+
+    // ===== 상태이상 스택(9비트씩) =====
+
+    private static int stacks(long st, int type) {
+        return (int) ((st >>> (type * BITS)) & STACK_MAX);
+    }
+
+    private static long withStacks(long st, int type, int n) {
+        int shift = type * BITS;
+        long v = Math.max(0, Math.min(STACK_MAX, n));
+        return (st & ~((long) STACK_MAX << shift)) | (v << shift);
+    }
+
+    private static long addStacks(long st, int type, int n) {
+        return (n <= 0) ? st : withStacks(st, type, stacks(st, type) + n);
+    }
+
+    private static boolean blocked(long st) {
+        for (int c : CONTROL) if (stacks(st, c) > 0) return true;
+        return false;
+    }
+
+    private static long onHit(long st, int hits) {
+        st = withStacks(st, SLEEP, 0);
+        return withStacks(st, BURN, stacks(st, BURN) - hits);
+    }
+
+    // StatusContainer.activeMask 와 같은 비트(스택 > 0 인 상태)
+    private static int activeMask(long st) {
+        int mask = 0;
+        for (int t = 0; t < STATUS_TYPES; t++) if (stacks(st, t) > 0) mask |= 1 << t;
+        return mask;
+    }
+
+    private static int dot(long st) {
+        return (stacks(st, BLEED) + stacks(st, POISON) + stacks(st, BURN)) * StatusEngine.DOT_DAMAGE_PER_STACK;
+    }
+
+    // 독 -1, 제어계 각 -1(화상은 피격으로만, 출혈은 유지)
+    private static long decay(long st) {
+        st = withStacks(st, POISON, stacks(st, POISON) - 1);
+        for (int c : CONTROL) st = withStacks(st, c, stacks(st, c) - 1);
+        return st;
+    }
+
+    private static long pack(StatusContainer statuses) {
+        long st = 0;
+        for (StatusType t : StatusType.values()) st = withStacks(st, t.ordinal(), statuses.getStacks(t));
+        return st;
+    }
+
+    // ===== 내부 타입 =====
+
+    // 전투 상태 1개(정수 자원 + 스택). 표의 키로 쓴다
+    private static final class State {
+        int pHp, pMp, pShield;
+        int eHp, eMp, eShield;
+        long pSt, eSt;
+
+        State copy() {
+            State s = new State();
+            s.pHp = pHp;
+            s.pMp = pMp;
+            s.pShield = pShield;
+            s.eHp = eHp;
+            s.eMp = eMp;
+            s.eShield = eShield;
+            s.pSt = pSt;
+            s.eSt = eSt;
+            return s;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State s)) return false;
+            return pHp == s.pHp && pMp == s.pMp && pShield == s.pShield
+                    && eHp == s.eHp && eMp == s.eMp && eShield == s.eShield
+                    && pSt == s.pSt && eSt == s.eSt;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = pHp;
+            h = 31 * h + pMp;
+            h = 31 * h + pShield;
+            h = 31 * h + eHp;
+            h = 31 * h + eMp;
+            h = 31 * h + eShield;
+            h = 31 * h + Long.hashCode(pSt);
+            return 31 * h + Long.hashCode(eSt);
+        }
+    }
+
+    // 한 라운드 동안 끝난 전투의 확률
+    private static final class Tally {
+        double win, lose, hpOnWin;
+
+        void clear() {
+            win = 0;
+            lose = 0;
+            hpOnWin = 0;
+        }
+    }
+
+    // 스킬 값 계산용 전투원. 스탯은 load 때 복사하고 버전을 올린다(계산기 캐시가 이전 대상과 섞이지 않게)
+    private static final class Probe implements Combatant {
+        private final StatusContainer statuses = new StatusContainer();
+        private int version;
+        private int level;
+        private double maxHp, maxMp, atk, magic, def, mdef, spd;
+        private double hp, mp, shield;
+
+        void load(Combatant src) {
+            version++;
+            level = src.getLevel();
+            maxHp = src.getMaxHp();
+            maxMp = src.getMaxMp();
+            atk = src.getAtk();
+            magic = src.getMagic();
+            def = src.getDef();
+            mdef = src.getMdef();
+            spd = src.getSpd();
+        }
+
+        void set(double hp, double mp) {
+            this.hp = hp;
+            this.mp = mp;
+        }
+
+        @Override public int statsVersion() { return version; }
+        @Override public String getNameForStatus() { return "probe"; }
+        @Override public StatusContainer statuses() { return statuses; }
+        @Override public int getLevel() { return level; }
+        @Override public double getMaxHp() { return maxHp; }
+        @Override public double getMaxMp() { return maxMp; }
+        @Override public double getAtk() { return atk; }
+        @Override public double getMagic() { return magic; }
+        @Override public double getDef() { return def; }
+        @Override public double getMdef() { return mdef; }
+        @Override public double getSpd() { return spd; }
+        @Override public double getHp() { return hp; }
+        @Override public double getMp() { return mp; }
+        @Override public void setHp(double hp) { this.hp = hp; }
+        @Override public void setMp(double mp) { this.mp = mp; }
+        @Override public double getShield() { return shield; }
+        @Override public void setShield(double shield) { this.shield = shield; }
+    }
+}
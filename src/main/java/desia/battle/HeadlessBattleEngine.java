@@ -0,0 +1,227 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.item.ConsumableEngine;
+import desia.item.Consumables;
+import desia.metrics.JfrEvents;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillCastResult;
+import desia.skill.SkillEngine;
+import desia.status.StatusEngine;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 출력/입력 없는 전투 엔진(밸런스 시뮬레이션용).
+ *
+ * - Io 대신 PlayerPolicy/EnemyPolicy가 행동을 고른다(EnemyPolicy 를 안 주면 세션의 적 AI 표).
+ * - System.out, ConsoleUi, anythingToContinue를 전혀 호출하지 않는다.
+ * - 턴 순서/엔드 페이즈/도주 공식은 BattleEngine과 동일(BattleRules 공유).
+ * - 엔진 1개를 여러 전투에 재사용한다. 스레드마다 1개씩 만들어 쓸 것(스레드 안전하지 않음).
+ *
+ * 콘솔 전투와 다른 점: 정책이 고른 스킬/아이템이 실패하면(MP 부족 등) 턴을 날리지 않고 기본 공격으로 대체한다.
+ */
+public class HeadlessBattleEngine {
+
+    public static final int DEFAULT_MAX_ROUNDS = 500;
+
+    private final Random random;
+    private final SkillEngine skillEngine;
+    private final int maxRounds;
+
+    public HeadlessBattleEngine(Random random) {
+        this(random, DEFAULT_MAX_ROUNDS);
+    }
+
+    public HeadlessBattleEngine(Random random, int maxRounds) {
+        this(random, maxRounds, null);
+    }
+
+    /**
+     * @param compiledSkills GameData.compiledSkills(). 주면 스킬 컴파일을 전투 중에 하지 않는다.
+     */
+    public HeadlessBattleEngine(Random random, int maxRounds, Map<String, CompiledSkill> compiledSkills) {
+        this.random = (random == null) ? new Random() : random;
+        this.skillEngine = new SkillEngine(this.random, compiledSkills);
+        this.maxRounds = Math.max(1, maxRounds);
+    }
+
+    /** 엔진 난수(스킬 엔진 공유분 포함)를 seed로 되돌린다. 리플레이 기록/재생용. */
+    public void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
+    public BattleOutcome fight(GameSession session, EnemyInstance enemy, PlayerPolicy playerPolicy, EnemyPolicy enemyPolicy) {
+        return fight(session, enemy, playerPolicy, enemyPolicy, null, new BattleStats());
+    }
+
+    /**
+     * @param sink  null이면 이벤트를 보내지 않는다.
+     * @param stats 재사용할 통계 객체(시작 시 reset).
+     */
+    public BattleOutcome fight(GameSession session, EnemyInstance enemy,
+                               PlayerPolicy playerPolicy, EnemyPolicy enemyPolicy,
+                               BattleEventSink sink, BattleStats stats) {
+        Objects.requireNonNull(session, "session");
+        Objects.requireNonNull(enemy, "enemy");
+        Objects.requireNonNull(stats, "stats");
+        PlayerPolicy pp = (playerPolicy == null) ? PlayerPolicy.attackOnly() : playerPolicy;
+        // null 이면 세션(GameData)의 적 AI. 적마다 결정 표를 여기서 1번 고른다.
+        EnemyPolicy ep = ((enemyPolicy == null) ? session.enemyPolicy() : enemyPolicy).bind(enemy);
+        BattleEventSink out = (sink == null) ? BattleEventSink.NONE : sink;
+
+        long t0 = BattleMetrics.HEADLESS.start();
+        JfrEvents.Battle jfr = BattleMetrics.beginJfr();
+        stats.reset();
+        session.resetBattleStatuses();
+
+        BattleOutcome outcome = null;
+        int round = 0;
+
+        while (session.getHp() > 0 && enemy.getHp() > 0) {
+            if (round >= maxRounds) {
+                outcome = BattleOutcome.DRAW;
+                break;
+            }
+            round++;
+            out.onRoundStart(round);
+
+            boolean playerFirst = (session.getSpd() >= enemy.getSpd());
+
+            if (playerFirst) {
+                if (playerTurn(session, enemy, pp, out, stats, round)) {
+                    outcome = BattleOutcome.ESCAPE;
+                    break;
+                }
+                if (enemy.getHp() <= 0) break;
+
+                enemyTurn(session, enemy, ep, out, stats, round);
+            } else {
+                enemyTurn(session, enemy, ep, out, stats, round);
+                if (session.getHp() <= 0) break;
+
+                if (playerTurn(session, enemy, pp, out, stats, round)) {
+                    outcome = BattleOutcome.ESCAPE;
+                    break;
+                }
+            }
+
+            // === 엔드 페이즈 ===
+            if (session.getHp() > 0 && enemy.getHp() > 0) {
+                int pDot = StatusEngine.applyEndPhase(session);
+                int eDot = StatusEngine.applyEndPhase(enemy);
+                stats.dotToPlayer += pDot;
+                stats.dotToEnemy += eDot;
+                out.onEndPhase(round, pDot, eDot);
+            }
+        }
+
+        if (outcome == null) {
+            outcome = (session.getHp() <= 0) ? BattleOutcome.LOSE : BattleOutcome.WIN;
+        }
+
+        stats.outcome = outcome;
+        stats.rounds = round;
+        stats.playerHpLeft = session.getHp();
+        stats.playerMaxHp = session.getMaxHp();
+        stats.enemyHpLeft = enemy.getHp();
+
+        session.endBattleCleanup();
+        BattleMetrics.HEADLESS.finish(t0, jfr, outcome, round, enemy.getName());
+        out.onFinish(outcome, round);
+        return outcome;
+    }
+
+    // @return true면 도망 성공
+    private boolean playerTurn(GameSession session, EnemyInstance enemy, PlayerPolicy policy,
+                               BattleEventSink out, BattleStats stats, int round) {
+        if (StatusEngine.blocksAction(session)) {
+            out.onActionBlocked(round, true);
+            return false;
+        }
+
+        stats.playerActions++;
+        BattleAction action = policy.decide(session, enemy);
+        if (action == null) action = BattleAction.ATTACK;
+
+        switch (action.kind()) {
+            case SKILL -> {
+                double before = enemy.getHp();
+                SkillCastResult r = skillEngine.cast(action.name(), action.skill(), session, enemy);
+                if (r.isSpentTurn()) {
+                    double dealt = Math.max(0, before - enemy.getHp());
+                    stats.playerSkillCasts++;
+                    stats.damageToEnemy += dealt;
+                    out.onPlayerAction(round, action, dealt);
+                    return false;
+                }
+            }
+            case ITEM -> {
+                Boolean escaped = useItem(session, enemy, action.name());
+                if (escaped != null) {
+                    stats.playerItemUses++;
+                    out.onPlayerAction(round, action, 0);
+                    return escaped;
+                }
+            }
+            case ESCAPE -> {
+                boolean ok = BattleRules.rollEscape(random, session, enemy);
+                out.onPlayerAction(round, action, 0);
+                return ok;
+            }
+            default -> {
+            }
+        }
+
+        // 기본 공격(또는 실패한 스킬/아이템의 대체 행동)
+        double dealt = BattleRules.basicAttack(session, enemy);
+        stats.damageToEnemy += dealt;
+        out.onPlayerAction(round, BattleAction.ATTACK, dealt);
+        return false;
+    }
+
+    // @return null이면 사용 실패(대체 행동 필요), 아니면 도망 여부
+    private Boolean useItem(GameSession session, EnemyInstance enemy, String name) {
+        Consumables c = session.consumableDef(name);
+        if (c == null || !c.isUseInBattle()) return null;
+        if (!session.removeItem(name, 1)) return null;
+
+        ConsumableEngine.ApplyResult r = ConsumableEngine.applyInBattle(session, enemy, c, skillEngine);
+        if (!r.success) {
+            session.addItem(name, 1);
+            return null;
+        }
+        return r.escaped;
+    }
+
+    private void enemyTurn(GameSession session, EnemyInstance enemy, EnemyPolicy policy,
+                           BattleEventSink out, BattleStats stats, int round) {
+        if (StatusEngine.blocksAction(enemy)) {
+            out.onActionBlocked(round, false);
+            return;
+        }
+
+        stats.enemyActions++;
+        EnemyMove move = policy.choose(enemy, session, random);
+        double dealt;
+        if (move.skill() != null) {
+            // 데이터 스킬: 로그 없이 시전. 실패(MP 부족)면 기본 공격으로 대체
+            double before = session.getHp();
+            if (skillEngine.castQuiet(move.skill(), enemy, session)) {
+                dealt = Math.max(0, before - session.getHp());
+            } else {
+                move = EnemyMove.ATTACK;
+                dealt = BattleRules.basicAttack(enemy, session);
+            }
+        } else if (move.action() == EnemyAction.SKILL) {
+            dealt = BattleRules.enemySkillAttack(enemy, session);
+        } else {
+            dealt = BattleRules.basicAttack(enemy, session);
+        }
+        stats.damageToPlayer += dealt;
+        out.onEnemyAction(round, move.action(), dealt);
+    }
+}
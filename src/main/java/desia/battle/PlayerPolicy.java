@@ -0,0 +1,92 @@
+package desia.battle;
+
+import desia.Character.EnemyInstance;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillCompiler;
+import desia.skill.SkillDef;
+import desia.skill.SkillOutcomeCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 헤드리스 전투에서 Io 대신 플레이어 행동을 결정하는 정책.
+ */
+@FunctionalInterface
+public interface PlayerPolicy {
+
+    BattleAction decide(GameSession self, EnemyInstance enemy);
+
+    /** 항상 기본 공격. */
+    static PlayerPolicy attackOnly() {
+        return (self, enemy) -> BattleAction.ATTACK;
+    }
+
+    /**
+     * 알고 있는 스킬 중 MP가 되는 첫 스킬을 쓰고, 없으면 기본 공격.
+     * 스킬 행동은 첫 호출 시 한 번만 만들어 재사용한다(세션 1개 전용).
+     */
+    static PlayerPolicy firstAffordableSkill() {
+        return new PlayerPolicy() {
+            private List<BattleAction> actions;
+
+            @Override
+            public BattleAction decide(GameSession self, EnemyInstance enemy) {
+                if (actions == null) {
+                    actions = new ArrayList<>();
+                    for (String n : self.knownSkillsList()) {
+                        SkillDef def = self.skillDef(n);
+                        if (def != null) actions.add(BattleAction.skill(n, def));
+                    }
+                }
+                double mp = self.getMp();
+                for (int i = 0; i < actions.size(); i++) {
+                    BattleAction a = actions.get(i);
+                    if (a.skill().getMpCost() <= mp) return a;
+                }
+                return BattleAction.ATTACK;
+            }
+        };
+    }
+
+    /**
+     * MP 가 되는 스킬 중 예상 피해(SkillOutcomeCalculator)가 가장 큰 것을 쓴다. 기본 공격보다 약하면 기본 공격.
+     * 피해가 없는 스킬(회복/실드)은 고르지 않는다. 예상치는 스탯이 바뀌기 전까지 캐시된다(세션 1개 전용).
+     */
+    static PlayerPolicy bestExpectedDamage() {
+        return new PlayerPolicy() {
+            private final SkillOutcomeCalculator outcomes = new SkillOutcomeCalculator();
+            private List<BattleAction> actions;
+            private List<CompiledSkill> compiled;
+
+            @Override
+            public BattleAction decide(GameSession self, EnemyInstance enemy) {
+                if (actions == null) {
+                    actions = new ArrayList<>();
+                    compiled = new ArrayList<>();
+                    for (String n : self.knownSkillsList()) {
+                        SkillDef def = self.skillDef(n);
+                        if (def != null) {
+                            actions.add(BattleAction.skill(n, def));
+                            compiled.add(SkillCompiler.compile(n, def));
+                        }
+                    }
+                }
+                double mp = self.getMp();
+                BattleAction best = BattleAction.ATTACK;
+                double bestDamage = BattleRules.basicAttackPreview(self, enemy);
+                for (int i = 0; i < actions.size(); i++) {
+                    CompiledSkill cs = compiled.get(i);
+                    if (cs.mpCost() > mp) continue;
+                    double dmg = outcomes.outcome(cs, self, enemy).damage();
+                    if (dmg > bestDamage) {
+                        best = actions.get(i);
+                        bestDamage = dmg;
+                    }
+                }
+                return best;
+            }
+        };
+    }
+}
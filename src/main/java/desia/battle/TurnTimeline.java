@@ -0,0 +1,91 @@
+package desia.battle;
+
+/**
+ * 속도 기반 행동 순서(ATB 타임라인). EncounterEngine 전용, 재사용(할당은 칸 수가 늘 때만).
+ *
+ * - 칸(slot) 마다 게이지 GAUGE 를 속도만큼씩 채운다: 행동 간격 = GAUGE / 속도, 첫 행동도 그 시각.
+ * - 다음 행동자는 시각이 가장 이른 칸. 같으면 칸 번호가 작은 쪽(아군 칸을 앞에 두면 1:1 의 "속도 같으면 플레이어 먼저"와 같다).
+ * - 최소 힙(배열). next() 로 꺼낸 칸은 requeue() 로 다시 넣거나(살아 있음) 그냥 버린다(쓰러짐).
+ * - 속도는 add 할 때 고정한다(전투 중 속도 변화는 반영하지 않음).
+ */
+final class TurnTimeline {
+
+    static final double GAUGE = 100.0;
+
+    private double[] at = new double[0];
+    private double[] step = new double[0];
+    private int[] heap = new int[0];
+    private int size;
+
+    /** 비우고 칸 수를 맞춘다. */
+    void reset(int slots) {
+        if (at.length < slots) {
+            at = new double[slots];
+            step = new double[slots];
+            heap = new int[slots];
+        }
+        size = 0;
+    }
+
+    void add(int slot, double spd) {
+        step[slot] = GAUGE / Math.max(1.0, spd);
+        at[slot] = step[slot];
+        heap[size] = slot;
+        up(size++);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** 가장 이른 칸을 꺼낸다. 시각은 time(slot). */
+    int next() {
+        int top = heap[0];
+        heap[0] = heap[--size];
+        if (size > 0) down(0);
+        return top;
+    }
+
+    double time(int slot) {
+        return at[slot];
+    }
+
+    double step(int slot) {
+        return step[slot];
+    }
+
+    /** 꺼낸 칸의 다음 행동을 한 간격 뒤에 넣는다. */
+    void requeue(int slot) {
+        at[slot] += step[slot];
+        heap[size] = slot;
+        up(size++);
+    }
+
+    private boolean before(int a, int b) {
+        return at[a] < at[b] || (at[a] == at[b] && a < b);
+    }
+
+    private void up(int i) {
+        int x = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(x, heap[parent])) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = x;
+    }
+
+    private void down(int i) {
+        int x = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < size && before(heap[c + 1], heap[c])) c++;
+            if (!before(heap[c], x)) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = x;
+    }
+}
@@ -16,4 +16,13 @@ public interface Combatant extends StatusCarrier, ShieldCarrier {
     double getMp();
     void setHp(double hp);
     void setMp(double mp);
+
+    /**
+     * 위 스탯(getMaxHp ~ getSpd)이 바뀔 때마다 달라지는 값(HP/MP/실드 같은 자원은 제외).
+     * 같은 객체에서 값이 같으면 스탯도 같다. 스탯이 생성 후 고정인 쪽은 기본값 0 그대로 둔다.
+     */
+    default int statsVersion() { return 0; }
+
+    /** 플레이어 쪽인지(이벤트에서 피해 주체를 가를 때). */
+    default boolean isPlayer() { return false; }
 }
@@ -8,15 +8,7 @@ public final class DamageEngine {
     public static double deal(Combatant attacker, Combatant target, double raw, DamageType type, int hitCount) {
         if (target == null) return 0;
 
-        double dmg = Math.max(0, raw);
-
-        // (지금 프로젝트의 기본 감산 철학 유지) 방어/마저 * 0.5 감산, 최소 1
-        if (type == DamageType.PHYSICAL) dmg = Math.max(1, dmg - target.getDef() * 0.5);
-        else if (type == DamageType.MAGIC) dmg = Math.max(1, dmg - target.getMdef() * 0.5);
-        else dmg = Math.max(1, dmg);
-
-        // 이 프로젝트는 스탯/자원을 "정수"로 다룬다.
-        long dmgInt = Math.max(1, Math.round(dmg));
+        long dmgInt = mitigate(target, raw, type);
 
         // 실드 흡수
         double hpDmg = target.absorbDamage(dmgInt);
@@ -28,4 +20,17 @@ public final class DamageEngine {
 
         return hpDmg;
     }
+
+    /** 방어 감산 후 피해(실드 흡수 전, 최소 1). 상태를 바꾸지 않는다(미리보기/예측용). */
+    public static long mitigate(Combatant target, double raw, DamageType type) {
+        double dmg = Math.max(0, raw);
+
+        // (지금 프로젝트의 기본 감산 철학 유지) 방어/마저 * 0.5 감산, 최소 1
+        if (type == DamageType.PHYSICAL) dmg = Math.max(1, dmg - target.getDef() * 0.5);
+        else if (type == DamageType.MAGIC) dmg = Math.max(1, dmg - target.getMdef() * 0.5);
+        else dmg = Math.max(1, dmg);
+
+        // 이 프로젝트는 스탯/자원을 "정수"로 다룬다.
+        return Math.max(1, Math.round(dmg));
+    }
 }
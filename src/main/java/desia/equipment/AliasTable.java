@@ -0,0 +1,69 @@
+package desia.equipment;
+
+import java.util.Random;
+
+/**
+ * 가중치 이산 분포 샘플러(Walker/Vose alias method).
+ *
+ * 만들 때 O(n), 뽑을 때 난수 2개로 O(1). 생성 후 불변이라 여러 스레드가 공유해도 된다.
+ */
+public final class AliasTable {
+
+    private final double[] prob;
+    private final int[] alias;
+
+    /** weights 는 0 이상, 합은 0 보다 커야 한다(배열은 복사하지 않고 읽기만 한다). */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double sum = 0;
+        for (double w : weights) {
+            if (!(w >= 0) || Double.isInfinite(w)) throw new IllegalArgumentException("잘못된 가중치: " + w);
+            sum += w;
+        }
+        if (n == 0 || sum <= 0) throw new IllegalArgumentException("가중치 합이 0");
+
+        this.prob = new double[n];
+        this.alias = new int[n];
+
+        // 평균이 1 이 되도록 늘린 뒤 1 미만(small)/이상(large)으로 나눈다
+        double[] p = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int ns = 0;
+        int nl = 0;
+        for (int i = 0; i < n; i++) {
+            p[i] = weights[i] * n / sum;
+            if (p[i] < 1.0) small[ns++] = i;
+            else large[nl++] = i;
+        }
+        while (ns > 0 && nl > 0) {
+            int s = small[--ns];
+            int l = large[--nl];
+            prob[s] = p[s];
+            alias[s] = l;
+            p[l] = (p[l] + p[s]) - 1.0;
+            if (p[l] < 1.0) small[ns++] = l;
+            else large[nl++] = l;
+        }
+        // 남은 칸은 부동소수 오차 정도만 남았으므로 1 로 본다
+        while (nl > 0) {
+            int l = large[--nl];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        while (ns > 0) {
+            int s = small[--ns];
+            prob[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    public int size() {
+        return prob.length;
+    }
+
+    public int sample(Random rng) {
+        int i = rng.nextInt(prob.length);
+        return (rng.nextDouble() < prob[i]) ? i : alias[i];
+    }
+}
@@ -0,0 +1,48 @@
+package desia.equipment;
+
+import desia.loader.DataLoader;
+import lombok.*;
+
+/**
+ * drop_weights.json 루트 래퍼.
+ * {
+ *   "drop": { "bands": [...], "prefer_set": [...], "uniform_sets": [...] },
+ *   "shop": { "bands": [...] }
+ * }
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class DropWeights {
+
+    // 전투/스토리 보상 드랍
+    @Builder.Default
+    private RarityTable drop = new RarityTable();
+
+    // 상점 장비 진열
+    @Builder.Default
+    private RarityTable shop = new RarityTable();
+
+    private static volatile DropWeights defaults;
+
+    /**
+     * 리소스에서 한 번만 읽어 공유하는 기본 설정.
+     * GameData 없이 세션을 만드는 경로(테스트 등)가 세션마다 json을 다시 읽지 않게 한다.
+     */
+    public static DropWeights defaults() {
+        DropWeights d = defaults;
+        if (d == null) {
+            synchronized (DropWeights.class) {
+                d = defaults;
+                if (d == null) {
+                    d = new DataLoader().loadDropWeights();
+                    defaults = d;
+                }
+            }
+        }
+        return d;
+    }
+}
@@ -0,0 +1,153 @@
+package desia.equipment;
+
+import desia.Character.EnemyInstance;
+import desia.battle.EnemyAction;
+import desia.battle.EnemyBrain;
+import desia.battle.EnemyMove;
+import desia.combat.Combatant;
+import desia.combat.DamageEngine;
+import desia.combat.DamageType;
+import desia.item.StatKey;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillOutcomeCalculator;
+import desia.status.StatusContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LoadoutObjective.effectiveHp: (최대 HP + 장비 실드) / 적 한 번 행동당 평균 피해.
+ *
+ * - 적 행동은 session.enemyPolicy().bind(적) 의 결정 표가 전투 시작 상태에서 고르는 갈래(EnemyBrain.openingBranches)다.
+ *   회복/실드 스킬 갈래는 피해 0 으로 센다. 결정 표가 없는 정책이면 기본 공격만 하는 것으로 본다.
+ * - 기본 공격/기존 적 스킬은 DamageEngine 감산, 데이터 스킬은 SkillOutcomeCalculator 로 계산한다.
+ *   대상은 후보 스탯을 넣은 대역이다(점수마다 새로 계산하므로 캐시는 쓰지 않는다).
+ * 대역을 재사용하므로 스레드 안전하지 않다(LoadoutSolver 1개에 1개).
+ */
+final class EffectiveHp implements LoadoutObjective {
+
+    private static final int ATTACK = 0, LEGACY_SKILL = 1, SKILL = 2, NO_DAMAGE = 3;
+
+    // 적 i 의 갈래는 [start[i], start[i+1])
+    private final int[] start;
+    private final EnemyInstance[] caster;
+    private final int[] kind;
+    private final CompiledSkill[] skill;
+    private final double[] weight;
+
+    private final Target target = new Target();
+
+    EffectiveHp(GameSession session, List<EnemyInstance> enemies) {
+        List<EnemyInstance> casters = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        List<CompiledSkill> skills = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        int n = (enemies == null) ? 0 : enemies.size();
+        this.start = new int[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            EnemyInstance e = enemies.get(i);
+            start[i] = casters.size();
+            EnemyBrain brain = EnemyBrain.of(session.enemyPolicy().bind(e));
+            if (brain == null) {
+                casters.add(e);
+                kinds.add(ATTACK);
+                skills.add(null);
+                weights.add(1.0);
+                continue;
+            }
+            brain.openingBranches(e, (move, p) -> {
+                casters.add(e);
+                kinds.add(kindOf(move));
+                skills.add(move.skill());
+                weights.add(p);
+            });
+        }
+        start[n] = casters.size();
+
+        this.caster = casters.toArray(new EnemyInstance[0]);
+        this.skill = skills.toArray(new CompiledSkill[0]);
+        this.kind = new int[kinds.size()];
+        this.weight = new double[weights.size()];
+        for (int k = 0; k < kind.length; k++) {
+            kind[k] = kinds.get(k);
+            weight[k] = weights.get(k);
+        }
+        target.level = session.getLevel();
+    }
+
+    private static int kindOf(EnemyMove move) {
+        if (move.skill() != null) return move.skill().targetsEnemy() ? SKILL : NO_DAMAGE;
+        return (move.action() == EnemyAction.ATTACK) ? ATTACK : LEGACY_SKILL;
+    }
+
+    @Override
+    public double score(double[] stats) {
+        double hp = stats[StatKey.MAX_HP.ordinal()] + stats[StatKey.MAX_SHIELD.ordinal()];
+        // 적이 없으면 허수아비 1마리(0 스탯): 한 번에 1
+        if (start.length == 1) return hp;
+
+        target.load(stats);
+        double taken = 0;
+        for (int i = 0; i + 1 < start.length; i++) {
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                taken += weight[k] * damage(k);
+            }
+        }
+        taken /= start.length - 1;
+        return hp / Math.max(1e-9, taken);
+    }
+
+    private double damage(int k) {
+        EnemyInstance e = caster[k];
+        return switch (kind[k]) {
+            case ATTACK -> DamageEngine.mitigate(target, Math.max(1, e.getAtk()), DamageType.PHYSICAL);
+            case LEGACY_SKILL -> DamageEngine.mitigate(target, Math.max(1, e.getMagic()), DamageType.MAGIC);
+            case SKILL -> SkillOutcomeCalculator.compute(skill[k], e, target).damage();
+            default -> 0;
+        };
+    }
+
+    // 후보 스탯을 가진 플레이어 대역(HP/MP 가득, 상태이상 없음)
+    private static final class Target implements Combatant {
+        private final StatusContainer statuses = new StatusContainer();
+        private int version;
+        private int level;
+        private double maxHp, maxMp, atk, magic, def, mdef, spd, shield;
+        private double hp, mp;
+
+        void load(double[] stats) {
+            version++;
+            maxHp = stats[StatKey.MAX_HP.ordinal()];
+            maxMp = stats[StatKey.MAX_MP.ordinal()];
+            atk = stats[StatKey.ATTACK.ordinal()];
+            magic = stats[StatKey.SPELL_POWER.ordinal()];
+            def = stats[StatKey.DEFENSE.ordinal()];
+            mdef = stats[StatKey.MAGIC_RESIST.ordinal()];
+            spd = stats[StatKey.SPEED.ordinal()];
+            shield = stats[StatKey.MAX_SHIELD.ordinal()];
+            hp = maxHp;
+            mp = maxMp;
+        }
+
+        @Override public int statsVersion() { return version; }
+        @Override public boolean isPlayer() { return true; }
+        @Override public String getNameForStatus() { return "loadout"; }
+        @Override public StatusContainer statuses() { return statuses; }
+        @Override public int getLevel() { return level; }
+        @Override public double getMaxHp() { return maxHp; }
+        @Override public double getMaxMp() { return maxMp; }
+        @Override public double getAtk() { return atk; }
+        @Override public double getMagic() { return magic; }
+        @Override public double getDef() { return def; }
+        @Override public double getMdef() { return mdef; }
+        @Override public double getSpd() { return spd; }
+        @Override public double getHp() { return hp; }
+        @Override public double getMp() { return mp; }
+        @Override public void setHp(double hp) { this.hp = hp; }
+        @Override public void setMp(double mp) { this.mp = mp; }
+        @Override public double getShield() { return shield; }
+        @Override public void setShield(double shield) { this.shield = shield; }
+    }
+}
@@ -1,9 +1,11 @@
 package desia.equipment;
 
 import desia.Character.EnemyInstance;
+import desia.event.GameEvent;
 import desia.io.Io;
 import desia.item.EquipmentDef;
 import desia.progress.GameSession;
+import desia.progress.RngStream;
 
 import java.util.*;
 
@@ -15,6 +17,7 @@ import java.util.*;
  * - 챕터가 진행될수록 고등급 확률 증가
  * - 챕터 4에서 드래곤 장비 드랍 확률 크게 증가
  * - 드래곤 적 처치 시 드래곤 장비만 드랍(선택지 3개 모두)
+ * 확률 수치는 drop_weights.json 에 있다.
  */
 public class EquipmentDropService {
 
@@ -62,140 +65,20 @@ public class EquipmentDropService {
             }
         }
 
+        if (session.events().active()) {
+            session.events().publish(new GameEvent.DropOffered(reason, List.copyOf(labels)));
+        }
+
         int chosen = io.choose("[장비 선택]", labels);
         EquipmentDef got = picks.get(chosen - 1);
         session.addItem(got.getName(), 1);
         System.out.println("\n획득: " + got.getName());
     }
 
-    private List<EquipmentDef> rollOptions(GameSession session, int n, String forceSetName) {
-        Map<String, EquipmentDef> all = session.equipmentsView();
-        if (all == null || all.isEmpty()) return List.of();
-
-        // 후보 목록 구성
-        List<EquipmentDef> pool = new ArrayList<>();
-        for (EquipmentDef d : all.values()) {
-            if (d == null) continue;
-            if (forceSetName != null && !forceSetName.isBlank()) {
-                if (!forceSetName.equalsIgnoreCase(safe(d.getSetName()))) continue;
-            }
-            pool.add(d);
-        }
-        if (pool.isEmpty()) return List.of();
-
-        // 중복 방지: 이름 기준
-        Set<String> used = new HashSet<>();
-        List<EquipmentDef> out = new ArrayList<>();
-        int guard = 0;
-        while (out.size() < n && guard++ < 200) {
-            EquipmentDef d = rollOne(session, pool, forceSetName);
-            if (d == null) break;
-            if (!used.add(d.getName())) continue;
-            out.add(d);
-        }
-
-        // 드랍이 너무 부족하면 남은 칸은 그냥 랜덤으로 채운다(중복은 허용하지 않음)
-        if (out.size() < n) {
-            Collections.shuffle(pool, session.rng());
-            for (EquipmentDef d : pool) {
-                if (out.size() >= n) break;
-                if (d == null) continue;
-                if (!used.add(d.getName())) continue;
-                out.add(d);
-            }
-        }
-
-        return out;
-    }
-
-    private EquipmentDef rollOne(GameSession session, List<EquipmentDef> pool, String forceSetName) {
-        Random rng = session.rng();
-
-        // 챕터 4 강화(드래곤 세트 강제인 경우는 별도 처리)
-        if ((forceSetName != null && !forceSetName.isBlank()) && "드래곤".equalsIgnoreCase(forceSetName)) {
-            // 이미 드래곤 세트 풀로 들어온 상태
-            return pool.get(rng.nextInt(pool.size()));
-        }
-
-        // 일반: 희귀도 먼저 롤링, 해당 희귀도에서 아이템 선택
-        String rar = rollRarity(rng, session.getChapter());
-
-        // 챕터 4에서 드래곤 세트 확률 증가(드래곤 적 전투가 아니어도)
-        boolean preferDragon = (session.getChapter() == 4);
-        if (preferDragon && rng.nextDouble() < 0.60) {
-            // 35%는 드래곤 세트에서 뽑아본다(없으면 일반 진행)
-            EquipmentDef d = pickFromSetAndRarity(pool, "드래곤", rar, rng);
-            if (d != null) return d;
-        }
-
-        EquipmentDef d = pickFromRarity(pool, rar, rng);
-        if (d != null) return d;
-
-        // fallback: 아무거나
-        return pool.get(rng.nextInt(pool.size()));
-    }
-
-    private static EquipmentDef pickFromRarity(List<EquipmentDef> pool, String rarity, Random rng) {
-        if (rarity == null) return null;
-        List<EquipmentDef> list = new ArrayList<>();
-        for (EquipmentDef d : pool) {
-            if (d == null) continue;
-            if (rarity.equalsIgnoreCase(safe(d.getRarity()))) list.add(d);
-        }
-        if (list.isEmpty()) return null;
-        return list.get(rng.nextInt(list.size()));
-    }
-
-    private static EquipmentDef pickFromSetAndRarity(List<EquipmentDef> pool, String setName, String rarity, Random rng) {
-        List<EquipmentDef> list = new ArrayList<>();
-        for (EquipmentDef d : pool) {
-            if (d == null) continue;
-            if (!setName.equalsIgnoreCase(safe(d.getSetName()))) continue;
-            if (rarity != null && !rarity.isBlank()) {
-                if (!rarity.equalsIgnoreCase(safe(d.getRarity()))) continue;
-            }
-            list.add(d);
-        }
-        if (list.isEmpty()) return null;
-        return list.get(rng.nextInt(list.size()));
-    }
-
-    /**
-     * 챕터 기반 희귀도 롤링.
-     * - 1~2: COMMON/UNCOMMON 위주
-     * - 3~4: UNCOMMON/RARE 위주
-     * - 5~7: RARE/EPIC 위주, LEGENDARY 소량
-     */
-    private static String rollRarity(Random rng, int chapter) {
-        int c = Math.max(1, chapter);
-
-        // weights 합 100
-        int common;
-        int uncommon;
-        int rare;
-        int epic;
-        int legendary;
-
-        if (c <= 2) {
-            common = 45; uncommon = 40; rare = 12; epic = 3; legendary = 0;
-        } else if (c <= 4) {
-            common = 20; uncommon = 35; rare = 30; epic = 13; legendary = 2;
-        } else if (c <= 6) {
-            common = 10; uncommon = 25; rare = 35; epic = 25; legendary = 5;
-        } else {
-            common = 5; uncommon = 15; rare = 35; epic = 30; legendary = 15;
-        }
-
-        int roll = rng.nextInt(100) + 1;
-        int acc = common;
-        if (roll <= acc) return "COMMON";
-        acc += uncommon;
-        if (roll <= acc) return "UNCOMMON";
-        acc += rare;
-        if (roll <= acc) return "RARE";
-        acc += epic;
-        if (roll <= acc) return "EPIC";
-        return "LEGENDARY";
+    // 패키지 전용: 벤치마크(src/jmh)에서 직접 호출한다.
+    // 희귀도 가중치/챕터 보정은 drop_weights.json, 추출은 LootTables(alias 테이블, 중복 없음).
+    List<EquipmentDef> rollOptions(GameSession session, int n, String forceSetName) {
+        return session.lootTables().rollDrop(session.rng(RngStream.LOOT), session.getChapter(), n, forceSetName);
     }
 
     private static boolean isDragonEnemy(String enemyName) {
@@ -217,9 +100,9 @@ public class EquipmentDropService {
     }
 
     private static String formatStats(EquipmentDef d) {
-        if (d == null || d.getStats() == null || d.getStats().isEmpty()) return "";
+        if (d == null || d.getStats() == null || d.getStats().isZero()) return "";
         List<String> parts = new ArrayList<>();
-        for (Map.Entry<String, Integer> e : d.getStats().entrySet()) {
+        for (Map.Entry<String, Integer> e : d.getStats().asMap().entrySet()) {
             if (e == null) continue;
             String k = e.getKey();
             Integer v0 = e.getValue();
@@ -1,5 +1,6 @@
 package desia.equipment;
 
+import desia.Character.EnemyInstance;
 import desia.io.Io;
 import desia.item.EquipmentDef;
 import desia.progress.GameSession;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static desia.progress.GameSession.*;
 
@@ -32,12 +34,14 @@ public class EquipmentService {
 
             printEquipped(session);
 
-            int cmd = io.choose("[장비 메뉴]", List.of("장착/교체", "해제", "나가기"));
+            int cmd = io.choose("[장비 메뉴]", List.of("장착/교체", "해제", "자동 장착", "나가기"));
 
             if (cmd == 1) {
                 equipMenu(session);
             } else if (cmd == 2) {
                 unequipMenu(session);
+            } else if (cmd == 3) {
+                autoEquipMenu(session);
             } else {
                 return;
             }
@@ -263,6 +267,66 @@ public class EquipmentService {
         }
     }
 
+    // 가진 장비로 목표값이 가장 큰 조합을 찾아 보여 주고, 확인하면 한 번에 갈아 낀다.
+    private void autoEquipMenu(GameSession session) {
+        int goal = io.chooseAllowCancel("[자동 장착] 무엇을 우선할까요? (이번 챕터 적 기준)",
+                List.of("버티기(유효 체력)", "공격(기대 피해)"), "뒤로");
+        if (goal == 0) return;
+
+        List<EnemyInstance> enemies = LoadoutSolver.chapterEnemies(session);
+        LoadoutObjective objective = (goal == 1)
+                ? LoadoutObjective.effectiveHp(session, enemies)
+                : LoadoutObjective.expectedDamage(enemies);
+        Loadout best = new LoadoutSolver(objective).solve(session);
+
+        if (!best.improves()) {
+            System.out.println("\n지금 장착이 이미 가장 좋습니다.");
+            io.anythingToContinue();
+            return;
+        }
+
+        ConsoleUi.clearConsole();
+        ConsoleUi.printHeading("[장비] 자동 장착", 1);
+        for (String slotKey : session.equippedView().keySet()) {
+            String now = session.equippedItem(slotKey);
+            String next = best.slots().get(slotKey);
+            String mark = Objects.equals(now, next) ? "" : "  <- " + show(now);
+            System.out.println(slotLabel(slotKey) + " : " + show(next) + mark);
+        }
+        System.out.printf("%n점수: %.1f -> %.1f%n", best.currentScore(), best.score());
+        if (!best.complete()) System.out.println("(탐색 한도에 닿아 찾은 것 중 최선입니다)");
+
+        if (io.choose("이대로 장착할까요?", List.of("장착", "취소")) != 1) return;
+        applyLoadout(session, best.slots());
+        System.out.println("\n자동 장착 완료.");
+        io.anythingToContinue();
+    }
+
+    // 바뀌는 슬롯만 인벤토리로 돌린 뒤 새 장비를 낀다. 조합은 가진 장비로만 만들어졌으므로 removeItem 이 실패하지 않는다.
+    // 슬롯을 바꿀 때마다 HP/MP 가 그 순간의 최대치로 깎이므로, 바꾸기 전 값을 새 최대치 안에서 되돌린다.
+    static void applyLoadout(GameSession session, Map<String, String> slots) {
+        double hp = session.getHp();
+        double mp = session.getMp();
+
+        List<String> changed = new ArrayList<>();
+        for (String slotKey : session.equippedView().keySet()) {
+            if (!Objects.equals(session.equippedItem(slotKey), slots.get(slotKey))) changed.add(slotKey);
+        }
+        for (String slotKey : changed) {
+            String prev = session.equippedItem(slotKey);
+            if (prev == null) continue;
+            session.setEquippedSlot(slotKey, null);
+            session.addItem(prev, 1);
+        }
+        for (String slotKey : changed) {
+            String next = slots.get(slotKey);
+            if (next != null && session.removeItem(next, 1)) session.setEquippedSlot(slotKey, next);
+        }
+
+        session.setHp(hp);
+        session.setMp(mp);
+    }
+
     private List<String> listEquipmentsInInventory(GameSession session) {
         List<String> out = new ArrayList<>();
         for (Map.Entry<String, Integer> e : session.inventoryView().entrySet()) {
@@ -284,10 +348,10 @@ public class EquipmentService {
         sb.append("  [").append(safe(def.getSlot())).append("]");
         sb.append(" x").append(count);
 
-        if (def.getStats() != null && !def.getStats().isEmpty()) {
+        if (def.getStats() != null && !def.getStats().isZero()) {
             sb.append("  {");
             boolean first = true;
-            for (Map.Entry<String, Integer> e : def.getStats().entrySet()) {
+            for (Map.Entry<String, Integer> e : def.getStats().asMap().entrySet()) {
                 if (e == null) continue;
                 if (!first) sb.append(", ");
                 first = false;
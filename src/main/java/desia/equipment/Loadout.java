@@ -0,0 +1,20 @@
+package desia.equipment;
+
+import java.util.Map;
+
+/**
+ * 자동 장착 결과.
+ *
+ * @param slots        슬롯키(GameSession.SLOT_*) -> 장비 이름. 빈 슬롯은 들어 있지 않다.
+ * @param score        이 조합의 목표값
+ * @param currentScore 지금 장착 상태의 목표값
+ * @param nodes        탐색한 노드 수
+ * @param complete     false 면 노드 예산을 다 써서 중간에 멈췄다(찾은 것 중 최선)
+ */
+public record Loadout(Map<String, String> slots, double score, double currentScore, long nodes, boolean complete) {
+
+    /** 지금 장착보다 나은가(같으면 바꿀 이유가 없다). */
+    public boolean improves() {
+        return score > currentScore + 1e-9;
+    }
+}
@@ -0,0 +1,74 @@
+package desia.equipment;
+
+import desia.Character.EnemyInstance;
+import desia.combat.Combatant;
+import desia.item.StatKey;
+import desia.progress.GameSession;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자동 장착이 최대화하는 값.
+ *
+ * stats 는 StatKey 순서의 최종 스탯(장비/세트 포함, MAX_SHIELD 는 장비 기본 실드).
+ * 각 스탯에 대해 감소하지 않는(단조) 함수여야 한다: LoadoutSolver 의 가지치기 상한이 이 성질에 기댄다.
+ */
+@FunctionalInterface
+public interface LoadoutObjective {
+
+    double score(double[] stats);
+
+    /** 스탯별 가중치 합. 가중치는 0 이상이어야 한다. */
+    static LoadoutObjective weighted(Map<StatKey, Double> weights) {
+        double[] w = new double[StatKey.COUNT];
+        weights.forEach((k, v) -> {
+            if (v < 0) throw new IllegalArgumentException("음수 가중치: " + k);
+            w[k.ordinal()] = v;
+        });
+        return stats -> {
+            double sum = 0;
+            for (int i = 0; i < w.length; i++) sum += w[i] * stats[i];
+            return sum;
+        };
+    }
+
+    /**
+     * 유효 체력: (최대 HP + 장비 실드) / 적 한 번 행동당 평균 피해.
+     * 적 행동은 전투와 같은 결정 표(session.enemyPolicy().bind(적))로 본다. 자세한 규칙은 EffectiveHp.
+     * 만든 목표값은 스레드 안전하지 않다.
+     */
+    static LoadoutObjective effectiveHp(GameSession session, List<EnemyInstance> enemies) {
+        return new EffectiveHp(session, enemies);
+    }
+
+    /**
+     * 기대 피해: 적마다 기본 공격(물리)과 주문력 1배 마법 공격 중 큰 쪽의 평균.
+     * 스킬 계수는 직업마다 달라서 주문력은 1배 공격으로만 본다.
+     */
+    static LoadoutObjective expectedDamage(List<? extends Combatant> enemies) {
+        double[][] e = enemyStats(enemies);
+        return stats -> {
+            double atk = Math.max(1, stats[StatKey.ATTACK.ordinal()]);
+            double magic = stats[StatKey.SPELL_POWER.ordinal()];
+            double sum = 0;
+            for (double[] x : e) {
+                double phys = Math.max(1, atk - x[2] * 0.5);
+                double mag = Math.max(1, magic - x[3] * 0.5);
+                sum += Math.max(phys, mag);
+            }
+            return sum / e.length;
+        };
+    }
+
+    // {공격력, 주문력, 방어력, 마법 저항}. 적이 없으면 허수아비 1마리(0 스탯).
+    private static double[][] enemyStats(List<? extends Combatant> enemies) {
+        if (enemies == null || enemies.isEmpty()) return new double[][]{{0, 0, 0, 0}};
+        double[][] out = new double[enemies.size()][];
+        for (int i = 0; i < out.length; i++) {
+            Combatant c = enemies.get(i);
+            out[i] = new double[]{c.getAtk(), c.getMagic(), c.getDef(), c.getMdef()};
+        }
+        return out;
+    }
+}
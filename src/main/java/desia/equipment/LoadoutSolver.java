@@ -0,0 +1,473 @@
+package desia.equipment;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.item.EquipmentDef;
+import desia.item.EquipmentSetIndex;
+import desia.item.SetBonusDef;
+import desia.item.StatKey;
+import desia.progress.ChapterConfig;
+import desia.progress.GameSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static desia.progress.GameSession.*;
+
+/**
+ * 자동 장착: 가진 장비(인벤토리 + 장착 중)로 목표값(LoadoutObjective)이 가장 큰 슬롯 배치를 찾는다.
+ *
+ * 탐색 단위는 "자리" 7개: 투구/흉갑/각반/부츠/망토 각 1칸, 반지 2칸 묶음, 무기 2칸 묶음.
+ * - 무기 묶음은 GameSession.isTwoHand 규칙대로만 만든다: 양손 무기(무기2 비움) / 한손+한손 / 한손+방패 / 방패만.
+ * - 반지/한손 2개는 순서 없는 쌍으로 한 번만 만든다. 같은 장비 2개는 2개 이상 가졌을 때만.
+ *
+ * 가지치기:
+ * - 지배 제거: 세트에 안 속한 장비는, 같은 종류에서 모든 스탯이 같거나 큰 (세트 없는) 장비가 칸 수만큼 있으면 뺀다.
+ * - 분기 한정: 남은 자리마다 스탯별 최대 기여(양수만) + 아직 닿을 수 있는 세트 구간의 보너스(양수만)를 더한
+ *   낙관 스탯의 목표값이 지금까지 최선 이하이면 자른다(목표값이 단조라서 상한이 된다).
+ * - 부분 스탯 메모: 같은 깊이, 같은 세트 부위 수에서 이미 모든 스탯이 같거나 큰 부분 합을 지나왔으면 자른다
+ *   (남은 자리의 선택지는 서로 겹치지 않으므로 그 뒤 결과도 지배된다).
+ *
+ * 세트 부위 수는 GameSession 과 같이 이름 기준으로 센다(같은 반지 2개 = 1부위). 특수 태그는 tagValues 로 점수를 줄 수 있다.
+ */
+public final class LoadoutSolver {
+
+    /** 노드 예산 기본값. 보통 수천~수만 노드에서 끝난다. */
+    public static final long DEFAULT_MAX_NODES = 2_000_000;
+
+    // 같은 (깊이, 세트 부위 수) 에서 기억할 부분 합 수
+    private static final int MEMO_PER_KEY = 32;
+
+    private static final String[] SINGLE_SLOTS = {SLOT_HELMET, SLOT_CHEST, SLOT_LEGS, SLOT_BOOTS, SLOT_CLOAK};
+    private static final String[] SINGLE_KINDS = {"투구", "흉갑", "각반", "부츠", "망토"};
+
+    private final LoadoutObjective objective;
+    private final Map<String, Double> tagValues;
+    private final long maxNodes;
+
+    public LoadoutSolver(LoadoutObjective objective) {
+        this(objective, Map.of(), DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * @param tagValues 세트 특수 태그 -> 활성화됐을 때 더할 점수(없으면 0)
+     */
+    public LoadoutSolver(LoadoutObjective objective, Map<String, Double> tagValues, long maxNodes) {
+        this.objective = objective;
+        this.tagValues = (tagValues == null) ? Map.of() : tagValues;
+        this.maxNodes = Math.max(1, maxNodes);
+    }
+
+    /** 세션이 가진 장비로 푼다. 세션은 바꾸지 않는다. */
+    public Loadout solve(GameSession session) {
+        Map<String, Integer> owned = new TreeMap<>();
+        session.inventoryView().forEach((name, n) -> {
+            if (n != null && n > 0 && session.equipmentDef(name) != null) owned.merge(name, n, Integer::sum);
+        });
+        session.equippedView().forEach((slot, name) -> {
+            if (name != null) owned.merge(name, 1, Integer::sum);
+        });
+
+        double[] base = new double[StatKey.COUNT];
+        for (StatKey k : StatKey.values()) base[k.ordinal()] = session.statWithoutEquipment(k);
+
+        double current = objective.score(new double[]{
+                session.getMaxHp(), session.getMaxMp(), session.getAtk(), session.getMagic(),
+                session.getDef(), session.getMdef(), session.getSpd(), session.getEquipBaseShield()});
+        for (String tag : session.activeSpecialTagsView()) current += tagValues.getOrDefault(tag, 0.0);
+
+        return solve(base, owned, session::equipmentDef, session.equipmentSetIndex(), current);
+    }
+
+    /**
+     * @param base         장비를 뺀 스탯(GameSession.statWithoutEquipment)
+     * @param owned        장비 이름 -> 가진 개수(장착 중인 것 포함)
+     * @param currentScore 비교 기준(지금 장착 상태의 목표값). 이보다 나은 조합만 최선으로 받는다.
+     */
+    public Loadout solve(double[] base, Map<String, Integer> owned, Function<String, EquipmentDef> defs,
+                         EquipmentSetIndex sets, double currentScore) {
+        Search s = new Search(base, sets, currentScore);
+        s.build(owned, defs);
+        s.run();
+        return new Loadout(s.bestSlots, s.best, currentScore, s.nodes, s.nodes <= maxNodes);
+    }
+
+    /**
+     * 지금 챕터에서 만날 적(잡몹 풀 + 보스). 레벨은 지금 액트의 스폰 구간 가운데, 보스는 챕터 상한.
+     * 목표값(유효 체력/기대 피해)의 상대로 쓴다.
+     */
+    public static List<EnemyInstance> chapterEnemies(GameSession session) {
+        ChapterConfig cfg = session.chapterConfig();
+        List<EnemyInstance> out = new ArrayList<>();
+        if (cfg == null) return out;
+        int minLv = Math.max(1, cfg.getMinLevel());
+        int maxLv = Math.max(minLv, cfg.getMaxLevel());
+        int act = Math.max(1, Math.min(11, session.getAct()));
+        int range = maxLv - minLv;
+        int lv = Math.min(maxLv, minLv + ((act - 1) * range / 11 + act * range / 11) / 2);
+
+        if (cfg.getEnemyPool() != null) {
+            for (String name : cfg.getEnemyPool()) {
+                Enemy e = enemyOrNull(session, name);
+                if (e != null) out.add(new EnemyInstance(e, lv));
+            }
+        }
+        Enemy boss = enemyOrNull(session, cfg.getBoss());
+        if (boss != null) out.add(new EnemyInstance(boss, maxLv));
+        return out;
+    }
+
+    private static Enemy enemyOrNull(GameSession session, String name) {
+        if (name == null) return null;
+        try {
+            return session.enemyDef(name);
+        } catch (IllegalArgumentException unknown) {
+            return null;
+        }
+    }
+
+    // =========================
+    // 탐색
+    // =========================
+
+    // 자리 1개의 선택지 1개: 스탯 합, 세트 번호(이름 기준으로 센 부위마다 1번), 슬롯 배치
+    private record Option(int[] stats, int[] setIds, String[] slots, String[] names) {}
+
+    private record Piece(String name, EquipmentDef def, int count, boolean inSet) {}
+
+    // 세트 구간 1개
+    private record Tier(int pieces, int[] stats, int[] positive, double tag) {}
+
+    private final class Search {
+        final double[] base;
+        final EquipmentSetIndex sets;
+        final Tier[][] tiers;
+
+        Option[][] positions;
+        // rest[d] = d 번째 자리부터 끝까지 스탯별 최대 기여(양수) 합
+        int[][] restStats;
+        // reach[d][s] = d 번째 자리부터 끝까지 세트 s 부위를 최대 몇 개 더 낄 수 있나
+        int[][] reach;
+
+        final int[] equip = new int[StatKey.COUNT];
+        final int[] setCount;
+        double tagScore;
+        final Option[] chosen;
+
+        final double[] scratch = new double[StatKey.COUNT];
+        final int[] optimistic = new int[StatKey.COUNT];
+        final Map<MemoKey, List<int[]>> memo = new HashMap<>();
+
+        double best;
+        Map<String, String> bestSlots = Map.of();
+        long nodes;
+
+        Search(double[] base, EquipmentSetIndex sets, double currentScore) {
+            this.base = base;
+            this.sets = sets;
+            this.best = currentScore;
+            this.setCount = new int[sets.setCount()];
+            this.tiers = new Tier[sets.setCount()][];
+            for (int i = 0; i < tiers.length; i++) tiers[i] = tiersOf(sets.set(i).getBonuses());
+            this.chosen = new Option[SINGLE_SLOTS.length + 2];
+        }
+
+        Tier[] tiersOf(List<SetBonusDef> bonuses) {
+            if (bonuses == null) return new Tier[0];
+            List<Tier> out = new ArrayList<>();
+            for (SetBonusDef b : bonuses) {
+                if (b == null) continue;
+                int[] st = (b.getStats() == null) ? new int[StatKey.COUNT] : b.getStats().toArray();
+                int[] pos = new int[st.length];
+                for (int i = 0; i < st.length; i++) pos[i] = Math.max(0, st[i]);
+                double tag = 0;
+                if (b.getSpecialTags() != null) {
+                    for (String t : b.getSpecialTags()) tag += tagValues.getOrDefault(t, 0.0);
+                }
+                out.add(new Tier(b.getPieces(), st, pos, tag));
+            }
+            return out.toArray(new Tier[0]);
+        }
+
+        void build(Map<String, Integer> owned, Function<String, EquipmentDef> defs) {
+            Map<String, List<Piece>> byKind = new HashMap<>();
+            for (Map.Entry<String, Integer> e : owned.entrySet()) {
+                EquipmentDef d = defs.apply(e.getKey());
+                if (d == null || e.getValue() <= 0) continue;
+                String kind = kindOf(d);
+                if (kind == null) continue;
+                byKind.computeIfAbsent(kind, k -> new ArrayList<>())
+                        .add(new Piece(e.getKey(), d, e.getValue(), sets.setsOf(e.getKey()).length > 0));
+            }
+
+            List<Option[]> list = new ArrayList<>();
+            for (int i = 0; i < SINGLE_SLOTS.length; i++) {
+                List<Option> opts = new ArrayList<>();
+                opts.add(empty());
+                for (Piece p : undominated(byKind.get(SINGLE_KINDS[i]), 1)) {
+                    opts.add(option(new String[]{SINGLE_SLOTS[i]}, p));
+                }
+                list.add(opts.toArray(new Option[0]));
+            }
+            list.add(pairs(undominated(byKind.get("반지"), 2), SLOT_RING1, SLOT_RING2));
+            list.add(weapons(byKind));
+
+            // 선택지가 적은 자리부터(메모가 잘 맞고, 분기 수가 큰 자리는 상한이 좁혀진 뒤에 펼친다)
+            list.sort(Comparator.comparingInt(a -> a.length));
+            positions = list.toArray(new Option[0][]);
+            for (Option[] opts : positions) Arrays.sort(opts, Comparator.comparingDouble(this::standalone).reversed());
+
+            int n = positions.length;
+            restStats = new int[n + 1][StatKey.COUNT];
+            reach = new int[n + 1][setCount.length];
+            for (int d = n - 1; d >= 0; d--) {
+                int[] maxStat = new int[StatKey.COUNT];
+                int[] maxSet = new int[setCount.length];
+                for (Option o : positions[d]) {
+                    for (int k = 0; k < StatKey.COUNT; k++) maxStat[k] = Math.max(maxStat[k], o.stats[k]);
+                    int[] cnt = new int[setCount.length];
+                    for (int sid : o.setIds) cnt[sid]++;
+                    for (int sid = 0; sid < cnt.length; sid++) maxSet[sid] = Math.max(maxSet[sid], cnt[sid]);
+                }
+                for (int k = 0; k < StatKey.COUNT; k++) restStats[d][k] = restStats[d + 1][k] + maxStat[k];
+                for (int sid = 0; sid < setCount.length; sid++) reach[d][sid] = reach[d + 1][sid] + maxSet[sid];
+            }
+        }
+
+        // 무기 묶음: 빈손 / 양손 / (한손|빈) + (한손|방패|빈). 한손 2개는 순서 없는 쌍.
+        Option[] weapons(Map<String, List<Piece>> byKind) {
+            List<Option> opts = new ArrayList<>();
+            for (Piece p : undominated(byKind.get("양손"), 1)) opts.add(option(new String[]{SLOT_WEAPON1}, p));
+            List<Piece> shields = undominated(byKind.get("방패"), 1);
+            for (Piece p : shields) opts.add(option(new String[]{SLOT_WEAPON2}, p));
+            // 한손(+한손): pairs 가 빈 선택지와 한손 1개짜리를 포함한다
+            List<Piece> oneHands = undominated(byKind.get("한손"), 2);
+            opts.addAll(Arrays.asList(pairs(oneHands, SLOT_WEAPON1, SLOT_WEAPON2)));
+            for (Piece oh : oneHands) {
+                for (Piece sh : shields) {
+                    opts.add(option(new String[]{SLOT_WEAPON1, SLOT_WEAPON2}, oh, sh));
+                }
+            }
+            return opts.toArray(new Option[0]);
+        }
+
+        // 2칸 묶음: 빈칸, 1개, 순서 없는 2개(같은 장비는 2개 이상 있을 때만)
+        Option[] pairs(List<Piece> pieces, String slotA, String slotB) {
+            List<Option> opts = new ArrayList<>();
+            opts.add(empty());
+            for (int i = 0; i < pieces.size(); i++) {
+                Piece a = pieces.get(i);
+                opts.add(option(new String[]{slotA}, a));
+                if (a.count >= 2) opts.add(option(new String[]{slotA, slotB}, a, a));
+                for (int j = i + 1; j < pieces.size(); j++) {
+                    opts.add(option(new String[]{slotA, slotB}, a, pieces.get(j)));
+                }
+            }
+            return opts.toArray(new Option[0]);
+        }
+
+        Option empty() {
+            return new Option(new int[StatKey.COUNT], new int[0], new String[0], new String[0]);
+        }
+
+        Option option(String[] slots, Piece... pieces) {
+            int[] st = new int[StatKey.COUNT];
+            List<Integer> setIds = new ArrayList<>();
+            String[] names = new String[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                Piece p = pieces[i];
+                names[i] = p.name;
+                if (p.def.getStats() != null) p.def.getStats().addTo(st, 1);
+                // 세트는 이름 기준으로 한 번만 센다(GameSession.equipPiece 와 같음)
+                if (i > 0 && p.name.equals(names[i - 1])) continue;
+                for (int sid : sets.setsOf(p.name)) setIds.add(sid);
+            }
+            int[] ids = setIds.stream().mapToInt(Integer::intValue).toArray();
+            return new Option(st, ids, slots, names);
+        }
+
+        // 세트 없는 장비 중, 모든 스탯이 같거나 큰 다른 세트 없는 장비가 cap 개 이상 있으면 뺀다.
+        // 완전히 같은 스탯이면 이름순으로 앞선 쪽이 남는다.
+        List<Piece> undominated(List<Piece> pieces, int cap) {
+            if (pieces == null) return List.of();
+            List<Piece> out = new ArrayList<>();
+            for (Piece x : pieces) {
+                if (x.inSet) {
+                    out.add(x);
+                    continue;
+                }
+                int[] xs = statsOf(x);
+                int cover = 0;
+                for (Piece y : pieces) {
+                    if (y == x || y.inSet) continue;
+                    if (dominates(statsOf(y), xs, y.name.compareTo(x.name) < 0)) cover += y.count;
+                }
+                if (cover < cap) out.add(x);
+            }
+            return out;
+        }
+
+        int[] statsOf(Piece p) {
+            return (p.def.getStats() == null) ? new int[StatKey.COUNT] : p.def.getStats().toArray();
+        }
+
+        boolean dominates(int[] a, int[] b, boolean winsTie) {
+            boolean strict = false;
+            for (int k = 0; k < a.length; k++) {
+                if (a[k] < b[k]) return false;
+                if (a[k] > b[k]) strict = true;
+            }
+            return strict || winsTie;
+        }
+
+        // 정렬용: 그 선택지 하나만 낀 점수(세트 보너스 제외)
+        double standalone(Option o) {
+            return objective.score(finalStats(o.stats));
+        }
+
+        double[] finalStats(int[] equipStats) {
+            for (StatKey k : StatKey.values()) {
+                int i = k.ordinal();
+                double floor = (k == StatKey.MAX_HP) ? 1 : 0;
+                scratch[i] = (k == StatKey.MAX_SHIELD)
+                        ? Math.max(0, equipStats[i])
+                        : Math.max(floor, Math.round(base[i] + equipStats[i]));
+            }
+            return scratch;
+        }
+
+        void run() {
+            dfs(0);
+        }
+
+        void dfs(int depth) {
+            if (++nodes > maxNodes) return;
+
+            if (depth == positions.length) {
+                double score = objective.score(finalStats(equip)) + tagScore;
+                if (score > best + 1e-9) {
+                    best = score;
+                    bestSlots = slotsOf(chosen);
+                }
+                return;
+            }
+
+            if (bound(depth) <= best + 1e-9) return;
+            if (seenDominating(depth)) return;
+
+            for (Option o : positions[depth]) {
+                apply(o, 1);
+                chosen[depth] = o;
+                dfs(depth + 1);
+                apply(o, -1);
+                if (nodes > maxNodes) return;
+            }
+        }
+
+        // 낙관 상한: 남은 자리 최대 기여 + 아직 안 켜졌지만 닿을 수 있는 세트 구간의 양수 보너스
+        double bound(int depth) {
+            int[] rest = restStats[depth];
+            for (int k = 0; k < StatKey.COUNT; k++) optimistic[k] = equip[k] + rest[k];
+            double tag = tagScore;
+            for (int sid = 0; sid < setCount.length; sid++) {
+                int have = setCount[sid];
+                int can = have + reach[depth][sid];
+                if (can == have) continue;
+                for (Tier t : tiers[sid]) {
+                    if (t.pieces > have && t.pieces <= can) {
+                        for (int k = 0; k < StatKey.COUNT; k++) optimistic[k] += t.positive[k];
+                        tag += Math.max(0, t.tag);
+                    }
+                }
+            }
+            return objective.score(finalStats(optimistic)) + tag;
+        }
+
+        // 같은 깊이/같은 세트 부위 수에서 지배하는 부분 합을 이미 봤나. 못 봤으면 기억해 둔다.
+        boolean seenDominating(int depth) {
+            MemoKey key = new MemoKey(depth, setCount.clone());
+            List<int[]> seen = memo.computeIfAbsent(key, k -> new ArrayList<>());
+            for (int[] v : seen) {
+                if (covers(v)) return true;
+            }
+            // 세트 부위 수가 같으면 켜진 구간(태그 점수 포함)도 같으므로 스탯만 비교하면 된다
+            if (seen.size() < MEMO_PER_KEY) seen.add(equip.clone());
+            return false;
+        }
+
+        boolean covers(int[] v) {
+            for (int k = 0; k < StatKey.COUNT; k++) {
+                if (v[k] < equip[k]) return false;
+            }
+            return true;
+        }
+
+        void apply(Option o, int sign) {
+            for (int k = 0; k < StatKey.COUNT; k++) equip[k] += sign * o.stats[k];
+            for (int sid : o.setIds) changeSet(sid, sign);
+        }
+
+        void changeSet(int sid, int delta) {
+            int before = setCount[sid];
+            int after = before + delta;
+            setCount[sid] = after;
+            for (Tier t : tiers[sid]) {
+                boolean was = before >= t.pieces;
+                boolean now = after >= t.pieces;
+                if (was == now) continue;
+                int sign = now ? 1 : -1;
+                for (int k = 0; k < StatKey.COUNT; k++) equip[k] += sign * t.stats[k];
+                tagScore += sign * t.tag;
+            }
+        }
+
+        Map<String, String> slotsOf(Option[] picked) {
+            Map<String, String> out = new LinkedHashMap<>();
+            for (Option o : picked) {
+                if (o == null) continue;
+                for (int i = 0; i < o.slots.length; i++) out.put(o.slots[i], o.names[i]);
+            }
+            return out;
+        }
+    }
+
+    private static final class MemoKey {
+        final int depth;
+        final int[] counts;
+        final int hash;
+
+        MemoKey(int depth, int[] counts) {
+            this.depth = depth;
+            this.counts = counts;
+            this.hash = depth * 31 + Arrays.hashCode(counts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MemoKey k && k.depth == depth && Arrays.equals(k.counts, counts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // 장비 종류(자리 구분). 무기는 GameSession.isTwoHand 로 먼저 가른다.
+    static String kindOf(EquipmentDef d) {
+        String slot = (d.getSlot() == null) ? "" : d.getSlot();
+        if (isTwoHand(d)) return "양손";
+        if (slot.contains("한손")) return "한손";
+        return switch (slot) {
+            case "투구", "흉갑", "각반", "부츠", "망토", "반지", "방패" -> slot;
+            default -> null;
+        };
+    }
+}
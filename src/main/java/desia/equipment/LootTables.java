@@ -0,0 +1,301 @@
+package desia.equipment;
+
+import desia.item.EquipmentDef;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 장비 드랍/상점 진열용 버킷과 alias 테이블(로드 시 1번 구성, 이후 읽기 전용).
+ *
+ * - 버킷: 전체 / 세트별 풀 각각을 희귀도별로 나눈 장비 번호 배열(장비 이름 순)
+ * - alias 테이블: (드랍|상점) x 풀 x 챕터 구간마다 희귀도 분포 1개
+ *   풀에 없는 희귀도의 가중치는 마지막 칸("풀 전체에서 균등")으로 모은다.
+ *   기존 "희귀도 롤 -> 해당 희귀도가 없으면 아무거나" 와 같은 분포다.
+ * - 한 번의 롤(선택지 n개) 안에서는 중복 없이 뽑는다. 버킷마다 가상 Fisher-Yates(바뀐 칸만 기록)라
+ *   버킷을 복사하지 않고 1개당 O(1)로 뽑는다. 다른 버킷에서 이미 뽑힌 장비는 건너뛴다.
+ *
+ * 장비 맵과 설정은 GameData 에서 공유되므로, 마지막으로 만든 테이블을 identity 기준으로 재사용한다.
+ */
+public final class LootTables {
+
+    private static final Timer ROLL_DROP = Metrics.timer("loot.rollDrop");
+    private static final Timer ROLL_SHOP = Metrics.timer("loot.rollShop");
+
+    /** 희귀도 순서(가중치 배열 인덱스). */
+    public static final List<String> RARITIES = List.of("COMMON", "UNCOMMON", "RARE", "EPIC", "LEGENDARY");
+
+    private static final int FALLBACK = RARITIES.size();
+
+    private static volatile LootTables last;
+
+    private final Map<String, EquipmentDef> source;
+    private final DropWeights weightsSource;
+
+    private final EquipmentDef[] items;
+    private final Pool whole;
+    private final Map<String, Pool> bySet;
+    private final Table drop;
+    private final Table shop;
+
+    // 풀 1개: 장비 번호(items 인덱스)와 희귀도별 버킷
+    private static final class Pool {
+        final int[] all;
+        final int[][] byRarity;
+
+        Pool(int[] all, int[][] byRarity) {
+            this.all = all;
+            this.byRarity = byRarity;
+        }
+    }
+
+    // 드랍/상점 설정 1개를 풀별 alias 테이블로 바꾼 것
+    private static final class Table {
+        final int[] bandMax;
+        final Map<Pool, AliasTable[]> aliases = new IdentityHashMap<>();
+        final List<SetPreference> prefer = new ArrayList<>();
+        final Set<String> uniformSets = new HashSet<>();
+
+        Table(RarityTable cfg, List<Pool> pools) {
+            List<RarityBand> bands = new ArrayList<>();
+            if (cfg != null && cfg.getBands() != null) {
+                for (RarityBand b : cfg.getBands()) if (b != null) bands.add(b);
+            }
+            this.bandMax = new int[bands.size()];
+            double[][] weights = new double[bands.size()][];
+            for (int i = 0; i < bands.size(); i++) {
+                Integer max = bands.get(i).getMaxChapter();
+                bandMax[i] = (max == null) ? Integer.MAX_VALUE : max;
+                weights[i] = rarityWeights(bands.get(i));
+            }
+            for (Pool p : pools) {
+                AliasTable[] perBand = new AliasTable[bands.size()];
+                for (int i = 0; i < perBand.length; i++) perBand[i] = aliasFor(p, weights[i]);
+                aliases.put(p, perBand);
+            }
+            if (cfg != null && cfg.getPreferSet() != null) {
+                for (SetPreference sp : cfg.getPreferSet()) {
+                    if (sp != null && sp.getSet() != null && sp.getChance() > 0) prefer.add(sp);
+                }
+            }
+            if (cfg != null && cfg.getUniformSets() != null) {
+                for (String s : cfg.getUniformSets()) if (s != null) uniformSets.add(key(s));
+            }
+        }
+
+        // 챕터가 속한 구간의 테이블. 구간이 없거나 가중치가 전부 0이면 null(풀 전체 균등)
+        AliasTable alias(Pool p, int chapter) {
+            AliasTable[] perBand = aliases.get(p);
+            for (int i = 0; i < bandMax.length; i++) {
+                if (chapter <= bandMax[i]) return perBand[i];
+            }
+            return null;
+        }
+    }
+
+    private LootTables(Map<String, EquipmentDef> source, DropWeights weights) {
+        this.source = source;
+        this.weightsSource = weights;
+
+        // 장비 이름 순으로 번호를 매긴다(맵 순서와 무관하게 같은 시드면 같은 결과)
+        List<EquipmentDef> list = new ArrayList<>();
+        if (source != null) {
+            for (EquipmentDef d : new TreeMap<>(source).values()) {
+                if (d != null && d.getName() != null) list.add(d);
+            }
+        }
+        this.items = list.toArray(new EquipmentDef[0]);
+
+        Map<String, List<Integer>> setMembers = new TreeMap<>();
+        List<Integer> allIdx = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            allIdx.add(i);
+            String set = items[i].getSetName();
+            if (set != null && !set.isBlank()) setMembers.computeIfAbsent(key(set), k -> new ArrayList<>()).add(i);
+        }
+        this.whole = pool(allIdx);
+        Map<String, Pool> sets = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> e : setMembers.entrySet()) sets.put(e.getKey(), pool(e.getValue()));
+        this.bySet = sets;
+
+        List<Pool> pools = new ArrayList<>();
+        pools.add(whole);
+        pools.addAll(sets.values());
+        DropWeights w = (weights == null) ? new DropWeights() : weights;
+        this.drop = new Table(w.getDrop(), pools);
+        this.shop = new Table(w.getShop(), pools);
+    }
+
+    public static LootTables of(Map<String, EquipmentDef> equipments, DropWeights weights) {
+        LootTables t = last;
+        if (t != null && t.source == equipments && t.weightsSource == weights) return t;
+        t = new LootTables(equipments, weights);
+        last = t;
+        return t;
+    }
+
+    /**
+     * 드랍 선택지 n개(중복 없음).
+     * @param forceSetName null/공백이면 일반 드랍. 아니면 해당 세트 풀에서만 뽑는다(없는 세트면 빈 목록).
+     */
+    public List<EquipmentDef> rollDrop(Random rng, int chapter, int n, String forceSetName) {
+        Pool pool = whole;
+        boolean uniform = false;
+        if (forceSetName != null && !forceSetName.isBlank()) {
+            pool = bySet.get(key(forceSetName));
+            if (pool == null) return List.of();
+            uniform = drop.uniformSets.contains(key(forceSetName));
+        }
+        long t0 = ROLL_DROP.start();
+        List<EquipmentDef> out = roll(drop, pool, uniform, rng, chapter, n);
+        ROLL_DROP.stop(t0);
+        return out;
+    }
+
+    /** 상점 진열 장비 n개(중복 없음). */
+    public List<EquipmentDef> rollShop(Random rng, int chapter, int n) {
+        long t0 = ROLL_SHOP.start();
+        List<EquipmentDef> out = roll(shop, whole, false, rng, chapter, n);
+        ROLL_SHOP.stop(t0);
+        return out;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    private List<EquipmentDef> roll(Table t, Pool pool, boolean uniform, Random rng, int chapter, int n) {
+        int c = Math.max(1, chapter);
+        Draw d = new Draw(rng);
+        List<EquipmentDef> out = new ArrayList<>(Math.max(0, n));
+        AliasTable alias = uniform ? null : t.alias(pool, c);
+        while (out.size() < n) {
+            EquipmentDef e = (alias == null) ? null : d.rolled(t, pool, alias, c);
+            // 희귀도 칸이 비었거나(풀에 없음/이번 롤에서 소진) 균등 드랍이면 풀 전체에서 뽑는다
+            if (e == null) e = d.take(pool.all);
+            if (e == null) break;
+            out.add(e);
+        }
+        return out;
+    }
+
+    // 롤 1번(선택지 n개)의 비복원 추출 상태
+    private final class Draw {
+        private final Random rng;
+        private final BitSet used = new BitSet();
+        private final Map<int[], Perm> perms = new IdentityHashMap<>();
+
+        Draw(Random rng) {
+            this.rng = rng;
+        }
+
+        EquipmentDef rolled(Table t, Pool pool, AliasTable alias, int chapter) {
+            int r = alias.sample(rng);
+            if (r == FALLBACK) return null;
+
+            for (SetPreference sp : t.prefer) {
+                if (sp.getChapter() != chapter || rng.nextDouble() >= sp.getChance()) continue;
+                Pool setPool = bySet.get(key(sp.getSet()));
+                // 세트 강제 드랍이면 그 세트 안에서만(다른 세트 보정은 무시)
+                if (setPool == null || (pool != whole && pool != setPool)) continue;
+                EquipmentDef e = take(setPool.byRarity[r]);
+                if (e != null) return e;
+            }
+            return take(pool.byRarity[r]);
+        }
+
+        // bucket 에서 아직 안 뽑힌 장비 1개(없으면 null)
+        EquipmentDef take(int[] bucket) {
+            if (bucket.length == 0) return null;
+            Perm p = perms.computeIfAbsent(bucket, Perm::new);
+            while (p.remaining > 0) {
+                int idx = p.next(rng);
+                if (!used.get(idx)) {
+                    used.set(idx);
+                    return items[idx];
+                }
+            }
+            return null;
+        }
+    }
+
+    // 가상 Fisher-Yates: 자리를 바꾼 칸만 swaps 에 기록한다
+    private static final class Perm {
+        final int[] bucket;
+        final Map<Integer, Integer> swaps = new HashMap<>();
+        int remaining;
+
+        Perm(int[] bucket) {
+            this.bucket = bucket;
+            this.remaining = bucket.length;
+        }
+
+        int next(Random rng) {
+            int k = rng.nextInt(remaining);
+            int pos = swaps.getOrDefault(k, k);
+            remaining--;
+            swaps.put(k, swaps.getOrDefault(remaining, remaining));
+            return bucket[pos];
+        }
+    }
+
+    private Pool pool(List<Integer> idx) {
+        int[] all = new int[idx.size()];
+        List<List<Integer>> rar = new ArrayList<>();
+        for (int i = 0; i < RARITIES.size(); i++) rar.add(new ArrayList<>());
+        for (int i = 0; i < all.length; i++) {
+            all[i] = idx.get(i);
+            int r = rarityIndex(items[all[i]].getRarity());
+            if (r >= 0) rar.get(r).add(all[i]);
+        }
+        int[][] byRarity = new int[RARITIES.size()][];
+        for (int r = 0; r < byRarity.length; r++) {
+            byRarity[r] = rar.get(r).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new Pool(all, byRarity);
+    }
+
+    // 풀에 없는 희귀도 가중치는 FALLBACK 칸으로 옮긴다
+    private static AliasTable aliasFor(Pool p, double[] rarityWeights) {
+        double[] w = new double[RARITIES.size() + 1];
+        double sum = 0;
+        for (int r = 0; r < RARITIES.size(); r++) {
+            if (p.byRarity[r].length > 0) w[r] = rarityWeights[r];
+            else w[FALLBACK] += rarityWeights[r];
+            sum += rarityWeights[r];
+        }
+        return (sum > 0) ? new AliasTable(w) : null;
+    }
+
+    private static double[] rarityWeights(RarityBand band) {
+        double[] w = new double[RARITIES.size()];
+        if (band.getWeights() == null) return w;
+        for (Map.Entry<String, Integer> e : band.getWeights().entrySet()) {
+            int r = rarityIndex(e.getKey());
+            if (r < 0 || e.getValue() == null) continue;
+            w[r] += Math.max(0, e.getValue());
+        }
+        return w;
+    }
+
+    /** RARITIES 안의 순서(대소문자 무시). 모르는 희귀도면 -1. */
+    public static int rarityIndex(String rarity) {
+        if (rarity == null) return -1;
+        return RARITIES.indexOf(rarity.toUpperCase(Locale.ROOT));
+    }
+
+    private static String key(String s) {
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,27 @@
+package desia.equipment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 챕터 구간 1개의 희귀도 가중치. 예: {"max_chapter": 2, "weights": {"COMMON": 45, ...}}
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class RarityBand {
+
+    // 이 챕터까지 적용(null이면 상한 없음)
+    @JsonProperty("max_chapter")
+    private Integer maxChapter;
+
+    // 희귀도 -> 상대 가중치(합이 100일 필요는 없다)
+    @Builder.Default
+    private Map<String, Integer> weights = new LinkedHashMap<>();
+}
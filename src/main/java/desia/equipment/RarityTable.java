@@ -0,0 +1,32 @@
+package desia.equipment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 챕터 구간별 희귀도 가중치 + 세트 보정(드랍/상점 각각 1개).
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class RarityTable {
+
+    // max_chapter 오름차순. 마지막 구간은 max_chapter 생략(나머지 전부)
+    @Builder.Default
+    private List<RarityBand> bands = List.of();
+
+    // 특정 챕터에서 희귀도가 정해진 뒤 해당 세트에서 먼저 뽑아볼 확률
+    @JsonProperty("prefer_set")
+    @Builder.Default
+    private List<SetPreference> preferSet = List.of();
+
+    // 이 세트로 강제된 드랍은 희귀도 롤 없이 세트 안에서 균등하게 뽑는다
+    @JsonProperty("uniform_sets")
+    @Builder.Default
+    private List<String> uniformSets = List.of();
+}
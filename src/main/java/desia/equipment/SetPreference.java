@@ -0,0 +1,18 @@
+package desia.equipment;
+
+import lombok.*;
+
+/**
+ * 챕터 chapter 에서 chance 확률로 set 세트를 먼저 뽑아본다(같은 희귀도가 없으면 일반 진행).
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class SetPreference {
+    private int chapter;
+    private String set;
+    private double chance;
+}
@@ -0,0 +1,56 @@
+package desia.event;
+
+import java.util.Arrays;
+
+/**
+ * 세션 1개의 이벤트 버스.
+ *
+ * - sink 목록은 copy-on-write 배열: 발행은 락 없이 배열만 돈다.
+ * - sink 가 없으면 active() 가 false. 발행하는 쪽은 이걸 먼저 보고 이벤트 객체를 만들지 않는다
+ *   (헤드리스 실행은 렌더링 비용이 0).
+ * - sink 하나가 던진 예외는 다른 sink 로 번지지 않게 삼키고, 그 sink 를 뺀다.
+ */
+public final class EventBus {
+
+    private static final EventSink[] EMPTY = new EventSink[0];
+
+    private volatile EventSink[] sinks = EMPTY;
+
+    public boolean active() {
+        return sinks.length > 0;
+    }
+
+    public void publish(GameEvent event) {
+        for (EventSink s : sinks) {
+            try {
+                s.on(event);
+            } catch (RuntimeException e) {
+                System.out.println("[event] sink 제거(" + s.getClass().getSimpleName() + "): " + e);
+                remove(s);
+            }
+        }
+    }
+
+    /** 이미 붙어 있으면(같은 객체) 무시한다. */
+    public synchronized void add(EventSink sink) {
+        if (sink == null) return;
+        for (EventSink s : sinks) {
+            if (s == sink) return;
+        }
+        EventSink[] next = Arrays.copyOf(sinks, sinks.length + 1);
+        next[sinks.length] = sink;
+        sinks = next;
+    }
+
+    public synchronized void remove(EventSink sink) {
+        EventSink[] cur = sinks;
+        for (int i = 0; i < cur.length; i++) {
+            if (cur[i] != sink) continue;
+            EventSink[] next = new EventSink[cur.length - 1];
+            System.arraycopy(cur, 0, next, 0, i);
+            System.arraycopy(cur, i + 1, next, i, cur.length - i - 1);
+            sinks = next;
+            return;
+        }
+    }
+}
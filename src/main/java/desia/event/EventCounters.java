@@ -0,0 +1,52 @@
+package desia.event;
+
+import desia.event.GameEvent.DamageDealt;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지표 sink: 이벤트 종류별 건수와 피해 합계.
+ * 여러 세션의 버스에 같은 인스턴스를 붙여도 된다(카운터는 스레드 안전).
+ */
+public final class EventCounters implements EventSink {
+
+    private final Map<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+    private final DoubleAdder damageByPlayer = new DoubleAdder();
+    private final DoubleAdder otherDamage = new DoubleAdder();
+
+    // 도트는 누가 입었는지와 상관없이 "그 밖" 으로 센다(byPlayer 기준으로만 나눈다).
+    @Override
+    public void on(GameEvent event) {
+        counts.computeIfAbsent(event.getClass(), k -> new LongAdder()).increment();
+        if (event instanceof DamageDealt d) {
+            if (d.byPlayer()) damageByPlayer.add(d.hpDamage());
+            else otherDamage.add(d.hpDamage());
+        }
+    }
+
+    public long count(Class<? extends GameEvent> type) {
+        LongAdder a = counts.get(type);
+        return (a == null) ? 0 : a.sum();
+    }
+
+    /** 플레이어 행동(공격/스킬)으로 들어간 HP 피해 합. */
+    public double damageByPlayer() {
+        return damageByPlayer.sum();
+    }
+
+    /** 그 밖의 HP 피해 합(적 행동, 도트). */
+    public double otherDamage() {
+        return otherDamage.sum();
+    }
+
+    /** 이벤트 이름 -> 건수(이름순). */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> out = new TreeMap<>();
+        counts.forEach((k, v) -> out.put(k.getSimpleName(), v.sum()));
+        return out;
+    }
+}
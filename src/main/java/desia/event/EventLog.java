@@ -0,0 +1,228 @@
+package desia.event;
+
+import desia.battle.BattleOutcome;
+import desia.event.GameEvent.*;
+import desia.status.StatusType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 바이너리 이벤트 로그 sink. 텍스트를 파싱하지 않고 플레이 기록/원격 측정을 남긴다.
+ *
+ * 형식(빅엔디언, DataOutputStream):
+ * magic "DEVT", version(1), 이후 레코드가 파일 끝까지: tag(byte) + 필드.
+ * 문자열은 처음 나올 때만 본문을 쓰고 이후엔 번호로 쓴다:
+ *   varint 0 = null, n(1..) = 테이블 n-1 번, 테이블 크기+1 이면 바로 뒤에 UTF 본문(테이블에 추가).
+ * 피해량은 double, 스택/레벨은 varint, enum 은 ordinal(byte).
+ *
+ * 쓰기 실패는 UncheckedIOException: EventBus 가 이 sink 를 떼어 내고 게임은 계속된다.
+ */
+public final class EventLog implements EventSink, Closeable {
+
+    private static final int MAGIC = 0x44455654; // "DEVT"
+    private static final int VERSION = 1;
+
+    private static final int T_BATTLE_STARTED = 1;
+    private static final int T_DAMAGE = 2;
+    private static final int T_STATUS = 3;
+    private static final int T_ITEM = 4;
+    private static final int T_LEVEL_UP = 5;
+    private static final int T_DROP = 6;
+    private static final int T_BATTLE_ENDED = 7;
+
+    private static final GameEvent.Cause[] CAUSES = GameEvent.Cause.values();
+    private static final StatusType[] STATUSES = StatusType.values();
+    private static final BattleOutcome[] OUTCOMES = BattleOutcome.values();
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    public EventLog(OutputStream os) {
+        this.out = new DataOutputStream(new BufferedOutputStream(os, 1 << 14));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void on(GameEvent event) {
+        try {
+            write(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private void write(GameEvent event) throws IOException {
+        if (event instanceof DamageDealt e) {
+            out.writeByte(T_DAMAGE);
+            writeString(e.attacker());
+            writeString(e.target());
+            out.writeBoolean(e.byPlayer());
+            out.writeByte(e.cause().ordinal());
+            out.writeDouble(e.hpDamage());
+            out.writeDouble(e.absorbed());
+        } else if (event instanceof BattleStarted e) {
+            out.writeByte(T_BATTLE_STARTED);
+            writeString(e.enemy());
+            writeVarInt(e.enemyLevel());
+            writeString(e.description());
+        } else if (event instanceof StatusApplied e) {
+            out.writeByte(T_STATUS);
+            writeString(e.target());
+            out.writeByte(e.status().ordinal());
+            writeVarInt(e.added());
+            writeVarInt(e.total());
+        } else if (event instanceof ItemUsed e) {
+            out.writeByte(T_ITEM);
+            writeString(e.user());
+            writeString(e.item());
+            out.writeBoolean(e.inBattle());
+        } else if (event instanceof LevelUp e) {
+            out.writeByte(T_LEVEL_UP);
+            writeString(e.player());
+            writeVarInt(e.level());
+            writeStrings(e.newSkills());
+        } else if (event instanceof DropOffered e) {
+            out.writeByte(T_DROP);
+            writeString(e.reason());
+            writeStrings(e.items());
+        } else if (event instanceof BattleEnded e) {
+            out.writeByte(T_BATTLE_ENDED);
+            writeString(e.enemy());
+            out.writeByte(e.outcome().ordinal());
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer idx = strings.get(s);
+        if (idx != null) {
+            writeVarInt(idx + 1);
+            return;
+        }
+        int n = strings.size();
+        strings.put(s, n);
+        writeVarInt(n + 1);
+        out.writeUTF(s);
+    }
+
+    private void writeStrings(List<String> list) throws IOException {
+        writeVarInt(list.size());
+        for (String s : list) writeString(s);
+    }
+
+    private void writeVarInt(int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    // =========================
+    // 읽기
+    // =========================
+
+    /** 로그 전체를 읽는다(도구/테스트용). */
+    public static List<GameEvent> read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) throw new IOException("이벤트 로그가 아닙니다.");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("지원하지 않는 이벤트 로그 버전: " + version);
+
+        Reader r = new Reader(in);
+        List<GameEvent> events = new ArrayList<>();
+        while (true) {
+            int tag;
+            try {
+                tag = in.readUnsignedByte();
+            } catch (EOFException end) {
+                return events;
+            }
+            events.add(r.event(tag));
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        GameEvent event(int tag) throws IOException {
+            return switch (tag) {
+                case T_DAMAGE -> new DamageDealt(string(), string(), in.readBoolean(),
+                        pick(CAUSES, in.readUnsignedByte()), in.readDouble(), in.readDouble());
+                case T_BATTLE_STARTED -> new BattleStarted(string(), varInt(), string());
+                case T_STATUS -> new StatusApplied(string(), pick(STATUSES, in.readUnsignedByte()), varInt(), varInt());
+                case T_ITEM -> new ItemUsed(string(), string(), in.readBoolean());
+                case T_LEVEL_UP -> new LevelUp(string(), varInt(), stringList());
+                case T_DROP -> new DropOffered(string(), stringList());
+                case T_BATTLE_ENDED -> new BattleEnded(string(), pick(OUTCOMES, in.readUnsignedByte()));
+                default -> throw new IOException("잘못된 이벤트 태그: " + tag);
+            };
+        }
+
+        private String string() throws IOException {
+            int n = varInt();
+            if (n == 0) return null;
+            if (n <= strings.size()) return strings.get(n - 1);
+            if (n != strings.size() + 1) throw new IOException("잘못된 문자열 번호: " + n);
+            String s = in.readUTF();
+            strings.add(s);
+            return s;
+        }
+
+        private List<String> stringList() throws IOException {
+            int count = varInt();
+            List<String> out = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) out.add(string());
+            return List.copyOf(out);
+        }
+
+        private int varInt() throws IOException {
+            int v = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readUnsignedByte();
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("잘못된 varint");
+        }
+
+        private static <E> E pick(E[] values, int ordinal) throws IOException {
+            if (ordinal >= values.length) throw new IOException("잘못된 코드: " + ordinal);
+            return values[ordinal];
+        }
+    }
+}
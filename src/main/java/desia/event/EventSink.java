@@ -0,0 +1,8 @@
+package desia.event;
+
+/** 이벤트 수신기. 발행한 스레드(세션 스레드)에서 바로 불린다: 오래 걸리는 일은 하지 않는다. */
+@FunctionalInterface
+public interface EventSink {
+
+    void on(GameEvent event);
+}
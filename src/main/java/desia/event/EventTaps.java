@@ -0,0 +1,70 @@
+package desia.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 기록용 sink(기본은 없다). GameSession 은 만들어질 때 여기 있는 sink 를 자기 버스에 붙인다.
+ * 여러 세션(호스트, 밸런스 스윕)이 같은 sink 를 나눠 쓴다: EventLog/EventCounters 는 스레드 안전하다.
+ *
+ * 진입점들은 startFromProperties() 만 부른다:
+ *   -Ddesia.events.log=build/events.devt   모든 세션의 이벤트를 EventLog 파일 1개로(JVM 종료 시 닫는다)
+ *   -Ddesia.events.counters=true           EventCounters 를 붙이고 JVM 종료 시 건수를 System.err 로
+ * 둘 다 없으면 sink 가 없어 버스가 비활성 그대로다(이벤트 객체를 만들지 않는다).
+ */
+public final class EventTaps {
+
+    private static final List<EventSink> SINKS = new CopyOnWriteArrayList<>();
+
+    private EventTaps() {
+    }
+
+    /** 이후 만들어지는 세션 버스에 붙일 sink. */
+    public static void add(EventSink sink) {
+        SINKS.add(sink);
+    }
+
+    public static void remove(EventSink sink) {
+        SINKS.remove(sink);
+    }
+
+    /** 세션 버스에 등록된 sink 를 모두 붙인다. */
+    public static void attach(EventBus bus) {
+        for (EventSink s : SINKS) bus.add(s);
+    }
+
+    /** desia.events.log / desia.events.counters 를 보고 sink 를 건다. 둘 다 없으면 아무것도 하지 않는다. */
+    public static void startFromProperties() {
+        String log = System.getProperty("desia.events.log");
+        if (log != null && !log.isBlank()) {
+            try {
+                Path p = Paths.get(log);
+                if (p.getParent() != null) Files.createDirectories(p.getParent());
+                EventLog sink = new EventLog(Files.newOutputStream(p));
+                add(sink);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        sink.close();
+                    } catch (IOException e) {
+                        System.err.println("[events] 로그 닫기 실패: " + e.getMessage());
+                    }
+                }, "desia-events-close"));
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("[events] 로그를 열지 못했습니다: " + e.getMessage());
+            }
+        }
+
+        if (Boolean.getBoolean("desia.events.counters")) {
+            EventCounters counters = new EventCounters();
+            add(counters);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.printf(
+                    "[events] %s, 플레이어 피해 %.0f, 그 밖 피해 %.0f%n",
+                    counters.snapshot(), counters.damageByPlayer(), counters.otherDamage()), "desia-events-counters"));
+        }
+    }
+}
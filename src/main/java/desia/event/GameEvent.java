@@ -0,0 +1,42 @@
+package desia.event;
+
+import desia.battle.BattleOutcome;
+import desia.status.StatusType;
+
+import java.util.List;
+
+/**
+ * 게임 이벤트(구조화). 문자열 대신 원시값/이름만 담는다.
+ *
+ * 화면 문구는 렌더러(TextEventRenderer)가 만들고, 로그/지표 sink 는 값 그대로 쓴다.
+ * 새 이벤트를 추가하면 EventLog 의 태그와 TextEventRenderer 도 함께 손본다.
+ */
+public sealed interface GameEvent {
+
+    /** 피해 원인. */
+    enum Cause { ATTACK, SKILL, DOT }
+
+    record BattleStarted(String enemy, int enemyLevel, String description) implements GameEvent {}
+
+    /**
+     * 피해 1회.
+     *
+     * @param attacker 도트 피해면 null
+     * @param byPlayer 플레이어의 행동으로 준 피해인지(도트는 false)
+     * @param hpDamage HP 로 들어간 피해
+     * @param absorbed 실드가 흡수한 양
+     */
+    record DamageDealt(String attacker, String target, boolean byPlayer, Cause cause,
+                       double hpDamage, double absorbed) implements GameEvent {}
+
+    record StatusApplied(String target, StatusType status, int added, int total) implements GameEvent {}
+
+    record ItemUsed(String user, String item, boolean inBattle) implements GameEvent {}
+
+    record LevelUp(String player, int level, List<String> newSkills) implements GameEvent {}
+
+    /** 장비 선택지 제시(선택 메뉴 자체는 EquipmentDropService 가 그린다). */
+    record DropOffered(String reason, List<String> items) implements GameEvent {}
+
+    record BattleEnded(String enemy, BattleOutcome outcome) implements GameEvent {}
+}
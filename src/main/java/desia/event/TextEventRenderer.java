@@ -0,0 +1,62 @@
+package desia.event;
+
+import desia.battle.BattleOutcome;
+import desia.event.GameEvent.*;
+
+import java.util.function.Consumer;
+
+/**
+ * 이벤트를 기존 화면 문구로 바꿔 한 줄씩 내보내는 렌더러.
+ *
+ * CONSOLE 은 System.out 으로 쓴다. 콘솔, JavaFX(System.out 을 LogView 로 돌려받는다),
+ * SessionHost(스레드별 System.out) 모두 이 경로라서, 아직 println 으로 남은 출력과 순서가 섞이지 않는다.
+ *
+ * 화면에 문구가 없던 이벤트(상태이상, 드랍 제시, 플레이어 스킬 피해 등)는 그리지 않는다:
+ * 스킬/아이템 결과 문구는 SkillCastResult/ApplyResult 의 로그가, 드랍 목록은 선택 메뉴가 이미 보여 준다.
+ */
+public final class TextEventRenderer implements EventSink {
+
+    // System.out 은 호출 시점에 읽는다(SessionHost 가 나중에 바꾼다).
+    public static final TextEventRenderer CONSOLE = new TextEventRenderer(line -> System.out.println(line));
+
+    private final Consumer<String> out;
+
+    public TextEventRenderer(Consumer<String> out) {
+        this.out = out;
+    }
+
+    @Override
+    public void on(GameEvent event) {
+        if (event instanceof DamageDealt e) {
+            damage(e);
+        } else if (event instanceof BattleStarted e) {
+            out.accept("\n[전투] " + e.enemy());
+            out.accept(String.valueOf(e.description()));
+        } else if (event instanceof BattleEnded e) {
+            if (e.outcome() == BattleOutcome.WIN) out.accept("\n승리!");
+            else if (e.outcome() == BattleOutcome.LOSE) out.accept("\n패배... 게임 오버");
+        } else if (event instanceof ItemUsed e) {
+            if (!e.inBattle()) out.accept("사용 완료: " + e.item());
+        } else if (event instanceof LevelUp e) {
+            if (!e.newSkills().isEmpty()) out.accept("\n[스킬 습득] " + String.join(", ", e.newSkills()));
+        }
+    }
+
+    private void damage(DamageDealt e) {
+        long hp = Math.round(e.hpDamage());
+        boolean absorbed = e.absorbed() > 0;
+        if (e.cause() == GameEvent.Cause.DOT) {
+            if (hp > 0) out.accept("\n[엔드] " + e.target() + " 도트 피해: " + hp);
+            return;
+        }
+        if (e.byPlayer()) {
+            if (e.cause() != GameEvent.Cause.ATTACK) return;
+            if (absorbed) out.accept("플레이어의 공격! 실드 " + Math.round(e.absorbed()) + " 흡수 + HP " + hp + " 피해");
+            else out.accept("플레이어의 공격! " + hp + " 피해");
+            return;
+        }
+        out.accept("\n" + e.attacker() + (e.cause() == GameEvent.Cause.SKILL ? "의 스킬 공격!" : "의 공격!"));
+        if (absorbed) out.accept("실드 " + Math.round(e.absorbed()) + " 흡수 + HP " + hp + " 피해를 입었다.");
+        else out.accept(hp + " 피해를 입었다.");
+    }
+}
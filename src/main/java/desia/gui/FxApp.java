@@ -2,6 +2,8 @@ package desia.gui;
 
 import desia.Game;
 import desia.io.Io;
+import desia.event.EventTaps;
+import desia.metrics.MetricsReporter;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
@@ -11,7 +13,6 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.control.Label;
-import javafx.scene.control.TextArea;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ScrollPane;
@@ -27,41 +28,36 @@ import javafx.stage.Stage;
 import java.io.PrintStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JavaFX wrapper that runs the game in a window.
  *
  * Strategy:
- * - Redirect System.out/System.err to a TextArea.
+ * - Redirect System.out/System.err to a virtualized log view (LogView).
  * - Provide Io implementation (FxIo) that renders inputs as on-screen buttons / text field.
- * - Run the game loop on a background thread to keep the UI responsive.
+ * - Drive the game through Game.startAsync: it continues on the FX thread from button clicks,
+ *   so no thread sits waiting for input (blocking screens borrow a pooled worker).
  */
 public final class FxApp extends Application {
 
-    private TextArea output;
+    private LogView output;
     private Label promptLabel;
     private FlowPane choiceButtons;
     private TextField textField;
     private Button textOk;
 
     public static void main(String[] args) {
+        MetricsReporter.startFromProperties();
+        EventTaps.startFromProperties();
         launch(args);
     }
 
     @Override
     public void start(Stage stage) throws Exception {
-        output = new TextArea();
-        output.setEditable(false);
-        output.setWrapText(true);
+        output = new LogView();
         // parchment-friendly
-        output.setStyle(
-                "-fx-control-inner-background: rgba(255,255,255,0.0);" +
-                "-fx-background-color: rgba(255,255,255,0.0);" +
-                "-fx-text-fill: #111111;" +
-                "-fx-highlight-fill: rgba(0,0,0,0.18);" +
-                "-fx-highlight-text-fill: #111111;" +
-                "-fx-font-size: 15px;"
-        );
+        output.setStyle("-fx-font-size: 15px;");
 
         promptLabel = new Label("");
 
@@ -173,7 +169,7 @@ public final class FxApp extends Application {
         stage.setScene(scene);
         stage.show();
 
-        // Wire stdout/stderr -> TextArea
+        // Wire stdout/stderr -> LogView
         PrintStream ps = new PrintStream(new FxTextAreaOutputStream(output), true, StandardCharsets.UTF_8);
         System.setOut(ps);
         System.setErr(ps);
@@ -182,24 +178,30 @@ public final class FxApp extends Application {
         FxInputView inputView = new FxInputView(promptLabel, choiceButtons, textField, textOk, battleBgView, titleView);
         Io io = new FxIo(inputView);
 
-        // Start the game loop on a background thread
-        Thread gameThread = new Thread(() -> {
+        // Load data off the FX thread, then start the main menu flow. No thread waits for input:
+        // each click completes a future and the game continues on the FX thread
+        // (blocking screens such as the shop run on a pooled worker via AsyncIo.callBlocking).
+        Thread loader = new Thread(() -> {
+            CompletableFuture<Void> done;
             try {
-                new Game(io).start();
+                done = new Game(io).startAsync();
             } catch (Throwable t) {
-                t.printStackTrace();
-            } finally {
+                done = CompletableFuture.failedFuture(t);
+            }
+            done.whenComplete((v, t) -> {
+                if (t != null) t.printStackTrace();
+                // Goes through the redirected stream so it lands after any log text still pending.
+                System.out.print("\n\n[게임 종료]\n");
                 Platform.runLater(() -> {
-                    output.appendText("\n\n[게임 종료]\n");
                     // disable inputs
                     choiceButtons.getChildren().clear();
                     textField.setDisable(true);
                     textOk.setDisable(true);
                 });
-            }
-        }, "desia-game-thread");
-        gameThread.setDaemon(true);
-        gameThread.start();
+            });
+        }, "desia-loader");
+        loader.setDaemon(true);
+        loader.start();
 
         stage.setOnCloseRequest(e -> {
             inputView.shutdown();
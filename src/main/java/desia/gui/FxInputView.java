@@ -17,7 +17,9 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * UI-side input renderer.
  *
- * Game thread blocks on returned futures; UI completes them on button click.
+ * The *Async methods return a future that the UI completes on button click; nothing blocks.
+ * The blocking request* methods wait on the same future (worker threads only: waiting on the
+ * FX thread would freeze the button that completes it).
  */
 public final class FxInputView {
 
@@ -61,10 +63,13 @@ public final class FxInputView {
      * Returns the option's explicit value.
      */
     public int requestChoice(String prompt, List<ChoiceOption> options) {
-        CompletableFuture<Integer> fut = new CompletableFuture<>();
-        if (!pending.compareAndSet(null, fut)) {
-            throw new IllegalStateException("Another input request is already pending.");
-        }
+        Integer v = await(choiceAsync(prompt, options));
+        return (v == null) ? 0 : v;
+    }
+
+    /** Non-blocking {@link #requestChoice}. Completes with null on shutdown. */
+    public CompletableFuture<Integer> choiceAsync(String prompt, List<ChoiceOption> options) {
+        CompletableFuture<Integer> fut = begin();
 
         Platform.runLater(() -> {
             promptLabel.setText(prompt == null ? "" : prompt);
@@ -76,22 +81,11 @@ public final class FxInputView {
             buttonPane.getChildren().clear();
             for (ChoiceOption opt : options) {
                 Button b = new Button(opt.label());
-                b.setOnAction(e -> {
-                    if (!fut.isDone()) {
-                        fut.complete(opt.value());
-                    }
-                    clearPending(fut);
-                });
+                b.setOnAction(e -> resolve(fut, opt.value()));
                 buttonPane.getChildren().add(b);
             }
         });
-
-        try {
-            return fut.get();
-        } catch (Exception e) {
-            clearPending(fut);
-            return 0;
-        }
+        return fut;
     }
 
     /**
@@ -111,10 +105,12 @@ public final class FxInputView {
     }
 
     public String requestText(String prompt) {
-        CompletableFuture<String> fut = new CompletableFuture<>();
-        if (!pending.compareAndSet(null, fut)) {
-            throw new IllegalStateException("Another input request is already pending.");
-        }
+        return await(textAsync(prompt));
+    }
+
+    /** Non-blocking {@link #requestText}. Completes with null on shutdown. */
+    public CompletableFuture<String> textAsync(String prompt) {
+        CompletableFuture<String> fut = begin();
 
         Platform.runLater(() -> {
             promptLabel.setText(prompt == null ? "" : prompt);
@@ -124,29 +120,22 @@ public final class FxInputView {
             textField.setVisible(true);
             textOk.setVisible(true);
 
-            Runnable submit = () -> {
-                if (!fut.isDone()) fut.complete(textField.getText());
-                clearPending(fut);
-            };
+            Runnable submit = () -> resolve(fut, textField.getText());
 
             textOk.setOnAction(e -> submit.run());
             textField.setOnAction(e -> submit.run());
             textField.requestFocus();
         });
-
-        try {
-            return fut.get();
-        } catch (Exception e) {
-            clearPending(fut);
-            return "";
-        }
+        return fut;
     }
 
     public void requestContinue(String prompt) {
-        CompletableFuture<Void> fut = new CompletableFuture<>();
-        if (!pending.compareAndSet(null, fut)) {
-            throw new IllegalStateException("Another input request is already pending.");
-        }
+        await(continueAsync(prompt));
+    }
+
+    /** Non-blocking {@link #requestContinue}. */
+    public CompletableFuture<Void> continueAsync(String prompt) {
+        CompletableFuture<Void> fut = begin();
 
         Platform.runLater(() -> {
             promptLabel.setText(prompt == null ? "" : prompt);
@@ -154,18 +143,10 @@ public final class FxInputView {
             textOk.setVisible(false);
             buttonPane.getChildren().clear();
             Button b = new Button("계속");
-            b.setOnAction(e -> {
-                if (!fut.isDone()) fut.complete(null);
-                clearPending(fut);
-            });
+            b.setOnAction(e -> resolve(fut, null));
             buttonPane.getChildren().add(b);
         });
-
-        try {
-            fut.get();
-        } catch (Exception ignored) {
-            clearPending(fut);
-        }
+        return fut;
     }
 
     public void shutdown() {
@@ -176,6 +157,34 @@ public final class FxInputView {
         }
     }
 
+    private <T> CompletableFuture<T> begin() {
+        CompletableFuture<T> fut = new CompletableFuture<>();
+        if (!pending.compareAndSet(null, fut)) {
+            throw new IllegalStateException("Another input request is already pending.");
+        }
+        return fut;
+    }
+
+    // Clear before completing: an async caller asks for its next input from inside complete().
+    private <T> void resolve(CompletableFuture<T> fut, T value) {
+        if (fut.isDone()) return;
+        clearPending(fut);
+        fut.complete(value);
+    }
+
+    private <T> T await(CompletableFuture<T> fut) {
+        if (Platform.isFxApplicationThread()) {
+            clearPending(fut);
+            throw new IllegalStateException("Blocking input requested on the FX thread; use the *Async methods.");
+        }
+        try {
+            return fut.get();
+        } catch (Exception e) {
+            clearPending(fut);
+            return null;
+        }
+    }
+
     private void clearPending(CompletableFuture<?> fut) {
         pending.compareAndSet(fut, null);
         Platform.runLater(() -> {
@@ -1,5 +1,6 @@
 package desia.gui;
 
+import desia.io.AsyncIo;
 import desia.io.Io;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -7,9 +8,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import java.util.Map;
 import java.io.InputStream;
-
-/** JavaFX implementation: all inputs are driven by on-screen controls (buttons / text box). */
-public final class FxIo implements Io {
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * JavaFX implementation: all inputs are driven by on-screen controls (buttons / text box).
+ *
+ * FxApp drives the game through the AsyncIo calls: they return at once and the game continues
+ * on the FX thread when a button is clicked. The blocking (Io) calls are only for screens run
+ * through {@link AsyncIo#callBlocking}, which park a pooled worker, never the FX thread.
+ */
+public final class FxIo implements Io, AsyncIo {
 
     private final FxInputView view;
     private final Map<String, String> chapterBackgrounds;
@@ -53,56 +62,99 @@ public final class FxIo implements Io {
     @Override
     public int choose(String prompt, List<String> options) {
         if (options == null || options.isEmpty()) return 1;
-        java.util.ArrayList<ChoiceOption> opts = new java.util.ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            String label = options.get(i);
-            opts.add(new ChoiceOption(i + 1, label));
-        }
-        int v = view.requestChoice(prompt, opts);
-        if (v < 1 || v > options.size()) return 1;
-        return v;
+        return choiceOrDefault(view.requestChoice(prompt, choiceOptions(options, false, null)), options, 1);
     }
 
     @Override
     public int chooseAllowCancel(String prompt, List<String> options, String cancelLabel) {
-        java.util.ArrayList<ChoiceOption> opts = new java.util.ArrayList<>();
-        if (options != null) {
-            for (int i = 0; i < options.size(); i++) {
-                opts.add(new ChoiceOption(i + 1, options.get(i)));
-            }
-        }
-        opts.add(new ChoiceOption(0, cancelLabel == null ? "뒤로" : cancelLabel));
-        int v = view.requestChoice(prompt, opts);
-        if (v == 0) return 0;
-        if (options == null) return 0;
-        if (v < 1 || v > options.size()) return 0;
-        return v;
+        return choiceOrDefault(view.requestChoice(prompt, choiceOptions(options, true, cancelLabel)), options, 0);
     }
 
     @Override
     public String readNonEmptyString(String prompt, int maxLen) {
         while (true) {
-            String s = view.requestText(prompt);
-            if (s == null) {
-                System.out.println("문자열을 입력해주세요.");
-                continue;
-            }
-            s = s.strip();
-            if (s.isEmpty()) {
-                System.out.println("공백만 입력할 수 없습니다.");
-                continue;
-            }
-            if (s.length() > maxLen) {
-                System.out.println(maxLen + "자 이하로만 입력 가능합니다.");
-                continue;
-            }
-            return s;
+            String s = validText(view.requestText(prompt), maxLen);
+            if (s != null) return s;
         }
     }
 
     @Override
     public void anythingToContinue() {
-        view.requestContinue("계속하려면 [계속] 버튼을 누르세요.");
+        view.requestContinue(CONTINUE_PROMPT);
+    }
+
+    // ===== AsyncIo =====
+
+    @Override
+    public CompletionStage<Integer> chooseAsync(String prompt, List<String> options) {
+        if (options == null || options.isEmpty()) return CompletableFuture.completedFuture(1);
+        return view.choiceAsync(prompt, choiceOptions(options, false, null))
+                .thenApply(v -> choiceOrDefault(v, options, 1));
+    }
+
+    @Override
+    public CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel) {
+        return view.choiceAsync(prompt, choiceOptions(options, true, cancelLabel))
+                .thenApply(v -> choiceOrDefault(v, options, 0));
+    }
+
+    @Override
+    public CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen) {
+        return view.textAsync(prompt).thenCompose(raw -> {
+            String s = validText(raw, maxLen);
+            return (s != null) ? CompletableFuture.completedFuture(s) : readNonEmptyStringAsync(prompt, maxLen);
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> continueAsync() {
+        return view.continueAsync(CONTINUE_PROMPT);
+    }
+
+    @Override
+    public Io blocking() {
+        return this;
+    }
+
+    private static final String CONTINUE_PROMPT = "계속하려면 [계속] 버튼을 누르세요.";
+
+    // Buttons 1..n, plus 0 for cancel.
+    private static List<ChoiceOption> choiceOptions(List<String> options, boolean cancel, String cancelLabel) {
+        java.util.ArrayList<ChoiceOption> opts = new java.util.ArrayList<>();
+        if (options != null) {
+            for (int i = 0; i < options.size(); i++) {
+                opts.add(new ChoiceOption(i + 1, options.get(i)));
+            }
+        }
+        if (cancel) {
+            opts.add(new ChoiceOption(0, cancelLabel == null ? "뒤로" : cancelLabel));
+        }
+        return opts;
+    }
+
+    // Out-of-range (or shutdown) answers fall back to the menu's safe value.
+    private static int choiceOrDefault(Integer v, List<String> options, int fallback) {
+        if (v == null || options == null) return fallback;
+        if (v < 1 || v > options.size()) return fallback;
+        return v;
+    }
+
+    // Trimmed text, or null (after telling the user why) when it must be asked again.
+    private static String validText(String s, int maxLen) {
+        if (s == null) {
+            System.out.println("문자열을 입력해주세요.");
+            return null;
+        }
+        s = s.strip();
+        if (s.isEmpty()) {
+            System.out.println("공백만 입력할 수 없습니다.");
+            return null;
+        }
+        if (s.length() > maxLen) {
+            System.out.println(maxLen + "자 이하로만 입력 가능합니다.");
+            return null;
+        }
+        return s;
     }
 
     @Override
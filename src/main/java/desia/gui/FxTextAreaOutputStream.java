@@ -1,47 +1,150 @@
 package desia.gui;
 
+import desia.metrics.Histogram;
+import desia.metrics.Metrics;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.scene.control.TextArea;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
- * Redirects System.out/System.err to a JavaFX TextArea.
+ * Redirects System.out/System.err to a JavaFX TextArea or {@link LogView}.
  *
- * Thread-safe: all UI updates are marshalled onto the JavaFX Application thread.
+ * Thread-safe: writers decode into a lock-free queue; the TextArea is only touched on the
+ * JavaFX Application thread, by an AnimationTimer that drains everything pending at most once
+ * per pulse and stops itself when there is nothing left to show.
+ *
+ * UTF-8 is decoded statefully, so a multi-byte character split across two writes is kept intact.
  */
 public final class FxTextAreaOutputStream extends OutputStream {
-    private final TextArea area;
+    // Receives coalesced text on the FX thread.
+    private final Consumer<String> sink;
 
-    // Soft cap to avoid unbounded memory growth.
+    // TextArea target: soft cap to avoid unbounded memory growth.
     private static final int MAX_CHARS = 250_000;
+    // Let the area grow this far past the cap before trimming, so deleteText runs rarely.
+    private static final int TRIM_SLACK = 50_000;
+
+    // Writer side (guarded by this): decoder state + bytes of an unfinished character.
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(8192);
+    private final byte[] carry = new byte[4];
+    private int carryLen = 0;
+    private final byte[] one = new byte[1];
+
+    // Queue depth seen by each drain (chunks and chars per pulse).
+    private static final Histogram DRAIN_CHUNKS = Metrics.histogram("fx.output.chunks");
+    private static final Histogram DRAIN_CHARS = Metrics.histogram("fx.output.chars");
+
+    // Hand-off to the FX thread.
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AnimationTimer drain = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flushToArea();
+        }
+    };
 
     public FxTextAreaOutputStream(TextArea area) {
-        this.area = area;
+        this.sink = s -> appendToArea(area, s);
+    }
+
+    public FxTextAreaOutputStream(LogView view) {
+        this.sink = view::appendText;
     }
 
     @Override
-    public void write(int b) {
-        // Single-byte writes happen a lot; delegate to bulk to keep behavior consistent.
-        write(new byte[]{(byte) b}, 0, 1);
+    public synchronized void write(int b) {
+        // Single-byte writes happen a lot; reuse one buffer instead of allocating per byte.
+        one[0] = (byte) b;
+        write(one, 0, 1);
     }
 
     @Override
-    public void write(byte[] b, int off, int len) {
+    public synchronized void write(byte[] b, int off, int len) {
         if (len <= 0) return;
-        String s = new String(b, off, len, StandardCharsets.UTF_8);
 
-        Platform.runLater(() -> {
-            area.appendText(s);
+        ByteBuffer in;
+        if (carryLen > 0) {
+            // Finish the character left over from the previous write.
+            in = ByteBuffer.allocate(carryLen + len);
+            in.put(carry, 0, carryLen).put(b, off, len);
+            in.flip();
+            carryLen = 0;
+        } else {
+            in = ByteBuffer.wrap(b, off, len);
+        }
 
-            // Trim from the start if too large.
-            int over = area.getLength() - MAX_CHARS;
-            if (over > 0) {
-                // Delete a bit more than needed to reduce frequent trims.
-                int trimTo = Math.min(area.getLength(), over + 10_000);
-                area.deleteText(0, trimTo);
+        StringBuilder out = null;
+        while (true) {
+            CoderResult r = decoder.decode(in, chars, false);
+            if (chars.position() > 0) {
+                chars.flip();
+                if (out == null) out = new StringBuilder(chars.remaining());
+                out.append(chars);
+                chars.clear();
             }
-        });
+            if (!r.isOverflow()) break;
+        }
+        // Underflow: at most 3 bytes of an incomplete sequence are left; keep them for next time.
+        carryLen = in.remaining();
+        in.get(carry, 0, carryLen);
+
+        if (out != null) post(out.toString());
+    }
+
+    private void post(String s) {
+        pending.add(s);
+        if (scheduled.compareAndSet(false, true)) {
+            Platform.runLater(drain::start);
+        }
+    }
+
+    private static void appendToArea(TextArea area, String text) {
+        if (text.length() >= MAX_CHARS) {
+            // More than the whole cap arrived in one pulse: only the tail would survive anyway.
+            area.setText(text.substring(text.length() - MAX_CHARS));
+            return;
+        }
+        area.appendText(text);
+        if (area.getLength() > MAX_CHARS + TRIM_SLACK) {
+            area.deleteText(0, area.getLength() - MAX_CHARS);
+        }
+    }
+
+    // FX thread only.
+    private void flushToArea() {
+        StringBuilder sb = new StringBuilder();
+        String s;
+        int chunks = 0;
+        while ((s = pending.poll()) != null) {
+            sb.append(s);
+            chunks++;
+        }
+
+        if (sb.length() > 0) {
+            DRAIN_CHUNKS.record(chunks);
+            DRAIN_CHARS.record(sb.length());
+            sink.accept(sb.toString());
+        } else {
+            // Nothing arrived since the last pulse: go idle until the next write.
+            drain.stop();
+            scheduled.set(false);
+            // A writer may have queued text after the poll but before the flag was cleared.
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) drain.start();
+        }
     }
 }
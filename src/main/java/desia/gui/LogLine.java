@@ -0,0 +1,29 @@
+package desia.gui;
+
+/**
+ * One line of game output shown by {@link LogView}.
+ *
+ * The kind is decided once when the line is added, from the shapes the game already prints:
+ * "-----"/"=====" rules (ConsoleUi.printSeparator), "CHAPTER n - ..." and "[전투] ..." headers.
+ */
+public record LogLine(Kind kind, String text) {
+
+    public enum Kind { TEXT, SEPARATOR, CHAPTER, BATTLE }
+
+    public static LogLine of(String text) {
+        return new LogLine(classify(text), text);
+    }
+
+    static Kind classify(String text) {
+        String t = text.strip();
+        if (t.length() >= 5 && (onlyOf(t, '-') || onlyOf(t, '='))) return Kind.SEPARATOR;
+        if (t.startsWith("CHAPTER ")) return Kind.CHAPTER;
+        if (t.startsWith("[전투]")) return Kind.BATTLE;
+        return Kind.TEXT;
+    }
+
+    private static boolean onlyOf(String s, char c) {
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) != c) return false;
+        return true;
+    }
+}
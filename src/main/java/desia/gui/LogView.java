@@ -0,0 +1,251 @@
+package desia.gui;
+
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.Control;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Virtualized game log: a ListView of lines backed by a fixed-size ring buffer.
+ *
+ * - Appends are O(1) per line; the ListView only lays out the rows that are visible,
+ *   so rendering cost does not depend on how much history is kept.
+ * - Keeps the last MAX_LINES lines. When full, the oldest EVICT_CHUNK lines go in one change.
+ * - Separator/chapter/battle lines (see {@link LogLine}) are drawn as styled rows.
+ * - The search bar finds text anywhere in the scrollback; while browsing, new output
+ *   no longer scrolls the view until "맨 아래" is pressed.
+ *
+ * FX thread only. Text arrives already coalesced per pulse from {@link FxTextAreaOutputStream}.
+ */
+public final class LogView extends BorderPane {
+
+    static final int MAX_LINES = 120_000;
+    static final int EVICT_CHUNK = 10_000;
+
+    private final Lines lines = new Lines();
+    private final ListView<LogLine> list = new ListView<>(lines);
+    private final TextField query = new TextField();
+
+    // The last line has no trailing newline yet; the next chunk continues it.
+    private boolean openLine = false;
+    // Scroll to the newest line on every append.
+    private boolean follow = true;
+
+    public LogView() {
+        list.setFocusTraversable(false);
+        list.setCellFactory(lv -> new LineCell(lv));
+        list.setStyle(
+                "-fx-background-color: transparent;" +
+                "-fx-control-inner-background: transparent;" +
+                "-fx-control-inner-background-alt: transparent;" +
+                "-fx-padding: 0;"
+        );
+        // Scrolling up means the user is reading history.
+        list.addEventFilter(ScrollEvent.SCROLL, e -> {
+            if (e.getDeltaY() > 0) follow = false;
+        });
+
+        query.setPromptText("로그 검색");
+        Button prev = new Button("이전");
+        Button next = new Button("다음");
+        Button bottom = new Button("맨 아래");
+        query.setOnAction(e -> search(true));
+        prev.setOnAction(e -> search(true));
+        next.setOnAction(e -> search(false));
+        bottom.setOnAction(e -> scrollToEnd());
+        HBox.setHgrow(query, Priority.ALWAYS);
+        HBox bar = new HBox(6, query, prev, next, bottom);
+        bar.setPadding(new Insets(0, 0, 6, 0));
+
+        setTop(bar);
+        setCenter(list);
+    }
+
+    /** Appends output text. A chunk may end mid-line; the next chunk continues that line. */
+    public void appendText(String chunk) {
+        if (chunk == null || chunk.isEmpty()) return;
+        if (lines.size() == 0) openLine = false;
+
+        String[] parts = chunk.split("\n", -1);
+        List<LogLine> added = new ArrayList<>(parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            String p = stripCr(parts[i]);
+            boolean last = (i == parts.length - 1);
+            if (i == 0 && openLine) {
+                lines.replaceLast(LogLine.of(lines.get(lines.size() - 1).text() + p));
+                continue;
+            }
+            // Text after the final newline; empty means the chunk ended the line.
+            if (last && p.isEmpty()) break;
+            added.add(LogLine.of(p));
+        }
+        openLine = !chunk.endsWith("\n");
+
+        lines.addAll(added);
+        if (follow && lines.size() > 0) list.scrollTo(lines.size() - 1);
+    }
+
+    /** Drops all lines (e.g. a new game). */
+    public void clear() {
+        lines.clearAll();
+        openLine = false;
+    }
+
+    public int lineCount() {
+        return lines.size();
+    }
+
+    private void scrollToEnd() {
+        follow = true;
+        list.getSelectionModel().clearSelection();
+        if (lines.size() > 0) list.scrollTo(lines.size() - 1);
+    }
+
+    // Finds the next line containing the query (case-insensitive), wrapping around.
+    private void search(boolean backward) {
+        String q = query.getText();
+        int n = lines.size();
+        if (q == null || q.isBlank() || n == 0) return;
+        String needle = q.toLowerCase(Locale.ROOT);
+
+        int sel = list.getSelectionModel().getSelectedIndex();
+        int start = (sel >= 0) ? sel : (backward ? n : -1);
+        for (int step = 1; step <= n; step++) {
+            int i = Math.floorMod(backward ? start - step : start + step, n);
+            if (lines.get(i).text().toLowerCase(Locale.ROOT).contains(needle)) {
+                follow = false;
+                list.getSelectionModel().clearAndSelect(i);
+                list.scrollTo(Math.max(0, i - 3));
+                return;
+            }
+        }
+    }
+
+    private static String stripCr(String s) {
+        return s.endsWith("\r") ? s.substring(0, s.length() - 1) : s;
+    }
+
+    // Ring buffer exposed as an ObservableList so ListView can virtualize it.
+    private static final class Lines extends ObservableListBase<LogLine> {
+        private final LogLine[] ring = new LogLine[MAX_LINES];
+        private int head = 0;
+        private int size = 0;
+
+        @Override
+        public LogLine get(int index) {
+            Objects.checkIndex(index, size);
+            return ring[slot(index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int slot(int index) {
+            return (head + index) % ring.length;
+        }
+
+        void replaceLast(LogLine line) {
+            int i = size - 1;
+            LogLine old = ring[slot(i)];
+            ring[slot(i)] = line;
+            beginChange();
+            nextSet(i, old);
+            endChange();
+        }
+
+        void addAll(List<LogLine> added) {
+            if (added.isEmpty()) return;
+            // More than the whole buffer in one go: only the tail can be kept.
+            if (added.size() > ring.length) added = added.subList(added.size() - ring.length, added.size());
+
+            int overflow = size + added.size() - ring.length;
+            if (overflow > 0) evict(Math.min(size, Math.max(overflow, EVICT_CHUNK)));
+
+            int from = size;
+            for (LogLine l : added) {
+                ring[slot(size)] = l;
+                size++;
+            }
+            beginChange();
+            nextAdd(from, size);
+            endChange();
+        }
+
+        void clearAll() {
+            if (size > 0) evict(size);
+            head = 0;
+        }
+
+        private void evict(int k) {
+            List<LogLine> removed = new ArrayList<>(k);
+            for (int i = 0; i < k; i++) {
+                int s = slot(i);
+                removed.add(ring[s]);
+                ring[s] = null;
+            }
+            head = slot(k);
+            size -= k;
+            beginChange();
+            nextRemove(0, removed);
+            endChange();
+        }
+    }
+
+    // Wrapping row; style depends on the line kind.
+    private static final class LineCell extends ListCell<LogLine> {
+        // Background comes from the list's (transparent) inner background so selection still shows.
+        private static final String BASE = "-fx-padding: 1 4 1 4;";
+
+        LineCell(ListView<LogLine> owner) {
+            setWrapText(true);
+            // Bound width makes the label wrap instead of growing the row sideways.
+            prefWidthProperty().bind(owner.widthProperty().subtract(24));
+            setMaxWidth(Control.USE_PREF_SIZE);
+        }
+
+        @Override
+        protected void updateItem(LogLine item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setText(null);
+                setStyle(BASE);
+                return;
+            }
+            switch (item.kind()) {
+                case SEPARATOR -> {
+                    setText(null);
+                    int w = item.text().strip().startsWith("=") ? 2 : 1;
+                    setStyle(BASE + "-fx-border-color: rgba(0,0,0,0.35); -fx-border-width: 0 0 " + w + " 0;"
+                            + "-fx-border-insets: 0 0 6 0; -fx-min-height: 8;");
+                }
+                case CHAPTER -> {
+                    setText(item.text());
+                    setStyle(BASE + "-fx-background-color: rgba(110,70,20,0.14);"
+                            + "-fx-font-weight: bold; -fx-font-size: 1.15em; -fx-text-fill: #3b2608;");
+                }
+                case BATTLE -> {
+                    setText(item.text());
+                    setStyle(BASE + "-fx-font-weight: bold; -fx-text-fill: #7a1010;");
+                }
+                default -> {
+                    setText(item.text());
+                    setStyle(BASE + "-fx-text-fill: #111111;");
+                }
+            }
+        }
+    }
+}
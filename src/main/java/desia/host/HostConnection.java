@@ -0,0 +1,109 @@
+package desia.host;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 클라이언트 연결 1개(소켓 또는 stdin/stdout). 한 연결에 여러 세션이 섞여 오간다.
+ *
+ * 읽기는 이 연결의 스레드 1개가, 쓰기는 각 세션 스레드가 send 로 한다(연결 단위로 동기화).
+ * 세션 출력은 버퍼에 모았다가 입력을 기다릴 때(WAIT) 한 번에 내보낸다.
+ */
+final class HostConnection implements Runnable {
+
+    private final SessionHost host;
+    private final BufferedReader in;
+    private final Writer out;
+    private final Closeable resource;
+    private volatile boolean closed = false;
+
+    HostConnection(SessionHost host, InputStream in, OutputStream out, Closeable resource) {
+        this.host = host;
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 14);
+        this.resource = resource;
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                dispatch(line);
+            }
+        } catch (IOException e) {
+            // 연결 끊김: 아래에서 세션을 내보낸다
+        } finally {
+            closed = true;
+            host.connectionClosed(this);
+            try {
+                if (resource != null) resource.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // "<sid> <명령> [내용]"
+    private void dispatch(String line) {
+        String l = line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        int sp = l.indexOf(' ');
+        String sid = (sp < 0) ? l : l.substring(0, sp);
+        String rest = (sp < 0) ? "" : l.substring(sp + 1);
+        int sp2 = rest.indexOf(' ');
+        String cmd = (sp2 < 0) ? rest : rest.substring(0, sp2);
+        String arg = (sp2 < 0) ? "" : rest.substring(sp2 + 1);
+
+        if (!SessionHost.validId(sid)) {
+            send("-", "ERR", "잘못된 세션 id: " + sid);
+            flush();
+            return;
+        }
+        switch (cmd) {
+            case "OPEN" -> host.open(this, sid);
+            case "IN" -> host.input(this, sid, arg);
+            case "CLOSE" -> host.close(sid);
+            default -> {
+                send(sid, "ERR", "알 수 없는 명령: " + cmd);
+                flush();
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** 한 줄 출력: "<sid> <종류>[ 내용]". text 에 줄바꿈은 없어야 한다. */
+    synchronized void send(String sid, String kind, String text) {
+        if (closed) return;
+        try {
+            out.write(sid);
+            out.write(' ');
+            out.write(kind);
+            if (text != null && !text.isEmpty()) {
+                out.write(' ');
+                out.write(text);
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            closed = true;
+        }
+    }
+
+    synchronized void flush() {
+        if (closed) return;
+        try {
+            out.flush();
+        } catch (IOException e) {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package desia.host;
+
+import desia.io.ConsoleIo;
+
+import java.nio.file.Path;
+
+/**
+ * 호스트 세션용 Io: 메뉴/검증은 ConsoleIo 그대로, 입력 한 줄만 세션 입력 큐에서 받는다.
+ * 세이브 슬롯은 플레이어마다 따로 둔다.
+ */
+final class HostIo extends ConsoleIo {
+
+    private final HostedSession session;
+
+    HostIo(HostedSession session) {
+        this.session = session;
+    }
+
+    @Override
+    protected String readLine() {
+        return session.awaitInput();
+    }
+
+    // 세이브 쓰기 스레드 등에서 온다: 세션 스레드가 다음 입력을 기다리기 전에 출력한다
+    @Override
+    public void notice(String line) {
+        session.notice(line);
+    }
+
+    @Override
+    public Path saveDir() {
+        return session.dir().resolve("saves");
+    }
+}
@@ -0,0 +1,283 @@
+package desia.host;
+
+import desia.Game;
+import desia.loader.AtomicSaveWriter;
+import desia.loader.DataLoader;
+import desia.loader.SaveData;
+import desia.loader.SaveService;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+import desia.progress.GameSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 호스트에서 도는 플레이어 1명: Game(메인 메뉴 + CampaignEngine) 하나와 그 스레드.
+ *
+ * - 입력은 큐로 받는다. 입력을 기다리는 동안 스레드는 큐에서 멈춰 있다(가상 스레드면 캐리어를 놓는다).
+ * - 오래 입력이 없거나 연결이 끊기면 SessionHost 가 evict 를 요청한다: 스레드를 깨워 게임 루프를 빠져나오고,
+ *   진행 중인 GameSession 을 (dir)/parked.json 으로 저장한 뒤 스레드를 끝낸다.
+ * - 같은 id 로 다시 들어오면 parked.json 에서 세션을 되살려 이어서 진행한다(액트 단위 상태).
+ *   전투/메뉴 한가운데의 상태(전투 중 적 HP 등)는 저장하지 않는다.
+ * - 그래서 액트(전투/상점/스토리) 도중에는 내리지 않는다. 내리면 다음 OPEN 때 같은 액트를 새로 굴려
+ *   지는 전투를 피할 수 있다. 요청은 남겨 두고 허브 메뉴로 돌아와 입력을 기다릴 때 내린다.
+ *   그 전에 같은 id 로 다시 OPEN 하면 요청을 취소하고 살아 있는 세션에 그대로 붙는다.
+ *   호스트 종료(shutdown)만 액트 도중에도 내린다.
+ */
+final class HostedSession implements Runnable {
+
+    static final String PARKED_FILE = "parked.json";
+
+    private static final Timer UNPARK_TIME = Metrics.timer("host.unpark");
+
+    // 미리 입력해 둘 수 있는 줄 수(넘치면 ERR)
+    private static final int INPUT_CAPACITY = 64;
+
+    private final SessionHost host;
+    private final String id;
+    private final Path dir;
+    private final CompletableFuture<Void> previous;
+    private final BlockingQueue<String> input = new LinkedBlockingQueue<>(INPUT_CAPACITY);
+    private final LineOutput output = new LineOutput();
+    // 다른 스레드(세이브 쓰기 등)가 남긴 문구. 세션 스레드만 꺼내 출력한다(LineOutput 은 세션 스레드 전용).
+    private final Queue<String> notices = new ConcurrentLinkedQueue<>();
+    // notice 가 입력 큐에 넣는 깨우기 표식. 입력 줄과 섞이지 않게 동일성(==)으로만 비교한다.
+    private static final String WAKE = new String("");
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private volatile HostConnection conn;
+    private volatile boolean waiting = false;
+    private volatile boolean evictRequested = false;
+    private volatile boolean forced = false;
+    // SessionHost 에서 빠졌다(더 이상 attach 할 수 없다). this 로 잠근다.
+    private boolean detached = false;
+    private volatile long lastActive = System.nanoTime();
+
+    // 세션 스레드 전용
+    private Game game;
+
+    HostedSession(SessionHost host, String id, HostConnection conn, CompletableFuture<Void> previous) {
+        this.host = host;
+        this.id = id;
+        this.dir = host.root().resolve(id);
+        this.conn = conn;
+        this.previous = previous;
+    }
+
+    String id() { return id; }
+    Path dir() { return dir; }
+    HostConnection connection() { return conn; }
+    CompletableFuture<Void> done() { return done; }
+
+    /** 연결을 옮기고 대기 중인 evict 요청을 취소한다. 이미 내리는 중이면 false. */
+    synchronized boolean attach(HostConnection c) {
+        if (detached) return false;
+        this.conn = c;
+        if (!forced) evictRequested = false;
+        return true;
+    }
+
+    void start() {
+        SessionHost.startThread("desia-session-" + id, this);
+    }
+
+    /** 입력 한 줄을 넣는다. 큐가 가득 차면 false. 입력이 오면 idle evict 요청은 취소한다. */
+    boolean offer(String line) {
+        lastActive = System.nanoTime();
+        if (!forced) evictRequested = false;
+        return input.offer(line);
+    }
+
+    /** 입력 대기 중이고 idleNanos 이상 입력이 없었는지. */
+    boolean idleFor(long idleNanos, long now) {
+        return waiting && now - lastActive >= idleNanos;
+    }
+
+    /** 디스크로 내보내기 요청: 세션 스레드를 깨운다. 액트 도중이면 허브로 돌아온 뒤 내린다. */
+    void requestEvict() {
+        if (evictRequested) return;
+        evictRequested = true;
+        input.offer(WAKE);
+    }
+
+    /** 호스트 종료: 액트 도중이어도 다음 입력 대기에서 내린다. */
+    void forceEvict() {
+        forced = true;
+        evictRequested = true;
+        input.offer(WAKE);
+    }
+
+    // 세션 스레드 전용: 액트(전투/상점/스토리)를 진행하는 중인지
+    private boolean midAct() {
+        GameSession s = (game == null) ? null : game.currentSession();
+        return s != null && s.isActInProgress();
+    }
+
+    // 세션 스레드 전용: 요청이 아직 살아 있으면 호스트에서 빼고 true(그 뒤로는 attach 가 실패한다)
+    private synchronized boolean takeEviction() {
+        if (!evictRequested) return false;
+        host.detach(this);
+        detached = true;
+        return true;
+    }
+
+    /** 플레이어에게 보낼 문구를 넣는다(아무 스레드). 입력 대기 중이면 세션 스레드를 깨워 바로 출력하게 한다. */
+    void notice(String line) {
+        notices.add(line);
+        input.offer(WAKE); // 큐가 가득 차 있으면 다음 입력 때 출력된다
+    }
+
+    // 세션 스레드 전용: 쌓인 문구를 세션 출력으로
+    private void printNotices() {
+        for (String n; (n = notices.poll()) != null; ) System.out.println(n);
+    }
+
+    // HostIo.readLine: 세션 스레드에서만 호출
+    String awaitInput() {
+        while (true) {
+            if (evictRequested && (forced || !midAct()) && takeEviction()) throw new SessionEvicted();
+            printNotices();
+            String line = input.poll();
+            if (line == WAKE) continue;
+            if (line != null) return line;
+
+            output.flushPartial();
+            send("WAIT", "");
+            flush();
+            waiting = true;
+            try {
+                line = input.take();
+            } catch (InterruptedException e) {
+                throw new SessionEvicted();
+            } finally {
+                waiting = false;
+            }
+            if (line != WAKE) return line;
+        }
+    }
+
+    @Override
+    public void run() {
+        if (previous != null) previous.join(); // 같은 id 의 이전 스레드가 parked.json 을 다 쓸 때까지
+        SessionConsole.bind(output);
+        String endKind = "CLOSED";
+        String endText = "게임 종료";
+        try {
+            Files.createDirectories(dir);
+            game = new Game(new HostIo(this), host.data());
+            GameSession parked = unpark();
+            if (parked != null) {
+                System.out.println("[이어하기] 챕터 " + parked.getChapter() + " / ACT " + parked.getAct());
+                game.resume(parked);
+            } else {
+                game.start();
+            }
+        } catch (SessionEvicted e) {
+            endKind = "EVICTED";
+            endText = park() ? "세션을 저장하고 대기열에서 내렸습니다" : "진행 중인 게임 없음";
+        } catch (Throwable t) {
+            endText = "오류: " + t;
+            host.log("[host] 세션 " + id + " 오류: " + t);
+        } finally {
+            printNotices();
+            output.flushPartial();
+            SessionConsole.unbind();
+            send(endKind, endText);
+            flush();
+            host.finished(this);
+            done.complete(null);
+        }
+    }
+
+    // 진행 중인 GameSession 을 parked.json 으로(동기 쓰기)
+    private boolean park() {
+        GameSession s = (game == null) ? null : game.currentSession();
+        if (s == null) return false;
+        try {
+            byte[] json = DataLoader.mapper().writeValueAsBytes(SaveService.toSaveData(s));
+            AtomicSaveWriter.writeAsync(dir.resolve(PARKED_FILE), json, false).join();
+            return true;
+        } catch (Exception e) {
+            host.log("[host] 세션 " + id + " 저장 실패: " + e);
+            return false;
+        }
+    }
+
+    // parked.json 이 있으면 읽어서 지운다(다음 정상 종료 후 되살아나지 않게)
+    private GameSession unpark() {
+        Path p = dir.resolve(PARKED_FILE);
+        if (!Files.exists(p)) return null;
+        try {
+            long t0 = UNPARK_TIME.start();
+            SaveData d = DataLoader.mapper().readValue(Files.readAllBytes(p), SaveData.class);
+            GameSession s = SaveService.restore(host.data(), d);
+            UNPARK_TIME.stop(t0);
+            Files.deleteIfExists(p);
+            return s;
+        } catch (Exception e) {
+            System.out.println("저장된 세션을 읽지 못했습니다: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void send(String kind, String text) {
+        HostConnection c = conn;
+        if (c != null) c.send(id, kind, text);
+    }
+
+    private void flush() {
+        HostConnection c = conn;
+        if (c != null) c.flush();
+    }
+
+    // 세션의 System.out: 줄 단위로 잘라 "OUT" 으로 보낸다('\n' 은 UTF-8 다중 바이트 안에 나오지 않는다)
+    private final class LineOutput extends OutputStream {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') emit();
+            else line.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            int start = off;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] != '\n') continue;
+                line.write(b, start, i - start);
+                emit();
+                start = i + 1;
+            }
+            line.write(b, start, off + len - start);
+        }
+
+        // 줄바꿈 없이 끝난 프롬프트("이름을 정하세요: ")도 입력 전에 보낸다
+        void flushPartial() {
+            if (line.size() > 0) emit();
+        }
+
+        private void emit() {
+            String s = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            if (s.endsWith("\r")) s = s.substring(0, s.length() - 1);
+            send("OUT", s);
+        }
+    }
+
+    /** evict 신호: 입력 대기에서 게임 루프 밖으로 빠져나온다. */
+    static final class SessionEvicted extends RuntimeException {
+        SessionEvicted() {
+            super("evicted", null, false, false);
+        }
+    }
+}
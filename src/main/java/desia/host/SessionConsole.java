@@ -0,0 +1,65 @@
+package desia.host;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * System.out 을 스레드별로 나눠 보내는 라우터.
+ *
+ * 게임 코드는 전부 System.out 으로 출력하므로, 세션 스레드가 bind 한 출력으로 보낸다.
+ * bind 하지 않은 스레드(데이터 로더 경고, 세이브 쓰기 스레드 등)의 출력은 install 때 정한 곳으로 간다.
+ * ThreadLocal 은 상속하지 않는다: 공용 풀 스레드가 처음 만든 세션의 출력을 물려받으면 안 된다.
+ */
+final class SessionConsole {
+
+    private static final ThreadLocal<OutputStream> CURRENT = new ThreadLocal<>();
+    private static PrintStream original;
+    private static volatile OutputStream unbound;
+
+    private SessionConsole() {}
+
+    /**
+     * 라우터를 System.out 에 건다(1번만). 반환: 원래 stdout.
+     * unboundOut: bind 하지 않은 스레드의 출력(stdout 을 프로토콜로 쓸 때는 stderr 로 돌린다).
+     */
+    static synchronized PrintStream install(OutputStream unboundOut) {
+        if (original == null) {
+            original = System.out;
+            System.setOut(new PrintStream(new Router(), true, StandardCharsets.UTF_8));
+        }
+        unbound = unboundOut;
+        return original;
+    }
+
+    static void bind(OutputStream out) {
+        CURRENT.set(out);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    private static final class Router extends OutputStream {
+        private OutputStream target() {
+            OutputStream t = CURRENT.get();
+            return (t != null) ? t : unbound;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package desia.host;
+
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.event.EventTaps;
+import desia.metrics.MetricsReporter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 여러 플레이어의 게임을 한 JVM 에서 돌리는 호스트.
+ *
+ * - GameData 는 한 번만 로드해 모든 세션이 공유한다(읽기 전용).
+ * - 세션마다 스레드 1개가 기존 Game/CampaignEngine 루프를 그대로 돈다. 입력을 기다리는 동안은 큐에서 멈춰 있다.
+ *   Java 21+ 런타임이면 가상 스레드, 아니면 스택을 작게 잡은 플랫폼 스레드를 쓴다.
+ * - 입력 대기 중 idle-seconds 이상 조용하거나 CLOSE/연결 끊김이 온 세션은 (root)/(id)/parked.json 으로 내리고
+ *   스레드를 끝낸다. 같은 id 로 OPEN 하면 저장된 액트부터 이어서 진행한다.
+ *   액트(전투 등) 도중이면 허브로 돌아올 때까지 내리지 않는다. 그 사이 OPEN 하면 살아 있는 세션에 다시 붙는다.
+ * - 세이브 슬롯은 (root)/(id)/saves 에 플레이어별로 둔다.
+ *
+ * 프로토콜(UTF-8, 한 줄 = 한 메시지, 한 연결에 여러 세션이 섞여도 된다):
+ *   클라이언트 → 호스트: "(id) OPEN" / "(id) IN (입력)" / "(id) CLOSE"
+ *   호스트 → 클라이언트: "(id) OUT (출력 한 줄)" / "(id) WAIT" / "(id) EVICTED ..." / "(id) CLOSED ..." / "(id) ERR ..."
+ *   id 는 [A-Za-z0-9_-]{1,32}. WAIT 는 입력 한 줄을 기다린다는 뜻이다.
+ *
+ * 실행: gradle sessionHost --args="--port=7777 --idle-seconds=300"
+ *   --port 가 없으면 stdin/stdout 을 연결 1개로 쓴다.
+ */
+public final class SessionHost {
+
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    // 가상 스레드를 못 쓸 때 세션 스레드 스택 크기(게임 루프는 깊지 않다)
+    private static final long PLATFORM_STACK = 256 * 1024;
+
+    private final GameData data;
+    private final Path root;
+    private final long idleNanos;
+    private final PrintStream log;
+
+    private final Map<String, HostedSession> sessions = new ConcurrentHashMap<>();
+    // 내리는 중인 세션: 다시 OPEN 하면 parked.json 을 다 쓸 때까지 기다린다
+    private final Map<String, CompletableFuture<Void>> draining = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reaper;
+
+    public SessionHost(GameData data, Path root, long idleSeconds, PrintStream log) {
+        this.data = data;
+        this.root = root;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(Math.max(1, idleSeconds));
+        this.log = log;
+
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "desia-host-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, idleSeconds / 4);
+        reaper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.SECONDS);
+    }
+
+    GameData data() { return data; }
+    Path root() { return root; }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    void log(String msg) {
+        log.println(msg);
+    }
+
+    static boolean validId(String id) {
+        return id != null && SESSION_ID.matcher(id).matches();
+    }
+
+    // ===== 연결에서 오는 명령 =====
+
+    void open(HostConnection conn, String id) {
+        HostedSession live = sessions.get(id);
+        if (live != null && live.attach(conn)) {
+            // 다른 연결(재접속)로 옮긴다. 다음 WAIT 부터 새 연결로 간다.
+            conn.send(id, "OUT", "[세션에 다시 연결했습니다]");
+            conn.flush();
+            return;
+        }
+        HostedSession s = new HostedSession(this, id, conn, draining.get(id));
+        if (sessions.putIfAbsent(id, s) != null) {
+            open(conn, id);
+            return;
+        }
+        s.start();
+    }
+
+    void input(HostConnection conn, String id, String text) {
+        HostedSession s = sessions.get(id);
+        if (s == null || (s.connection() != conn && !s.attach(conn))) {
+            conn.send(id, "ERR", "열린 세션이 없습니다(OPEN 먼저)");
+            conn.flush();
+            return;
+        }
+        if (!s.offer(text)) {
+            conn.send(id, "ERR", "입력 대기열이 가득 찼습니다");
+            conn.flush();
+        }
+    }
+
+    /** 클라이언트가 나감: 진행 상태를 내려 두고 다음 OPEN 때 이어 간다(액트 도중이면 허브로 돌아온 뒤). */
+    void close(String id) {
+        HostedSession s = sessions.get(id);
+        if (s != null) s.requestEvict();
+    }
+
+    void connectionClosed(HostConnection conn) {
+        for (HostedSession s : sessions.values()) {
+            if (s.connection() == conn) s.requestEvict();
+        }
+    }
+
+    // 세션 스레드가 끝날 때
+    void finished(HostedSession s) {
+        sessions.remove(s.id(), s);
+        draining.remove(s.id(), s.done());
+    }
+
+    // 세션 스레드가 내리기로 정했을 때: 다음 OPEN 은 parked.json 을 다 쓸 때까지 기다린 뒤 새 세션으로
+    void detach(HostedSession s) {
+        if (sessions.remove(s.id(), s)) draining.put(s.id(), s.done());
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        for (HostedSession s : sessions.values()) {
+            if (s.idleFor(idleNanos, now)) s.requestEvict();
+        }
+    }
+
+    /** 모든 세션을 (액트 도중이어도) 내리고 끝날 때까지 기다린다. */
+    public void shutdown() {
+        reaper.shutdownNow();
+        CompletableFuture<?>[] all = sessions.values().stream()
+                .peek(HostedSession::forceEvict)
+                .map(HostedSession::done)
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(all).join();
+    }
+
+    // ===== 스레드 =====
+
+    // Thread.ofVirtual() 은 21 부터라 리플렉션으로 찾는다(툴체인은 17)
+    private static final Method OF_VIRTUAL;
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+            unstarted = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    static Thread startThread(String name, Runnable r) {
+        Thread t = null;
+        if (OF_VIRTUAL != null) {
+            try {
+                t = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), r);
+                t.setName(name);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                t = null;
+            }
+        }
+        if (t == null) {
+            t = new Thread(null, r, name, PLATFORM_STACK);
+            t.setDaemon(true);
+        }
+        t.start();
+        return t;
+    }
+
+    static boolean virtualThreads() {
+        return OF_VIRTUAL != null;
+    }
+
+    // ===== CLI =====
+
+    /**
+     * CLI 진입점.
+     * 옵션: --port=N --root=DIR --idle-seconds=N
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opt = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--")) continue;
+            int eq = a.indexOf('=');
+            if (eq < 0) opt.put(a.substring(2), "true");
+            else opt.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+
+        // 데이터 로드 전에 라우터를 건다. stdin 모드면 stdout 은 프로토콜 전용이라 나머지 출력은 stderr 로.
+        boolean stdio = !opt.containsKey("port");
+        PrintStream log = System.err;
+        PrintStream stdout = SessionConsole.install(stdio ? log : System.out);
+        MetricsReporter.startFromProperties();
+        EventTaps.startFromProperties();
+
+        GameData data = new DataLoader().loadAll();
+        Path root = Paths.get(opt.getOrDefault("root", "host"));
+        long idle = Long.parseLong(opt.getOrDefault("idle-seconds", "300"));
+        SessionHost host = new SessionHost(data, root, idle, log);
+        Runtime.getRuntime().addShutdownHook(new Thread(host::shutdown, "desia-host-shutdown"));
+
+        log.println("[host] " + (virtualThreads() ? "가상 스레드" : "플랫폼 스레드") + ", 세션 폴더 " + root.toAbsolutePath());
+
+        if (stdio) {
+            new HostConnection(host, System.in, stdout, null).run();
+            host.shutdown();
+            return;
+        }
+
+        int port = Integer.parseInt(opt.get("port"));
+        try (ServerSocket server = new ServerSocket(port, 128, InetAddress.getLoopbackAddress())) {
+            log.println("[host] 127.0.0.1:" + port + " 에서 대기 중");
+            while (true) {
+                Socket sock = server.accept();
+                sock.setTcpNoDelay(true);
+                HostConnection c = new HostConnection(host, sock.getInputStream(), sock.getOutputStream(), sock);
+                startThread("desia-conn-" + sock.getPort(), c);
+            }
+        } catch (IOException e) {
+            log.println("[host] 서버 종료: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package desia.inventory;
 
+import desia.event.GameEvent;
 import desia.io.Io;
 import desia.item.Consumables;
 import desia.item.ConsumableEngine;
@@ -121,8 +122,8 @@ public class InventoryService {
                 // 실패 시 환불
                 session.addItem(name, 1);
                 System.out.println("사용이 취소되었다: " + name);
-            } else {
-                System.out.println("사용 완료: " + name);
+            } else if (session.events().active()) {
+                session.events().publish(new GameEvent.ItemUsed(session.getPlayerName(), name, false));
             }
             io.anythingToContinue();
         }
@@ -283,7 +284,7 @@ public class InventoryService {
 
         List<String> parts = new ArrayList<>();
         if (e.getStats() != null) {
-            for (Map.Entry<String, Integer> en : e.getStats().entrySet()) {
+            for (Map.Entry<String, Integer> en : e.getStats().asMap().entrySet()) {
                 if (en == null) continue;
                 String k = en.getKey();
                 int v = (en.getValue() == null) ? 0 : en.getValue();
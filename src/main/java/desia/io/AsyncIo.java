@@ -0,0 +1,72 @@
+package desia.io;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking input contract.
+ *
+ * Same menus as {@link Io}, but each call returns at once and the stage completes when the
+ * player answers. State machines built on {@link InputFlow} continue on whichever thread
+ * completes the stage (UI thread, connection reader...), so no thread waits for a player.
+ *
+ * Methods carry an -Async suffix so one class can implement both Io and AsyncIo; the output
+ * hooks (event renderer, chapter change) come from {@link UiHooks}, which both extend.
+ */
+public interface AsyncIo extends UiHooks {
+
+    /**
+     * Labeled-choice menu.
+     *
+     * @return 1..options.size()
+     */
+    CompletionStage<Integer> chooseAsync(String prompt, List<String> options);
+
+    /**
+     * Labeled-choice menu with a cancel option.
+     *
+     * @return 0 if cancel, else 1..options.size()
+     */
+    CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel);
+
+    /** Read a non-empty string (after trimming), max length 제한. */
+    CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen);
+
+    /** Completes when the user triggers a continue action. */
+    CompletionStage<Void> continueAsync();
+
+    /** Convenience confirmation. */
+    default CompletionStage<Boolean> confirmAsync(String prompt, String yesLabel, String noLabel) {
+        return chooseAsync(prompt, List.of(yesLabel, noLabel)).thenApply(v -> v == 1);
+    }
+
+    /** See {@link Io#confirmExit()}. */
+    default CompletionStage<Boolean> confirmExitAsync() {
+        return confirmAsync("게임을 종료하시겠습니까?", "예", "아니오");
+    }
+
+    /**
+     * Blocking view of the same input, for screens that are still written against {@link Io}
+     * (shop, inventory, ...). Only call it from {@link #callBlocking}.
+     */
+    Io blocking();
+
+    /**
+     * Runs a blocking screen without holding the caller's thread.
+     * Default: a pooled worker runs it; the stage completes when the screen returns.
+     */
+    default <T> CompletionStage<T> callBlocking(Supplier<T> body) {
+        return CompletableFuture.supplyAsync(body, BlockingCalls.EXECUTOR);
+    }
+
+    /**
+     * Wraps a blocking Io: every stage is already complete when returned, and blocking screens
+     * run inline. This is how the blocking entry points (CampaignEngine.run, BattleEngine.fight)
+     * drive the same state machines on the caller's thread.
+     */
+    static AsyncIo of(Io io) {
+        return new SyncAsyncIo(io);
+    }
+}
@@ -0,0 +1,22 @@
+package desia.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncIo.callBlocking 의 기본 실행기.
+ * 아직 Io(블로킹)로 짜인 화면이 열려 있는 동안만 스레드를 빌려 쓰고, 화면이 닫히면 돌려준다.
+ */
+final class BlockingCalls {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "desia-blocking-" + SEQ.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private BlockingCalls() {}
+}
@@ -4,13 +4,20 @@ import java.util.Scanner;
 
 /** Console implementation (Scanner 기반). */
 public class ConsoleIo implements Io {
-    private final Scanner scan = new Scanner(System.in);
+    // 처음 읽을 때 만든다(readLine을 바꾼 하위 클래스는 System.in을 건드리지 않는다).
+    private Scanner scan;
+
+    /** 입력 한 줄. 콘솔은 System.in, 하위 클래스는 다른 입력원으로 바꿀 수 있다. */
+    protected String readLine() {
+        if (scan == null) scan = new Scanner(System.in);
+        return scan.nextLine();
+    }
 
     @Override
     public int readInt(String prompt, int userChoices) {
         while (true) {
             System.out.print(prompt + " ");
-            String line = scan.nextLine();
+            String line = readLine();
             try {
                 int v = Integer.parseInt(line.strip());
                 if (v >= 1 && v <= userChoices) return v;
@@ -23,7 +30,7 @@ public class ConsoleIo implements Io {
     public int readIntAllowZero(String prompt, int max) {
         while (true) {
             System.out.println(prompt + " ");
-            String line = scan.nextLine();
+            String line = readLine();
             try {
                 int v = Integer.parseInt(line.strip());
                 if (v >= 0 && v <= max) return v;
@@ -58,7 +65,7 @@ public class ConsoleIo implements Io {
     public String readNonEmptyString(String prompt, int maxLen) {
         while (true) {
             System.out.print(prompt + " ");
-            String s = scan.nextLine();
+            String s = readLine();
             if (s == null) {
                 System.out.println("문자열을 입력해주세요.");
                 continue;
@@ -79,7 +86,7 @@ public class ConsoleIo implements Io {
     @Override
     public void anythingToContinue() {
         System.out.print("\n\n계속하려면 아무 키나 입력하세요...");
-        scan.nextLine();
+        readLine();
     }
 
     @Override
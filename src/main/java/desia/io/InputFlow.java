@@ -0,0 +1,107 @@
+package desia.io;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * A state machine that advances one input event at a time.
+ *
+ * Each state is a method that does its work and leaves exactly one of:
+ * - go(next state)
+ * - await(input stage, state that receives the input)
+ * - finish(result)
+ *
+ * If the input is already there (a blocking Io behind {@link AsyncIo#of}), the next state runs
+ * in the same loop on the same thread, so long fights do not grow the stack. Otherwise the flow
+ * returns, and the thread that completes the input (UI thread, connection reader) picks it up.
+ * Nothing holds a thread while the player is thinking.
+ *
+ * Not thread-safe: only one input is outstanding at a time, so states never run concurrently.
+ */
+public abstract class InputFlow<R> {
+
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+    private Runnable next;
+    private CompletableFuture<?> waitingOn;
+    private Consumer<Object> resumeWith;
+    private boolean started = false;
+
+    /** First state. */
+    protected abstract void begin();
+
+    /** Runs until the first input that is not ready yet. The future completes when the flow finishes. */
+    public final CompletableFuture<R> start() {
+        if (started) throw new IllegalStateException(getClass().getSimpleName() + " already started");
+        started = true;
+        next = this::begin;
+        pump();
+        return result;
+    }
+
+    protected final void go(Runnable state) {
+        next = state;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final <T> void await(CompletionStage<T> input, Consumer<? super T> then) {
+        waitingOn = input.toCompletableFuture();
+        resumeWith = (Consumer<Object>) then;
+    }
+
+    protected final void finish(R value) {
+        result.complete(value);
+    }
+
+    private void pump() {
+        try {
+            while (!result.isDone()) {
+                if (waitingOn != null) {
+                    CompletableFuture<?> f = waitingOn;
+                    Consumer<Object> then = resumeWith;
+                    waitingOn = null;
+                    resumeWith = null;
+                    if (!f.isDone()) {
+                        f.whenComplete((v, e) -> {
+                            if (e != null) {
+                                result.completeExceptionally(unwrap(e));
+                                return;
+                            }
+                            next = () -> then.accept(v);
+                            pump();
+                        });
+                        return;
+                    }
+                    Object v = f.join();
+                    next = () -> then.accept(v);
+                }
+                Runnable s = next;
+                next = null;
+                if (s == null) throw new IllegalStateException(getClass().getSimpleName() + ": state left no next step");
+                s.run();
+            }
+        } catch (Throwable t) {
+            result.completeExceptionally(unwrap(t));
+        }
+    }
+
+    /**
+     * Waits for a stage on the calling thread (blocking entry points).
+     * The flow's own exception is rethrown as is, not wrapped in CompletionException.
+     */
+    public static <T> T join(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof RuntimeException re) throw re;
+            if (c instanceof Error er) throw er;
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+}
@@ -1,5 +1,7 @@
 package desia.io;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -7,7 +9,7 @@ import java.util.List;
  *
  * Console version uses Scanner; JavaFX version uses button/text UI.
  */
-public interface Io {
+public interface Io extends UiHooks {
 
     /** Read an int in range [1..userChoices]. */
     int readInt(String prompt, int userChoices);
@@ -45,10 +47,18 @@ public interface Io {
     boolean confirmExit();
 
     /**
-     * Notify UI that the current chapter has changed (or should be (re)rendered).
-     * Console implementation can ignore this.
+     * Prints a line for this player from any thread (e.g. a background save finishing).
+     * Default: System.out. A multi-player host queues it and prints it on the session's own thread.
      */
-    default void onChapterChanged(int chapter) {
-        // no-op
+    default void notice(String line) {
+        System.out.println(line);
+    }
+
+    /**
+     * Folder for this player's save slots.
+     * Default: (user.dir)/saves. A multi-player host gives each player its own folder.
+     */
+    default Path saveDir() {
+        return Paths.get(System.getProperty("user.dir"), "saves");
     }
 }
@@ -0,0 +1,65 @@
+package desia.io;
+
+import desia.event.EventSink;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/** AsyncIo over a blocking Io: reads on the calling thread and returns completed stages. */
+final class SyncAsyncIo implements AsyncIo {
+
+    private final Io io;
+
+    SyncAsyncIo(Io io) {
+        this.io = io;
+    }
+
+    @Override
+    public CompletionStage<Integer> chooseAsync(String prompt, List<String> options) {
+        return CompletableFuture.completedFuture(io.choose(prompt, options));
+    }
+
+    @Override
+    public CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel) {
+        return CompletableFuture.completedFuture(io.chooseAllowCancel(prompt, options, cancelLabel));
+    }
+
+    @Override
+    public CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen) {
+        return CompletableFuture.completedFuture(io.readNonEmptyString(prompt, maxLen));
+    }
+
+    @Override
+    public CompletionStage<Void> continueAsync() {
+        io.anythingToContinue();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletionStage<Boolean> confirmExitAsync() {
+        return CompletableFuture.completedFuture(io.confirmExit());
+    }
+
+    @Override
+    public void onChapterChanged(int chapter) {
+        io.onChapterChanged(chapter);
+    }
+
+    @Override
+    public EventSink eventRenderer() {
+        return io.eventRenderer();
+    }
+
+    @Override
+    public Io blocking() {
+        return io;
+    }
+
+    // 이미 호출 스레드가 블로킹 Io 의 주인이다: 그 자리에서 돌린다.
+    @Override
+    public <T> CompletionStage<T> callBlocking(Supplier<T> body) {
+        return CompletableFuture.completedFuture(body.get());
+    }
+}
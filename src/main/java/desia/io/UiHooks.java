@@ -0,0 +1,29 @@
+package desia.io;
+
+import desia.event.EventSink;
+import desia.event.TextEventRenderer;
+
+/**
+ * Output-side hooks shared by {@link Io} and {@link AsyncIo}.
+ *
+ * Both input contracts extend this one, so a front end that implements both (FxIo) inherits
+ * a single default instead of two conflicting ones.
+ */
+public interface UiHooks {
+
+    /**
+     * Notify UI that the current chapter has changed (or should be (re)rendered).
+     * Console implementation can ignore this.
+     */
+    default void onChapterChanged(int chapter) {
+        // no-op
+    }
+
+    /**
+     * Draws game events (damage, level-up...) for this UI. Engines attach it to the session's bus.
+     * Default: the text renderer on System.out (the JavaFX log captures System.out).
+     */
+    default EventSink eventRenderer() {
+        return TextEventRenderer.CONSOLE;
+    }
+}
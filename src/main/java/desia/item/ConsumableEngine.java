@@ -168,25 +168,25 @@ public final class ConsumableEngine {
     }
 
     private static void applyPermStats(GameSession session, Consumables c, List<String> logs) {
-        double bMaxHp = c.getMaxHp();
-        double bMaxMp = c.getMaxMp();
-        double bAtk = c.getAtk();
-        double bMagic = c.getMagic();
-        double bDef = c.getDef();
-        double bMdef = c.getMdef();
-        double bSpd = c.getSpd();
+        StatVector v = c.permanentStats();
 
         boolean any = false;
-        if (bMaxHp != 0) { logs.add("최대 HP: +" + Math.round(bMaxHp)); any = true; }
-        if (bMaxMp != 0) { logs.add("최대 MP: +" + Math.round(bMaxMp)); any = true; }
-        if (bAtk != 0) { logs.add("공격력: +" + Math.round(bAtk)); any = true; }
-        if (bMagic != 0) { logs.add("마력: +" + Math.round(bMagic)); any = true; }
-        if (bDef != 0) { logs.add("방어력: +" + Math.round(bDef)); any = true; }
-        if (bMdef != 0) { logs.add("마법저항: +" + Math.round(bMdef)); any = true; }
-        if (bSpd != 0) { logs.add("속도: +" + Math.round(bSpd)); any = true; }
+        any |= logPerm(logs, "최대 HP", v.get(StatKey.MAX_HP));
+        any |= logPerm(logs, "최대 MP", v.get(StatKey.MAX_MP));
+        any |= logPerm(logs, "공격력", v.get(StatKey.ATTACK));
+        any |= logPerm(logs, "마력", v.get(StatKey.SPELL_POWER));
+        any |= logPerm(logs, "방어력", v.get(StatKey.DEFENSE));
+        any |= logPerm(logs, "마법저항", v.get(StatKey.MAGIC_RESIST));
+        any |= logPerm(logs, "속도", v.get(StatKey.SPEED));
         if (!any) logs.add("(경고) 영구 스탯 변화가 0이다.");
 
-        session.addPermanentStats(bMaxHp, bMaxMp, bAtk, bMagic, bDef, bMdef, bSpd);
+        session.addPermanentStats(v);
+    }
+
+    private static boolean logPerm(List<String> logs, String label, int v) {
+        if (v == 0) return false;
+        logs.add(label + ": +" + v);
+        return true;
     }
 
     private static void removeStatus(GameSession session, Consumables c, List<String> logs) {
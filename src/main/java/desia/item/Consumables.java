@@ -1,6 +1,11 @@
 package desia.item;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
 //import lombok.ToString;
 
 @AllArgsConstructor //자동 생성자
@@ -35,4 +40,43 @@ public class Consumables {
     private double spd;
     private double price;
 
+    // PERM_STATS 효과의 영구 스탯(반올림). json 에는 없고, 로드 시 resolvePermanentStats 로 1번 만든다.
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private StatVector permanentStats;
+
+    // json 에 있었지만 필드에 없는 키(오타 등). 로드 시 permanentStats 의 unknownKeys 로 넘겨 보고한다.
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private List<String> unknownKeys;
+
+    @JsonAnySetter
+    void unknownKey(String key, Object ignored) {
+        if (unknownKeys == null) unknownKeys = new ArrayList<>();
+        unknownKeys.add(key);
+    }
+
+    /** PERM_STATS 효과의 영구 스탯(반올림). 로드 때 만든 인스턴스를 그대로 준다. */
+    public StatVector permanentStats() {
+        StatVector v = permanentStats;
+        // 로더를 거치지 않은 정의(빌더로 만든 테스트 데이터 등)는 첫 호출 때 만든다
+        return (v != null) ? v : resolvePermanentStats();
+    }
+
+    /** 필드 값으로 영구 스탯을 만들어 둔다. DataLoader/GameDataSnapshot 이 로드 시 1번 부른다. */
+    public StatVector resolvePermanentStats() {
+        int[] v = new int[StatKey.COUNT];
+        v[StatKey.MAX_HP.ordinal()] = (int) Math.round(maxHp);
+        v[StatKey.MAX_MP.ordinal()] = (int) Math.round(maxMp);
+        v[StatKey.ATTACK.ordinal()] = (int) Math.round(atk);
+        v[StatKey.SPELL_POWER.ordinal()] = (int) Math.round(magic);
+        v[StatKey.DEFENSE.ordinal()] = (int) Math.round(def);
+        v[StatKey.MAGIC_RESIST.ordinal()] = (int) Math.round(mdef);
+        v[StatKey.SPEED.ordinal()] = (int) Math.round(spd);
+        StatVector out = StatVector.of(v, unknownKeys);
+        permanentStats = out;
+        return out;
+    }
 }
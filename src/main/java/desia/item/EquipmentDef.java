@@ -3,8 +3,6 @@ package desia.item;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * equipment.json 의 장비 1개 정의.
@@ -36,15 +34,20 @@ public class EquipmentDef {
 
     private String description;
 
+    // 로드 시 StatVector 로 변환된다(모르는 키는 StatVector.unknownKeys).
     @Builder.Default
-    private Map<String, Integer> stats = new LinkedHashMap<>();
+    private StatVector stats = StatVector.ZERO;
 
     // 세트 이름(예: 미스릴/가죽/강철/드래곤). 없으면 null.
     @JsonProperty("set_name")
     private String setName;
 
-    public int stat(String key) {
+    public int stat(StatKey key) {
         if (key == null || stats == null) return 0;
-        return stats.getOrDefault(key, 0);
+        return stats.get(key);
+    }
+
+    public int stat(String key) {
+        return stat(StatKey.of(key));
     }
 }
@@ -0,0 +1,84 @@
+package desia.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 장비 이름 -> 그 장비가 부위로 들어가는 세트 번호(역색인).
+ *
+ * GameSession 이 장착 변경마다 모든 세트를 훑지 않고, 바뀐 장비가 속한 세트의 부위 수만 고치도록 쓴다.
+ * - 세트 번호는 세트 이름 순서(0..setCount-1)
+ * - 한 세트에 같은 이름이 두 번 들어 있으면 번호도 두 번 들어간다(부위 2개로 센다)
+ *
+ * 세트 정의 맵은 GameData 에서 공유되므로, 마지막으로 만든 색인을 맵 identity 기준으로 재사용한다.
+ */
+public final class EquipmentSetIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private static volatile EquipmentSetIndex last;
+
+    private final Map<String, EquipmentSetDef> source;
+    private final String[] names;
+    private final EquipmentSetDef[] sets;
+    private final Map<String, int[]> setsByPiece;
+
+    private EquipmentSetIndex(Map<String, EquipmentSetDef> source) {
+        this.source = source;
+
+        // 세트 이름 순서로 번호를 매긴다(특수 태그 순서가 실행마다 바뀌지 않게)
+        List<String> nameList = new ArrayList<>();
+        List<EquipmentSetDef> setList = new ArrayList<>();
+        if (source != null) {
+            for (Map.Entry<String, EquipmentSetDef> e : new TreeMap<>(source).entrySet()) {
+                if (e.getValue() == null || e.getValue().getPieces() == null) continue;
+                nameList.add(e.getKey());
+                setList.add(e.getValue());
+            }
+        }
+        this.names = nameList.toArray(new String[0]);
+        this.sets = setList.toArray(new EquipmentSetDef[0]);
+
+        Map<String, int[]> byPiece = new HashMap<>();
+        for (int i = 0; i < sets.length; i++) {
+            for (String piece : sets[i].getPieces()) {
+                if (piece == null) continue;
+                int[] cur = byPiece.getOrDefault(piece, NONE);
+                int[] next = Arrays.copyOf(cur, cur.length + 1);
+                next[cur.length] = i;
+                byPiece.put(piece, next);
+            }
+        }
+        this.setsByPiece = byPiece;
+    }
+
+    public static EquipmentSetIndex of(Map<String, EquipmentSetDef> sets) {
+        EquipmentSetIndex idx = last;
+        if (idx != null && idx.source == sets) return idx;
+        idx = new EquipmentSetIndex(sets);
+        last = idx;
+        return idx;
+    }
+
+    public int setCount() {
+        return sets.length;
+    }
+
+    public String setName(int id) {
+        return names[id];
+    }
+
+    public EquipmentSetDef set(int id) {
+        return sets[id];
+    }
+
+    /** piece 가 들어가는 세트 번호들(없으면 빈 배열). 반환 배열은 수정하지 말 것. */
+    public int[] setsOf(String piece) {
+        if (piece == null) return NONE;
+        return setsByPiece.getOrDefault(piece, NONE);
+    }
+}
@@ -3,9 +3,7 @@ package desia.item;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 세트 보너스 1개 구간(예: 2피스, 4피스).
@@ -19,15 +17,20 @@ import java.util.Map;
 public class SetBonusDef {
     private int pieces;
 
+    // 로드 시 StatVector 로 변환된다(모르는 키는 StatVector.unknownKeys).
     @Builder.Default
-    private Map<String, Integer> stats = new LinkedHashMap<>();
+    private StatVector stats = StatVector.ZERO;
 
     @JsonProperty("special_tags")
     @Builder.Default
     private List<String> specialTags = List.of();
 
-    public int stat(String key) {
+    public int stat(StatKey key) {
         if (key == null || stats == null) return 0;
-        return stats.getOrDefault(key, 0);
+        return stats.get(key);
+    }
+
+    public int stat(String key) {
+        return stat(StatKey.of(key));
     }
 }
@@ -0,0 +1,38 @@
+package desia.item;
+
+/**
+ * 장비/세트/소모품/스토리가 올려 주는 스탯 종류. key 는 json 에서 쓰는 이름.
+ */
+public enum StatKey {
+    MAX_HP("max_hp"),
+    MAX_MP("max_mp"),
+    ATTACK("attack"),
+    SPELL_POWER("spell_power"),
+    DEFENSE("defense"),
+    MAGIC_RESIST("magic_resist"),
+    SPEED("speed"),
+    MAX_SHIELD("max_shield");
+
+    public static final int COUNT = values().length;
+
+    private static final StatKey[] VALUES = values();
+
+    private final String key;
+
+    StatKey(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /** json 키 -> StatKey. 모르는 키는 null. */
+    public static StatKey of(String key) {
+        if (key == null) return null;
+        for (StatKey k : VALUES) {
+            if (k.key.equals(key)) return k;
+        }
+        return null;
+    }
+}
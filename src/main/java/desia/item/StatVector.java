@@ -0,0 +1,113 @@
+package desia.item;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StatKey 순서의 고정 int 배열(불변).
+ *
+ * json 의 "stats": {"attack": 3, ...} 를 로드 시 1번 변환해 두고, 합산은 배열 덧셈으로 한다.
+ * 모르는 키는 버리지 않고 unknownKeys 에 남겨 로더/검증기가 보고한다.
+ */
+public final class StatVector {
+
+    public static final StatVector ZERO = new StatVector(new int[StatKey.COUNT], List.of());
+
+    private final int[] values;
+    private final List<String> unknownKeys;
+
+    private StatVector(int[] values, List<String> unknownKeys) {
+        this.values = values;
+        this.unknownKeys = unknownKeys;
+    }
+
+    /** json 맵에서 변환(Jackson 역직렬화도 여기로 들어온다). null 값은 0. */
+    @JsonCreator
+    public static StatVector of(Map<String, Integer> stats) {
+        if (stats == null || stats.isEmpty()) return ZERO;
+        int[] v = new int[StatKey.COUNT];
+        List<String> unknown = null;
+        for (Map.Entry<String, Integer> e : stats.entrySet()) {
+            StatKey k = StatKey.of(e.getKey());
+            if (k == null) {
+                if (unknown == null) unknown = new ArrayList<>();
+                unknown.add(e.getKey());
+                continue;
+            }
+            if (e.getValue() != null) v[k.ordinal()] += e.getValue();
+        }
+        return new StatVector(v, (unknown == null) ? List.of() : Collections.unmodifiableList(unknown));
+    }
+
+    /** StatKey 순서의 값 배열로 만든다(배열은 복사). */
+    public static StatVector of(int[] values, List<String> unknownKeys) {
+        if (values.length != StatKey.COUNT) throw new IllegalArgumentException("stat count: " + values.length);
+        return new StatVector(values.clone(), (unknownKeys == null) ? List.of() : List.copyOf(unknownKeys));
+    }
+
+    public int get(StatKey k) {
+        return values[k.ordinal()];
+    }
+
+    public boolean isZero() {
+        for (int v : values) if (v != 0) return false;
+        return true;
+    }
+
+    /** acc[i] += sign * values[i]. acc 는 StatKey 순서, 길이 StatKey.COUNT 이상. */
+    public void addTo(int[] acc, int sign) {
+        for (int i = 0; i < values.length; i++) acc[i] += sign * values[i];
+    }
+
+    /** 절대값 합(상점 가격 보정용). */
+    public int sumAbs() {
+        int sum = 0;
+        for (int v : values) sum += Math.abs(v);
+        return sum;
+    }
+
+    /** 0 이 아닌 값만 json 키로(StatKey 순서). 화면 출력/직렬화용. */
+    @JsonValue
+    public Map<String, Integer> asMap() {
+        Map<String, Integer> m = new LinkedHashMap<>();
+        for (StatKey k : StatKey.values()) {
+            int v = values[k.ordinal()];
+            if (v != 0) m.put(k.key(), v);
+        }
+        return m;
+    }
+
+    /** 변환할 때 버린 모르는 키들. */
+    public List<String> unknownKeys() {
+        return unknownKeys;
+    }
+
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StatVector)) return false;
+        StatVector other = (StatVector) o;
+        return Arrays.equals(values, other.values) && unknownKeys.equals(other.unknownKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values) * 31 + unknownKeys.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+}
@@ -0,0 +1,181 @@
+package desia.loader;
+
+import desia.metrics.Histogram;
+import desia.metrics.JfrEvents;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세이브 파일을 깨지지 않게 쓰는 전용 writer.
+ *
+ * 순서: {파일}.tmp 에 쓰기 → fsync → 백업 회전(.bak1 → .bak2, 현재 파일 → .bak1 복사)
+ * → tmp 를 원래 이름으로 원자적 이동 → 디렉터리 fsync(지원하는 OS만).
+ * 어느 단계에서 프로세스가 죽어도 원본 또는 백업 중 하나는 온전하게 남는다.
+ *
+ * 쓰기는 세이브 폴더(대상 파일의 상위 디렉터리)마다 요청 순서대로 이어서 처리한다(같은 슬롯 저장이 뒤섞이지 않음).
+ * 폴더가 다르면(호스트의 플레이어마다) 작은 전용 풀에서 따로 돌아, 한 플레이어의 대기가 다른 플레이어 쓰기를 기다리지 않는다.
+ * 스레드는 데몬이 아니므로 JVM이 끝나기 전에 대기 중인 쓰기를 마치고, 일이 없으면 잠시 뒤 스스로 내려간다.
+ */
+public final class AtomicSaveWriter {
+
+    /** 유지하는 백업 세대 수(.bak1 이 가장 최근). */
+    public static final int BACKUP_GENERATIONS = 2;
+
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final ThreadPoolExecutor EXEC = newExecutor();
+
+    // fsync/백업 회전까지 포함한 1회 쓰기 시간과 크기
+    private static final Timer WRITE_TIME = Metrics.timer("save.write");
+    private static final Histogram WRITE_BYTES = Metrics.histogram("save.write.bytes");
+
+    // 폴더 -> 그 폴더의 마지막 요청. 요청은 앞 요청 뒤에 이어지므로 마지막이 끝나면 그 폴더 쓰기는 모두 끝난 것이다.
+    // 끝난 항목은 지운다(플레이어 수만큼 쌓이지 않게).
+    private static final ConcurrentHashMap<Path, CompletableFuture<Path>> LAST = new ConcurrentHashMap<>();
+
+    private AtomicSaveWriter() {}
+
+    private static ThreadPoolExecutor newExecutor() {
+        ThreadPoolExecutor ex = new ThreadPoolExecutor(THREADS, THREADS, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "desia-save-writer");
+            t.setDaemon(false);
+            return t;
+        });
+        ex.allowCoreThreadTimeOut(true);
+        return ex;
+    }
+
+    /**
+     * bytes 를 target 에 비동기로 쓴다. 완료 시 target 경로로, 실패 시 IOException 으로 끝나는 future.
+     *
+     * @param rotate false 면 백업을 건드리지 않는다(백업에서 원본을 복구할 때)
+     */
+    public static CompletableFuture<Path> writeAsync(Path target, byte[] bytes, boolean rotate) {
+        return writeAsync(target, bytes, rotate, null);
+    }
+
+    /**
+     * @param afterWrite 쓰기가 성공하면 같은 작업 안에서 이어서 실행(같은 폴더의 다음 쓰기보다 먼저). 세이브 인덱스 갱신용.
+     */
+    public static CompletableFuture<Path> writeAsync(Path target, byte[] bytes, boolean rotate, Runnable afterWrite) {
+        byte[] copy = bytes.clone();
+        Path key = queueKey(target);
+        CompletableFuture<Path> f = LAST.compute(key, (k, prev) ->
+                ((prev == null) ? CompletableFuture.<Path>completedFuture(null) : prev)
+                        .handle((p, e) -> null) // 앞 요청의 실패는 그 future 에서 보고됨
+                        .thenApplyAsync(v -> {
+                            try {
+                                write(target, copy, rotate);
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                            if (afterWrite != null) afterWrite.run();
+                            return target;
+                        }, EXEC));
+        f.whenComplete((p, e) -> LAST.remove(key, f));
+        return f;
+    }
+
+    /** saveDir 폴더에 요청된 쓰기가 모두 끝날 때까지 기다린다(실패는 무시, 각 future 에서 이미 보고됨). */
+    public static void awaitPending(Path saveDir) {
+        CompletableFuture<Path> f = LAST.get(saveDir.toAbsolutePath().normalize());
+        if (f == null) return;
+        try {
+            f.join();
+        } catch (Exception ignored) {
+        }
+    }
+
+    /** 모든 폴더의 쓰기가 끝날 때까지 기다린다(종료/테스트용). */
+    public static void awaitPending() {
+        for (CompletableFuture<Path> f : List.copyOf(LAST.values())) {
+            try {
+                f.join();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    private static Path queueKey(Path target) {
+        Path dir = target.toAbsolutePath().normalize().getParent();
+        return (dir == null) ? target.toAbsolutePath().normalize() : dir;
+    }
+
+    /** 동기 쓰기(writer 스레드에서 실행). */
+    static void write(Path target, byte[] bytes, boolean rotate) throws IOException {
+        JfrEvents.SaveWrite jfr = new JfrEvents.SaveWrite();
+        jfr.begin();
+        long t0 = WRITE_TIME.start();
+
+        writeFile(target, bytes, rotate);
+
+        WRITE_TIME.stop(t0);
+        WRITE_BYTES.record(bytes.length);
+        if (jfr.shouldCommit()) {
+            jfr.path = target.toString();
+            jfr.bytes = bytes.length;
+            jfr.commit();
+        }
+    }
+
+    private static void writeFile(Path target, byte[] bytes, boolean rotate) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+
+        if (rotate && Files.exists(target)) {
+            for (int g = BACKUP_GENERATIONS; g > 1; g--) {
+                Path older = backupPath(target, g - 1);
+                if (Files.exists(older)) move(older, backupPath(target, g));
+            }
+            // 원본은 옮기지 않고 복사한다: 이 사이에 죽어도 target 은 그대로 남는다.
+            Files.copy(target, backupPath(target, 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        move(tmp, target);
+        syncDir(dir);
+    }
+
+    public static Path backupPath(Path target, int generation) {
+        return target.resolveSibling(target.getFileName() + ".bak" + generation);
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // 이름 변경을 디스크에 확정. 디렉터리를 열 수 없는 OS(Windows)는 건너뛴다.
+    private static void syncDir(Path dir) {
+        if (dir == null) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+    }
+}
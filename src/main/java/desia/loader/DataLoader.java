@@ -2,38 +2,205 @@ package desia.loader;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import desia.Character.Enemy;
 import desia.Character.Player;
+import desia.battle.EnemyAi;
+import desia.battle.EnemyAiConfig;
+import desia.equipment.DropWeights;
 import desia.item.Consumables;
 import desia.item.EquipmentBook;
 import desia.item.EquipmentDef;
 import desia.item.EquipmentSetDef;
+import desia.metrics.JfrEvents;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+import desia.progress.ChapterConfig;
+import desia.progress.ChapterRepository;
 import desia.skill.SkillBook;
+import desia.skill.SkillCompiler;
 import desia.skill.SkillDef;
+import desia.skill.SkillSetRepository;
+import desia.skill.SkillUnlockRepository;
+import desia.story.StoryRepository;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DataLoader {
 
-    private final ObjectMapper om = new ObjectMapper()
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    // 설정이 끝난 ObjectMapper는 스레드 안전하다. 모든 리소스 파싱이 이 하나를 공유한다.
+    // 홀더로 지연 생성: 스냅샷 경로에서는 ObjectMapper 초기화 비용 자체를 내지 않는다.
+    private static final class MapperHolder {
+        static final ObjectMapper SHARED_MAPPER = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    private static final int LOAD_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // 로드 단계별 시간: 스냅샷 시도 / JSON 전체 / 리소스별 파싱(data.parse.*) / 스킬 컴파일
+    private static final Timer SNAPSHOT_TIME = Metrics.timer("data.load.snapshot");
+    private static final Timer JSON_TIME = Metrics.timer("data.load.json");
+    private static final Timer COMPILE_TIME = Metrics.timer("data.compileSkills");
+
+
+    // GameData를 이루는 json 리소스 전체(스냅샷 fingerprint 계산 순서)
+    static final List<String> RESOURCES = List.of(
+            "playables.json", "enemies.json", "consumables.json", "skills.json", "equipment.json",
+            "chapters.json", "story.json", "skillsets.json", "skill_unlocks.json", "drop_weights.json",
+            "enemy_ai.json");
 
+    public static ObjectMapper mapper() {
+        return MapperHolder.SHARED_MAPPER;
+    }
+
+    /**
+     * 빠른 경로: 클래스패스의 바이너리 스냅샷(gamedata.bin)이 원본 json과 일치하면 그것을 읽는다.
+     * 없거나 오래됐으면 JSON으로 로드한다.
+     */
     public GameData loadAll() {
+        long t0 = SNAPSHOT_TIME.start();
+        GameData snap = GameDataSnapshot.tryLoad(this);
+        SNAPSHOT_TIME.stop(t0);
+        if (snap != null) return snap;
+
+        t0 = JSON_TIME.start();
+        GameData data = loadAllFromJson(true);
+        JSON_TIME.stop(t0);
+        return data;
+    }
+
+    /**
+     * 모든 리소스를 정확히 한 번씩, 작은 스레드 풀에서 동시에 파싱해 GameData를 만든다.
+     * 스킬 검증 경고는 전부 읽은 뒤 호출 스레드에서 출력한다(출력 순서 고정).
+     *
+     * @param printWarnings false면 스킬/스탯 키 검증 경고를 출력하지 않는다(스냅샷 빌드가 따로 검증).
+     */
+    public GameData loadAllFromJson(boolean printWarnings) {
+        ExecutorService pool = Executors.newFixedThreadPool(LOAD_THREADS, r -> {
+            Thread t = new Thread(r, "desia-data-loader");
+            t.setDaemon(true);
+            return t;
+        });
         try {
-            return new GameData(
-                    loadPlayables(),
-                    loadEnemyMap(),
-                    loadConsumableMap(),
-                    loadSkillMap(),
-                    loadEquipmentMap(),
-                    loadEquipmentSetMap()
+            Future<List<Player>> playables = pool.submit(timed("playables", this::loadPlayables));
+            Future<Map<String, Enemy>> enemies = pool.submit(timed("enemies", this::loadEnemyMap));
+            Future<Map<String, Consumables>> consumables = pool.submit(timed("consumables", this::loadConsumableMap));
+            Future<Map<String, SkillDef>> skills = pool.submit(timed("skills", this::loadSkillMap));
+            Future<EquipmentBook> equipment = pool.submit(timed("equipment", this::loadEquipmentBook));
+            Future<List<ChapterConfig>> chapters = pool.submit(timed("chapters", this::loadChapters));
+            Future<Map<String, JsonNode>> story = pool.submit(timed("story", this::loadStory));
+            Future<Map<String, List<String>>> skillSets = pool.submit(timed("skillsets", this::loadSkillSets));
+            Future<Map<String, List<SkillUnlockRepository.Rule>>> unlocks =
+                    pool.submit(timed("skill_unlocks", this::loadSkillUnlockRules));
+            Future<DropWeights> dropWeights = pool.submit(timed("drop_weights", this::loadDropWeights));
+            Future<EnemyAiConfig> enemyAi = pool.submit(timed("enemy_ai", this::loadEnemyAi));
+
+            Map<String, SkillDef> skillMap = await(skills);
+            long c0 = COMPILE_TIME.start();
+            SkillCompiler.Result compiled = printWarnings ? compileSkills(skillMap) : SkillCompiler.compileAll(skillMap);
+            COMPILE_TIME.stop(c0);
+            EquipmentBook book = await(equipment);
+            SkillSetRepository setRepo = new SkillSetRepository(await(skillSets));
+            Map<String, Enemy> enemyMap = await(enemies);
+
+            GameData data = new GameData(
+                    await(playables),
+                    enemyMap,
+                    await(consumables),
+                    skillMap,
+                    (book.getEquipment() == null) ? Map.of() : book.getEquipment(),
+                    (book.getSets() == null) ? Map.of() : book.getSets(),
+                    compiled.skills(),
+                    new ChapterRepository(await(chapters)),
+                    new StoryRepository(await(story)),
+                    setRepo,
+                    new SkillUnlockRepository(await(unlocks), setRepo),
+                    await(dropWeights),
+                    EnemyAi.compile(await(enemyAi), enemyMap, compiled.skills(), setRepo)
             );
+            if (printWarnings) {
+                for (String p : GameDataValidator.statKeyProblems(data)) System.out.println("[data] 검증 경고: " + p);
+                for (String p : GameDataValidator.dropWeightProblems(data)) System.out.println("[data] 검증 경고: " + p);
+                for (String p : GameDataValidator.enemyAiProblems(data)) System.out.println("[data] 검증 경고: " + p);
+            }
+            return data;
         } catch (Exception e) {
             throw new RuntimeException("게임 데이터 로딩 실패: " + e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // 리소스 1개 파싱 작업에 타이머(data.parse.이름)와 JFR 이벤트를 씌운다.
+    private static <T> Callable<T> timed(String phase, Callable<T> body) {
+        Timer timer = Metrics.timer("data.parse." + phase);
+        return () -> {
+            JfrEvents.DataLoad jfr = new JfrEvents.DataLoad();
+            jfr.begin();
+            long t0 = timer.start();
+            try {
+                return body.call();
+            } finally {
+                timer.stop(t0);
+                if (jfr.shouldCommit()) {
+                    jfr.phase = phase;
+                    jfr.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * 원본 json 리소스 전체의 해시(FNV-1a 64). 스냅샷이 오래됐는지 판단하는 데 쓴다.
+     * 파싱 없이 바이트만 읽으므로 빠르다.
+     */
+    public long resourceFingerprint() {
+        long h = 0xcbf29ce484222325L;
+        for (String name : RESOURCES) {
+            byte[] key = name.getBytes(StandardCharsets.UTF_8);
+            h = fnv(h, key, key.length);
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+                if (in == null) {
+                    h = fnv(h, new byte[]{(byte) 0xFF}, 1);
+                    continue;
+                }
+                byte[] buf = in.readAllBytes();
+                h = fnv(h, buf, buf.length);
+            } catch (Exception e) {
+                throw new RuntimeException(name + " 읽기 실패: " + e.getMessage(), e);
+            }
+        }
+        return h;
+    }
+
+    private static long fnv(long h, byte[] b, int len) {
+        for (int i = 0; i < len; i++) {
+            h ^= (b[i] & 0xFF);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // 작업 안에서 난 예외를 원래 예외로 풀어서 던진다.
+    private static <T> T await(Future<T> f) throws Exception {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof Exception ex) throw ex;
+            throw e;
         }
     }
 
@@ -44,7 +211,7 @@ public class DataLoader {
             if (in == null)
                 throw new RuntimeException("enemies 리소스가 발견되지 않음");
             // json-java간 변환기 소환!
-            return om.readValue(in, new TypeReference<List<Enemy>>() {});
+            return mapper().readValue(in, new TypeReference<List<Enemy>>() {});
         }
     }
 
@@ -53,7 +220,7 @@ public class DataLoader {
             if (in == null)
                 throw new RuntimeException("playables 리소스가 발견되지 않음");
 
-            return om.readValue(in, new TypeReference<List<Player>>() {});
+            return mapper().readValue(in, new TypeReference<List<Player>>() {});
 
         }
 
@@ -64,7 +231,7 @@ public class DataLoader {
             if (in == null)
                 throw new RuntimeException("consumables 리소스가 발견되지 않음");
 
-            return om.readValue(in, new TypeReference<List<Consumables>>() {});
+            return mapper().readValue(in, new TypeReference<List<Consumables>>() {});
         }
     }
 
@@ -85,6 +252,7 @@ public class DataLoader {
         Map<String, Consumables> out = new LinkedHashMap<>();
         for (Consumables c : consumables) {
             if (c == null || c.getName() == null) continue;
+            c.resolvePermanentStats();
             out.put(c.getName(), c);
         }
         return out;
@@ -96,12 +264,21 @@ public class DataLoader {
     public Map<String, SkillDef> loadSkillMap() throws Exception {
         try (InputStream in = getClass().getClassLoader().getResourceAsStream("skills.json")) {
             if (in == null) throw new RuntimeException("skills 리소스가 발견되지 않음");
-            SkillBook book = om.readValue(in, SkillBook.class);
+            SkillBook book = mapper().readValue(in, SkillBook.class);
             if (book == null || book.getSkills() == null) return new LinkedHashMap<>();
             return new LinkedHashMap<>(book.getSkills());
         }
     }
 
+    /**
+     * 스킬 컴파일 + skills.json 검증(로드 시 1회).
+     * 미지원 kind/stat/status는 경고로 출력하고, 해당 항목은 기존처럼 무시(0/미지원 로그)된다.
+     */
+    public SkillCompiler.Result compileSkills(Map<String, SkillDef> skills) {
+        SkillCompiler.Result r = SkillCompiler.compileAll(skills);
+        for (String p : r.problems()) System.out.println("[skills] 검증 경고: " + p);
+        return r;
+    }
 
     /**
      * equipment.json 로딩 (EquipmentBook 포맷)
@@ -109,7 +286,7 @@ public class DataLoader {
     public EquipmentBook loadEquipmentBook() throws Exception {
         try (InputStream in = getClass().getClassLoader().getResourceAsStream("equipment.json")) {
             if (in == null) throw new RuntimeException("equipment 리소스가 발견되지 않음");
-            EquipmentBook book = om.readValue(in, EquipmentBook.class);
+            EquipmentBook book = mapper().readValue(in, EquipmentBook.class);
             if (book == null) return new EquipmentBook();
             // 장비 이름(key)을 def.name에 채워준다(편의)
             if (book.getEquipment() != null) {
@@ -135,6 +312,101 @@ public class DataLoader {
         return new LinkedHashMap<>(book.getSets());
     }
 
+    /**
+     * chapters.json 로딩. 챕터 없이는 진행이 불가능하므로 실패 시 예외.
+     */
+    public List<ChapterConfig> loadChapters() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("chapters.json")) {
+            if (in == null)
+                throw new RuntimeException("chapters.json 리소스가 발견되지 않음");
+            return mapper().readValue(in, new TypeReference<List<ChapterConfig>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("chapters.json 로딩 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * story.json 로딩(키 -> 문자열 또는 노드). 실패해도 빈 맵으로 진행한다.
+     */
+    public Map<String, JsonNode> loadStory() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("story.json")) {
+            if (in == null) {
+                System.out.println("story.json 로드 실패: 리소스를 찾을 수 없음");
+                return Collections.emptyMap();
+            }
+            JsonNode root = mapper().readTree(in);
+            if (root == null || !root.isObject()) return Collections.emptyMap();
+
+            Map<String, JsonNode> out = new HashMap<>();
+            root.fields().forEachRemaining(e -> out.put(e.getKey(), e.getValue()));
+            return out;
+        } catch (Exception e) {
+            System.out.println("story.json 로드 실패: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * skillsets.json 로딩(직업 -> 스킬 이름 목록). 실패해도 빈 맵으로 진행한다.
+     */
+    public Map<String, List<String>> loadSkillSets() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("skillsets.json")) {
+            if (in == null) return Collections.emptyMap();
+            return mapper().readValue(in, new TypeReference<Map<String, List<String>>>() {});
+        } catch (Exception e) {
+            System.out.println("[skillsets] 로딩 실패: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * skill_unlocks.json 로딩(직업 -> 레벨별 해금 규칙). 없으면 기본 규칙을 쓰도록 빈 맵.
+     */
+    public Map<String, List<SkillUnlockRepository.Rule>> loadSkillUnlockRules() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("skill_unlocks.json")) {
+            if (in == null) return Collections.emptyMap();
+            Map<String, List<SkillUnlockRepository.Rule>> m = mapper().readValue(in, new TypeReference<>() {});
+            return (m == null) ? Collections.emptyMap() : m;
+        } catch (Exception e) {
+            System.out.println("skill_unlocks.json 로드 실패: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * drop_weights.json 로딩(장비 드랍/상점 희귀도 가중치). 없거나 읽기 실패면 빈 설정(풀 전체에서 균등).
+     */
+    public DropWeights loadDropWeights() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("drop_weights.json")) {
+            if (in == null) {
+                System.out.println("[drop_weights] drop_weights.json 없음: 장비를 희귀도 구분 없이 뽑습니다.");
+                return new DropWeights();
+            }
+            DropWeights w = mapper().readValue(in, DropWeights.class);
+            return (w == null) ? new DropWeights() : w;
+        } catch (Exception e) {
+            System.out.println("[drop_weights] 로딩 실패: " + e.getMessage());
+            return new DropWeights();
+        }
+    }
+
+    /**
+     * enemy_ai.json 로딩(등급별 행동 구간, 적별 스킬 목록). 없거나 읽기 실패면 빈 설정(모든 적이 기존 규칙).
+     */
+    public EnemyAiConfig loadEnemyAi() {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("enemy_ai.json")) {
+            if (in == null) {
+                System.out.println("[enemy_ai] enemy_ai.json 없음: 모든 적이 기본 공격/기본 스킬만 씁니다.");
+                return new EnemyAiConfig();
+            }
+            EnemyAiConfig c = mapper().readValue(in, EnemyAiConfig.class);
+            return (c == null) ? new EnemyAiConfig() : c;
+        } catch (Exception e) {
+            System.out.println("[enemy_ai] 로딩 실패: " + e.getMessage());
+            return new EnemyAiConfig();
+        }
+    }
+
     // (디버그용 출력 메소드들)
     // 향상된 for문을 이용해서, 생성한 리스트의 객체들을 전부 출력하는 메소드들.
     // 향상된 for문은 배열이나 리스트를 처음부터 끝까지 전부 출력한다.
@@ -2,30 +2,58 @@ package desia.loader;
 
 import desia.Character.Enemy;
 import desia.Character.Player;
+import desia.battle.EnemyAi;
+import desia.equipment.DropWeights;
 import desia.item.Consumables;
 import desia.item.EquipmentDef;
 import desia.item.EquipmentSetDef;
+import desia.progress.ChapterRepository;
+import desia.skill.CompiledSkill;
 import desia.skill.SkillDef;
+import desia.skill.SkillSetRepository;
+import desia.skill.SkillUnlockRepository;
+import desia.story.StoryRepository;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * 로드가 끝난 정의 데이터 전체(불변). DataLoader.loadAll()이 만든다.
+ * 여러 세션/시뮬레이션 워커가 하나를 공유해도 된다.
+ */
 public final class GameData {
     private final List<Player> playables;
     private final Map<String, Enemy> enemies;
     private final Map<String, Consumables> consumables;
     private final Map<String, SkillDef> skills;
+    // skills를 로드 시 컴파일한 결과(SkillEngine 시전 경로용)
+    private final Map<String, CompiledSkill> compiledSkills;
 
     private final Map<String, EquipmentDef> equipments;
     private final Map<String, EquipmentSetDef> equipmentSets;
 
+    private final ChapterRepository chapters;
+    private final StoryRepository story;
+    private final SkillSetRepository skillSets;
+    private final SkillUnlockRepository skillUnlocks;
+    private final DropWeights dropWeights;
+    // enemy_ai.json 을 적마다 결정 표로 컴파일한 결과
+    private final EnemyAi enemyAi;
+
     public GameData(
             List<Player> playables,
             Map<String, Enemy> enemies,
             Map<String, Consumables> consumables,
             Map<String, SkillDef> skills,
             Map<String, EquipmentDef> equipments,
-            Map<String, EquipmentSetDef> equipmentSets
+            Map<String, EquipmentSetDef> equipmentSets,
+            Map<String, CompiledSkill> compiledSkills,
+            ChapterRepository chapters,
+            StoryRepository story,
+            SkillSetRepository skillSets,
+            SkillUnlockRepository skillUnlocks,
+            DropWeights dropWeights,
+            EnemyAi enemyAi
     ) {
         this.playables = List.copyOf(playables);
         this.enemies = Map.copyOf(enemies);
@@ -33,13 +61,28 @@ public final class GameData {
         this.skills = Map.copyOf(skills);
         this.equipments = Map.copyOf(equipments);
         this.equipmentSets = Map.copyOf(equipmentSets);
+        this.compiledSkills = Map.copyOf(compiledSkills);
+        this.chapters = chapters;
+        this.story = story;
+        this.skillSets = skillSets;
+        this.skillUnlocks = skillUnlocks;
+        this.dropWeights = (dropWeights == null) ? new DropWeights() : dropWeights;
+        this.enemyAi = (enemyAi == null) ? EnemyAi.empty() : enemyAi;
     }
 
     public List<Player> playables() { return playables; }
     public Map<String, Enemy> enemies() { return enemies; }
     public Map<String, Consumables> consumables() { return consumables; }
     public Map<String, SkillDef> skills() { return skills; }
+    public Map<String, CompiledSkill> compiledSkills() { return compiledSkills; }
 
     public Map<String, EquipmentDef> equipments() { return equipments; }
     public Map<String, EquipmentSetDef> equipmentSets() { return equipmentSets; }
+
+    public ChapterRepository chapters() { return chapters; }
+    public StoryRepository story() { return story; }
+    public SkillSetRepository skillSets() { return skillSets; }
+    public SkillUnlockRepository skillUnlocks() { return skillUnlocks; }
+    public DropWeights dropWeights() { return dropWeights; }
+    public EnemyAi enemyAi() { return enemyAi; }
 }
@@ -0,0 +1,827 @@
+package desia.loader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import desia.Character.Enemy;
+import desia.Character.Player;
+import desia.battle.EnemyAi;
+import desia.battle.EnemyAiConfig;
+import desia.battle.EnemyAiPhase;
+import desia.battle.EnemySkillPool;
+import desia.battle.EnemyTierAi;
+import desia.equipment.DropWeights;
+import desia.equipment.RarityBand;
+import desia.equipment.RarityTable;
+import desia.equipment.SetPreference;
+import desia.item.Consumables;
+import desia.item.EquipmentDef;
+import desia.item.EquipmentSetDef;
+import desia.item.SetBonusDef;
+import desia.item.StatKey;
+import desia.item.StatVector;
+import desia.progress.ChapterConfig;
+import desia.progress.ChapterRepository;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillCompiler;
+import desia.skill.SkillComponent;
+import desia.skill.SkillDef;
+import desia.skill.SkillSetRepository;
+import desia.skill.SkillStatusEffect;
+import desia.skill.SkillTerm;
+import desia.skill.SkillUnlockRepository;
+import desia.story.StoryRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameData 바이너리 스냅샷(빌드 시 생성, 실행 시 JSON 대신 로드).
+ *
+ * 형식(빅엔디언):
+ * magic "DGDS", version(short), fingerprint(long: 원본 json 바이트 해시),
+ * 문자열 테이블[count(varint), (len varint + UTF-8)...], 본문(문자열은 테이블 인덱스 varint).
+ * 본문 순서: playables, enemies, consumables, skills, equipment, sets, chapters, story, skillsets, unlocks, drop weights, enemy ai.
+ *
+ * 원본 json이 바뀌면 fingerprint가 달라져 스냅샷은 무시되고 JSON으로 로드한다.
+ * 클래스 구조를 바꿨다면 FORMAT_VERSION을 올릴 것.
+ *
+ * 빌드: gradle gameDataSnapshot (build/generated/gamedata/gamedata.bin)
+ */
+public final class GameDataSnapshot {
+
+    private GameDataSnapshot() {}
+
+    public static final String RESOURCE = "gamedata.bin";
+
+    private static final int MAGIC = 0x44474453; // "DGDS"
+    static final int FORMAT_VERSION = 4;
+
+    // 일반 값(special 맵/스토리 노드) 태그
+    private static final int T_NULL = 0, T_FALSE = 1, T_TRUE = 2, T_INT = 3, T_LONG = 4,
+            T_DOUBLE = 5, T_STRING = 6, T_LIST = 7, T_MAP = 8;
+
+    // =========================
+    // 실행 시: 로드
+    // =========================
+
+    /**
+     * 클래스패스의 스냅샷을 읽는다.
+     * @return 없거나, 원본 json과 다르거나(오래됨), 깨졌으면 null(호출부는 JSON으로 로드)
+     */
+    public static GameData tryLoad(DataLoader loader) {
+        try (InputStream in = GameDataSnapshot.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) return null;
+            DataInputStream din = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+            if (din.readInt() != MAGIC) {
+                System.out.println("[data] 스냅샷 형식이 아닙니다. JSON으로 로드합니다.");
+                return null;
+            }
+            int version = din.readUnsignedShort();
+            long fp = din.readLong();
+            if (version != FORMAT_VERSION || fp != loader.resourceFingerprint()) {
+                System.out.println("[data] 스냅샷이 오래되었습니다(gradle gameDataSnapshot). JSON으로 로드합니다.");
+                return null;
+            }
+            return new Reader(din).readBody();
+        } catch (Exception e) {
+            System.out.println("[data] 스냅샷 로드 실패, JSON으로 로드합니다: " + e);
+            return null;
+        }
+    }
+
+    public static GameData read(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (din.readInt() != MAGIC) throw new IOException("스냅샷 형식이 아님");
+        int version = din.readUnsignedShort();
+        if (version != FORMAT_VERSION) throw new IOException("지원하지 않는 스냅샷 버전: " + version);
+        din.readLong();
+        return new Reader(din).readBody();
+    }
+
+    // =========================
+    // 빌드 시: 검증 + 쓰기
+    // =========================
+
+    public static void write(GameData d, long fingerprint, OutputStream os) throws IOException {
+        Writer w = new Writer();
+        w.writeBody(d);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(fingerprint);
+        writeVarInt(out, w.strings.size());
+        for (String s : w.strings.keySet()) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, b.length);
+            out.write(b);
+        }
+        w.body.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * gradle gameDataSnapshot 진입점.
+     * 사용: GameDataSnapshot <출력 파일> [--strict]
+     * --strict 면 검증 경고가 하나라도 있을 때 실패한다.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("사용법: GameDataSnapshot <out.bin> [--strict]");
+            System.exit(2);
+        }
+        boolean strict = args.length > 1 && "--strict".equals(args[1]);
+
+        DataLoader loader = new DataLoader();
+        GameData d = loader.loadAllFromJson(false);
+
+        List<String> problems = GameDataValidator.validate(d);
+        for (String p : problems) System.out.println("[검증] " + p);
+        if (strict && !problems.isEmpty()) {
+            System.out.println("검증 경고 " + problems.size() + "건(--strict)");
+            System.exit(1);
+        }
+
+        Path out = Paths.get(args[0]);
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        try (OutputStream os = Files.newOutputStream(out)) {
+            write(d, loader.resourceFingerprint(), os);
+        }
+        System.out.println("[data] 스냅샷 생성: " + out + " (" + Files.size(out) + " bytes)");
+    }
+
+    // =========================
+    // 쓰기
+    // =========================
+
+    private static final class Writer {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 16);
+        final DataOutputStream out = new DataOutputStream(body);
+
+        void writeBody(GameData d) throws IOException {
+            writeVarInt(out, d.playables().size());
+            for (Player p : d.playables()) writePlayer(p);
+
+            writeVarInt(out, d.enemies().size());
+            for (Enemy e : d.enemies().values()) writeEnemy(e);
+
+            writeVarInt(out, d.consumables().size());
+            for (Consumables c : d.consumables().values()) writeConsumable(c);
+
+            writeVarInt(out, d.skills().size());
+            for (Map.Entry<String, SkillDef> e : d.skills().entrySet()) {
+                str(e.getKey());
+                writeSkill(e.getValue());
+            }
+
+            writeVarInt(out, d.equipments().size());
+            for (Map.Entry<String, EquipmentDef> e : d.equipments().entrySet()) {
+                str(e.getKey());
+                writeEquipment(e.getValue());
+            }
+
+            writeVarInt(out, d.equipmentSets().size());
+            for (Map.Entry<String, EquipmentSetDef> e : d.equipmentSets().entrySet()) {
+                str(e.getKey());
+                EquipmentSetDef s = e.getValue();
+                strList(s.getPieces());
+                List<SetBonusDef> bonuses = (s.getBonuses() == null) ? List.of() : s.getBonuses();
+                writeVarInt(out, bonuses.size());
+                for (SetBonusDef b : bonuses) {
+                    out.writeInt(b.getPieces());
+                    stats(b.getStats());
+                    strList(b.getSpecialTags());
+                }
+            }
+
+            List<ChapterConfig> chapters = d.chapters().all();
+            writeVarInt(out, chapters.size());
+            for (ChapterConfig c : chapters) {
+                out.writeInt(c.getId());
+                str(c.getName());
+                out.writeInt(c.getMinLevel());
+                out.writeInt(c.getMaxLevel());
+                strList(c.getEnemyPool());
+                str(c.getBoss());
+                strList(c.getStoryKeys());
+            }
+
+            Map<String, JsonNode> story = d.story().raw();
+            writeVarInt(out, story.size());
+            for (Map.Entry<String, JsonNode> e : story.entrySet()) {
+                str(e.getKey());
+                node(e.getValue());
+            }
+
+            Map<String, List<String>> sets = d.skillSets().rawSets();
+            writeVarInt(out, sets.size());
+            for (Map.Entry<String, List<String>> e : sets.entrySet()) {
+                str(e.getKey());
+                strList(e.getValue());
+            }
+
+            Map<String, List<SkillUnlockRepository.Rule>> rules = d.skillUnlocks().rulesView();
+            writeVarInt(out, rules.size());
+            for (Map.Entry<String, List<SkillUnlockRepository.Rule>> e : rules.entrySet()) {
+                str(e.getKey());
+                writeVarInt(out, e.getValue().size());
+                for (SkillUnlockRepository.Rule r : e.getValue()) {
+                    out.writeInt(r.level);
+                    strList(r.skills);
+                }
+            }
+
+            writeRarityTable(d.dropWeights().getDrop());
+            writeRarityTable(d.dropWeights().getShop());
+
+            writeEnemyAi(d.enemyAi().config());
+        }
+
+        // 컴파일 전 설정을 쓴다(결정 표는 읽을 때 다시 컴파일)
+        void writeEnemyAi(EnemyAiConfig c) throws IOException {
+            Map<String, EnemyTierAi> tiers = (c.getTiers() == null) ? Map.of() : c.getTiers();
+            writeVarInt(out, tiers.size());
+            for (Map.Entry<String, EnemyTierAi> e : tiers.entrySet()) {
+                str(e.getKey());
+                List<EnemyAiPhase> phases = (e.getValue() == null || e.getValue().getPhases() == null)
+                        ? List.of() : e.getValue().getPhases();
+                writeVarInt(out, phases.size());
+                for (EnemyAiPhase p : phases) {
+                    out.writeInt(p.getHpBelow());
+                    out.writeInt(p.getSkillChance());
+                    out.writeInt(p.getSupportChance());
+                    str(p.getPick());
+                }
+            }
+            Map<String, List<String>> props = (c.getProperties() == null) ? Map.of() : c.getProperties();
+            writeVarInt(out, props.size());
+            for (Map.Entry<String, List<String>> e : props.entrySet()) {
+                str(e.getKey());
+                strList(e.getValue());
+            }
+            Map<String, EnemySkillPool> enemies = (c.getEnemies() == null) ? Map.of() : c.getEnemies();
+            writeVarInt(out, enemies.size());
+            for (Map.Entry<String, EnemySkillPool> e : enemies.entrySet()) {
+                str(e.getKey());
+                strList((e.getValue() == null) ? null : e.getValue().getSkills());
+                str((e.getValue() == null) ? null : e.getValue().getSkillset());
+            }
+        }
+
+        void writeRarityTable(RarityTable t) throws IOException {
+            List<RarityBand> bands = (t == null || t.getBands() == null) ? List.of() : t.getBands();
+            writeVarInt(out, bands.size());
+            for (RarityBand b : bands) {
+                out.writeBoolean(b.getMaxChapter() != null);
+                if (b.getMaxChapter() != null) out.writeInt(b.getMaxChapter());
+                Map<String, Integer> w = (b.getWeights() == null) ? Map.of() : b.getWeights();
+                writeVarInt(out, w.size());
+                for (Map.Entry<String, Integer> e : w.entrySet()) {
+                    str(e.getKey());
+                    out.writeInt((e.getValue() == null) ? 0 : e.getValue());
+                }
+            }
+            List<SetPreference> prefer = (t == null || t.getPreferSet() == null) ? List.of() : t.getPreferSet();
+            writeVarInt(out, prefer.size());
+            for (SetPreference sp : prefer) {
+                out.writeInt(sp.getChapter());
+                str(sp.getSet());
+                out.writeDouble(sp.getChance());
+            }
+            strList((t == null) ? null : t.getUniformSets());
+        }
+
+        void writePlayer(Player p) throws IOException {
+            str(p.getClasses());
+            str(p.getId());
+            str(p.getDescription());
+            out.writeInt(p.getLevel());
+            doubles(p.getMaxHp(), p.getMaxMp(), p.getAtk(), p.getMagic(), p.getSpd(), p.getDef(), p.getMdef(),
+                    p.getGrowthMaxHp(), p.getGrowthMaxMp(), p.getGrowthAtk(), p.getGrowthMagic(),
+                    p.getGrowthDef(), p.getGrowthMdef(), p.getGrowthSpd());
+        }
+
+        void writeEnemy(Enemy e) throws IOException {
+            str(e.getName());
+            str(e.getTier());
+            str(e.getProperty());
+            str(e.getDescription());
+            out.writeInt(e.getBaseLevel());
+            doubles(e.getMaxHp(), e.getMaxMp(), e.getAtk(), e.getMagic(), e.getSpd(), e.getDef(), e.getMdef(),
+                    e.getGrowthMaxHp(), e.getGrowthMaxMp(), e.getGrowthAtk(), e.getGrowthMagic(),
+                    e.getGrowthDef(), e.getGrowthMdef(), e.getGrowthSpd());
+        }
+
+        void writeConsumable(Consumables c) throws IOException {
+            str(c.getName());
+            str(c.getCategory());
+            str(c.getDescription());
+            str(c.getRarity());
+            str(c.getEffectType());
+            out.writeBoolean(c.isUseInBattle());
+            out.writeBoolean(c.isUseOutOfBattle());
+            out.writeInt(c.getLevel());
+            doubles(c.getCrt(), c.getXp(), c.getAtk(), c.getMagic(), c.getDef(), c.getMdef(),
+                    c.getMaxHp(), c.getMaxMp(), c.getHp(), c.getMp(), c.getSpd(), c.getPrice());
+        }
+
+        void writeSkill(SkillDef s) throws IOException {
+            str(s.getRole());
+            str(s.getElement());
+            str(s.getDescription());
+            str(s.getCategory());
+            str(s.getTarget());
+            out.writeInt(s.getMpCost());
+
+            List<SkillComponent> comps = (s.getComponents() == null) ? List.of() : s.getComponents();
+            writeVarInt(out, comps.size());
+            for (SkillComponent c : comps) {
+                str(c.getKind());
+                str(c.getDamageType());
+                List<SkillTerm> terms = (c.getTerms() == null) ? List.of() : c.getTerms();
+                writeVarInt(out, terms.size());
+                for (SkillTerm t : terms) {
+                    str(t.getStat());
+                    out.writeDouble(t.getCoef());
+                }
+            }
+
+            List<SkillStatusEffect> effects = (s.getStatusEffects() == null) ? List.of() : s.getStatusEffects();
+            writeVarInt(out, effects.size());
+            for (SkillStatusEffect e : effects) {
+                str(e.getStatus());
+                str(e.getTarget());
+                out.writeDouble(e.getChance());
+                out.writeInt(e.getStacks());
+            }
+
+            value(s.getSpecial());
+        }
+
+        void writeEquipment(EquipmentDef e) throws IOException {
+            str(e.getName());
+            str(e.getSlot());
+            str(e.getRarity());
+            out.writeInt(e.getPrice());
+            str(e.getWeaponHand());
+            str(e.getDescription());
+            stats(e.getStats());
+            str(e.getSetName());
+        }
+
+        // null은 인덱스 0으로 쓴다(실제 문자열은 1부터).
+        void str(String s) throws IOException {
+            if (s == null) {
+                writeVarInt(out, 0);
+                return;
+            }
+            Integer id = strings.get(s);
+            if (id == null) {
+                id = strings.size() + 1;
+                strings.put(s, id);
+            }
+            writeVarInt(out, id);
+        }
+
+        // null 목록은 -1(= varint 0), 그 외 size+1
+        void strList(List<String> list) throws IOException {
+            if (list == null) {
+                writeVarInt(out, 0);
+                return;
+            }
+            writeVarInt(out, list.size() + 1);
+            for (String s : list) str(s);
+        }
+
+        // StatKey 순서 값 + 모르는 키(검증 경고가 스냅샷 경로에서도 나오게)
+        void stats(StatVector v) throws IOException {
+            StatVector sv = (v == null) ? StatVector.ZERO : v;
+            for (int x : sv.toArray()) out.writeInt(x);
+            strList(sv.unknownKeys());
+        }
+
+        void doubles(double... v) throws IOException {
+            for (double d : v) out.writeDouble(d);
+        }
+
+        // special 맵 등 Jackson이 만든 일반 값(Map/List/String/Number/Boolean/null)
+        void value(Object v) throws IOException {
+            if (v == null) {
+                out.writeByte(T_NULL);
+            } else if (v instanceof Boolean b) {
+                out.writeByte(b ? T_TRUE : T_FALSE);
+            } else if (v instanceof Integer i) {
+                out.writeByte(T_INT);
+                out.writeInt(i);
+            } else if (v instanceof Long l) {
+                out.writeByte(T_LONG);
+                out.writeLong(l);
+            } else if (v instanceof Number n) {
+                out.writeByte(T_DOUBLE);
+                out.writeDouble(n.doubleValue());
+            } else if (v instanceof String s) {
+                out.writeByte(T_STRING);
+                str(s);
+            } else if (v instanceof List<?> list) {
+                out.writeByte(T_LIST);
+                writeVarInt(out, list.size());
+                for (Object o : list) value(o);
+            } else if (v instanceof Map<?, ?> map) {
+                out.writeByte(T_MAP);
+                writeVarInt(out, map.size());
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    str(String.valueOf(e.getKey()));
+                    value(e.getValue());
+                }
+            } else {
+                throw new IOException("스냅샷에 쓸 수 없는 값: " + v.getClass().getName());
+            }
+        }
+
+        void node(JsonNode n) throws IOException {
+            if (n == null || n.isNull() || n.isMissingNode()) {
+                out.writeByte(T_NULL);
+            } else if (n.isBoolean()) {
+                out.writeByte(n.booleanValue() ? T_TRUE : T_FALSE);
+            } else if (n.isInt()) {
+                out.writeByte(T_INT);
+                out.writeInt(n.intValue());
+            } else if (n.isIntegralNumber() && n.canConvertToLong()) {
+                out.writeByte(T_LONG);
+                out.writeLong(n.longValue());
+            } else if (n.isNumber()) {
+                out.writeByte(T_DOUBLE);
+                out.writeDouble(n.doubleValue());
+            } else if (n.isTextual()) {
+                out.writeByte(T_STRING);
+                str(n.textValue());
+            } else if (n.isArray()) {
+                out.writeByte(T_LIST);
+                writeVarInt(out, n.size());
+                for (JsonNode c : n) node(c);
+            } else if (n.isObject()) {
+                out.writeByte(T_MAP);
+                writeVarInt(out, n.size());
+                Iterator<Map.Entry<String, JsonNode>> it = n.fields();
+                while (it.hasNext()) {
+                    Map.Entry<String, JsonNode> e = it.next();
+                    str(e.getKey());
+                    node(e.getValue());
+                }
+            } else {
+                throw new IOException("스냅샷에 쓸 수 없는 노드: " + n.getNodeType());
+            }
+        }
+    }
+
+    // =========================
+    // 읽기
+    // =========================
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private String[] strings;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        GameData readBody() throws IOException {
+            int n = readVarInt(in);
+            strings = new String[n + 1];
+            byte[] buf = new byte[256];
+            for (int i = 1; i <= n; i++) {
+                int len = readVarInt(in);
+                if (len > buf.length) buf = new byte[Math.max(len, buf.length * 2)];
+                in.readFully(buf, 0, len);
+                strings[i] = new String(buf, 0, len, StandardCharsets.UTF_8);
+            }
+
+            int count = readVarInt(in);
+            List<Player> playables = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) playables.add(readPlayer());
+
+            count = readVarInt(in);
+            Map<String, Enemy> enemies = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Enemy e = readEnemy();
+                enemies.put(e.getName(), e);
+            }
+
+            count = readVarInt(in);
+            Map<String, Consumables> consumables = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Consumables c = readConsumable();
+                consumables.put(c.getName(), c);
+            }
+
+            count = readVarInt(in);
+            Map<String, SkillDef> skills = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) skills.put(str(), readSkill());
+
+            count = readVarInt(in);
+            Map<String, EquipmentDef> equipments = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) equipments.put(str(), readEquipment());
+
+            count = readVarInt(in);
+            Map<String, EquipmentSetDef> sets = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = str();
+                List<String> pieces = strList();
+                int bc = readVarInt(in);
+                List<SetBonusDef> bonuses = new ArrayList<>(bc);
+                for (int b = 0; b < bc; b++) {
+                    int pc = in.readInt();
+                    bonuses.add(new SetBonusDef(pc, stats(), strList()));
+                }
+                sets.put(name, new EquipmentSetDef(pieces, bonuses));
+            }
+
+            count = readVarInt(in);
+            List<ChapterConfig> chapters = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String name = str();
+                int min = in.readInt();
+                int max = in.readInt();
+                chapters.add(new ChapterConfig(id, name, min, max, strList(), str(), strList()));
+            }
+
+            count = readVarInt(in);
+            Map<String, JsonNode> story = new HashMap<>();
+            for (int i = 0; i < count; i++) story.put(str(), node());
+
+            count = readVarInt(in);
+            Map<String, List<String>> skillSets = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) skillSets.put(str(), strList());
+
+            count = readVarInt(in);
+            Map<String, List<SkillUnlockRepository.Rule>> rules = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String clazz = str();
+                int rc = readVarInt(in);
+                List<SkillUnlockRepository.Rule> list = new ArrayList<>(rc);
+                for (int r = 0; r < rc; r++) {
+                    SkillUnlockRepository.Rule rule = new SkillUnlockRepository.Rule();
+                    rule.level = in.readInt();
+                    rule.skills = strList();
+                    list.add(rule);
+                }
+                rules.put(clazz, list);
+            }
+
+            DropWeights dropWeights = new DropWeights(readRarityTable(), readRarityTable());
+            EnemyAiConfig enemyAi = readEnemyAi();
+
+            SkillSetRepository setRepo = new SkillSetRepository(skillSets);
+            // 검증은 스냅샷 빌드 때 끝났으니 경고는 버린다.
+            Map<String, CompiledSkill> compiled = SkillCompiler.compileAll(skills).skills();
+            return new GameData(playables, enemies, consumables, skills, equipments, sets,
+                    compiled,
+                    new ChapterRepository(chapters),
+                    new StoryRepository(story),
+                    setRepo,
+                    new SkillUnlockRepository(rules, setRepo),
+                    dropWeights,
+                    EnemyAi.compile(enemyAi, enemies, compiled, setRepo));
+        }
+
+        EnemyAiConfig readEnemyAi() throws IOException {
+            int count = readVarInt(in);
+            Map<String, EnemyTierAi> tiers = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String tier = str();
+                int pc = readVarInt(in);
+                List<EnemyAiPhase> phases = new ArrayList<>(pc);
+                for (int p = 0; p < pc; p++) {
+                    phases.add(new EnemyAiPhase(in.readInt(), in.readInt(), in.readInt(), str()));
+                }
+                tiers.put(tier, new EnemyTierAi(phases));
+            }
+            count = readVarInt(in);
+            Map<String, List<String>> props = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) props.put(str(), strList());
+            count = readVarInt(in);
+            Map<String, EnemySkillPool> enemies = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = str();
+                List<String> skills = strList();
+                enemies.put(name, new EnemySkillPool(skills, str()));
+            }
+            return new EnemyAiConfig(tiers, props, enemies);
+        }
+
+        RarityTable readRarityTable() throws IOException {
+            int count = readVarInt(in);
+            List<RarityBand> bands = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Integer max = in.readBoolean() ? in.readInt() : null;
+                int wc = readVarInt(in);
+                Map<String, Integer> w = new LinkedHashMap<>();
+                for (int k = 0; k < wc; k++) w.put(str(), in.readInt());
+                bands.add(new RarityBand(max, w));
+            }
+            count = readVarInt(in);
+            List<SetPreference> prefer = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) prefer.add(new SetPreference(in.readInt(), str(), in.readDouble()));
+            List<String> uniform = strList();
+            return new RarityTable(bands, prefer, (uniform == null) ? List.of() : uniform);
+        }
+
+        Player readPlayer() throws IOException {
+            Player.PlayerBuilder b = Player.builder()
+                    .classes(str()).id(str()).description(str())
+                    .level(in.readInt());
+            return b.maxHp(in.readDouble()).maxMp(in.readDouble()).atk(in.readDouble()).magic(in.readDouble())
+                    .spd(in.readDouble()).def(in.readDouble()).mdef(in.readDouble())
+                    .growthMaxHp(in.readDouble()).growthMaxMp(in.readDouble()).growthAtk(in.readDouble())
+                    .growthMagic(in.readDouble()).growthDef(in.readDouble()).growthMdef(in.readDouble())
+                    .growthSpd(in.readDouble())
+                    .build();
+        }
+
+        Enemy readEnemy() throws IOException {
+            Enemy.EnemyBuilder b = Enemy.builder()
+                    .name(str()).tier(str()).property(str()).description(str())
+                    .baseLevel(in.readInt());
+            return b.maxHp(in.readDouble()).maxMp(in.readDouble()).atk(in.readDouble()).magic(in.readDouble())
+                    .spd(in.readDouble()).def(in.readDouble()).mdef(in.readDouble())
+                    .growthMaxHp(in.readDouble()).growthMaxMp(in.readDouble()).growthAtk(in.readDouble())
+                    .growthMagic(in.readDouble()).growthDef(in.readDouble()).growthMdef(in.readDouble())
+                    .growthSpd(in.readDouble())
+                    .build();
+        }
+
+        Consumables readConsumable() throws IOException {
+            Consumables.ConsumablesBuilder b = Consumables.builder()
+                    .name(str()).category(str()).description(str()).rarity(str()).effectType(str())
+                    .useInBattle(in.readBoolean()).useOutOfBattle(in.readBoolean())
+                    .level(in.readInt());
+            Consumables c = b.crt(in.readDouble()).xp(in.readDouble()).atk(in.readDouble()).magic(in.readDouble())
+                    .def(in.readDouble()).mdef(in.readDouble()).maxHp(in.readDouble()).maxMp(in.readDouble())
+                    .hp(in.readDouble()).mp(in.readDouble()).spd(in.readDouble()).price(in.readDouble())
+                    .build();
+            // PERM_STATS 영구 스탯은 JSON 로드와 같이 읽을 때 1번 만든다
+            c.resolvePermanentStats();
+            return c;
+        }
+
+        SkillDef readSkill() throws IOException {
+            SkillDef s = new SkillDef();
+            s.setRole(str());
+            s.setElement(str());
+            s.setDescription(str());
+            s.setCategory(str());
+            s.setTarget(str());
+            s.setMpCost(in.readInt());
+
+            int cc = readVarInt(in);
+            List<SkillComponent> comps = new ArrayList<>(cc);
+            for (int i = 0; i < cc; i++) {
+                String kind = str();
+                String damageType = str();
+                int tc = readVarInt(in);
+                List<SkillTerm> terms = new ArrayList<>(tc);
+                for (int t = 0; t < tc; t++) terms.add(new SkillTerm(str(), in.readDouble()));
+                comps.add(new SkillComponent(kind, damageType, terms));
+            }
+            s.setComponents(comps);
+
+            int ec = readVarInt(in);
+            List<SkillStatusEffect> effects = new ArrayList<>(ec);
+            for (int i = 0; i < ec; i++) {
+                effects.add(new SkillStatusEffect(str(), str(), in.readDouble(), in.readInt()));
+            }
+            s.setStatusEffects(effects);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> special = (Map<String, Object>) value();
+            s.setSpecial(special);
+            return s;
+        }
+
+        EquipmentDef readEquipment() throws IOException {
+            EquipmentDef e = new EquipmentDef();
+            e.setName(str());
+            e.setSlot(str());
+            e.setRarity(str());
+            e.setPrice(in.readInt());
+            e.setWeaponHand(str());
+            e.setDescription(str());
+            e.setStats(stats());
+            e.setSetName(str());
+            return e;
+        }
+
+        String str() throws IOException {
+            int id = readVarInt(in);
+            if (id >= strings.length) throw new IOException("잘못된 문자열 인덱스: " + id);
+            return strings[id];
+        }
+
+        List<String> strList() throws IOException {
+            int n = readVarInt(in);
+            if (n == 0) return null;
+            List<String> out = new ArrayList<>(n - 1);
+            for (int i = 1; i < n; i++) out.add(str());
+            return out;
+        }
+
+        StatVector stats() throws IOException {
+            int[] v = new int[StatKey.COUNT];
+            for (int i = 0; i < v.length; i++) v[i] = in.readInt();
+            List<String> unknown = strList();
+            return StatVector.of(v, unknown);
+        }
+
+        Object value() throws IOException {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case T_NULL: return null;
+                case T_FALSE: return Boolean.FALSE;
+                case T_TRUE: return Boolean.TRUE;
+                case T_INT: return in.readInt();
+                case T_LONG: return in.readLong();
+                case T_DOUBLE: return in.readDouble();
+                case T_STRING: return str();
+                case T_LIST: {
+                    int n = readVarInt(in);
+                    List<Object> out = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) out.add(value());
+                    return out;
+                }
+                case T_MAP: {
+                    int n = readVarInt(in);
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    for (int i = 0; i < n; i++) out.put(str(), value());
+                    return out;
+                }
+                default: throw new IOException("잘못된 값 태그: " + tag);
+            }
+        }
+
+        JsonNode node() throws IOException {
+            JsonNodeFactory f = JsonNodeFactory.instance;
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case T_NULL: return f.nullNode();
+                case T_FALSE: return f.booleanNode(false);
+                case T_TRUE: return f.booleanNode(true);
+                case T_INT: return f.numberNode(in.readInt());
+                case T_LONG: return f.numberNode(in.readLong());
+                case T_DOUBLE: return f.numberNode(in.readDouble());
+                case T_STRING: return f.textNode(str());
+                case T_LIST: {
+                    int n = readVarInt(in);
+                    ArrayNode a = f.arrayNode(n);
+                    for (int i = 0; i < n; i++) a.add(node());
+                    return a;
+                }
+                case T_MAP: {
+                    int n = readVarInt(in);
+                    ObjectNode o = f.objectNode();
+                    for (int i = 0; i < n; i++) o.set(str(), node());
+                    return o;
+                }
+                default: throw new IOException("잘못된 노드 태그: " + tag);
+            }
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("잘못된 varint");
+    }
+}
@@ -0,0 +1,166 @@
+package desia.loader;
+
+import desia.equipment.LootTables;
+import desia.equipment.RarityBand;
+import desia.equipment.RarityTable;
+import desia.equipment.SetPreference;
+import desia.item.Consumables;
+import desia.item.EquipmentDef;
+import desia.item.EquipmentSetDef;
+import desia.item.SetBonusDef;
+import desia.item.StatVector;
+import desia.progress.ChapterConfig;
+import desia.skill.SkillCompiler;
+import desia.skill.SkillUnlockRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 정의 데이터 사이의 참조 검증(스냅샷 빌드 시 1회).
+ *
+ * - 스킬: SkillCompiler 경고(미지원 kind/stat/status)
+ * - 챕터: enemyPool/boss 가 enemies.json 에 있는지
+ * - 스킬셋/해금 규칙: 스킬 이름이 skills.json 에 있는지
+ * - 장비 세트: pieces 가 equipment.json 에 있는지
+ * - 스탯 키: 장비/세트 보너스/스토리 STAT 효과에 StatKey 로 바꿀 수 없는 키가 있는지
+ * - 드랍 가중치: 모르는 희귀도/세트, 구간 순서
+ * - 적 AI: 모르는 적/스킬/스킬셋, 적이 쓸 수 없는 스킬, 행동 구간 순서
+ */
+public final class GameDataValidator {
+
+    private GameDataValidator() {}
+
+    public static List<String> validate(GameData d) {
+        List<String> out = new ArrayList<>();
+
+        for (String p : SkillCompiler.compileAll(d.skills()).problems()) out.add("[skills] " + p);
+
+        for (ChapterConfig c : d.chapters().all()) {
+            if (c.getEnemyPool() != null) {
+                for (String e : c.getEnemyPool()) {
+                    if (!d.enemies().containsKey(e)) out.add("[chapters] 챕터 " + c.getId() + ": 알 수 없는 적 '" + e + "'");
+                }
+            }
+            if (c.getBoss() != null && !c.getBoss().isBlank() && !d.enemies().containsKey(c.getBoss())) {
+                out.add("[chapters] 챕터 " + c.getId() + ": 알 수 없는 보스 '" + c.getBoss() + "'");
+            }
+        }
+
+        for (Map.Entry<String, List<String>> e : d.skillSets().rawSets().entrySet()) {
+            for (String s : e.getValue()) {
+                if (!d.skills().containsKey(s)) out.add("[skillsets] " + e.getKey() + ": 알 수 없는 스킬 '" + s + "'");
+            }
+        }
+
+        for (Map.Entry<String, List<SkillUnlockRepository.Rule>> e : d.skillUnlocks().rulesView().entrySet()) {
+            for (SkillUnlockRepository.Rule r : e.getValue()) {
+                if (r.skills == null) continue;
+                for (String s : r.skills) {
+                    if (!d.skills().containsKey(s)) {
+                        out.add("[skill_unlocks] " + e.getKey() + " lv" + r.level + ": 알 수 없는 스킬 '" + s + "'");
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, EquipmentSetDef> e : d.equipmentSets().entrySet()) {
+            if (e.getValue() == null || e.getValue().getPieces() == null) continue;
+            for (String piece : e.getValue().getPieces()) {
+                if (piece != null && !d.equipments().containsKey(piece)) {
+                    out.add("[equipment] 세트 " + e.getKey() + ": 알 수 없는 부위 '" + piece + "'");
+                }
+            }
+        }
+
+        out.addAll(statKeyProblems(d));
+        out.addAll(dropWeightProblems(d));
+        out.addAll(enemyAiProblems(d));
+        return out;
+    }
+
+    /** enemy_ai.json 컴파일 경고(JSON 로드 때도 출력). */
+    public static List<String> enemyAiProblems(GameData d) {
+        List<String> out = new ArrayList<>();
+        for (String p : d.enemyAi().problems()) out.add("[enemy_ai] " + p);
+        return out;
+    }
+
+    /** drop_weights.json 의 희귀도/세트 이름과 챕터 구간(JSON 로드 때도 출력). */
+    public static List<String> dropWeightProblems(GameData d) {
+        List<String> out = new ArrayList<>();
+        Set<String> setNames = new HashSet<>();
+        for (EquipmentDef e : d.equipments().values()) {
+            if (e != null && e.getSetName() != null) setNames.add(e.getSetName());
+        }
+        dropTableProblems(out, "[drop_weights] drop", d.dropWeights().getDrop(), setNames);
+        dropTableProblems(out, "[drop_weights] shop", d.dropWeights().getShop(), setNames);
+        return out;
+    }
+
+    private static void dropTableProblems(List<String> out, String where, RarityTable t, Set<String> setNames) {
+        if (t == null) return;
+        List<RarityBand> bands = (t.getBands() == null) ? List.of() : t.getBands();
+        if (bands.isEmpty()) out.add(where + ": 챕터 구간이 없음(풀 전체에서 균등)");
+        int prevMax = Integer.MIN_VALUE;
+        for (int i = 0; i < bands.size(); i++) {
+            RarityBand b = bands.get(i);
+            if (b == null) continue;
+            if (b.getMaxChapter() == null) {
+                if (i != bands.size() - 1) out.add(where + " 구간 " + (i + 1) + ": max_chapter 없는 구간 뒤의 구간은 쓰이지 않음");
+            } else {
+                if (b.getMaxChapter() <= prevMax) out.add(where + " 구간 " + (i + 1) + ": max_chapter 가 오름차순이 아님");
+                prevMax = b.getMaxChapter();
+            }
+            if (b.getWeights() == null) continue;
+            for (String r : b.getWeights().keySet()) {
+                if (LootTables.rarityIndex(r) < 0) out.add(where + " 구간 " + (i + 1) + ": 알 수 없는 희귀도 '" + r + "'");
+            }
+        }
+        if (t.getPreferSet() != null) {
+            for (SetPreference sp : t.getPreferSet()) {
+                if (sp != null && !setNames.contains(sp.getSet())) out.add(where + ": 알 수 없는 세트 '" + sp.getSet() + "'");
+            }
+        }
+        if (t.getUniformSets() != null) {
+            for (String s : t.getUniformSets()) {
+                if (!setNames.contains(s)) out.add(where + ": 알 수 없는 세트 '" + s + "'");
+            }
+        }
+    }
+
+    /** StatVector 로 바꾸면서 버려진 스탯 키들, 소모품의 모르는 키/빈 영구 스탯(JSON 로드 때도 출력). */
+    public static List<String> statKeyProblems(GameData d) {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, EquipmentDef> e : d.equipments().entrySet()) {
+            if (e.getValue() == null) continue;
+            unknownStats(out, "[equipment] " + e.getKey(), e.getValue().getStats());
+        }
+        for (Map.Entry<String, EquipmentSetDef> e : d.equipmentSets().entrySet()) {
+            if (e.getValue() == null || e.getValue().getBonuses() == null) continue;
+            for (SetBonusDef b : e.getValue().getBonuses()) {
+                if (b != null) unknownStats(out, "[equipment] 세트 " + e.getKey() + " " + b.getPieces() + "피스", b.getStats());
+            }
+        }
+        for (Map.Entry<String, StatVector> e : d.story().statEffects().entrySet()) {
+            unknownStats(out, "[story] " + e.getKey(), e.getValue());
+        }
+        for (Map.Entry<String, Consumables> e : d.consumables().entrySet()) {
+            if (e.getValue() == null) continue;
+            StatVector v = e.getValue().permanentStats();
+            for (String k : v.unknownKeys()) out.add("[consumables] " + e.getKey() + ": 알 수 없는 키 '" + k + "'");
+            if ("PERM_STATS".equals(e.getValue().getEffectType()) && v.isZero()) {
+                out.add("[consumables] " + e.getKey() + ": PERM_STATS 인데 영구 스탯이 모두 0");
+            }
+        }
+        return out;
+    }
+
+    private static void unknownStats(List<String> out, String where, StatVector v) {
+        if (v == null) return;
+        for (String k : v.unknownKeys()) out.add(where + ": 알 수 없는 스탯 키 '" + k + "'");
+    }
+}
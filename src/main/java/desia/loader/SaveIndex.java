@@ -0,0 +1,181 @@
+package desia.loader;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 세이브 슬롯 요약 인덱스(saves/index.json).
+ *
+ * 불러오기 메뉴는 세이브 파일 전체(인벤토리/장비 포함)를 읽지 않고 이 요약만 본다.
+ * - 저장할 때 AtomicSaveWriter 쓰기가 끝나면 해당 슬롯 요약을 갱신한다.
+ * - 목록을 만들 때 파일 크기/수정 시각이 요약과 다르면(직접 복사한 세이브 등) 그 슬롯만 다시 읽는다.
+ * - 인덱스 파일이 없거나 깨져도 다시 만들면 되는 캐시일 뿐이다.
+ *
+ * 같은 폴더는 프로세스 안에서 인스턴스 1개를 공유한다(of).
+ */
+public final class SaveIndex {
+
+    public static final String FILE = "index.json";
+
+    private static final Pattern SLOT_FILE = Pattern.compile("slot(\\d+)\\.json(?:\\.bak\\d+)?");
+    private static final Map<Path, SaveIndex> BY_DIR = new ConcurrentHashMap<>();
+
+    private final Path dir;
+    private final ObjectMapper om;
+    private TreeMap<Integer, SaveSlotMeta> entries; // 처음 쓸 때 index.json 에서 읽는다
+
+    private SaveIndex(Path dir, ObjectMapper om) {
+        this.dir = dir;
+        this.om = om;
+    }
+
+    public static SaveIndex of(Path dir) {
+        return BY_DIR.computeIfAbsent(dir.toAbsolutePath().normalize(), d -> new SaveIndex(d, DataLoader.mapper()));
+    }
+
+    public Path slotPath(int slot) {
+        return dir.resolve("slot" + slot + ".json");
+    }
+
+    /**
+     * 폴더에 있는 모든 슬롯의 요약(슬롯 번호 순).
+     * 원본과 백업이 모두 깨진 슬롯은 playerClass 가 null 인 요약으로 돌려준다.
+     */
+    public synchronized List<SaveSlotMeta> list() {
+        TreeMap<Integer, SaveSlotMeta> cached = entries();
+        TreeSet<Integer> slots = scanSlots();
+        boolean dirty = cached.keySet().retainAll(slots);
+
+        List<SaveSlotMeta> out = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            Path main = slotPath(slot);
+            long size = -1, modified = -1;
+            try {
+                BasicFileAttributes a = Files.readAttributes(main, BasicFileAttributes.class);
+                size = a.size();
+                modified = a.lastModifiedTime().toMillis();
+            } catch (IOException ignored) {
+                // 원본 없음(백업만 남음)
+            }
+
+            SaveSlotMeta m = cached.get(slot);
+            if (m == null || m.getSize() != size || m.getModified() != modified) {
+                m = readMeta(slot);
+                m.setSize(size);
+                m.setModified(modified);
+                cached.put(slot, m);
+                dirty = true;
+            }
+            out.add(m);
+        }
+        if (dirty) persist();
+        return out;
+    }
+
+    /** 저장이 끝난 슬롯의 요약을 갱신한다(쓰기 스레드에서 호출). */
+    public synchronized void record(int slot, SaveData d) {
+        Path main = slotPath(slot);
+        SaveSlotMeta m = fromSave(slot, d, 0);
+        try {
+            BasicFileAttributes a = Files.readAttributes(main, BasicFileAttributes.class);
+            m.setSize(a.size());
+            m.setModified(a.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            m.setSize(-1);
+            m.setModified(-1);
+        }
+        entries().put(slot, m);
+        persist();
+    }
+
+    // 원본 → .bak1 → .bak2 순서로 요약만 읽는다(인벤토리/장비 맵은 건너뜀).
+    private SaveSlotMeta readMeta(int slot) {
+        Path main = slotPath(slot);
+        for (int g = 0; g <= AtomicSaveWriter.BACKUP_GENERATIONS; g++) {
+            Path p = (g == 0) ? main : AtomicSaveWriter.backupPath(main, g);
+            try {
+                SaveSlotMeta m = om.readValue(Files.readAllBytes(p), SaveSlotMeta.class);
+                if (m != null && m.getPlayerClass() != null) {
+                    m.setSlot(slot);
+                    m.setBackup(g);
+                    return m;
+                }
+            } catch (Exception ignored) {
+                // 없음/손상 -> 다음 세대
+            }
+        }
+        return SaveSlotMeta.builder().slot(slot).build();
+    }
+
+    static SaveSlotMeta fromSave(int slot, SaveData d, int backup) {
+        return SaveSlotMeta.builder()
+                .slot(slot)
+                .playerClass(d.getPlayerClass())
+                .playerName(d.getPlayerName())
+                .level(d.getLevel())
+                .gold(d.getGold())
+                .chapter(d.getChapter())
+                .act(d.getAct())
+                .backup(backup)
+                .build();
+    }
+
+    private TreeSet<Integer> scanSlots() {
+        TreeSet<Integer> slots = new TreeSet<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "slot*")) {
+            for (Path p : ds) {
+                Matcher m = SLOT_FILE.matcher(p.getFileName().toString());
+                if (!m.matches()) continue;
+                try {
+                    slots.add(Integer.parseInt(m.group(1)));
+                } catch (NumberFormatException ignored) {
+                    // 범위를 넘는 번호는 슬롯으로 보지 않는다
+                }
+            }
+        } catch (NoSuchFileException ignored) {
+            // 세이브 폴더가 아직 없음
+        } catch (IOException e) {
+            System.out.println("[save] 세이브 폴더를 읽을 수 없습니다: " + e.getMessage());
+        }
+        return slots;
+    }
+
+    private TreeMap<Integer, SaveSlotMeta> entries() {
+        if (entries != null) return entries;
+        entries = new TreeMap<>();
+        Path file = dir.resolve(FILE);
+        if (Files.exists(file)) {
+            try {
+                List<SaveSlotMeta> list = om.readValue(Files.readAllBytes(file), new TypeReference<List<SaveSlotMeta>>() {});
+                for (SaveSlotMeta m : list) entries.put(m.getSlot(), m);
+            } catch (Exception ignored) {
+                // 깨진 인덱스는 버리고 다시 만든다
+            }
+        }
+        return entries;
+    }
+
+    private void persist() {
+        try {
+            byte[] bytes = om.writeValueAsBytes(new ArrayList<>(entries.values()));
+            AtomicSaveWriter.write(dir.resolve(FILE), bytes, false);
+        } catch (IOException ignored) {
+            // 인덱스는 캐시라 실패해도 다음 목록 때 다시 만든다
+        }
+    }
+}
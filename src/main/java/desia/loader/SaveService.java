@@ -1,133 +1,229 @@
 package desia.loader;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import desia.Character.Player;
 import desia.io.Io;
-import desia.progress.ChapterRepository;
+import desia.metrics.Histogram;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
+import desia.progress.GameRng;
 import desia.progress.GameSession;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 /*
  * 저장/불러오기 서비스.
- * - 슬롯 1~3 지원
- * - 세이브 파일은 실행 폴더(user.dir)/saves/slot{n}.json 에 저장
+ * - 슬롯 번호 제한 없음(기본으로 1~3을 보여주고, 새 슬롯을 추가할 수 있다)
+ * - 메뉴에는 saves/index.json 요약만 읽어 표시(SaveIndex)
+ * - 세이브 파일은 Io.saveDir()(기본: 실행 폴더/saves)/slot{n}.json 에 저장
+ * - 쓰기는 AtomicSaveWriter 가 백그라운드에서 처리(tmp → fsync → 원자적 교체, 백업 .bak1/.bak2 유지)
+ * - 원본이 깨졌으면 최근 백업부터 읽어 복구한다
  */
 public class SaveService {
 
-    private static final int MAX_SLOT = 3;
+    // 세이브가 없어도 메뉴에 항상 보여주는 슬롯 수
+    private static final int DEFAULT_SLOTS = 3;
+
+    // 슬롯 1개 읽기(파일 읽기 + 역직렬화). 실패한 세대는 세지 않는다.
+    private static final Timer READ_TIME = Metrics.timer("save.read");
+    private static final Histogram READ_BYTES = Metrics.histogram("save.read.bytes");
 
     private final Io io;
     private final ObjectMapper om;
 
     public SaveService(Io io) {
         this.io = io;
-        this.om = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.om = DataLoader.mapper();
     }
 
     // 불러오기: 로드 성공 시 GameSession 반환, 실패/취소 시 null
-    public GameSession load(GameData gameData, ChapterRepository chapterRepo) {
+    public GameSession load(GameData gameData) {
         ensureDir();
+        // 방금 저장한 내용이 아직 쓰이는 중일 수 있다(이 플레이어 폴더의 쓰기만 기다린다).
+        AtomicSaveWriter.awaitPending(saveDir());
 
-        // 슬롯 정보 미리 출력
-        printLoadSlots();
-        System.out.println("-----");
-        int slot = io.chooseAllowCancel("[불러오기] 슬롯을 선택하세요", List.of("슬롯 1", "슬롯 2", "슬롯 3"), "취소");
-        if (slot == 0) return null;
+        // 슬롯 요약은 인덱스에서(세이브 전체를 읽지 않는다)
+        List<SaveSlotMeta> slots = menuSlots();
+        int pick = io.chooseAllowCancel("[불러오기] 슬롯을 선택하세요", slotLabels(slots), "취소");
+        if (pick == 0) return null;
+        int slot = slots.get(pick - 1).getSlot();
         Path path = slotPath(slot);
-        if (!Files.exists(path)) {
+        if (!hasAnySave(path)) {
             System.out.println("해당 슬롯에 세이브가 없습니다.");
             io.anythingToContinue();
             return null;
         }
 
-        final SaveData saveData;
-        try {
-            saveData = om.readValue(Files.readString(path), SaveData.class);
-        } catch (IOException e) {
-            System.out.println("세이브 파일을 읽을 수 없습니다: " + e.getMessage());
+        SlotRead read = readSlot(path);
+        if (read == null) {
+            System.out.println("세이브 파일이 손상되었고 복구할 백업도 없습니다.");
+            io.anythingToContinue();
+            return null;
+        }
+        if (read.backup > 0) {
+            System.out.println("세이브 파일이 손상되어 백업(" + read.backup + "세대 전)에서 복구합니다.");
+            // 원본 자리를 백업 내용으로 되돌린다(백업 세대는 그대로 둔다).
+            AtomicSaveWriter.writeAsync(path, read.raw, false).exceptionally(e -> {
+                io.notice("세이브 복구 쓰기 실패: " + rootMessage(e));
+                return null;
+            });
+        }
+        final SaveData saveData = read.data;
+
+        final GameSession session = restore(gameData, saveData);
+        if (session == null) {
             io.anythingToContinue();
             return null;
         }
 
+        System.out.println("\n불러오기 완료!");
+        io.anythingToContinue();
+        return session;
+    }
+
+    /** 세션의 현재 상태를 세이브 형식으로(직렬화 전). */
+    public static SaveData toSaveData(GameSession session) {
+        return SaveData.builder()
+                .version(2)
+                .playerClass(session.getPlayerBase().getClasses())
+                .playerName(session.getPlayerName())
+                .chapter(session.getChapter())
+                .act(session.getAct())
+                .merchantActThisChapter(session.getMerchantActThisChapter())
+                .merchantDoneThisChapter(session.isMerchantDoneThisChapter())
+                .level(session.getLevel())
+                .exp(session.getExp())
+                .hp(session.getHp())
+                .mp(session.getMp())
+                .shield(session.getShield())
+                .bonusMaxHp(session.getBonusMaxHp())
+                .bonusMaxMp(session.getBonusMaxMp())
+                .bonusAtk(session.getBonusAtk())
+                .bonusMagic(session.getBonusMagic())
+                .bonusDef(session.getBonusDef())
+                .bonusMdef(session.getBonusMdef())
+                .bonusSpd(session.getBonusSpd())
+                .gold(session.getGold())
+                .equipped(new LinkedHashMap<>(session.equippedView()))
+                .inventory(new LinkedHashMap<>(session.inventoryView()))
+                .build();
+    }
+
+    /**
+     * 세이브 내용으로 새 세션을 만든다(정의 데이터는 gameData 것을 공유).
+     * 직업을 찾을 수 없거나 세션 생성이 실패하면 이유를 출력하고 null.
+     */
+    public static GameSession restore(GameData gameData, SaveData saveData) {
         // (1) 플레이어 정의 선택
         Player chosen = findPlayerByClass(gameData.playables(), saveData.getPlayerClass());
         if (chosen == null) {
             System.out.println("세이브의 직업을 찾을 수 없습니다: " + safe(saveData.getPlayerClass()));
-            io.anythingToContinue();
             return null;
         }
 
         // (2) 새 세션 생성(정의 데이터 주입)
         final GameSession session;
         try {
-            session = GameSession.newSession(
-                    chosen,
-                    gameData.enemies(),
-                    gameData.consumables(),
-                    gameData.skills(),
-                    gameData.equipments(),
-                    gameData.equipmentSets(),
-                    chapterRepo,
-                    safe(saveData.getPlayerName())
-            );
+            session = GameSession.newSession(gameData, chosen, safe(saveData.getPlayerName()), GameRng.unseeded());
         } catch (Exception e) {
             System.out.println("게임 데이터 로딩 실패: " + e.getMessage());
-            io.anythingToContinue();
             return null;
         }
 
         // (3) 세이브 상태 반영
         session.applySaveData(saveData);
-
-        System.out.println("\n불러오기 완료!");
-        io.anythingToContinue();
         return session;
     }
 
-    private void printLoadSlots() {
-        for (int slot = 1; slot <= MAX_SLOT; slot++) {
-            Path path = slotPath(slot);
-            if (!Files.exists(path)) {
-                System.out.println("슬롯 " + slot + ") (비어 있음)");
-                continue;
-            }
-            SaveData d = readSaveDataQuiet(path);
-            if (d == null) {
-                System.out.println("슬롯 " + slot + ") (손상된 세이브)");
-                continue;
+    // 기본 슬롯(1~DEFAULT_SLOTS) + 폴더에 있는 모든 슬롯. 비어 있는 슬롯은 playerClass/size 없음.
+    private List<SaveSlotMeta> menuSlots() {
+        Map<Integer, SaveSlotMeta> bySlot = new TreeMap<>();
+        for (int slot = 1; slot <= DEFAULT_SLOTS; slot++) {
+            bySlot.put(slot, SaveSlotMeta.builder().slot(slot).size(-1).modified(-1).build());
+        }
+        for (SaveSlotMeta m : index().list()) bySlot.put(m.getSlot(), m);
+        return new ArrayList<>(bySlot.values());
+    }
+
+    private List<String> slotLabels(List<SaveSlotMeta> slots) {
+        List<String> labels = new ArrayList<>(slots.size());
+        for (SaveSlotMeta m : slots) labels.add(slotLabel(m));
+        return labels;
+    }
+
+    private String slotLabel(SaveSlotMeta m) {
+        String head = "슬롯 " + m.getSlot() + ") ";
+        if (m.getPlayerClass() == null) {
+            boolean empty = m.getSize() < 0 && !hasAnySave(slotPath(m.getSlot()));
+            return head + (empty ? "(비어 있음)" : "(손상된 세이브)");
+        }
+        return head
+                + safe(m.getPlayerClass()) + " Lv. " + m.getLevel()
+                + " / " + Math.round(m.getGold()) + "골드"
+                + " / 챕터 " + m.getChapter()
+                + " / ACT " + m.getAct()
+                + (m.getBackup() > 0 ? " (손상됨: 백업에서 복구)" : "");
+    }
+
+    // 슬롯 읽기 결과. backup=0 이면 원본, n 이면 .bak{n} 에서 읽었다.
+    private static final class SlotRead {
+        final SaveData data;
+        final byte[] raw;
+        final int backup;
+
+        SlotRead(SaveData data, byte[] raw, int backup) {
+            this.data = data;
+            this.raw = raw;
+            this.backup = backup;
+        }
+    }
+
+    // 원본 → .bak1 → .bak2 순서로 처음 읽히는 것. 모두 실패하면 null.
+    private SlotRead readSlot(Path path) {
+        for (int g = 0; g <= AtomicSaveWriter.BACKUP_GENERATIONS; g++) {
+            Path p = (g == 0) ? path : AtomicSaveWriter.backupPath(path, g);
+            try {
+                if (!Files.exists(p)) continue;
+                long t0 = READ_TIME.start();
+                byte[] raw = Files.readAllBytes(p);
+                SaveData d = om.readValue(raw, SaveData.class);
+                READ_TIME.stop(t0);
+                READ_BYTES.record(raw.length);
+                if (d != null && d.getPlayerClass() != null) return new SlotRead(d, raw, g);
+            } catch (Exception ignored) {
+                // 손상(잘림/빈 파일 등) -> 다음 세대
             }
-            System.out.println(
-                    "슬롯 " + slot + ") "
-                            + safe(d.getPlayerClass()) + " Lv. " + d.getLevel()
-                            + " / " + Math.round(d.getGold()) + "골드"
-                            + " / 챕터 " + d.getChapter()
-                            + " / ACT " + d.getAct()
-            );
         }
+        return null;
     }
 
-    private SaveData readSaveDataQuiet(Path path) {
-        try {
-            return om.readValue(Files.readString(path), SaveData.class);
-        } catch (Exception e) {
-            return null;
+    private boolean hasAnySave(Path path) {
+        if (Files.exists(path)) return true;
+        for (int g = 1; g <= AtomicSaveWriter.BACKUP_GENERATIONS; g++) {
+            if (Files.exists(AtomicSaveWriter.backupPath(path, g))) return true;
         }
+        return false;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null) t = t.getCause();
+        return t.getMessage();
     }
 
-    private String safe(String s) {
+    private static String safe(String s) {
         return (s == null || s.isBlank()) ? "?" : s;
     }
 
-    private Player findPlayerByClass(List<Player> playables, String playerClass) {
+    private static Player findPlayerByClass(List<Player> playables, String playerClass) {
         if (playerClass == null) return null;
         for (Player p : playables) {
             if (playerClass.equals(p.getClasses())) return p;
@@ -136,11 +232,15 @@ public class SaveService {
     }
 
     private Path saveDir() {
-        return Paths.get(System.getProperty("user.dir"), "saves");
+        return io.saveDir();
+    }
+
+    private SaveIndex index() {
+        return SaveIndex.of(saveDir());
     }
 
     private Path slotPath(int slot) {
-        return saveDir().resolve("slot" + slot + ".json");
+        return index().slotPath(slot);
     }
 
     private void ensureDir() {
@@ -152,50 +252,51 @@ public class SaveService {
 
     // ====== Save UI helper (Io readInt 제한 때문에 별도 처리) ======
 
-    public void saveWithMenu(GameSession session) {
+    /**
+     * 슬롯을 골라 저장한다. 직렬화는 호출 스레드에서 끝내고, 파일 쓰기는 백그라운드에서 한다.
+     * 반환 future: 쓰기 완료 시 파일 경로, 취소 시 null, 실패 시 예외로 완료.
+     */
+    public CompletableFuture<Path> saveWithMenu(GameSession session) {
         ensureDir();
 
-        int slot = io.chooseAllowCancel("[저장] 슬롯을 선택하세요", List.of("슬롯 1", "슬롯 2", "슬롯 3"), "취소");
-        if (slot == 0) return;
+        AtomicSaveWriter.awaitPending(saveDir());
+        List<SaveSlotMeta> slots = menuSlots();
+        int newSlot = slots.get(slots.size() - 1).getSlot() + 1;
+        List<String> labels = slotLabels(slots);
+        labels.add("새 슬롯 " + newSlot);
+
+        int pick = io.chooseAllowCancel("[저장] 슬롯을 선택하세요", labels, "취소");
+        if (pick == 0) return CompletableFuture.completedFuture(null);
+        int slot = (pick <= slots.size()) ? slots.get(pick - 1).getSlot() : newSlot;
         Path path = slotPath(slot);
 
         if (Files.exists(path)) {
-            if (!io.confirm("이 슬롯에는 이미 세이브가 있습니다. 덮어쓸까요?", "예", "아니오")) return;
+            if (!io.confirm("이 슬롯에는 이미 세이브가 있습니다. 덮어쓸까요?", "예", "아니오")) {
+                return CompletableFuture.completedFuture(null);
+            }
         }
 
-        SaveData data = SaveData.builder()
-                .version(2)
-                .playerClass(session.getPlayerBase().getClasses())
-                .playerName(session.getPlayerName())
-                .chapter(session.getChapter())
-                .act(session.getAct())
-                .merchantActThisChapter(session.getMerchantActThisChapter())
-                .merchantDoneThisChapter(session.isMerchantDoneThisChapter())
-                .level(session.getLevel())
-                .exp(session.getExp())
-                .hp(session.getHp())
-                .mp(session.getMp())
-                .shield(session.getShield())
-                .bonusMaxHp(session.getBonusMaxHp())
-                .bonusMaxMp(session.getBonusMaxMp())
-                .bonusAtk(session.getBonusAtk())
-                .bonusMagic(session.getBonusMagic())
-                .bonusDef(session.getBonusDef())
-                .bonusMdef(session.getBonusMdef())
-                .bonusSpd(session.getBonusSpd())
-                .gold(session.getGold())
-                .equipped(new LinkedHashMap<>(session.equippedView()))
-                .inventory(new LinkedHashMap<>(session.inventoryView()))
-                .build();
+        SaveData data = toSaveData(session);
 
+        // 세션 상태는 지금 시점으로 고정(직렬화까지 호출 스레드에서)
+        final byte[] json;
         try {
-            String json = om.writerWithDefaultPrettyPrinter().writeValueAsString(data);
-            Files.writeString(path, json, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            System.out.println("저장 완료: 슬롯 " + slot);
+            json = om.writerWithDefaultPrettyPrinter().writeValueAsBytes(data);
         } catch (IOException e) {
             System.out.println("저장 실패: " + e.getMessage());
+            io.anythingToContinue();
+            return CompletableFuture.failedFuture(e);
         }
 
+        SaveIndex index = index();
+        CompletableFuture<Path> done = AtomicSaveWriter.writeAsync(path, json, true, () -> index.record(slot, data));
+        // 쓰기 스레드에서 완료된다: 문구는 세션의 Io 로 보낸다(호스트에서는 세션 스레드가 출력)
+        done.whenComplete((p, e) -> {
+            if (e == null) io.notice("저장 완료: 슬롯 " + slot);
+            else io.notice("저장 실패: " + rootMessage(e));
+        });
+
         io.anythingToContinue();
+        return done;
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package desia.loader;
+
+import lombok.*;
+
+/**
+ * 불러오기 메뉴에 표시하는 세이브 요약(saves/index.json 의 한 줄).
+ * - 필드 이름이 SaveData 와 같아서 세이브 파일에서 바로 읽을 수 있다(나머지 필드는 무시).
+ * - size/modified 는 인덱스 전용: 원본 파일과 다르면 오래된 요약으로 보고 다시 읽는다.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class SaveSlotMeta {
+    private int slot;
+
+    private String playerClass;
+    private String playerName;
+    private int level;
+    private double gold;
+    private int chapter;
+    private int act;
+
+    // 요약을 만든 시점의 원본 파일 크기/수정 시각(ms)
+    private long size;
+    private long modified;
+
+    // 원본이 손상되어 백업에서 읽은 요약이면 그 세대(.bak{n}), 아니면 0
+    private int backup;
+}
@@ -0,0 +1,26 @@
+package desia.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** 단조 증가 카운터. 여러 스레드에서 동시에 올려도 된다. */
+public final class Counter {
+
+    private final boolean on;
+    private final LongAdder value = new LongAdder();
+
+    Counter(boolean on) {
+        this.on = on;
+    }
+
+    public void inc() {
+        if (on) value.increment();
+    }
+
+    public void add(long n) {
+        if (on) value.add(n);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
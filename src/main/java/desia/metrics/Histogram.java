@@ -0,0 +1,95 @@
+package desia.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 0 이상 long 값의 분포(로그-선형 버킷, 락 없음).
+ *
+ * 0~15 는 값 그대로 한 칸씩, 그 위로는 2의 거듭제곱 구간마다 8칸으로 나눈다.
+ * 백분위는 해당 버킷의 상한(최댓값으로 자름), 최솟값은 첫 버킷의 하한이라 오차는 최대 약 12.5%.
+ * 음수는 0 으로 센다.
+ */
+public final class Histogram {
+
+    private static final int LINEAR = 16;
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    // 2^4 .. 2^62 구간
+    static final int BUCKETS = LINEAR + (63 - 4) * SUB;
+
+    private final boolean on;
+    // 기록 1건 = 원자 연산 3번(버킷, 합, 최댓값). 건수와 최솟값은 찍을 때 버킷에서 구한다.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    Histogram(boolean on) {
+        this.on = on;
+    }
+
+    public void record(long value) {
+        if (!on) return;
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(index(v));
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    static int index(long v) {
+        if (v < LINEAR) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return LINEAR + (exp - 4) * SUB + sub;
+    }
+
+    // 버킷에 들어가는 가장 작은/큰 값
+    static long lowerBound(int idx) {
+        if (idx < LINEAR) return idx;
+        int exp = 4 + (idx - LINEAR) / SUB;
+        int sub = (idx - LINEAR) % SUB;
+        return (SUB + sub) * (1L << (exp - SUB_BITS));
+    }
+
+    static long upperBound(int idx) {
+        if (idx < LINEAR) return idx;
+        int exp = 4 + (idx - LINEAR) / SUB;
+        return lowerBound(idx) + (1L << (exp - SUB_BITS)) - 1;
+    }
+
+    public Snapshot snapshot() {
+        long[] b = new long[BUCKETS];
+        long n = 0;
+        int first = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            b[i] = buckets.get(i);
+            n += b[i];
+            if (first < 0 && b[i] > 0) first = i;
+        }
+        if (n == 0) return Snapshot.EMPTY;
+        long hi = max.get();
+        long lo = Math.min(lowerBound(first), hi);
+        return new Snapshot(n, sum.sum(), lo, hi,
+                quantile(b, n, 0.50, hi), quantile(b, n, 0.90, hi), quantile(b, n, 0.99, hi));
+    }
+
+    private static long quantile(long[] b, long total, double q, long max) {
+        long rank = (long) Math.ceil(total * q);
+        long acc = 0;
+        for (int i = 0; i < b.length; i++) {
+            acc += b[i];
+            if (acc >= rank && b[i] > 0) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    /** 한 시점의 요약. 기록 중에 찍으면 sum/max 와 버킷이 한두 건 어긋날 수 있다. */
+    public record Snapshot(long count, long sum, long min, long max, long p50, long p90, long p99) {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0);
+
+        public double mean() {
+            return (count == 0) ? 0 : (double) sum / count;
+        }
+    }
+}
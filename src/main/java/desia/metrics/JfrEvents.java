@@ -0,0 +1,66 @@
+package desia.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 사용자 이벤트. 녹화 중일 때만 비용이 든다.
+ * 예: java -XX:StartFlightRecording=filename=desia.jfr,settings=profile ...
+ *
+ * 쓰는 쪽은 begin() 전에 만들고 commit() 으로 끝낸다. 녹화가 꺼져 있으면 commit 이 바로 돌아온다.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {}
+
+    @Name("desia.Battle")
+    @Label("Battle")
+    @Category({"Desia", "Battle"})
+    @StackTrace(false)
+    public static final class Battle extends Event {
+        @Label("Enemy")
+        public String enemy;
+        @Label("Rounds")
+        public int rounds;
+        @Label("Outcome")
+        public String outcome;
+        @Label("Headless")
+        public boolean headless;
+    }
+
+    @Name("desia.SkillCast")
+    @Label("Skill Cast")
+    @Category({"Desia", "Battle"})
+    @StackTrace(false)
+    public static final class SkillCast extends Event {
+        @Label("Skill")
+        public String skill;
+        @Label("Spent Turn")
+        public boolean spentTurn;
+    }
+
+    @Name("desia.SaveWrite")
+    @Label("Save Write")
+    @Category({"Desia", "IO"})
+    @StackTrace(false)
+    public static final class SaveWrite extends Event {
+        @Label("Path")
+        public String path;
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("desia.DataLoad")
+    @Label("Data Load")
+    @Category({"Desia", "IO"})
+    @StackTrace(false)
+    public static final class DataLoad extends Event {
+        @Label("Phase")
+        public String phase;
+    }
+}
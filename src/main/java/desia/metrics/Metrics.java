@@ -0,0 +1,94 @@
+package desia.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 프로세스 전역 지표 레지스트리(카운터/히스토그램/타이머).
+ *
+ * - 이름으로 한 번 얻어서 static final 필드나 엔진 필드에 들고 쓴다(기록 경로에 맵 조회가 없게).
+ * - 같은 이름은 같은 객체. 다른 종류로 이미 등록된 이름이면 IllegalArgumentException.
+ * - -Ddesia.metrics=false 면 모든 기록이 아무것도 하지 않는다(시계도 읽지 않음).
+ * - 주기적 덤프는 MetricsReporter.
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("desia.metrics"));
+
+    private static final Map<String, Object> REGISTRY = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static Counter counter(String name) {
+        return get(name, Counter.class, () -> new Counter(ENABLED));
+    }
+
+    public static Histogram histogram(String name) {
+        return get(name, Histogram.class, () -> new Histogram(ENABLED));
+    }
+
+    public static Timer timer(String name) {
+        return get(name, Timer.class, () -> new Timer(ENABLED));
+    }
+
+    private static <T> T get(String name, Class<T> type, Supplier<T> make) {
+        Object m = REGISTRY.computeIfAbsent(name, k -> make.get());
+        if (!type.isInstance(m)) {
+            throw new IllegalArgumentException("지표 이름 충돌: " + name + " (" + m.getClass().getSimpleName() + ")");
+        }
+        return type.cast(m);
+    }
+
+    /**
+     * 지금 값(이름순). 카운터는 Long, 히스토그램은 {count, mean, min, p50, p90, p99, max},
+     * 타이머는 같은 필드를 마이크로초(double, unit=us)로 준다. 한 번도 기록되지 않은 히스토그램/타이머는 뺀다.
+     */
+    public static SortedMap<String, Object> snapshot() {
+        SortedMap<String, Object> out = new TreeMap<>();
+        REGISTRY.forEach((name, m) -> {
+            if (m instanceof Counter c) {
+                out.put(name, c.get());
+            } else if (m instanceof Histogram h) {
+                Histogram.Snapshot s = h.snapshot();
+                if (s.count() > 0) out.put(name, summary(s));
+            } else if (m instanceof Timer t) {
+                Histogram.Snapshot s = t.snapshot();
+                if (s.count() > 0) out.put(name, micros(s));
+            }
+        });
+        return out;
+    }
+
+    private static Map<String, Object> summary(Histogram.Snapshot s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", s.count());
+        m.put("mean", round(s.mean()));
+        m.put("min", s.min());
+        m.put("p50", s.p50());
+        m.put("p90", s.p90());
+        m.put("p99", s.p99());
+        m.put("max", s.max());
+        return m;
+    }
+
+    private static Map<String, Object> micros(Histogram.Snapshot s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", s.count());
+        m.put("mean", round(s.mean() / 1000));
+        m.put("min", round(s.min() / 1000.0));
+        m.put("p50", round(s.p50() / 1000.0));
+        m.put("p90", round(s.p90() / 1000.0));
+        m.put("p99", round(s.p99() / 1000.0));
+        m.put("max", round(s.max() / 1000.0));
+        m.put("unit", "us");
+        return m;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
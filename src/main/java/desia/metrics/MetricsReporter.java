@@ -0,0 +1,135 @@
+package desia.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics 를 주기적으로 텍스트/JSON 으로 내보낸다.
+ *
+ * 파일이면 매번 통째로 덮어쓴다(tmp 에 쓰고 이동, 읽는 쪽이 반쪽 파일을 보지 않게).
+ * 확장자가 .json 이면 JSON, 아니면 텍스트. 경로가 "-" 면 System.err 로 텍스트를 찍는다.
+ * JVM 종료 시 마지막으로 한 번 더 쓴다.
+ *
+ * 진입점들은 startFromProperties() 만 부른다:
+ *   -Ddesia.metrics.dump=build/metrics.json  -Ddesia.metrics.interval=10 (초)
+ */
+public final class MetricsReporter {
+
+    private static final ObjectMapper OM = new ObjectMapper();
+    private static final long STARTED = System.nanoTime();
+
+    private final Path path;
+    private final ScheduledExecutorService timer;
+
+    private MetricsReporter(Path path, long intervalSeconds) {
+        this.path = path;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "desia-metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        long every = Math.max(1, intervalSeconds);
+        timer.scheduleAtFixedRate(this::dumpQuietly, every, every, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param path null 이면 System.err 에 텍스트
+     */
+    public static MetricsReporter start(Path path, long intervalSeconds) {
+        MetricsReporter r = new MetricsReporter(path, intervalSeconds);
+        Runtime.getRuntime().addShutdownHook(new Thread(r::stopAndDump, "desia-metrics-final"));
+        return r;
+    }
+
+    /** desia.metrics.dump 가 없으면 아무것도 하지 않고 null. */
+    public static MetricsReporter startFromProperties() {
+        String dump = System.getProperty("desia.metrics.dump");
+        if (dump == null || dump.isBlank() || !Metrics.ENABLED) return null;
+        long interval = 10;
+        try {
+            interval = Long.parseLong(System.getProperty("desia.metrics.interval", "10"));
+        } catch (NumberFormatException e) {
+            System.out.println("[metrics] 잘못된 desia.metrics.interval, 10초로: " + e.getMessage());
+        }
+        return start("-".equals(dump) ? null : Paths.get(dump), interval);
+    }
+
+    public void stopAndDump() {
+        timer.shutdownNow();
+        dumpQuietly();
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (Exception e) {
+            System.err.println("[metrics] 덤프 실패: " + e.getMessage());
+        }
+    }
+
+    public synchronized void dump() throws IOException {
+        if (path == null) {
+            PrintStream err = System.err;
+            err.print(text(Metrics.snapshot()));
+            err.flush();
+            return;
+        }
+        writeSnapshot(path);
+    }
+
+    /** 지금 값을 path 에 한 번 쓴다(.json 이면 JSON, 아니면 텍스트). */
+    public static void writeSnapshot(Path path) throws IOException {
+        boolean asJson = path.getFileName().toString().endsWith(".json");
+        byte[] bytes = asJson ? json(Metrics.snapshot()) : text(Metrics.snapshot()).getBytes(StandardCharsets.UTF_8);
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static byte[] json(Map<String, Object> snapshot) throws IOException {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("uptimeMs", (System.nanoTime() - STARTED) / 1_000_000);
+        doc.put("metrics", snapshot);
+        return OM.writerWithDefaultPrettyPrinter().writeValueAsBytes(doc);
+    }
+
+    static String text(Map<String, Object> snapshot) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[metrics] uptime ").append((System.nanoTime() - STARTED) / 1_000_000).append("ms\n");
+        int width = 0;
+        for (String k : snapshot.keySet()) width = Math.max(width, k.length());
+        for (Map.Entry<String, Object> e : snapshot.entrySet()) {
+            sb.append("  ").append(e.getKey());
+            sb.append(" ".repeat(width - e.getKey().length() + 2));
+            if (e.getValue() instanceof Map<?, ?> m) {
+                boolean first = true;
+                for (Map.Entry<?, ?> f : m.entrySet()) {
+                    if ("unit".equals(f.getKey())) continue;
+                    if (!first) sb.append(' ');
+                    sb.append(f.getKey()).append('=').append(f.getValue());
+                    first = false;
+                }
+                Object unit = m.get("unit");
+                if (unit != null) sb.append(' ').append(unit);
+            } else {
+                sb.append(e.getValue());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package desia.metrics;
+
+/**
+ * 경과 시간(나노초) 분포.
+ *
+ * <pre>
+ * long t0 = timer.start();
+ * ...
+ * timer.stop(t0);
+ * </pre>
+ * 꺼져 있으면 start() 가 시계를 읽지 않는다.
+ */
+public final class Timer {
+
+    private final boolean on;
+    private final Histogram nanos;
+
+    Timer(boolean on) {
+        this.on = on;
+        this.nanos = new Histogram(on);
+    }
+
+    public long start() {
+        return on ? System.nanoTime() : 0L;
+    }
+
+    /** @return 이번 경과 시간(ns). 꺼져 있으면 0. */
+    public long stop(long startNanos) {
+        if (!on) return 0L;
+        long d = System.nanoTime() - startNanos;
+        nanos.record(d);
+        return d;
+    }
+
+    public void recordNanos(long nanos) {
+        this.nanos.record(nanos);
+    }
+
+    public Histogram.Snapshot snapshot() {
+        return nanos.snapshot();
+    }
+}
@@ -1,9 +1,12 @@
 package desia.progress;
 
+import desia.Character.EnemyInstance;
 import desia.battle.BattleEngine;
 import desia.equipment.EquipmentDropService;
 import desia.equipment.EquipmentService;
 import desia.inventory.InventoryService;
+import desia.io.AsyncIo;
+import desia.io.InputFlow;
 import desia.io.Io;
 import desia.loader.SaveService;
 import desia.shop.ShopService;
@@ -11,6 +14,8 @@ import desia.story.StoryService;
 import desia.ui.ConsoleUi;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * "게임 루프" 전용 엔진.
@@ -20,7 +25,7 @@ import java.util.List;
  * - 스토리 문구는 story.json에서 수정 가능
  */
 public class CampaignEngine {
-    private final Io io;
+    private final AsyncIo io;
     private final StoryService story;
     private final BattleEngine battle;
     private final ShopService shop;
@@ -30,60 +35,115 @@ public class CampaignEngine {
     private final SaveService save;
 
     public CampaignEngine(Io io, StoryService story) {
+        this(AsyncIo.of(io), story);
+    }
+
+    /**
+     * 입력을 기다리는 동안 스레드를 잡지 않는 엔진.
+     * 허브 메뉴/스테이터스/전투는 상태 머신으로 돌고,
+     * 아직 블로킹 Io 로 짜인 화면(상점, 인벤토리, 장비, 저장, 스토리 선택지, 드랍 선택)은 io.callBlocking 으로 연다.
+     * 문자열 스토리는 StoryService.showStory 로 출력만 하고 io.continueAsync 로 기다린다.
+     */
+    public CampaignEngine(AsyncIo io, StoryService story) {
         this.io = io;
         this.story = story;
         /* battle, shop, inv는 CampaignEngine 클래스에 선언된 필드다(매개변수가 아님).
          * 생성자에서 new로 객체를 생성해 해당 필드에 대입함으로써,
          * CampaignEngine이 BattleEngine, ShopService, InventoryService 객체를 소유하게 된다.
          * 그 결과 CampaignEngine 내부에서 이 객체들의 메서드를 호출할 수 있다. */
+        Io blocking = io.blocking();
         this.battle = new BattleEngine(io);
-        this.shop = new ShopService(io);
-        this.inv = new InventoryService(io);
-        this.equip = new EquipmentService(io);
-        this.drops = new EquipmentDropService(io);
-        this.save = new SaveService(io);
+        this.shop = new ShopService(blocking);
+        this.inv = new InventoryService(blocking);
+        this.equip = new EquipmentService(blocking);
+        this.drops = new EquipmentDropService(blocking);
+        this.save = new SaveService(blocking);
     }
 
     // 게임의 메인 메뉴. 메인 루프이다. session 변수가 현재 상태에 대한 값(챕터 값, )들을 전달해준다.
     public void run(GameSession session) {
-        while (!session.isFinalChapterCleared()) {
+        InputFlow.join(runAsync(session));
+    }
+
+    /** 캠페인 루프를 시작한다. 메인메뉴로 나가거나 게임 오버/클리어하면 완료된다. */
+    public CompletableFuture<Void> runAsync(GameSession session) {
+        return new Campaign(session).start();
+    }
+
+    // 허브 메뉴 -> (진행이면) 액트 -> 다음 액트. 입력이 필요한 곳에서만 끊긴다.
+    private final class Campaign extends InputFlow<Void> {
+        private final GameSession session;
+
+        Campaign(GameSession session) {
+            this.session = session;
+        }
+
+        @Override
+        protected void begin() {
+            // 레벨업/아이템 사용 문구는 이벤트로 나간다: 화면 렌더러를 세션 버스에 붙인다(중복 무시).
+            session.events().add(io.eventRenderer());
+            go(this::hub);
+        }
+
+        private void hub() {
+            if (session.isFinalChapterCleared()) {
+                story.showStory("game.clear");
+                await(io.continueAsync(), v -> finish(null));
+                return;
+            }
             ChapterConfig cfg = session.chapterConfig();
             if (cfg == null) {
                 System.out.println("chapters.json 설정이 비정상입니다. chapter=" + session.getChapter());
+                finish(null);
                 return;
             }
             printChapterActHeader(session, cfg);
 
             // 허브 메뉴(전투 밖)
-            int cmd = io.choose("[메뉴]", List.of("진행", "스테이터스", "인벤토리", "장비", "저장", "메인메뉴"));
-            if (cmd == 2) {
-                printStatus(session);
-                continue;
-            }
-            if (cmd == 3) {
-                inv.open(session);
-                continue;
-            }
-            if (cmd == 4) {
-                equip.open(session);
-                continue;
-            }
-            if (cmd == 5) {
-                save.saveWithMenu(session);
-                continue;
+            await(io.chooseAsync("[메뉴]", List.of("진행", "스테이터스", "인벤토리", "장비", "저장", "메인메뉴")),
+                    cmd -> menu(cmd, cfg));
+        }
+
+        private void menu(int cmd, ChapterConfig cfg) {
+            switch (cmd) {
+                case 2 -> {
+                    printStatus(session);
+                    await(io.continueAsync(), v -> go(this::hub));
+                }
+                case 3 -> screen(() -> inv.open(session));
+                case 4 -> screen(() -> equip.open(session));
+                case 5 -> screen(() -> save.saveWithMenu(session));
+                case 6 -> finish(null);
+                // 진행(= act 수행)
+                default -> {
+                    session.setActInProgress(true);
+                    await(resolveAct(session, cfg), this::actDone);
+                }
             }
-            if (cmd == 6){
+        }
+
+        private void actDone(boolean ok) {
+            session.setActInProgress(false);
+            if (!ok) { // 게임 오버
+                finish(null);
                 return;
             }
-
-            // 진행(= act 수행)
-            boolean ok = resolveAct(session, cfg);
-            if (!ok) return; // 게임 오버
             // 다음 act/chapter
-            advance(session);
+            if (advance(session)) {
+                story.showStory("chapter.clear");
+                await(io.continueAsync(), v -> go(this::hub));
+                return;
+            }
+            go(this::hub);
         }
 
-        story.printStory("game.clear");
+        // 블로킹 화면을 열고 닫히면 허브로
+        private void screen(Runnable body) {
+            await(io.callBlocking(() -> {
+                body.run();
+                return null;
+            }), v -> go(this::hub));
+        }
     }
 
     private void printChapterActHeader(GameSession session, ChapterConfig cfg) {
@@ -118,16 +178,15 @@ public class CampaignEngine {
         System.out.println("주문력: " + Math.round(session.getMagic()) + "  마법 저항력: " + Math.round(session.getMdef()));
         System.out.println("스피드: " + Math.round(session.getSpd()));
         System.out.println("소지금: " + Math.round(session.getGold())+"골드");
-        io.anythingToContinue();
     }
 
-    // 현재 챕터와 챕터의 몬스터 풀에 대한 정보를 수신함
-    private boolean resolveAct(GameSession session, ChapterConfig cfg) {
+    // 현재 챕터와 챕터의 몬스터 풀에 대한 정보를 수신함. 결과: 계속 진행 가능 여부(false = 게임 오버)
+    private CompletionStage<Boolean> resolveAct(GameSession session, ChapterConfig cfg) {
         int act = session.getAct();
         // 마지막(12번째) 액트 상태일 경우, 최종보스와 전투 시작
         if (act == 12) {
-            story.printStory("chapter." + cfg.getId() + ".boss");
-            return doBattle(session, cfg.getBoss(), true);
+            story.showStory("chapter." + cfg.getId() + ".boss");
+            return io.continueAsync().thenCompose(v -> doBattle(session, cfg.getBoss(), true));
         }
 
         // 챕터당 상점은 정확히 1번만 등장
@@ -137,10 +196,12 @@ public class CampaignEngine {
                 session.setMerchantSchedule(act, false);
             }
             if (act == session.getMerchantActThisChapter()) {
-                story.printStory("chapter." + cfg.getId() + ".shop");
-                shop.open(session);
-                session.markMerchantDone();
-                return true;
+                story.showStory("chapter." + cfg.getId() + ".shop");
+                return io.continueAsync().thenCompose(v -> io.callBlocking(() -> {
+                    shop.open(session);
+                    session.markMerchantDone();
+                    return true;
+                }));
             }
         }
 
@@ -150,41 +211,48 @@ public class CampaignEngine {
             case STORY:
                 String key = rollStoryKey(session, cfg);
                 if (key == null) {
-                    story.printStory("story.fallback");
-                    return true;
+                    story.showStory("story.fallback");
+                    return io.continueAsync().thenApply(v -> true);
                 }
 
                 // story.json이 문자열이면 기존처럼 출력만 하고 끝.
                 // 객체(선택지/이벤트)면 StoryService가 선택지를 진행하고,
                 // 전투가 트리거되면 BattleRequest로 되돌려준다.
-                var action = story.play(session, cfg, key, drops);
-                if (action != null && action.hasBattle()) {
-                    var br = action.battleRequest();
-                    return doBattle(session, br.enemyName(), br.boss());
-                }
-                return true;
+                return io.callBlocking(() -> story.play(session, cfg, key, drops))
+                        .thenCompose(action -> {
+                            if (action != null && action.hasBattle()) {
+                                var br = action.battleRequest();
+                                return doBattle(session, br.enemyName(), br.boss());
+                            }
+                            return CompletableFuture.completedFuture(true);
+                        });
             case BATTLE:
             default:
-                story.printStory("chapter." + cfg.getId() + ".battle");
+                story.showStory("chapter." + cfg.getId() + ".battle");
                 String enemyName = rollEnemy(session, cfg);
-                return doBattle(session, enemyName, false);
+                return io.continueAsync().thenCompose(v -> doBattle(session, enemyName, false));
         }
     }
 
     // 전투 함수 fight에 정보를 넘겨주는 메소드
-    private boolean doBattle(GameSession session, String enemyName, boolean isBoss) {
+    private CompletionStage<Boolean> doBattle(GameSession session, String enemyName, boolean isBoss) {
+        EnemyInstance enemy;
         try {
-            var enemy = session.spawnEnemy(enemyName, isBoss);
-            var outcome = battle.fight(session, enemy);
+            enemy = session.spawnEnemy(enemyName, isBoss);
+        } catch (Exception e) {
+            System.out.println("전투 시작 실패: " + e.getMessage());
+            return CompletableFuture.completedFuture(true); // 루프를 막지 않게 진행
+        }
 
+        return battle.fightAsync(session, enemy).thenCompose(outcome -> {
             // 1) 패배
             if (outcome == desia.battle.BattleOutcome.LOSE) {
-                return false;
+                return CompletableFuture.completedFuture(false);
             }
 
             // 2) 도망
             if (outcome == desia.battle.BattleOutcome.ESCAPE) {
-                return true; // 진행은 계속, 보상 없음
+                return CompletableFuture.completedFuture(true); // 진행은 계속, 보상 없음
             }
 
             // 3) 승리 (WIN)
@@ -208,15 +276,13 @@ public class CampaignEngine {
                     + Math.round(session.expToNextLevel() - session.getExp()) + ")");
 
             // 전투 승리 보상: 장비 랜덤 드랍(3개 중 1개 선택)
-            drops.onBattleWin(session, enemy);
-            io.anythingToContinue();
-
-            return true;
-
-        } catch (Exception e) {
-            System.out.println("전투 시작 실패: " + e.getMessage());
-            return true; // 루프를 막지 않게 진행
-        }
+            return io.callBlocking(() -> {
+                        drops.onBattleWin(session, enemy);
+                        return null;
+                    })
+                    .thenCompose(v -> io.continueAsync())
+                    .thenApply(v -> true);
+        });
     }
 
 
@@ -247,17 +313,18 @@ public class CampaignEngine {
         return keys.get(session.rng().nextInt(keys.size()));
     }
 
-    private void advance(GameSession session) {
+    // 다음 액트로. 결과: 챕터를 클리어했는지(클리어 문구는 호출한 쪽이 띄우고 입력을 기다린다)
+    private boolean advance(GameSession session) {
         int act = session.getAct();
         if (act < 12) {
             session.setAct(act + 1);
-            return;
+            return false;
         }
 
         // 챕터 클리어
-        story.printStory("chapter.clear");
         session.setChapter(session.getChapter() + 1);
         session.setAct(1);
         session.resetMerchantForNewChapter();
+        return true;
     }
 }
@@ -1,9 +1,7 @@
 package desia.progress;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import desia.loader.DataLoader;
 
-import java.io.InputStream;
 import java.util.*;
 
 /*
@@ -15,8 +13,14 @@ public class ChapterRepository {
     private final List<ChapterConfig> chapters;
     private final Map<Integer, ChapterConfig> byId;
 
+    // chapters.json을 직접 읽는다(단독 사용/테스트용). 게임/시뮬레이션은 GameData.chapters()를 쓸 것.
     public ChapterRepository() {
-        this.chapters = loadChapters();
+        this(new DataLoader().loadChapters());
+    }
+
+    // DataLoader.loadAll이 이미 읽은 목록으로 만든다.
+    public ChapterRepository(List<ChapterConfig> chapters) {
+        this.chapters = List.copyOf(chapters);
         Map<Integer, ChapterConfig> map = new HashMap<>();
         for (ChapterConfig c : chapters) map.put(c.getId(), c);
         this.byId = Collections.unmodifiableMap(map);
@@ -28,19 +32,12 @@ public class ChapterRepository {
         return cfg;
     }
 
-    public int maxChapterId() {
-        return chapters.stream().mapToInt(ChapterConfig::getId).max().orElse(1);
+    /** 전체 챕터 목록(chapters.json 순서, 읽기 전용). */
+    public List<ChapterConfig> all() {
+        return chapters;
     }
 
-    private List<ChapterConfig> loadChapters() {
-        try (InputStream in = getClass().getClassLoader().getResourceAsStream("chapters.json")) {
-            if (in == null)
-                throw new RuntimeException("chapters.json 리소스가 발견되지 않음");
-
-            ObjectMapper om = new ObjectMapper();
-            return om.readValue(in, new TypeReference<List<ChapterConfig>>() {});
-        } catch (Exception e) {
-            throw new RuntimeException("chapters.json 로딩 실패: " + e.getMessage(), e);
-        }
+    public int maxChapterId() {
+        return chapters.stream().mapToInt(ChapterConfig::getId).max().orElse(1);
     }
 }
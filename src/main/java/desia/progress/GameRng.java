@@ -0,0 +1,50 @@
+package desia.progress;
+
+import java.util.Random;
+
+/**
+ * 세션 하나의 모든 난수를 담당하는 시드 기반 난수 서비스.
+ *
+ * - 시드 1개에서 RngStream별 Random을 파생한다(SplitMix64 혼합).
+ * - 같은 시드 + 같은 입력이면 같은 게임이 재현된다.
+ * - 스레드 안전하지 않다(세션 1개 = 스레드 1개 기준).
+ */
+public final class GameRng {
+
+    private final long seed;
+    private final Random[] streams = new Random[RngStream.values().length];
+
+    public GameRng(long seed) {
+        this.seed = seed;
+    }
+
+    /** 시드를 정하지 않은 일반 플레이용. */
+    public static GameRng unseeded() {
+        return new GameRng(mix(System.nanoTime() ^ System.identityHashCode(new Object())));
+    }
+
+    public long seed() { return seed; }
+
+    /** 해당 스트림의 Random. 같은 GameRng 안에서는 항상 같은 객체를 돌려준다. */
+    public Random stream(RngStream s) {
+        int i = s.ordinal();
+        Random r = streams[i];
+        if (r == null) {
+            r = new Random(streamSeed(seed, s));
+            streams[i] = r;
+        }
+        return r;
+    }
+
+    /** 스트림 시드 파생 규칙(리플레이/시뮬레이션에서 같은 값을 다시 만들 때 사용). */
+    public static long streamSeed(long seed, RngStream s) {
+        return mix(seed + 0x9E3779B97F4A7C15L * (s.ordinal() + 1));
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
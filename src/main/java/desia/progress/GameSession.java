@@ -3,11 +3,21 @@ package desia.progress;
 import desia.Character.Enemy;
 import desia.Character.EnemyInstance;
 import desia.Character.Player;
+import desia.battle.EnemyPolicy;
 import desia.item.Consumables;
 import desia.item.EquipmentDef;
 import desia.item.EquipmentSetDef;
+import desia.item.EquipmentSetIndex;
 import desia.item.SetBonusDef;
+import desia.item.StatKey;
+import desia.item.StatVector;
+import desia.loader.GameData;
 import desia.combat.Combatant;
+import desia.equipment.DropWeights;
+import desia.equipment.LootTables;
+import desia.event.EventBus;
+import desia.event.EventTaps;
+import desia.event.GameEvent;
 import desia.status.StatusContainer;
 import desia.skill.SkillDef;
 import desia.skill.SkillUnlockRepository;
@@ -16,8 +26,10 @@ import java.util.*;
 
 public class GameSession implements Combatant {
 
-    // 랜덤함수 사용을 위해 생성
-    private final Random rng = new Random();
+    // 랜덤함수는 전부 GameRng를 거친다(시드를 알면 재현 가능).
+    private final GameRng rngService;
+    // WORLD 스트림. 기존 rng() 호출부가 그대로 쓴다.
+    private final Random rng;
 
     // 장비 슬롯 키(세이브에도 그대로 저장됨)
     public static final String SLOT_HELMET = "HELMET";
@@ -51,13 +63,23 @@ public class GameSession implements Combatant {
     private double bonusSpd = 0;
 
     // 직업 레벨업 스킬 해금(세이브에 저장하지 않고, 레벨/설정으로 재계산)
-    private final SkillUnlockRepository skillUnlockRepo = new SkillUnlockRepository();
+    private final SkillUnlockRepository skillUnlockRepo;
     private final LinkedHashSet<String> knownSkillNames = new LinkedHashSet<>();
 
+    // 드랍/상점 희귀도 가중치(null이면 drop_weights.json 기본값). 테이블은 처음 쓸 때 만든다.
+    private final DropWeights dropWeights;
+    private LootTables lootTables;
+
+    // 적 행동 규칙(enemy_ai.json 컴파일 결과, 세션끼리 공유). null이면 기존 규칙(EnemyPolicy.DEFAULT)
+    private final EnemyPolicy enemyPolicy;
+
 
     // 상태이상(전투 중). 전투 시작 시 초기화
     private final StatusContainer statuses = new StatusContainer();
 
+    // 게임 이벤트(전투/레벨업/드랍...). sink 가 없으면(헤드리스) 이벤트를 만들지 않는다. 세이브에 저장하지 않음.
+    private final EventBus events = new EventBus();
+
     // 게임 진행도. 챕터, 액트
     private int chapter = 1;
     private int act = 1; // 1~12
@@ -66,6 +88,9 @@ public class GameSession implements Combatant {
     private int merchantActThisChapter = 1; // 1~11
     private boolean merchantDoneThisChapter = false;
 
+    // 액트(전투/상점/스토리)를 진행하는 중인지. 저장하지 않는다. 호스트가 다른 스레드에서 읽는다.
+    private volatile boolean actInProgress = false;
+
     private double gold = 200; // 소지금
 
     // 인벤토리: 아이템 이름 -> 개수
@@ -82,15 +107,22 @@ public class GameSession implements Combatant {
     // 장착 장비: 슬롯키 -> 장비 이름
     private final Map<String, String> equipped = new LinkedHashMap<>();
 
-    // 장비/세트 보너스(장착 변경 시 재계산)
-    private double equipMaxHp = 0;
-    private double equipMaxMp = 0;
-    private double equipAtk = 0;
-    private double equipMagic = 0;
-    private double equipDef = 0;
-    private double equipMdef = 0;
-    private double equipSpd = 0;
-    private double equipMaxShield = 0;
+    // 레벨/영구 보너스/장비 합으로 만든 최종 스탯(StatKey 순서, 실드 칸은 미사용).
+    // statsVersion 이 바뀔 때만 다시 계산한다. 외부 캐시는 statsVersion()으로 무효화를 판단할 수 있다.
+    private final double[] derived = new double[StatKey.COUNT];
+    private int statsVersion = 0;
+    private int derivedVersion = -1;
+
+    // 장비/세트 보너스 합계(StatKey 순서). 장착 변경 시 바뀐 만큼만 더하고 뺀다. 정수라 누적 오차 없음.
+    private final int[] equipStats = new int[StatKey.COUNT];
+
+    // 세트 부위 역색인 + 세트별 장착 부위 수
+    private final EquipmentSetIndex setIndex;
+    private final int[] setPieceCounts;
+    // 장비 이름 -> 그 장비를 낀 슬롯 수(반지 2개처럼 같은 장비가 두 슬롯에 있을 수 있음)
+    private final Map<String, Integer> equippedCounts = new HashMap<>();
+    // 특수 태그 -> 그 태그를 준 활성 세트 구간 수
+    private final Map<String, Integer> specialTagCounts = new HashMap<>();
 
     private final Set<String> activeSpecialTags = new LinkedHashSet<>();
 
@@ -105,9 +137,20 @@ public class GameSession implements Combatant {
                         Map<String, SkillDef> skillByName,
                         Map<String, EquipmentDef> equipmentByName,
                         Map<String, EquipmentSetDef> equipmentSetByName,
-                        ChapterRepository chapterRepo) {
+                        ChapterRepository chapterRepo,
+                        GameRng rngService,
+                        SkillUnlockRepository skillUnlockRepo,
+                        DropWeights dropWeights,
+                        EnemyPolicy enemyPolicy) {
+        this.skillUnlockRepo = (skillUnlockRepo == null) ? SkillUnlockRepository.defaults() : skillUnlockRepo;
+        this.dropWeights = dropWeights;
+        this.enemyPolicy = enemyPolicy;
+        this.rngService = (rngService == null) ? GameRng.unseeded() : rngService;
+        this.rng = this.rngService.stream(RngStream.WORLD);
         this.playerBase = playerBase;
         this.playerName = playerName;
+        // 진입점이 켠 기록용 sink(이벤트 로그/카운터). 없으면 버스는 비활성 그대로
+        EventTaps.attach(events);
         /* 게임세션에서 쓸 필드를 가져온다. 체력과 마나? 그건 playerBase가 받은 플레이어 객체의 최대 체력과 최대 마나를
          * 위에서 정의한 필드들(현재 체력과 현재 마나. 줄 14~)로 가져오는 것이다. 매개변수에 없더라도 말이 되는 것.
          * 이로써 원본 정의 데이터(playerBase. Player타입 변수)와 게임 중에 실제로 사용하면서 변하는 데이터(GameSession 객체)가 구분되는 것이다.
@@ -123,6 +166,8 @@ public class GameSession implements Combatant {
         this.skillByName = skillByName;
         this.equipmentByName = equipmentByName;
         this.equipmentSetByName = equipmentSetByName;
+        this.setIndex = EquipmentSetIndex.of(equipmentSetByName);
+        this.setPieceCounts = new int[setIndex.setCount()];
         initEquipSlots();
         recalcEquipmentBonuses();
 
@@ -149,6 +194,10 @@ public class GameSession implements Combatant {
 
     public void markMerchantDone() { this.merchantDoneThisChapter = true; }
 
+    /** 액트 진행 중(허브 메뉴로 돌아오기 전)이면 true. SessionHost 는 이때 세션을 내리지 않는다. */
+    public boolean isActInProgress() { return actInProgress; }
+    public void setActInProgress(boolean actInProgress) { this.actInProgress = actInProgress; }
+
     // 세이브/로드용
     public void setMerchantSchedule(int merchantAct, boolean done) {
         int a = merchantAct;
@@ -167,9 +216,34 @@ public class GameSession implements Combatant {
                                          Map<String, EquipmentSetDef> equipmentSetByName,
                                          ChapterRepository chapterRepo,
                                          String playerName) {
+        return newSession(chosen, enemyByName, consumableByName, skillByName, equipmentByName, equipmentSetByName,
+                chapterRepo, playerName, GameRng.unseeded());
+    }
+
+    // GameData 하나로 세션 생성(챕터/스킬 해금 규칙까지 GameData의 것을 공유, 리소스 재로딩 없음)
+    public static GameSession newSession(GameData data, Player chosen, String playerName, GameRng rngService) {
+        GameSession s = new GameSession(chosen, playerName, data.enemies(), data.consumables(), data.skills(),
+                data.equipments(), data.equipmentSets(), data.chapters(), rngService, data.skillUnlocks(), data.dropWeights(),
+                data.enemyAi());
+        return withStartingItems(s);
+    }
+
+    // 시드 고정 세션(재현/리플레이/시뮬레이션용)
+    public static GameSession newSession(Player chosen,
+                                         Map<String, Enemy> enemyByName,
+                                         Map<String, Consumables> consumableByName,
+                                         Map<String, SkillDef> skillByName,
+                                         Map<String, EquipmentDef> equipmentByName,
+                                         Map<String, EquipmentSetDef> equipmentSetByName,
+                                         ChapterRepository chapterRepo,
+                                         String playerName,
+                                         GameRng rngService) {
         // 정의 데이터(Map) 생성은 DataLoader가 담당한다.
-        GameSession s = new GameSession(chosen, playerName, enemyByName, consumableByName, skillByName, equipmentByName, equipmentSetByName, chapterRepo);
+        GameSession s = new GameSession(chosen, playerName, enemyByName, consumableByName, skillByName, equipmentByName, equipmentSetByName, chapterRepo, rngService, null, null, null);
+        return withStartingItems(s);
+    }
 
+    private static GameSession withStartingItems(GameSession s) {
         // 시작 아이템(테스트용)
         s.addItem("'보호막' 스크롤", 2);
         s.addItem("체력 포션", 3);
@@ -242,12 +316,21 @@ public class GameSession implements Combatant {
     // 물론, private임에도 0개면 필요없는 게 맞다.
     public Random rng() { return rng; }
 
+    // 용도별 난수 스트림
+    public Random rng(RngStream stream) { return rngService.stream(stream); }
+    public GameRng rngService() { return rngService; }
+
     public Player getPlayerBase() { return playerBase; }
     public String getPlayerName() { return playerName;}
 
     @Override
     public String getNameForStatus() { return playerName; }
 
+    @Override
+    public boolean isPlayer() { return true; }
+
+    public EventBus events() { return events; }
+
     @Override
     public StatusContainer statuses() { return statuses; }
 
@@ -263,7 +346,7 @@ public class GameSession implements Combatant {
 
     /** 장비(방패 등)로부터 "전투 밖/전투 종료 후에도 남는" 기본 실드. */
     public double getEquipBaseShield() {
-        return Math.max(0, Math.round(equipMaxShield));
+        return Math.max(0, equipStat(StatKey.MAX_SHIELD));
     }
 
 
@@ -285,6 +368,7 @@ public class GameSession implements Combatant {
 
     public void setLevel(int level){
         this.level = Math.max(1,level);
+        markStatsChanged();
         setHp(hp);
         setMp(mp);
     }
@@ -310,6 +394,7 @@ public class GameSession implements Combatant {
                 break;
             exp -= need;
             level += 1;
+            markStatsChanged();
 
             // 레벨업 시 보상: "최대치의 절반"만큼 회복(정수)
             long healHp = Math.max(1, Math.round(getMaxHp() * 0.5));
@@ -319,16 +404,14 @@ public class GameSession implements Combatant {
 
             // 레벨업 스킬 해금
             List<String> newly = skillUnlockRepo.skillsUnlockedAt(playerBase.getClasses(), level);
-            if (newly != null && !newly.isEmpty()) {
-                List<String> added = new ArrayList<>();
+            List<String> added = new ArrayList<>();
+            if (newly != null) {
                 for (String s : newly) {
                     if (s == null || s.isBlank()) continue;
                     if (knownSkillNames.add(s)) added.add(s);
                 }
-                if (!added.isEmpty()) {
-                    System.out.println("\n[스킬 습득] " + String.join(", ", added));
-                }
             }
+            if (events.active()) events.publish(new GameEvent.LevelUp(playerName, level, List.copyOf(added)));
 
         }
     }
@@ -336,36 +419,60 @@ public class GameSession implements Combatant {
     // 성장한 만큼의 스탯을 계산해서 반환하는 함수
     private double scale(double base, double growth) { return base + growth*(level - 1);}
 
-    // scale 함수를 이용한 getter 함수들
-    public double getMaxHp() {
-        double v = scale(playerBase.getMaxHp(), playerBase.getGrowthMaxHp()) + bonusMaxHp + equipMaxHp;
-        return Math.max(1, Math.round(v));
-    }
-    public double getMaxMp() {
-        double v = scale(playerBase.getMaxMp(), playerBase.getGrowthMaxMp()) + bonusMaxMp + equipMaxMp;
-        return Math.max(0, Math.round(v));
-    }
-    public double getAtk() {
-        double v = scale(playerBase.getAtk(), playerBase.getGrowthAtk()) + bonusAtk + equipAtk;
-        return Math.max(0, Math.round(v));
+    // 레벨/영구 보너스/장비가 바뀌면 호출. 다음 getter 에서 최종 스탯을 다시 계산한다.
+    private void markStatsChanged() {
+        statsVersion++;
     }
-    public double getMagic() {
-        double v = scale(playerBase.getMagic(), playerBase.getGrowthMagic()) + bonusMagic + equipMagic;
-        return Math.max(0, Math.round(v));
-    }
-    public double getDef() {
-        double v = scale(playerBase.getDef(), playerBase.getGrowthDef()) + bonusDef + equipDef;
-        return Math.max(0, Math.round(v));
+
+    /** 최종 스탯이 바뀔 때마다 증가하는 값. 같으면 getMaxHp/getAtk 등의 결과도 같다. */
+    @Override
+    public int statsVersion() {
+        return statsVersion;
     }
-    public double getMdef() {
-        double v = scale(playerBase.getMdef(), playerBase.getGrowthMdef()) + bonusMdef + equipMdef;
-        return Math.max(0, Math.round(v));
+
+    private double derived(StatKey k) {
+        if (derivedVersion != statsVersion) recomputeDerived();
+        return derived[k.ordinal()];
     }
-    public double getSpd() {
-        double v = scale(playerBase.getSpd(), playerBase.getGrowthSpd()) + bonusSpd + equipSpd;
-        return Math.max(0, Math.round(v));
+
+    // scale 함수를 이용한 최종 스탯 계산(캐시 갱신)
+    private void recomputeDerived() {
+        derived[StatKey.MAX_HP.ordinal()] = Math.max(1, Math.round(statWithoutEquipment(StatKey.MAX_HP) + equipStat(StatKey.MAX_HP)));
+        derived[StatKey.MAX_MP.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.MAX_MP) + equipStat(StatKey.MAX_MP)));
+        derived[StatKey.ATTACK.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.ATTACK) + equipStat(StatKey.ATTACK)));
+        derived[StatKey.SPELL_POWER.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.SPELL_POWER) + equipStat(StatKey.SPELL_POWER)));
+        derived[StatKey.DEFENSE.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.DEFENSE) + equipStat(StatKey.DEFENSE)));
+        derived[StatKey.MAGIC_RESIST.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.MAGIC_RESIST) + equipStat(StatKey.MAGIC_RESIST)));
+        derived[StatKey.SPEED.ordinal()] = Math.max(0, Math.round(statWithoutEquipment(StatKey.SPEED) + equipStat(StatKey.SPEED)));
+        derivedVersion = statsVersion;
     }
 
+    /**
+     * 장비/세트를 뺀 스탯(레벨 성장 + 영구 보너스, 반올림 전).
+     * 최종 스탯 = max(하한, round(이 값 + 장비 합)). 자동 장착(LoadoutSolver)이 장비 조합을 평가할 때 쓴다.
+     */
+    public double statWithoutEquipment(StatKey k) {
+        return switch (k) {
+            case MAX_HP -> scale(playerBase.getMaxHp(), playerBase.getGrowthMaxHp()) + bonusMaxHp;
+            case MAX_MP -> scale(playerBase.getMaxMp(), playerBase.getGrowthMaxMp()) + bonusMaxMp;
+            case ATTACK -> scale(playerBase.getAtk(), playerBase.getGrowthAtk()) + bonusAtk;
+            case SPELL_POWER -> scale(playerBase.getMagic(), playerBase.getGrowthMagic()) + bonusMagic;
+            case DEFENSE -> scale(playerBase.getDef(), playerBase.getGrowthDef()) + bonusDef;
+            case MAGIC_RESIST -> scale(playerBase.getMdef(), playerBase.getGrowthMdef()) + bonusMdef;
+            case SPEED -> scale(playerBase.getSpd(), playerBase.getGrowthSpd()) + bonusSpd;
+            case MAX_SHIELD -> 0;
+        };
+    }
+
+    // 최종 스탯 getter 함수들(캐시에서 읽는다)
+    public double getMaxHp() { return derived(StatKey.MAX_HP); }
+    public double getMaxMp() { return derived(StatKey.MAX_MP); }
+    public double getAtk() { return derived(StatKey.ATTACK); }
+    public double getMagic() { return derived(StatKey.SPELL_POWER); }
+    public double getDef() { return derived(StatKey.DEFENSE); }
+    public double getMdef() { return derived(StatKey.MAGIC_RESIST); }
+    public double getSpd() { return derived(StatKey.SPEED); }
+
     // 플레이어의 현재 체력, 마나를 리턴하는 getter 함수
     public double getHp() { return hp; }
     public double getMp() { return mp; }
@@ -432,6 +539,13 @@ public class GameSession implements Combatant {
     public double getBonusMdef() { return bonusMdef; }
     public double getBonusSpd() { return bonusSpd; }
 
+    // 소모품/스토리 영구 스탯(실드는 영구 보너스가 없으므로 무시)
+    public void addPermanentStats(StatVector v) {
+        if (v == null) return;
+        addPermanentStats(v.get(StatKey.MAX_HP), v.get(StatKey.MAX_MP), v.get(StatKey.ATTACK), v.get(StatKey.SPELL_POWER),
+                v.get(StatKey.DEFENSE), v.get(StatKey.MAGIC_RESIST), v.get(StatKey.SPEED));
+    }
+
     public void addPermanentStats(double maxHp, double maxMp, double atk, double magic, double def, double mdef, double spd) {
         bonusMaxHp += Math.round(maxHp);
         bonusMaxMp += Math.round(maxMp);
@@ -440,6 +554,7 @@ public class GameSession implements Combatant {
         bonusDef += Math.round(def);
         bonusMdef += Math.round(mdef);
         bonusSpd += Math.round(spd);
+        markStatsChanged();
 
         // 최대치가 바뀌었을 수 있으므로 현재 자원 안전 클램프
         setHp(hp);
@@ -455,6 +570,7 @@ public class GameSession implements Combatant {
         this.bonusDef = Math.round(def);
         this.bonusMdef = Math.round(mdef);
         this.bonusSpd = Math.round(spd);
+        markStatsChanged();
     }
 
 
@@ -525,10 +641,28 @@ public class GameSession implements Combatant {
         return Collections.unmodifiableMap(equipmentByName);
     }
 
+    /** 장비 드랍/상점 진열용 alias 테이블(같은 장비 맵/설정이면 세션끼리 공유). */
+    public LootTables lootTables() {
+        if (lootTables == null) {
+            lootTables = LootTables.of(equipmentByName, (dropWeights == null) ? DropWeights.defaults() : dropWeights);
+        }
+        return lootTables;
+    }
+
+    /** 적 행동 규칙(GameData 로 만든 세션이면 enemy_ai.json, 아니면 기존 규칙). */
+    public EnemyPolicy enemyPolicy() {
+        return (enemyPolicy == null) ? EnemyPolicy.DEFAULT : enemyPolicy;
+    }
+
     public Map<String, EquipmentSetDef> equipmentSetsView() {
         return Collections.unmodifiableMap(equipmentSetByName);
     }
 
+    /** 세트 부위 역색인(세트 정의 맵이 같으면 세션끼리 공유). */
+    public EquipmentSetIndex equipmentSetIndex() {
+        return setIndex;
+    }
+
     // ===== 장착 상태 =====
     public Map<String, String> equippedView() {
         return Collections.unmodifiableMap(equipped);
@@ -559,8 +693,12 @@ public class GameSession implements Combatant {
         initEquipSlots();
         if (!equipped.containsKey(slotKey)) return;
         if (equipName != null && equipmentDef(equipName) == null) return;
-        equipped.put(slotKey, equipName);
-        recalcEquipmentBonuses();
+        String old = equipped.put(slotKey, equipName);
+        if (!Objects.equals(old, equipName)) {
+            unequipPiece(old);
+            equipPiece(equipName);
+        }
+        clampAfterEquipChange();
     }
 
     public Set<String> activeSpecialTagsView() {
@@ -585,7 +723,8 @@ public class GameSession implements Combatant {
         equipped.put(SLOT_WEAPON2, null);
     }
 
-    private boolean isTwoHand(EquipmentDef def) {
+    /** 양손 무기 판정(슬롯 이름에 "양손" 이 있거나 weapon_hand 가 TWO_HAND). */
+    public static boolean isTwoHand(EquipmentDef def) {
         if (def == null) return false;
         String s = def.getSlot();
         if (s != null && s.contains("양손")) return true;
@@ -598,57 +737,94 @@ public class GameSession implements Combatant {
         return isTwoHand(w1);
     }
 
-    private void recalcEquipmentBonuses() {
-        equipMaxHp = equipMaxMp = equipAtk = equipMagic = equipDef = equipMdef = equipSpd = equipMaxShield = 0;
+    // 전체 재계산(세션 생성/세이브 적용 시). 한 슬롯 변경은 setEquippedSlot 의 증분 경로를 탄다.
+    // 패키지 전용: 벤치마크(src/jmh)와 테스트에서 직접 호출한다.
+    void recalcEquipmentBonuses() {
+        Arrays.fill(equipStats, 0);
+        markStatsChanged();
+        Arrays.fill(setPieceCounts, 0);
+        equippedCounts.clear();
+        specialTagCounts.clear();
         activeSpecialTags.clear();
 
-        // (1) 장비 자체 스탯
-        for (String name : equipped.values()) {
-            if (name == null) continue;
-            EquipmentDef def = equipmentDef(name);
-            if (def == null) continue;
-            applyStatMap(def.getStats());
-        }
+        for (String name : equipped.values()) equipPiece(name);
+        clampAfterEquipChange();
+    }
 
-        // (2) 세트 보너스
-        for (Map.Entry<String, EquipmentSetDef> e : equipmentSetByName.entrySet()) {
-            EquipmentSetDef set = e.getValue();
-            if (set == null || set.getPieces() == null) continue;
+    // 장비 1개 장착: 자체 스탯 + (처음 끼는 이름이면) 속한 세트의 부위 수 증가
+    private void equipPiece(String name) {
+        if (name == null) return;
+        EquipmentDef def = equipmentDef(name);
+        if (def != null) applyStatMap(def.getStats(), 1);
 
-            int count = 0;
-            for (String piece : set.getPieces()) {
-                if (piece == null) continue;
-                if (equipped.containsValue(piece)) count++;
-            }
+        if (equippedCounts.merge(name, 1, Integer::sum) > 1) return; // 세트는 이름 기준으로 1번만 센다
+        for (int setId : setIndex.setsOf(name)) changeSetCount(setId, 1);
+    }
 
-            if (set.getBonuses() == null) continue;
-            for (SetBonusDef b : set.getBonuses()) {
-                if (b == null) continue;
-                if (count >= b.getPieces()) {
-                    applyStatMap(b.getStats());
-                    if (b.getSpecialTags() != null) activeSpecialTags.addAll(b.getSpecialTags());
-                }
+    private void unequipPiece(String name) {
+        if (name == null) return;
+        EquipmentDef def = equipmentDef(name);
+        if (def != null) applyStatMap(def.getStats(), -1);
+
+        Integer n = equippedCounts.get(name);
+        if (n == null) return;
+        if (n > 1) {
+            equippedCounts.put(name, n - 1);
+            return;
+        }
+        equippedCounts.remove(name);
+        for (int setId : setIndex.setsOf(name)) changeSetCount(setId, -1);
+    }
+
+    // 세트 부위 수가 delta 만큼 바뀔 때, 문턱을 넘은 구간의 보너스만 더하거나 뺀다.
+    private void changeSetCount(int setId, int delta) {
+        int before = setPieceCounts[setId];
+        int after = before + delta;
+        setPieceCounts[setId] = after;
+
+        List<SetBonusDef> bonuses = setIndex.set(setId).getBonuses();
+        if (bonuses == null) return;
+        for (SetBonusDef b : bonuses) {
+            if (b == null) continue;
+            boolean was = before >= b.getPieces();
+            boolean now = after >= b.getPieces();
+            if (was == now) continue;
+            int sign = now ? 1 : -1;
+            applyStatMap(b.getStats(), sign);
+            if (b.getSpecialTags() != null) {
+                for (String tag : b.getSpecialTags()) changeTag(tag, sign);
             }
         }
+    }
 
-        // (3) 장착 변경으로 최대치가 변했으니 현재치를 클램프
+    private void changeTag(String tag, int delta) {
+        if (tag == null) return;
+        int n = specialTagCounts.getOrDefault(tag, 0) + delta;
+        if (n > 0) {
+            specialTagCounts.put(tag, n);
+            activeSpecialTags.add(tag);
+        } else {
+            specialTagCounts.remove(tag);
+            activeSpecialTags.remove(tag);
+        }
+    }
+
+    // 장착 변경으로 최대치가 변했으니 현재치를 클램프
+    private void clampAfterEquipChange() {
         setHp(hp);
         setMp(mp);
         // 장비 기본 실드는 전투 밖에서도 유지된다.
         setShield(getEquipBaseShield());
     }
 
-    private void applyStatMap(Map<String, Integer> stats) {
+    private int equipStat(StatKey k) {
+        return equipStats[k.ordinal()];
+    }
+
+    private void applyStatMap(StatVector stats, int sign) {
         if (stats == null) return;
-        // equipment.json stat 키 -> GameSession 스탯으로 매핑
-        equipAtk += stats.getOrDefault("attack", 0);
-        equipMagic += stats.getOrDefault("spell_power", 0);
-        equipDef += stats.getOrDefault("defense", 0);
-        equipMdef += stats.getOrDefault("magic_resist", 0);
-        equipSpd += stats.getOrDefault("speed", 0);
-        equipMaxHp += stats.getOrDefault("max_hp", 0);
-        equipMaxMp += stats.getOrDefault("max_mp", 0);
-        equipMaxShield += stats.getOrDefault("max_shield", 0);
+        stats.addTo(equipStats, sign);
+        markStatsChanged();
     }
 
     public Map<String, Integer> inventoryView() {
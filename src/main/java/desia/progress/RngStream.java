@@ -0,0 +1,19 @@
+package desia.progress;
+
+/**
+ * GameRng에서 분리해 쓰는 난수 스트림 종류.
+ *
+ * 스트림마다 시드가 따로 파생되므로, 한 쪽(예: 상점)의 난수 소비량이 바뀌어도
+ * 다른 쪽(예: 전투) 결과는 그대로 유지된다.
+ * 순서(ordinal)가 시드 파생에 쓰이므로 새 항목은 맨 뒤에만 추가할 것.
+ */
+public enum RngStream {
+    /** 액트 종류, 적/스토리 선택, 상인 등장 액트, 적 레벨 */
+    WORLD,
+    /** 전투(도주, 적 행동, 스킬 상태이상 확률) */
+    BATTLE,
+    /** 전투 보상 장비 드랍 */
+    LOOT,
+    /** 상점 진열 */
+    SHOP
+}
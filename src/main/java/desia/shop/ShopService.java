@@ -5,16 +5,14 @@ import desia.item.Consumables;
 import desia.item.EquipmentDef;
 import desia.item.EquipmentSetDef;
 import desia.progress.GameSession;
+import desia.progress.RngStream;
 import desia.ui.ConsoleUi;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.Locale;
 import java.util.LinkedHashMap;
 import java.util.regex.Matcher;
@@ -93,13 +91,13 @@ public class ShopService {
         List<ShopEntry> out = new ArrayList<>();
         out.addAll(rollConsumables(session, consumableCount));
         out.addAll(rollEquipments(session, equipCount));
-        Collections.shuffle(out, session.rng());
+        Collections.shuffle(out, session.rng(RngStream.SHOP));
         return out;
     }
 
     private List<ShopEntry> rollConsumables(GameSession session, int count) {
         List<Consumables> all = new ArrayList<>(session.allConsumables());
-        Collections.shuffle(all, session.rng());
+        Collections.shuffle(all, session.rng(RngStream.SHOP));
         return all.stream()
                 .limit(count)
                 .map(c -> new ShopEntry(ItemType.CONSUMABLE, c.getName(), (int) Math.round(c.getPrice()), ""))
@@ -107,56 +105,10 @@ public class ShopService {
     }
 
     private List<ShopEntry> rollEquipments(GameSession session, int count) {
-        List<EquipmentDef> pool = new ArrayList<>(session.equipmentsView().values());
-        // deterministic-ish ordering + rng for selection without repeats
-        pool.sort(Comparator.comparing(EquipmentDef::getName, Comparator.nullsLast(String::compareTo)));
-        Random rng = session.rng();
-
-        // rarity별 풀
-        List<EquipmentDef> common = filterByRarity(pool, "COMMON");
-        List<EquipmentDef> uncommon = filterByRarity(pool, "UNCOMMON");
-        List<EquipmentDef> rare = filterByRarity(pool, "RARE");
-        List<EquipmentDef> epic = filterByRarity(pool, "EPIC");
-        List<EquipmentDef> legendary = filterByRarity(pool, "LEGENDARY");
-
-        int chapter = session.getChapter();
-        // 확률(퍼센트)
-        int wCommon, wUncommon, wRare, wEpic, wLegend;
-        if (chapter <= 3) {
-            // 초반: common~uncommon 위주 + rare 10%
-            wCommon = 45; wUncommon = 45; wRare = 10; wEpic = 0; wLegend = 0;
-        } else if (chapter >= 5) {
-            // 후반: rare~epic 위주 + legendary 15%
-            wCommon = 0; wUncommon = 0; wRare = 45; wEpic = 40; wLegend = 15;
-        } else {
-            // 챕터 4: 중간 가중치(완충)
-            wCommon = 20; wUncommon = 20; wRare = 40; wEpic = 15; wLegend = 5;
-        }
-
-        Set<String> picked = new HashSet<>();
+        // 챕터별 희귀도 가중치는 drop_weights.json 의 shop 구간(중복 없이 뽑는다)
+        List<EquipmentDef> picks = session.lootTables().rollShop(session.rng(RngStream.SHOP), session.getChapter(), count);
         List<ShopEntry> out = new ArrayList<>();
-
-        for (int i = 0; i < count; i++) {
-            EquipmentDef chosen = null;
-            // 최대 몇 번까지 시도 후, 남은 풀에서 강제 선택
-            for (int tries = 0; tries < 12 && chosen == null; tries++) {
-                String r = pickRarity(rng, wCommon, wUncommon, wRare, wEpic, wLegend);
-                List<EquipmentDef> bucket = switch (r) {
-                    case "COMMON" -> common;
-                    case "UNCOMMON" -> uncommon;
-                    case "RARE" -> rare;
-                    case "EPIC" -> epic;
-                    case "LEGENDARY" -> legendary;
-                    default -> pool;
-                };
-                chosen = pickOneNotPicked(bucket, picked, rng);
-            }
-            if (chosen == null) {
-                chosen = pickOneNotPicked(pool, picked, rng);
-            }
-            if (chosen == null) break;
-
-            picked.add(chosen.getName());
+        for (EquipmentDef chosen : picks) {
             int price = equipmentShopPrice(chosen);
             String extra = "(장비:" + safe(chosen.getSlot()) + "/" + safe(chosen.getRarity()) + ")";
             out.add(new ShopEntry(ItemType.EQUIPMENT, chosen.getName(), price, extra));
@@ -164,42 +116,6 @@ public class ShopService {
         return out;
     }
 
-    private List<EquipmentDef> filterByRarity(List<EquipmentDef> pool, String rarity) {
-        return pool.stream()
-                .filter(d -> d != null && d.getRarity() != null && d.getRarity().equalsIgnoreCase(rarity))
-                .collect(Collectors.toList());
-    }
-
-    private EquipmentDef pickOneNotPicked(List<EquipmentDef> list, Set<String> picked, Random rng) {
-        if (list == null || list.isEmpty()) return null;
-        // 최대 n번 랜덤 시도 후 선형 탐색
-        int n = list.size();
-        for (int t = 0; t < Math.min(8, n); t++) {
-            EquipmentDef d = list.get(rng.nextInt(n));
-            if (d != null && d.getName() != null && !picked.contains(d.getName())) return d;
-        }
-        for (EquipmentDef d : list) {
-            if (d != null && d.getName() != null && !picked.contains(d.getName())) return d;
-        }
-        return null;
-    }
-
-    private String pickRarity(Random rng, int wCommon, int wUncommon, int wRare, int wEpic, int wLegend) {
-        int sum = Math.max(0, wCommon) + Math.max(0, wUncommon) + Math.max(0, wRare) + Math.max(0, wEpic) + Math.max(0, wLegend);
-        if (sum <= 0) return "COMMON";
-        int r = rng.nextInt(sum);
-        int acc = 0;
-        acc += Math.max(0, wCommon);
-        if (r < acc) return "COMMON";
-        acc += Math.max(0, wUncommon);
-        if (r < acc) return "UNCOMMON";
-        acc += Math.max(0, wRare);
-        if (r < acc) return "RARE";
-        acc += Math.max(0, wEpic);
-        if (r < acc) return "EPIC";
-        return "LEGENDARY";
-    }
-
     private int equipmentShopPrice(EquipmentDef def) {
         if (def == null) return 10;
         int p = def.getPrice();
@@ -214,11 +130,7 @@ public class ShopService {
             default -> 60; // COMMON
         };
 
-        int sum = 0;
-        Map<String, Integer> stats = def.getStats();
-        if (stats != null) {
-            for (int v : stats.values()) sum += Math.abs(v);
-        }
+        int sum = (def.getStats() == null) ? 0 : def.getStats().sumAbs();
         return Math.max(10, base + sum * 25);
     }
 
@@ -499,7 +411,7 @@ public class ShopService {
 
         List<String> parts = new ArrayList<>();
         if (e.getStats() != null) {
-            for (Map.Entry<String, Integer> en : e.getStats().entrySet()) {
+            for (Map.Entry<String, Integer> en : e.getStats().asMap().entrySet()) {
                 if (en == null) continue;
                 String k = en.getKey();
                 int v = (en.getValue() == null) ? 0 : en.getValue();
@@ -0,0 +1,46 @@
+package desia.sim;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 밸런스 스윕 결과 1칸: (직업, 플레이어 레벨, 적, 적 레벨).
+ *
+ * @param avgRounds        전투당 평균 라운드 수
+ * @param avgHpLeftOnWin   승리한 전투에서 남은 HP 비율 평균(0~1)
+ */
+public record BalanceCell(
+        int chapter,
+        String playerClass,
+        int playerLevel,
+        String enemy,
+        int enemyLevel,
+        int fights,
+        int wins,
+        int losses,
+        int escapes,
+        int draws,
+        double avgRounds,
+        double avgHpLeftOnWin
+) {
+    @JsonProperty("winRate")
+    public double winRate() {
+        return (fights <= 0) ? 0 : (double) wins / fights;
+    }
+
+    static final String CSV_HEADER =
+            "chapter,class,player_level,enemy,enemy_level,fights,wins,losses,escapes,draws,win_rate,avg_rounds,avg_hp_left_on_win";
+
+    String toCsv() {
+        return chapter + "," + csv(playerClass) + "," + playerLevel + "," + csv(enemy) + "," + enemyLevel
+                + "," + fights + "," + wins + "," + losses + "," + escapes + "," + draws
+                + "," + String.format(java.util.Locale.ROOT, "%.4f", winRate())
+                + "," + String.format(java.util.Locale.ROOT, "%.2f", avgRounds)
+                + "," + String.format(java.util.Locale.ROOT, "%.4f", avgHpLeftOnWin);
+    }
+
+    private static String csv(String s) {
+        if (s == null) return "";
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
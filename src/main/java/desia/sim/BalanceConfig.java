@@ -0,0 +1,43 @@
+package desia.sim;
+
+import desia.battle.EnemyPolicy;
+import desia.battle.PlayerPolicy;
+import lombok.*;
+
+import java.util.function.Supplier;
+
+/**
+ * 밸런스 스윕 설정.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@ToString
+public class BalanceConfig {
+
+    // 셀(직업, 레벨, 적, 적 레벨) 1개당 전투 횟수
+    @Builder.Default
+    private int fightsPerCell = 200;
+
+    // 챕터 min~max 레벨 구간을 몇 레벨 간격으로 샘플링할지(max는 항상 포함)
+    @Builder.Default
+    private int levelStep = 5;
+
+    // 전체 스윕의 루트 시드(같은 시드 = 같은 결과)
+    @Builder.Default
+    private long seed = 42L;
+
+    @Builder.Default
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    // 정책은 세션마다 상태를 가질 수 있으므로 셀마다 새로 만든다.
+    @Builder.Default
+    private Supplier<PlayerPolicy> playerPolicy = PlayerPolicy::firstAffordableSkill;
+
+    // null이면 세션의 적 AI(enemy_ai.json). 기존 규칙만 보려면 EnemyPolicy.DEFAULT
+    private EnemyPolicy enemyPolicy;
+
+    @Builder.Default
+    private int maxRounds = 500;
+}
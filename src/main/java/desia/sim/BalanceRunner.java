@@ -0,0 +1,275 @@
+package desia.sim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.battle.BattleOutcome;
+import desia.battle.BattleStats;
+import desia.battle.EnemyPolicy;
+import desia.battle.FightEstimate;
+import desia.battle.FightEstimator;
+import desia.battle.HeadlessBattleEngine;
+import desia.battle.PlayerPolicy;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.event.EventTaps;
+import desia.metrics.MetricsReporter;
+import desia.progress.ChapterConfig;
+import desia.progress.ChapterRepository;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * 몬테카를로 밸런스 러너.
+ *
+ * chapters.json의 모든 챕터 x playables.json의 모든 직업에 대해
+ * (직업, 플레이어 레벨, 적, 적 레벨) 셀마다 N번 헤드리스 전투를 돌려
+ * 승률/평균 라운드/남은 HP 행렬을 만든다.
+ *
+ * - 셀 단위로 ForkJoinPool에서 병렬 실행한다.
+ * - 셀마다 루트 SplittableRandom에서 미리 뽑은 시드로 독립 Random을 쓴다(스레드 수와 무관하게 재현 가능).
+ * - 세션/엔진은 셀 안에서 재사용하고, 전투마다 HP/MP만 되돌린다.
+ *
+ * 실행: gradle balanceSweep --args="--fights=500 --step=5 --out=build/balance"
+ * 전 레벨 표를 빨리 보려면 --estimate --step=1 (전투 대신 FightEstimator 로 확률을 계산, 적 AI 는 run 과 같다).
+ * 결과 옆에 지표(metrics.json)도 남긴다.
+ */
+public class BalanceRunner {
+
+    private final GameData data;
+    private final ChapterRepository chapters;
+
+    public BalanceRunner(GameData data) {
+        this.data = Objects.requireNonNull(data, "data");
+        this.chapters = Objects.requireNonNull(data.chapters(), "chapters");
+    }
+
+    // 셀 정의(결과 전 단계)
+    private record CellSpec(int chapter, Player player, int playerLevel, Enemy enemy, int enemyLevel, long seed) {}
+
+    public List<BalanceCell> run(BalanceConfig cfg) {
+        return parallel(cfg, spec -> simulate(spec, cfg));
+    }
+
+    /**
+     * run 과 같은 셀을 전투 없이 FightEstimator 로 계산한다(fightsPerCell/seed 는 쓰지 않음).
+     * 적 정책도 run 과 같다(cfg.enemyPolicy, null 이면 데이터 적 AI).
+     */
+    public List<EstimateCell> estimate(BalanceConfig cfg, FightEstimator.Plan plan) {
+        return parallel(cfg, spec -> estimate(spec, cfg, plan));
+    }
+
+    private <T> List<T> parallel(BalanceConfig cfg, Function<CellSpec, T> cell) {
+        List<CellSpec> specs = buildCells(cfg);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, cfg.getThreads()));
+        try {
+            return pool.submit(() -> specs.parallelStream()
+                    .map(cell)
+                    .toList()
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("밸런스 스윕 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("밸런스 스윕 실패: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<CellSpec> buildCells(BalanceConfig cfg) {
+        SplittableRandom root = new SplittableRandom(cfg.getSeed());
+        List<CellSpec> out = new ArrayList<>();
+
+        for (ChapterConfig ch : chapters.all()) {
+            List<Integer> levels = levelPoints(ch.getMinLevel(), ch.getMaxLevel(), cfg.getLevelStep());
+
+            // 잡몹 풀 + 보스(중복 제거, 순서 유지)
+            LinkedHashSet<String> enemyNames = new LinkedHashSet<>();
+            if (ch.getEnemyPool() != null) enemyNames.addAll(ch.getEnemyPool());
+            if (ch.getBoss() != null) enemyNames.add(ch.getBoss());
+
+            for (Player p : data.playables()) {
+                for (String en : enemyNames) {
+                    Enemy e = data.enemies().get(en);
+                    if (e == null) continue;
+                    for (int pl : levels) {
+                        for (int el : levels) {
+                            out.add(new CellSpec(ch.getId(), p, pl, e, el, root.nextLong()));
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    static List<Integer> levelPoints(int min, int max, int step) {
+        int lo = Math.max(1, min);
+        int hi = Math.max(lo, max);
+        int st = Math.max(1, step);
+        List<Integer> out = new ArrayList<>();
+        for (int lv = lo; lv < hi; lv += st) out.add(lv);
+        out.add(hi);
+        return out;
+    }
+
+    private BalanceCell simulate(CellSpec spec, BalanceConfig cfg) {
+        Random rng = new Random(spec.seed());
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(rng, cfg.getMaxRounds(), data.compiledSkills());
+        BattleStats stats = new BattleStats();
+
+        GameSession session = GameSession.newSession(data, spec.player(), "sim", new GameRng(spec.seed()));
+        session.setLevel(spec.playerLevel());
+        session.refreshKnownSkills();
+        PlayerPolicy policy = cfg.getPlayerPolicy().get();
+
+        int fights = Math.max(1, cfg.getFightsPerCell());
+        int wins = 0, losses = 0, escapes = 0, draws = 0;
+        long rounds = 0;
+        double hpLeftOnWin = 0;
+
+        for (int i = 0; i < fights; i++) {
+            session.setHp(session.getMaxHp());
+            session.setMp(session.getMaxMp());
+            EnemyInstance enemy = new EnemyInstance(spec.enemy(), spec.enemyLevel());
+
+            BattleOutcome o = engine.fight(session, enemy, policy, cfg.getEnemyPolicy(), null, stats);
+            rounds += stats.rounds();
+            switch (o) {
+                case WIN -> {
+                    wins++;
+                    hpLeftOnWin += stats.playerHpRatio();
+                }
+                case LOSE -> losses++;
+                case ESCAPE -> escapes++;
+                case DRAW -> draws++;
+            }
+        }
+
+        return new BalanceCell(
+                spec.chapter(),
+                spec.player().getClasses(),
+                spec.playerLevel(),
+                spec.enemy().getName(),
+                spec.enemyLevel(),
+                fights, wins, losses, escapes, draws,
+                (double) rounds / fights,
+                (wins == 0) ? 0 : hpLeftOnWin / wins
+        );
+    }
+
+    private EstimateCell estimate(CellSpec spec, BalanceConfig cfg, FightEstimator.Plan plan) {
+        GameSession session = GameSession.newSession(data, spec.player(), "sim", new GameRng(spec.seed()));
+        session.setLevel(spec.playerLevel());
+        session.refreshKnownSkills();
+        session.setHp(session.getMaxHp());
+        session.setMp(session.getMaxMp());
+
+        FightEstimator estimator = new FightEstimator(cfg.getMaxRounds(), data.compiledSkills());
+        FightEstimate e = estimator.estimate(session, new EnemyInstance(spec.enemy(), spec.enemyLevel()), plan, cfg.getEnemyPolicy());
+
+        return new EstimateCell(
+                spec.chapter(),
+                spec.player().getClasses(),
+                spec.playerLevel(),
+                spec.enemy().getName(),
+                spec.enemyLevel(),
+                e.win(), e.lose(), e.draw(),
+                e.avgRounds(),
+                e.avgHpLeftOnWin(),
+                e.escapeChance()
+        );
+    }
+
+    // ===== 출력 =====
+
+    public static void writeCsv(List<BalanceCell> cells, Path path) throws IOException {
+        StringBuilder sb = new StringBuilder(BalanceCell.CSV_HEADER).append('\n');
+        for (BalanceCell c : cells) sb.append(c.toCsv()).append('\n');
+        Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    public static void writeEstimateCsv(List<EstimateCell> cells, Path path) throws IOException {
+        StringBuilder sb = new StringBuilder(EstimateCell.CSV_HEADER).append('\n');
+        for (EstimateCell c : cells) sb.append(c.toCsv()).append('\n');
+        Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    public static void writeJson(List<?> cells, Path path) throws IOException {
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), cells);
+    }
+
+    /**
+     * CLI 진입점.
+     * 옵션: --fights=N --step=N --seed=N --threads=N --policy=skill|attack|best --enemy-ai=data|legacy --out=DIR
+     * --estimate: 전투를 굴리지 않고 FightEstimator 로 계산한다(estimate.csv/json). 정책은 skill|attack 만.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opt = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--")) continue;
+            int eq = a.indexOf('=');
+            if (eq < 0) opt.put(a.substring(2), "true");
+            else opt.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+
+        BalanceConfig.BalanceConfigBuilder b = BalanceConfig.builder();
+        if (opt.containsKey("fights")) b.fightsPerCell(Integer.parseInt(opt.get("fights")));
+        if (opt.containsKey("step")) b.levelStep(Integer.parseInt(opt.get("step")));
+        if (opt.containsKey("seed")) b.seed(Long.parseLong(opt.get("seed")));
+        if (opt.containsKey("threads")) b.threads(Integer.parseInt(opt.get("threads")));
+        if ("attack".equals(opt.get("policy"))) b.playerPolicy(PlayerPolicy::attackOnly);
+        if ("best".equals(opt.get("policy"))) b.playerPolicy(PlayerPolicy::bestExpectedDamage);
+        if ("legacy".equals(opt.get("enemy-ai"))) b.enemyPolicy(EnemyPolicy.DEFAULT);
+        BalanceConfig cfg = b.build();
+        MetricsReporter.startFromProperties();
+        EventTaps.startFromProperties();
+
+        Path outDir = Paths.get(opt.getOrDefault("out", "build/balance"));
+        Files.createDirectories(outDir);
+
+        GameData data = new DataLoader().loadAll();
+        BalanceRunner runner = new BalanceRunner(data);
+
+        long t0 = System.nanoTime();
+        if (opt.containsKey("estimate")) {
+            if ("best".equals(opt.get("policy"))) System.out.println("[balance] 추정 모드는 --policy=best 를 지원하지 않는다: skill 로 계산");
+            FightEstimator.Plan plan = "attack".equals(opt.get("policy"))
+                    ? FightEstimator.Plan.ATTACK_ONLY : FightEstimator.Plan.FIRST_AFFORDABLE_SKILL;
+            List<EstimateCell> cells = runner.estimate(cfg, plan);
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+
+            writeEstimateCsv(cells, outDir.resolve("estimate.csv"));
+            writeJson(cells, outDir.resolve("estimate.json"));
+            String ai = (cfg.getEnemyPolicy() == null) ? "데이터 AI" : "기존 정책";
+            System.out.println("[balance] 추정 셀 " + cells.size() + "개 (적: " + ai + "), " + ms + "ms (스레드 " + cfg.getThreads() + ")");
+            System.out.println("[balance] 출력: " + outDir.toAbsolutePath());
+            return;
+        }
+
+        List<BalanceCell> cells = runner.run(cfg);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+
+        writeCsv(cells, outDir.resolve("balance.csv"));
+        writeJson(cells, outDir.resolve("balance.json"));
+        // 전투 시간/턴 분포, 스킬별 시전 시간, 데이터 로드 단계 등
+        MetricsReporter.writeSnapshot(outDir.resolve("metrics.json"));
+
+        long fights = (long) cells.size() * cfg.getFightsPerCell();
+        System.out.println("[balance] 셀 " + cells.size() + "개, 전투 " + fights + "회, " + ms + "ms (스레드 " + cfg.getThreads() + ")");
+        System.out.println("[balance] 출력: " + outDir.toAbsolutePath());
+    }
+}
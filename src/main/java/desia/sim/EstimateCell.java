@@ -0,0 +1,44 @@
+package desia.sim;
+
+import java.util.Locale;
+
+/**
+ * 추정 스윕 결과 1칸: (직업, 플레이어 레벨, 적, 적 레벨). FightEstimator 로 계산한 값(전투를 굴리지 않음).
+ *
+ * @param winRate        승리 확률
+ * @param avgRounds      기대 라운드 수
+ * @param avgHpLeftOnWin 승리했을 때 남은 HP 비율의 기대값(0~1)
+ * @param escapeChance   도주 1회 시도 성공 확률
+ */
+public record EstimateCell(
+        int chapter,
+        String playerClass,
+        int playerLevel,
+        String enemy,
+        int enemyLevel,
+        double winRate,
+        double loseRate,
+        double drawRate,
+        double avgRounds,
+        double avgHpLeftOnWin,
+        double escapeChance
+) {
+    static final String CSV_HEADER =
+            "chapter,class,player_level,enemy,enemy_level,win_rate,lose_rate,draw_rate,avg_rounds,avg_hp_left_on_win,escape_chance";
+
+    String toCsv() {
+        return chapter + "," + csv(playerClass) + "," + playerLevel + "," + csv(enemy) + "," + enemyLevel
+                + "," + String.format(Locale.ROOT, "%.4f", winRate)
+                + "," + String.format(Locale.ROOT, "%.4f", loseRate)
+                + "," + String.format(Locale.ROOT, "%.4f", drawRate)
+                + "," + String.format(Locale.ROOT, "%.2f", avgRounds)
+                + "," + String.format(Locale.ROOT, "%.4f", avgHpLeftOnWin)
+                + "," + String.format(Locale.ROOT, "%.2f", escapeChance);
+    }
+
+    private static String csv(String s) {
+        if (s == null) return "";
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,114 @@
+package desia.skill;
+
+import desia.combat.DamageType;
+import desia.status.StatusType;
+
+/**
+ * 로드 시점에 SkillDef를 미리 해석해 둔 불변 스킬.
+ *
+ * - 문자열(kind/stat/status/target)은 전부 enum/boolean으로 바뀌어 있다.
+ * - 컴포넌트의 항(term)은 termStats/coefs 두 배열로 평탄화되어 있고,
+ *   컴포넌트 i의 항은 [termStart[i], termEnd[i]) 구간이다.
+ * - 시전 경로(SkillEngine.cast)는 이 값만 읽는다.
+ */
+public final class CompiledSkill {
+
+    public enum Kind { DAMAGE, HEAL, SHIELD, UNSUPPORTED }
+
+    private final String name;
+    private final SkillDef source;
+    private final int mpCost;
+    private final boolean targetsEnemy;
+    private final boolean mpHeal;
+    private final boolean plural;
+
+    // 컴포넌트(구조 배열)
+    final Kind[] kinds;
+    final String[] rawKinds;     // UNSUPPORTED 로그용 원문
+    final DamageType[] damageTypes;
+    final int[] termStart;
+    final int[] termEnd;
+    // 컴포넌트에 대상 스탯 항(TARGET_*)이 있는지. 없으면 전체 대상 시전에서 값을 대상마다 다시 계산하지 않는다
+    final boolean[] targetTerms;
+    // 현재 HP 를 읽는 항(SELF_HP/SELF_MISSING_HP/TARGET_HP/TARGET_MISSING_HP)이 있는지. 없으면 결과가 스탯만으로 정해진다
+    final boolean hpTerms;
+
+    // 평탄화된 항
+    final SkillTermStat[] termStats;
+    final double[] coefs;
+
+    // 상태이상 효과(구조 배열)
+    final StatusType[] effectStatus;
+    final double[] effectChance;
+    final int[] effectStacks;
+    final boolean[] effectTargetsEnemy;
+
+    CompiledSkill(String name, SkillDef source, int mpCost, boolean targetsEnemy, boolean mpHeal, boolean plural,
+                  Kind[] kinds, String[] rawKinds, DamageType[] damageTypes, int[] termStart, int[] termEnd,
+                  SkillTermStat[] termStats, double[] coefs,
+                  StatusType[] effectStatus, double[] effectChance, int[] effectStacks, boolean[] effectTargetsEnemy) {
+        this.name = name;
+        this.source = source;
+        this.mpCost = mpCost;
+        this.targetsEnemy = targetsEnemy;
+        this.mpHeal = mpHeal;
+        this.plural = plural;
+        this.kinds = kinds;
+        this.rawKinds = rawKinds;
+        this.damageTypes = damageTypes;
+        this.termStart = termStart;
+        this.termEnd = termEnd;
+        this.termStats = termStats;
+        this.coefs = coefs;
+        this.effectStatus = effectStatus;
+        this.effectChance = effectChance;
+        this.effectStacks = effectStacks;
+        this.effectTargetsEnemy = effectTargetsEnemy;
+        this.targetTerms = new boolean[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            for (int k = termStart[i]; k < termEnd[i]; k++) targetTerms[i] |= termStats[k].isTarget();
+        }
+        boolean hp = false;
+        for (SkillTermStat t : termStats) hp |= t.readsHp();
+        this.hpTerms = hp;
+    }
+
+    public String name() { return name; }
+    /** 컴파일 원본(동일성 확인용). */
+    public SkillDef source() { return source; }
+    public int mpCost() { return mpCost; }
+    /** 컴포넌트 대상이 적이면 true, 아니면 시전자 자신. */
+    public boolean targetsEnemy() { return targetsEnemy; }
+    /** heal 컴포넌트가 HP 대신 MP를 회복하는지. */
+    public boolean isMpHeal() { return mpHeal; }
+    /** role 에 plural 이 있으면 대상 쪽 전체(적 대상이면 적 전체, 아니면 아군 전체)에 건다. */
+    public boolean isPlural() { return plural; }
+
+    public int componentCount() { return kinds.length; }
+    public Kind kind(int component) { return kinds[component]; }
+    public DamageType damageType(int component) { return damageTypes[component]; }
+
+    /**
+     * 컴포넌트 1개의 항 합계를 시전자 공격력/주문력만으로 어림한다(대상/HP/MP 항은 0, 상수 항은 그대로).
+     * 적 AI 가 로드 시 스킬 세기 순서를 정할 때 쓴다.
+     */
+    public double estimate(int component, double atk, double magic) {
+        double sum = 0;
+        for (int k = termStart[component]; k < termEnd[component]; k++) {
+            double base = switch (termStats[k]) {
+                case SELF_ATTACK -> atk;
+                case SELF_MAGIC -> magic;
+                case CONSTANT -> 1.0;
+                default -> 0.0;
+            };
+            sum += base * coefs[k];
+        }
+        return sum;
+    }
+
+    public int effectCount() { return effectStatus.length; }
+    public StatusType effectStatus(int i) { return effectStatus[i]; }
+    public double effectChance(int i) { return effectChance[i]; }
+    public int effectStacks(int i) { return effectStacks[i]; }
+    public boolean effectTargetsEnemy(int i) { return effectTargetsEnemy[i]; }
+}
@@ -0,0 +1,166 @@
+package desia.skill;
+
+import desia.combat.DamageType;
+import desia.status.StatusType;
+
+import java.util.*;
+
+/**
+ * SkillDef -> CompiledSkill 변환 + skills.json 검증.
+ *
+ * 문자열 해석(trim/lowercase/switch)은 전부 여기서 1번만 한다.
+ */
+public final class SkillCompiler {
+    private SkillCompiler() {}
+
+    /** 컴파일 결과 + 검증 경고. */
+    public record Result(Map<String, CompiledSkill> skills, List<String> problems) {}
+
+    public static Result compileAll(Map<String, SkillDef> defs) {
+        Map<String, CompiledSkill> out = new LinkedHashMap<>();
+        List<String> problems = new ArrayList<>();
+        if (defs != null) {
+            for (Map.Entry<String, SkillDef> e : defs.entrySet()) {
+                if (e.getValue() == null) {
+                    problems.add("'" + e.getKey() + "': 정의가 비어 있음");
+                    continue;
+                }
+                out.put(e.getKey(), compile(e.getKey(), e.getValue(), problems));
+            }
+        }
+        return new Result(Collections.unmodifiableMap(out), List.copyOf(problems));
+    }
+
+    public static CompiledSkill compile(String name, SkillDef def) {
+        return compile(name, def, null);
+    }
+
+    /**
+     * @param problems null이 아니면 검증 경고를 추가한다.
+     */
+    public static CompiledSkill compile(String name, SkillDef def, List<String> problems) {
+        Objects.requireNonNull(def, "def");
+
+        List<SkillComponent> comps = new ArrayList<>();
+        if (def.getComponents() != null) {
+            for (SkillComponent c : def.getComponents()) if (c != null) comps.add(c);
+        }
+
+        int n = comps.size();
+        CompiledSkill.Kind[] kinds = new CompiledSkill.Kind[n];
+        String[] rawKinds = new String[n];
+        DamageType[] damageTypes = new DamageType[n];
+        int[] termStart = new int[n];
+        int[] termEnd = new int[n];
+
+        List<SkillTermStat> stats = new ArrayList<>();
+        List<Double> coefs = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            SkillComponent c = comps.get(i);
+            String kind = safe(c.getKind());
+            rawKinds[i] = kind;
+            kinds[i] = switch (kind) {
+                case "damage" -> CompiledSkill.Kind.DAMAGE;
+                case "heal" -> CompiledSkill.Kind.HEAL;
+                case "shield" -> CompiledSkill.Kind.SHIELD;
+                default -> CompiledSkill.Kind.UNSUPPORTED;
+            };
+            if (kinds[i] == CompiledSkill.Kind.UNSUPPORTED) {
+                report(problems, name, "미지원 component kind '" + kind + "'");
+            }
+            damageTypes[i] = DamageType.from(c.getDamageType());
+
+            termStart[i] = stats.size();
+            if (c.getTerms() != null) {
+                for (SkillTerm t : c.getTerms()) {
+                    if (t == null) continue;
+                    SkillTermStat st = SkillTermStat.from(t.getStat());
+                    if (st == SkillTermStat.UNKNOWN) {
+                        report(problems, name, "알 수 없는 term stat '" + t.getStat() + "'");
+                    }
+                    stats.add(st);
+                    coefs.add(t.getCoef());
+                }
+            }
+            termEnd[i] = stats.size();
+        }
+
+        List<SkillStatusEffect> effs = new ArrayList<>();
+        if (def.getStatusEffects() != null) {
+            for (SkillStatusEffect eff : def.getStatusEffects()) {
+                if (eff == null) continue;
+                if (toStatusType(eff.getStatus()) == null) {
+                    report(problems, name, "알 수 없는 status '" + eff.getStatus() + "'");
+                    continue;
+                }
+                effs.add(eff);
+            }
+        }
+
+        int m = effs.size();
+        StatusType[] effectStatus = new StatusType[m];
+        double[] effectChance = new double[m];
+        int[] effectStacks = new int[m];
+        boolean[] effectTargetsEnemy = new boolean[m];
+        for (int i = 0; i < m; i++) {
+            SkillStatusEffect eff = effs.get(i);
+            effectStatus[i] = toStatusType(eff.getStatus());
+            effectChance[i] = eff.getChance();
+            effectStacks[i] = Math.max(1, eff.getStacks());
+            effectTargetsEnemy[i] = safe(eff.getTarget()).equals("enemy");
+        }
+
+        SkillTermStat[] statArr = stats.toArray(new SkillTermStat[0]);
+        double[] coefArr = new double[coefs.size()];
+        for (int i = 0; i < coefArr.length; i++) coefArr[i] = coefs.get(i);
+
+        return new CompiledSkill(
+                name,
+                def,
+                Math.max(0, def.getMpCost()),
+                safe(def.getTarget()).equals("enemy"),
+                isMpHealSkill(name, def),
+                isPlural(def.getRole()),
+                kinds, rawKinds, damageTypes, termStart, termEnd,
+                statArr, coefArr,
+                effectStatus, effectChance, effectStacks, effectTargetsEnemy
+        );
+    }
+
+    static StatusType toStatusType(String raw) {
+        if (raw == null) return null;
+        String s = raw.trim().toLowerCase(Locale.ROOT);
+        return switch (s) {
+            case "bleed" -> StatusType.BLEED;
+            case "poison" -> StatusType.POISON;
+            case "burn" -> StatusType.BURN;
+            case "paralysis" -> StatusType.PARALYSIS;
+            case "panic" -> StatusType.PANIC;
+            case "freeze" -> StatusType.FREEZE;
+            case "sleep" -> StatusType.SLEEP;
+            default -> null;
+        };
+    }
+
+    private static boolean isMpHealSkill(String name, SkillDef skill) {
+        if (name != null && (name.contains("마나") || name.toLowerCase(Locale.ROOT).contains("mp"))) return true;
+        return skill != null && skill.getDescription() != null && skill.getDescription().contains("마나");
+    }
+
+    // role 은 "plural", "heal/plural", "plural/dot/debuff" 처럼 '/' 로 이어진 태그
+    static boolean isPlural(String role) {
+        for (String tag : safe(role).split("/")) {
+            if (tag.trim().equals("plural")) return true;
+        }
+        return false;
+    }
+
+    private static void report(List<String> problems, String skillName, String msg) {
+        if (problems != null) problems.add("'" + skillName + "': " + msg);
+    }
+
+    private static String safe(String s) {
+        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
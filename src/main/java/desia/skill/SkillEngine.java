@@ -1,14 +1,53 @@
 package desia.skill;
 
 import desia.combat.*;
+import desia.event.EventBus;
+import desia.event.GameEvent;
+import desia.metrics.JfrEvents;
+import desia.metrics.Metrics;
+import desia.metrics.Timer;
 import desia.status.*;
 import java.util.*;
 
 public class SkillEngine {
     private final Random rng;
 
+    // 컴파일된 스킬 캐시(SkillDef 동일성 기준). 엔진은 전투 1개(스레드 1개)에서만 쓰인다.
+    private final Map<String, CompiledSkill> precompiled;
+    private final IdentityHashMap<SkillDef, CompiledSkill> compiledByDef = new IdentityHashMap<>();
+
+    // 스킬별 시전 지연(skill.cast.이름). 스킬 객체마다 한 번만 이름으로 찾는다.
+    // 시전 자체가 수백 ns 라 시계 두 번 읽는 값도 크다: 스킬마다 CAST_SAMPLE 번에 1번만 잰다.
+    // 순번은 스킬별로 센다(엔진 하나로 세면 번갈아 쓰는 스킬 중 한쪽만 계속 잡힌다). 첫 시전은 항상 잰다.
+    private static final int CAST_SAMPLE = 16;
+    private final IdentityHashMap<CompiledSkill, CastSampler> castSamplers = new IdentityHashMap<>();
+
+    private static final class CastSampler {
+        final Timer timer;
+        int seq;
+
+        CastSampler(Timer timer) {
+            this.timer = timer;
+        }
+    }
+
+    // 전투 중 이벤트 버스(없으면 발행 안 함). 화면 문구는 여전히 SkillCastResult 의 logs 가 맡는다.
+    private EventBus events;
+
     public SkillEngine(Random rng) {
+        this(rng, null);
+    }
+
+    /**
+     * @param precompiled DataLoader가 로드 시 만든 컴파일 결과(GameData.compiledSkills). null이면 첫 시전 때 컴파일한다.
+     */
+    public SkillEngine(Random rng, Map<String, CompiledSkill> precompiled) {
         this.rng = (rng == null) ? new Random() : rng;
+        this.precompiled = (precompiled == null) ? Map.of() : precompiled;
+    }
+
+    public void setEvents(EventBus events) {
+        this.events = events;
     }
 
     public SkillCastResult cast(String skillName, SkillDef skill, Combatant caster, Combatant enemyTarget) {
@@ -18,142 +57,267 @@ public class SkillEngine {
     // mpCostOverride: null이면 스킬 정의의 mp_cost 사용, 아니면 override 값 사용
     public SkillCastResult cast(String skillName, SkillDef skill, Combatant caster, Combatant enemyTarget, Integer mpCostOverride) {
         if (skill == null) return SkillCastResult.noTurn("스킬 데이터가 없다: " + skillName);
+        return cast(compiled(skillName, skill), caster, enemyTarget, mpCostOverride);
+    }
+
+    /** 컴파일된 스킬 시전(문자열 해석 없음). */
+    public SkillCastResult cast(CompiledSkill skill, Combatant caster, Combatant enemyTarget, Integer mpCostOverride) {
+        if (skill == null) return SkillCastResult.noTurn("스킬 데이터가 없다.");
         if (caster == null) return SkillCastResult.noTurn("시전자가 없다.");
 
-        Combatant target = resolveTarget(skill, caster, enemyTarget);
+        int cost = (mpCostOverride == null) ? skill.mpCost() : Math.max(0, mpCostOverride);
+        List<String> logs = new ArrayList<>();
+        if (!run(skill, caster, enemyTarget, cost, logs)) {
+            return SkillCastResult.noTurn("MP가 부족하다! (필요 MP: " + cost + ")");
+        }
+        return SkillCastResult.turn(logs);
+    }
+
+    /**
+     * 로그 없이 시전(헤드리스 적 턴용). 문자열/결과 객체를 만들지 않는다. 이벤트 버스가 있으면 이벤트는 그대로 낸다.
+     * @return false 면 MP 부족으로 턴을 쓰지 않았다
+     */
+    public boolean castQuiet(CompiledSkill skill, Combatant caster, Combatant enemyTarget) {
+        return run(skill, caster, enemyTarget, skill.mpCost(), null);
+    }
 
-        int cost = (mpCostOverride == null) ? Math.max(0, skill.getMpCost()) : Math.max(0, mpCostOverride);
-        if (caster.getMp() < cost) return SkillCastResult.noTurn("MP가 부족하다! (필요 MP: " + cost + ")");
+    /**
+     * 전체 대상 시전(plural 스킬). MP 는 1번만 내고, 컴포넌트마다 시전자 항을 1번 계산한 뒤 대상 배열을 한 번에 훑는다.
+     * targets[0, count) 는 스킬 대상 쪽(적 대상 스킬이면 적, 아니면 아군) 전체. 이미 쓰러진 대상은 건너뛴다.
+     * 시전자 대상 상태이상은 시전자에게 1번만 건다. 로그를 만들지 않는다(이벤트 버스가 있으면 이벤트는 낸다).
+     * @return false 면 MP 부족으로 턴을 쓰지 않았다
+     */
+    public boolean castBatch(CompiledSkill skill, Combatant caster, Combatant[] targets, int count) {
+        return run(skill, caster, null, targets, count, skill.mpCost(), null);
+    }
+
+    private boolean run(CompiledSkill skill, Combatant caster, Combatant enemyTarget, int cost, List<String> logs) {
+        return run(skill, caster, enemyTarget, null, 0, cost, logs);
+    }
+
+    // targets 가 있으면 전체 대상(applyBatch), 없으면 단일 대상(apply)
+    private boolean run(CompiledSkill skill, Combatant caster, Combatant enemyTarget,
+                        Combatant[] targets, int count, int cost, List<String> logs) {
+        JfrEvents.SkillCast jfr = new JfrEvents.SkillCast();
+        jfr.begin();
+
+        boolean spent;
+        CastSampler sampler = castSampler(skill);
+        if (sampler.seq++ % CAST_SAMPLE == 0) {
+            Timer timer = sampler.timer;
+            long t0 = timer.start();
+            spent = (targets == null) ? apply(skill, caster, enemyTarget, cost, logs) : applyBatch(skill, caster, targets, count, cost);
+            timer.stop(t0);
+        } else {
+            spent = (targets == null) ? apply(skill, caster, enemyTarget, cost, logs) : applyBatch(skill, caster, targets, count, cost);
+        }
+
+        if (jfr.shouldCommit()) {
+            jfr.skill = skill.name();
+            jfr.spentTurn = spent;
+            jfr.commit();
+        }
+        return spent;
+    }
+
+    private CastSampler castSampler(CompiledSkill skill) {
+        CastSampler sampler = castSamplers.get(skill);
+        if (sampler == null) {
+            sampler = new CastSampler(Metrics.timer("skill.cast." + skill.name()));
+            castSamplers.put(skill, sampler);
+        }
+        return sampler;
+    }
+
+    // logs 가 null 이면 문구를 만들지 않는다. @return false 면 MP 부족(아무것도 바뀌지 않음)
+    private boolean apply(CompiledSkill skill, Combatant caster, Combatant enemyTarget, int cost, List<String> logs) {
+        Combatant target = skill.targetsEnemy() ? enemyTarget : caster;
+
+        if (caster.getMp() < cost) return false;
         caster.setMp(caster.getMp() - cost);
 
-        List<String> logs = new ArrayList<>();
-        logs.add("\n[" + skillName + "]");
+        if (logs != null) logs.add("\n[" + skill.name() + "]");
 
         boolean did = false;
 
-        if (skill.getComponents() != null) {
-            for (SkillComponent c : skill.getComponents()) {
-                if (c == null) continue;
-                String kind = safe(c.getKind());
-
-                switch (kind) {
-                    case "damage" -> {
-                        double raw = evalTerms(c.getTerms(), caster, target, cost);
-                        DamageType dt = DamageType.from(c.getDamageType());
-                        double dealt = DamageEngine.deal(caster, target, raw, dt, 1);
-                        logs.add("피해: " + Math.round(dealt));
-                        did = true;
+        for (int i = 0; i < skill.kinds.length; i++) {
+            switch (skill.kinds[i]) {
+                case DAMAGE -> {
+                    double raw = evalTerms(skill, i, caster, target, cost);
+                    double shieldBefore = target.getShield();
+                    double dealt = DamageEngine.deal(caster, target, raw, skill.damageTypes[i], 1);
+                    if (logs != null) logs.add("피해: " + Math.round(dealt));
+                    if (events != null && events.active()) {
+                        events.publish(new GameEvent.DamageDealt(caster.getNameForStatus(), target.getNameForStatus(),
+                                caster.isPlayer(), GameEvent.Cause.SKILL, dealt, Math.max(0, shieldBefore - target.getShield())));
                     }
-                    case "heal" -> {
-                        double amount = Math.max(0, evalTerms(c.getTerms(), caster, target, cost));
-                        boolean mpHeal = isMpHealSkill(skillName, skill);
-                        if (mpHeal) {
-                            double before = target.getMp();
-                            target.setMp(target.getMp() + amount);
-                            logs.add("MP 회복: " + Math.round(target.getMp() - before));
-                        } else {
-                            double before = target.getHp();
-                            target.setHp(target.getHp() + amount);
-                            logs.add("HP 회복: " + Math.round(target.getHp() - before));
-                        }
-                        did = true;
-                    }
-                    case "shield" -> {
-                        double amount = Math.max(0, evalTerms(c.getTerms(), caster, target, cost));
-                        target.addShield(amount);
-                        logs.add("실드: +" + Math.round(amount) + " (현재 실드: " + Math.round(target.getShield()) + ")");
-                        did = true;
+                    did = true;
+                }
+                case HEAL -> {
+                    double amount = Math.max(0, evalTerms(skill, i, caster, target, cost));
+                    if (skill.isMpHeal()) {
+                        double before = target.getMp();
+                        target.setMp(target.getMp() + amount);
+                        if (logs != null) logs.add("MP 회복: " + Math.round(target.getMp() - before));
+                    } else {
+                        double before = target.getHp();
+                        target.setHp(target.getHp() + amount);
+                        if (logs != null) logs.add("HP 회복: " + Math.round(target.getHp() - before));
                     }
-                    default -> logs.add("(미지원 효과) kind=" + kind);
+                    did = true;
+                }
+                case SHIELD -> {
+                    double amount = Math.max(0, evalTerms(skill, i, caster, target, cost));
+                    target.addShield(amount);
+                    if (logs != null) logs.add("실드: +" + Math.round(amount) + " (현재 실드: " + Math.round(target.getShield()) + ")");
+                    did = true;
+                }
+                default -> {
+                    if (logs != null) logs.add("(미지원 효과) kind=" + skill.rawKinds[i]);
+                }
+            }
+        }
+
+        for (int i = 0; i < skill.effectStatus.length; i++) {
+            Combatant effTarget = skill.effectTargetsEnemy[i] ? enemyTarget : caster;
+            StatusType st = skill.effectStatus[i];
+            int stacks = skill.effectStacks[i];
+
+            if (rng.nextDouble() <= skill.effectChance[i]) {
+                effTarget.statuses().addStacks(st, stacks);
+                int total = effTarget.statuses().getStacks(st);
+                if (logs != null) logs.add("상태이상: " + st + " +" + stacks + " (현재 " + total + ")");
+                if (events != null && events.active()) {
+                    events.publish(new GameEvent.StatusApplied(effTarget.getNameForStatus(), st, stacks, total));
                 }
+                did = true;
+            } else {
+                if (logs != null) logs.add("상태이상 실패: " + st);
             }
         }
 
-        if (skill.getStatusEffects() != null) {
-            for (SkillStatusEffect eff : skill.getStatusEffects()) {
-                if (eff == null) continue;
+        if (!did && logs != null) logs.add("(주의) 이 스킬은 현재 구현된 효과가 없다(components/status_effects 비어 있음).");
 
-                Combatant effTarget = resolveEffectTarget(eff, caster, enemyTarget);
-                StatusType st = toStatusType(eff.getStatus());
-                if (st == null) continue;
+        return true;
+    }
 
-                double chance = eff.getChance();
-                int stacks = Math.max(1, eff.getStacks());
+    // 전체 대상: 컴포넌트 바깥, 대상 안쪽 루프. 시전자 항은 컴포넌트마다 1번, 대상 항(TARGET_*)은 있을 때만 대상마다.
+    private boolean applyBatch(CompiledSkill skill, Combatant caster, Combatant[] targets, int count, int cost) {
+        if (caster.getMp() < cost) return false;
+        caster.setMp(caster.getMp() - cost);
+        boolean publish = events != null && events.active();
 
-                if (rng.nextDouble() <= chance) {
-                    effTarget.statuses().addStacks(st, stacks);
-                    logs.add("상태이상: " + st + " +" + stacks + " (현재 " + effTarget.statuses().getStacks(st) + ")");
-                    did = true;
-                } else {
-                    logs.add("상태이상 실패: " + st);
+        for (int i = 0; i < skill.kinds.length; i++) {
+            CompiledSkill.Kind kind = skill.kinds[i];
+            if (kind == CompiledSkill.Kind.UNSUPPORTED) continue;
+            double selfPart = evalSelfTerms(skill, i, caster, cost);
+            boolean perTarget = skill.targetTerms[i];
+
+            for (int t = 0; t < count; t++) {
+                Combatant target = targets[t];
+                if (target.getHp() <= 0) continue;
+                double v = perTarget ? selfPart + evalTargetTerms(skill, i, target) : selfPart;
+                switch (kind) {
+                    case DAMAGE -> {
+                        double shieldBefore = target.getShield();
+                        double dealt = DamageEngine.deal(caster, target, v, skill.damageTypes[i], 1);
+                        if (publish) {
+                            events.publish(new GameEvent.DamageDealt(caster.getNameForStatus(), target.getNameForStatus(),
+                                    caster.isPlayer(), GameEvent.Cause.SKILL, dealt, Math.max(0, shieldBefore - target.getShield())));
+                        }
+                    }
+                    case HEAL -> {
+                        if (skill.isMpHeal()) target.setMp(target.getMp() + Math.max(0, v));
+                        else target.setHp(target.getHp() + Math.max(0, v));
+                    }
+                    case SHIELD -> target.addShield(Math.max(0, v));
+                    default -> {
+                    }
                 }
             }
         }
 
-        if (!did) logs.add("(주의) 이 스킬은 현재 구현된 효과가 없다(components/status_effects 비어 있음).");
-
-        return SkillCastResult.turn(logs);
+        for (int i = 0; i < skill.effectStatus.length; i++) {
+            StatusType st = skill.effectStatus[i];
+            int stacks = skill.effectStacks[i];
+            if (!skill.effectTargetsEnemy[i]) {
+                rollStatus(caster, st, stacks, skill.effectChance[i], publish);
+                continue;
+            }
+            for (int t = 0; t < count; t++) {
+                if (targets[t].getHp() > 0) rollStatus(targets[t], st, stacks, skill.effectChance[i], publish);
+            }
+        }
+        return true;
     }
 
-    private Combatant resolveTarget(SkillDef skill, Combatant caster, Combatant enemyTarget) {
-        return safe(skill.getTarget()).equals("enemy") ? enemyTarget : caster;
+    private void rollStatus(Combatant target, StatusType st, int stacks, double chance, boolean publish) {
+        if (rng.nextDouble() > chance) return;
+        target.statuses().addStacks(st, stacks);
+        if (publish) {
+            events.publish(new GameEvent.StatusApplied(target.getNameForStatus(), st, stacks, target.statuses().getStacks(st)));
+        }
     }
 
-    private Combatant resolveEffectTarget(SkillStatusEffect eff, Combatant caster, Combatant enemyTarget) {
-        return safe(eff.getTarget()).equals("enemy") ? enemyTarget : caster;
+    /** 이름/정의로 컴파일된 스킬을 찾는다(로드 시 결과 우선, 없으면 1회 컴파일 후 캐시). */
+    public CompiledSkill compiled(String skillName, SkillDef skill) {
+        CompiledSkill cs = precompiled.get(skillName);
+        if (cs != null && cs.source() == skill) return cs;
+        cs = compiledByDef.get(skill);
+        if (cs == null) {
+            cs = SkillCompiler.compile(skillName, skill);
+            compiledByDef.put(skill, cs);
+        }
+        return cs;
     }
 
-    private double evalTerms(List<SkillTerm> terms, Combatant self, Combatant target, int spentMp) {
-        if (terms == null || terms.isEmpty()) return 0;
+    // 컴포넌트 1개의 항 합계. 항은 CompiledSkill에 평탄화되어 있다.
+    static double evalTerms(CompiledSkill skill, int component, Combatant self, Combatant target, int spentMp) {
+        SkillTermStat[] stats = skill.termStats;
+        double[] coefs = skill.coefs;
         double sum = 0;
-        for (SkillTerm t : terms) {
-            if (t == null) continue;
-            String stat = safe(t.getStat());
-            double coef = t.getCoef();
-
-            double base = switch (stat) {
-                case "self_attack" -> self.getAtk();
-                case "self_magic" -> self.getMagic();
-                case "self_def" -> self.getDef();
-                case "self_mdef" -> self.getMdef();
-                case "self_spd" -> self.getSpd();
-                case "self_hp" -> self.getHp();
-                case "self_max_hp" -> self.getMaxHp();
-                case "self_missing_hp" -> (self.getMaxHp() - self.getHp());
-                case "target_hp" -> target.getHp();
-                case "target_max_hp" -> target.getMaxHp();
-                case "target_missing_hp" -> (target.getMaxHp() - target.getHp());
-                case "self_spent_mp" -> spentMp;
-                case "constant" -> 1.0; // coef 자체가 값
-                default -> 0.0;
-            };
-
-            sum += base * coef;
+        for (int k = skill.termStart[component], end = skill.termEnd[component]; k < end; k++) {
+            sum += termBase(stats[k], self, target, spentMp) * coefs[k];
         }
         return sum;
     }
 
-    private StatusType toStatusType(String raw) {
-        if (raw == null) return null;
-        String s = raw.trim().toLowerCase(Locale.ROOT);
-        return switch (s) {
-            case "bleed" -> StatusType.BLEED;
-            case "poison" -> StatusType.POISON;
-            case "burn" -> StatusType.BURN;
-            case "paralysis" -> StatusType.PARALYSIS;
-            case "panic" -> StatusType.PANIC;
-            case "freeze" -> StatusType.FREEZE;
-            case "sleep" -> StatusType.SLEEP;
-            default -> null;
-        };
+    // 시전자/상수 항만(전체 대상 시전에서 컴포넌트마다 1번)
+    static double evalSelfTerms(CompiledSkill skill, int component, Combatant self, int spentMp) {
+        SkillTermStat[] stats = skill.termStats;
+        double sum = 0;
+        for (int k = skill.termStart[component], end = skill.termEnd[component]; k < end; k++) {
+            if (!stats[k].isTarget()) sum += termBase(stats[k], self, null, spentMp) * skill.coefs[k];
+        }
+        return sum;
     }
 
-    private boolean isMpHealSkill(String name, SkillDef skill) {
-        if (name != null && (name.contains("마나") || name.toLowerCase(Locale.ROOT).contains("mp"))) return true;
-        return skill != null && skill.getDescription() != null && skill.getDescription().contains("마나");
+    // 대상 항만
+    static double evalTargetTerms(CompiledSkill skill, int component, Combatant target) {
+        SkillTermStat[] stats = skill.termStats;
+        double sum = 0;
+        for (int k = skill.termStart[component], end = skill.termEnd[component]; k < end; k++) {
+            if (stats[k].isTarget()) sum += termBase(stats[k], null, target, 0) * skill.coefs[k];
+        }
+        return sum;
     }
 
-    private String safe(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase(Locale.ROOT);
+    private static double termBase(SkillTermStat stat, Combatant self, Combatant target, int spentMp) {
+        return switch (stat) {
+            case SELF_ATTACK -> self.getAtk();
+            case SELF_MAGIC -> self.getMagic();
+            case SELF_DEF -> self.getDef();
+            case SELF_MDEF -> self.getMdef();
+            case SELF_SPD -> self.getSpd();
+            case SELF_HP -> self.getHp();
+            case SELF_MAX_HP -> self.getMaxHp();
+            case SELF_MISSING_HP -> (self.getMaxHp() - self.getHp());
+            case TARGET_HP -> target.getHp();
+            case TARGET_MAX_HP -> target.getMaxHp();
+            case TARGET_MISSING_HP -> (target.getMaxHp() - target.getHp());
+            case SELF_SPENT_MP -> spentMp;
+            case CONSTANT -> 1.0; // coef 자체가 값
+            case UNKNOWN -> 0.0;
+        };
     }
 }
@@ -0,0 +1,73 @@
+package desia.skill;
+
+import desia.status.StatusType;
+
+/**
+ * 스킬 1회 시전의 예상 결과(SkillOutcomeCalculator 가 만든다, 불변).
+ *
+ * 피해/회복/실드는 난수가 없으므로 실제 시전과 같은 값이다(피해는 방어 감산 후, 실드 흡수 전).
+ * 상태이상은 "한 번이라도 걸릴 확률"(같은 상태 효과가 여러 개면 1 - (1-p1)(1-p2)...)과 걸렸을 때의 기대 스택.
+ */
+public final class SkillOutcome {
+
+    private static final int STATUS_COUNT = StatusType.values().length;
+
+    private final int mpCost;
+    private final double damage;
+    private final double heal;
+    private final boolean mpHeal;
+    private final double shield;
+    // StatusType 순서. target = 대상(적) 쪽, self = 시전자 쪽
+    private final double[] targetChance;
+    private final double[] targetStacks;
+    private final double[] selfChance;
+
+    SkillOutcome(int mpCost, double damage, double heal, boolean mpHeal, double shield,
+                 double[] targetChance, double[] targetStacks, double[] selfChance) {
+        this.mpCost = mpCost;
+        this.damage = damage;
+        this.heal = heal;
+        this.mpHeal = mpHeal;
+        this.shield = shield;
+        this.targetChance = targetChance;
+        this.targetStacks = targetStacks;
+        this.selfChance = selfChance;
+    }
+
+    public int mpCost() { return mpCost; }
+    /** 피해 합계(방어 감산 후, 실드 흡수 전). */
+    public double damage() { return damage; }
+    /** 회복량 합계(isMpHeal 이면 MP). 최대치에 막히는 것은 반영하지 않는다. */
+    public double heal() { return heal; }
+    public boolean isMpHeal() { return mpHeal; }
+    public double shield() { return shield; }
+
+    /** 대상에게 이 상태이상이 걸릴 확률(0~1). */
+    public double statusChance(StatusType type) { return targetChance[type.ordinal()]; }
+    /** 대상에게 걸리는 기대 스택(확률 x 스택 합). */
+    public double expectedStacks(StatusType type) { return targetStacks[type.ordinal()]; }
+    /** 시전자 자신에게 걸릴 확률(반동 효과). */
+    public double selfStatusChance(StatusType type) { return selfChance[type.ordinal()]; }
+
+    /** 메뉴 한 줄용 요약. 예: "피해 34, BLEED 30%". 아무 효과도 없으면 빈 문자열. */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        if (damage > 0) append(sb, "피해 " + Math.round(damage));
+        if (heal > 0) append(sb, (mpHeal ? "MP 회복 " : "회복 ") + Math.round(heal));
+        if (shield > 0) append(sb, "실드 " + Math.round(shield));
+        for (int i = 0; i < STATUS_COUNT; i++) {
+            if (targetChance[i] > 0) append(sb, StatusType.values()[i] + " " + Math.round(targetChance[i] * 100) + "%");
+        }
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String part) {
+        if (sb.length() > 0) sb.append(", ");
+        sb.append(part);
+    }
+
+    @Override
+    public String toString() {
+        return "SkillOutcome{" + summary() + ", mp=" + mpCost + "}";
+    }
+}
@@ -0,0 +1,169 @@
+package desia.skill;
+
+import desia.combat.Combatant;
+import desia.combat.DamageEngine;
+import desia.metrics.Counter;
+import desia.metrics.Metrics;
+import desia.status.StatusType;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 스킬 예상 결과(SkillOutcome) 계산기. 스킬 메뉴 미리보기와 AI 정책이 매 턴 부른다.
+ *
+ * - 결과는 (스킬, 시전자 + statsVersion, 대상 + statsVersion) 으로 LRU 캐시한다.
+ *   스탯이 바뀌면 버전이 달라져 다음 조회에서 새로 계산된다(따로 무효화할 필요 없음).
+ * - 현재 HP 를 읽는 항이 있는 스킬(CompiledSkill.hpTerms)만 양쪽 HP 도 키에 넣는다.
+ * - 캐시 적중은 할당이 없다(조회용 키 1개를 재사용). 스레드 안전하지 않다: 엔진/정책마다 1개.
+ */
+public final class SkillOutcomeCalculator {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final int STATUS_COUNT = StatusType.values().length;
+    private static final Counter HITS = Metrics.counter("skill.outcome.hit");
+    private static final Counter MISSES = Metrics.counter("skill.outcome.miss");
+
+    private final Map<Key, SkillOutcome> cache;
+    private final Key probe = new Key();
+
+    public SkillOutcomeCalculator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SkillOutcomeCalculator(int capacity) {
+        int cap = Math.max(1, capacity);
+        this.cache = new LinkedHashMap<>(cap * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SkillOutcome> eldest) {
+                return size() > cap;
+            }
+        };
+    }
+
+    /**
+     * @param enemyTarget 적 대상(자기 대상 스킬이면 상태이상 대상으로만 쓰인다). null 이면 적 쪽 효과는 0
+     */
+    public SkillOutcome outcome(CompiledSkill skill, Combatant caster, Combatant enemyTarget) {
+        probe.set(skill, caster, enemyTarget);
+        SkillOutcome o = cache.get(probe);
+        if (o != null) {
+            HITS.inc();
+            return o;
+        }
+        MISSES.inc();
+        o = compute(skill, caster, enemyTarget);
+        cache.put(probe.copy(), o);
+        return o;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /** 캐시 없이 계산. SkillEngine 의 단일 대상 시전(apply)과 같은 규칙이다(MP 는 mpCost 를 낸 것으로 본다). */
+    public static SkillOutcome compute(CompiledSkill skill, Combatant caster, Combatant enemyTarget) {
+        Combatant target = skill.targetsEnemy() ? enemyTarget : caster;
+        int cost = skill.mpCost();
+
+        double damage = 0, heal = 0, shield = 0;
+        if (target != null) {
+            for (int i = 0; i < skill.kinds.length; i++) {
+                switch (skill.kinds[i]) {
+                    case DAMAGE -> damage += DamageEngine.mitigate(target,
+                            SkillEngine.evalTerms(skill, i, caster, target, cost), skill.damageTypes[i]);
+                    case HEAL -> heal += Math.max(0, SkillEngine.evalTerms(skill, i, caster, target, cost));
+                    case SHIELD -> shield += Math.max(0, SkillEngine.evalTerms(skill, i, caster, target, cost));
+                    default -> { }
+                }
+            }
+        }
+
+        // 같은 상태가 여러 번 나오면 "한 번도 안 걸릴 확률"을 곱해 간다
+        double[] targetMiss = new double[STATUS_COUNT];
+        double[] selfMiss = new double[STATUS_COUNT];
+        double[] targetStacks = new double[STATUS_COUNT];
+        Arrays.fill(targetMiss, 1.0);
+        Arrays.fill(selfMiss, 1.0);
+        for (int i = 0; i < skill.effectStatus.length; i++) {
+            double p = Math.min(1.0, Math.max(0.0, skill.effectChance[i]));
+            int s = skill.effectStatus[i].ordinal();
+            if (skill.effectTargetsEnemy[i]) {
+                if (enemyTarget == null) continue;
+                targetMiss[s] *= 1 - p;
+                targetStacks[s] += p * skill.effectStacks[i];
+            } else {
+                selfMiss[s] *= 1 - p;
+            }
+        }
+        for (int s = 0; s < STATUS_COUNT; s++) {
+            targetMiss[s] = 1 - targetMiss[s];
+            selfMiss[s] = 1 - selfMiss[s];
+        }
+
+        return new SkillOutcome(cost, damage, heal, skill.isMpHeal(), shield, targetMiss, targetStacks, selfMiss);
+    }
+
+    // 캐시 키. 객체는 동일성으로 비교한다
+    private static final class Key {
+        CompiledSkill skill;
+        Combatant caster;
+        Combatant target;
+        int casterVersion;
+        int targetVersion;
+        double casterHp;
+        double targetHp;
+        int hash;
+
+        void set(CompiledSkill skill, Combatant caster, Combatant target) {
+            this.skill = skill;
+            this.caster = caster;
+            this.target = target;
+            this.casterVersion = caster.statsVersion();
+            this.targetVersion = (target == null) ? 0 : target.statsVersion();
+            this.casterHp = skill.hpTerms ? caster.getHp() : 0;
+            this.targetHp = (skill.hpTerms && target != null) ? target.getHp() : 0;
+
+            int h = System.identityHashCode(skill);
+            h = 31 * h + System.identityHashCode(caster);
+            h = 31 * h + System.identityHashCode(target);
+            h = 31 * h + casterVersion;
+            h = 31 * h + targetVersion;
+            h = 31 * h + Double.hashCode(casterHp);
+            h = 31 * h + Double.hashCode(targetHp);
+            this.hash = h;
+        }
+
+        Key copy() {
+            Key k = new Key();
+            k.skill = skill;
+            k.caster = caster;
+            k.target = target;
+            k.casterVersion = casterVersion;
+            k.targetVersion = targetVersion;
+            k.casterHp = casterHp;
+            k.targetHp = targetHp;
+            k.hash = hash;
+            return k;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key k)) return false;
+            return skill == k.skill && caster == k.caster && target == k.target
+                    && casterVersion == k.casterVersion && targetVersion == k.targetVersion
+                    && casterHp == k.casterHp && targetHp == k.targetHp;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package desia.skill;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.*;
-import java.io.InputStream;
+import desia.loader.DataLoader;
+
 import java.util.*;
 
 public class SkillSetRepository {
-    private final ObjectMapper om = new ObjectMapper()
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    private Map<String, List<String>> sets;
+    private final Map<String, List<String>> sets;
+
+    // skillsets.json을 직접 읽는다(단독 사용/테스트용). 게임/시뮬레이션은 GameData.skillSets()를 쓸 것.
+    public SkillSetRepository() {
+        this(new DataLoader().loadSkillSets());
+    }
 
-    public synchronized Map<String, List<String>> rawSets() {
-        if (sets != null) return sets;
-        sets = load();
+    // DataLoader.loadAll이 이미 읽은 데이터로 만든다(읽기 전용 복사본).
+    public SkillSetRepository(Map<String, List<String>> sets) {
+        Map<String, List<String>> m = new LinkedHashMap<>();
+        if (sets != null) {
+            for (Map.Entry<String, List<String>> e : sets.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) continue;
+                m.put(e.getKey(), List.copyOf(e.getValue()));
+            }
+        }
+        this.sets = Collections.unmodifiableMap(m);
+    }
+
+    public Map<String, List<String>> rawSets() {
         return sets;
     }
 
@@ -27,14 +39,4 @@ public class SkillSetRepository {
         }
         return out;
     }
-
-    private Map<String, List<String>> load() {
-        try (InputStream in = getClass().getClassLoader().getResourceAsStream("skillsets.json")) {
-            if (in == null) return Collections.emptyMap();
-            return om.readValue(in, new TypeReference<Map<String, List<String>>>() {});
-        } catch (Exception e) {
-            System.out.println("[skillsets] 로딩 실패: " + e.getMessage());
-            return Collections.emptyMap();
-        }
-    }
 }
@@ -0,0 +1,51 @@
+package desia.skill;
+
+import java.util.Locale;
+
+/**
+ * SkillTerm.stat 문자열의 enum 표현(로드 시 1회 변환).
+ */
+public enum SkillTermStat {
+    SELF_ATTACK("self_attack"),
+    SELF_MAGIC("self_magic"),
+    SELF_DEF("self_def"),
+    SELF_MDEF("self_mdef"),
+    SELF_SPD("self_spd"),
+    SELF_HP("self_hp"),
+    SELF_MAX_HP("self_max_hp"),
+    SELF_MISSING_HP("self_missing_hp"),
+    TARGET_HP("target_hp"),
+    TARGET_MAX_HP("target_max_hp"),
+    TARGET_MISSING_HP("target_missing_hp"),
+    SELF_SPENT_MP("self_spent_mp"),
+    CONSTANT("constant"), // coef 자체가 값
+    UNKNOWN("");          // 미지원 키: 항상 0
+
+    private final String key;
+
+    SkillTermStat(String key) {
+        this.key = key;
+    }
+
+    public String key() { return key; }
+
+    /** 대상의 값을 읽는 항인지(나머지는 시전자/상수). */
+    public boolean isTarget() {
+        return this == TARGET_HP || this == TARGET_MAX_HP || this == TARGET_MISSING_HP;
+    }
+
+    /** 현재 HP 를 읽는 항인지(스탯 버전만으로는 값이 정해지지 않는다). */
+    public boolean readsHp() {
+        return this == SELF_HP || this == SELF_MISSING_HP || this == TARGET_HP || this == TARGET_MISSING_HP;
+    }
+
+    /** 알 수 없는 키는 UNKNOWN. */
+    public static SkillTermStat from(String raw) {
+        if (raw == null) return UNKNOWN;
+        String s = raw.trim().toLowerCase(Locale.ROOT);
+        for (SkillTermStat t : values()) {
+            if (t != UNKNOWN && t.key.equals(s)) return t;
+        }
+        return UNKNOWN;
+    }
+}
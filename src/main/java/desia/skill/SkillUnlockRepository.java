@@ -1,9 +1,7 @@
 package desia.skill;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import desia.loader.DataLoader;
 
-import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -13,6 +11,8 @@ import java.util.*;
  * - 없거나 해당 클래스 엔트리가 없으면 기본 규칙을 사용한다:
  *   skillsets.json의 리스트 기준으로
  *   레벨 1: 앞 2개, 레벨 10/20/30/...: 이후 1개씩 해금
+ *
+ * 생성 후에는 읽기 전용이라 여러 세션/스레드가 하나를 공유해도 된다.
  */
 public class SkillUnlockRepository {
 
@@ -24,9 +24,50 @@ public class SkillUnlockRepository {
     private final Map<String, List<Rule>> rulesByClass;
     private final SkillSetRepository skillSets;
 
+    private static volatile SkillUnlockRepository defaults;
+
+    // skill_unlocks.json / skillsets.json을 직접 읽는다(단독 사용/테스트용).
     public SkillUnlockRepository() {
-        this.skillSets = new SkillSetRepository();
-        this.rulesByClass = loadRules();
+        this(new DataLoader().loadSkillUnlockRules(), new SkillSetRepository());
+    }
+
+    // DataLoader.loadAll이 이미 읽은 데이터로 만든다. 규칙은 여기서 한 번만 레벨순 정렬한다.
+    public SkillUnlockRepository(Map<String, List<Rule>> rules, SkillSetRepository skillSets) {
+        Map<String, List<Rule>> m = new HashMap<>();
+        if (rules != null) {
+            for (Map.Entry<String, List<Rule>> e : rules.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) continue;
+                List<Rule> list = new ArrayList<>();
+                for (Rule r : e.getValue()) if (r != null) list.add(r);
+                list.sort(Comparator.comparingInt(r -> r.level));
+                m.put(e.getKey(), List.copyOf(list));
+            }
+        }
+        this.rulesByClass = Collections.unmodifiableMap(m);
+        this.skillSets = (skillSets == null) ? new SkillSetRepository(Map.of()) : skillSets;
+    }
+
+    /**
+     * 리소스에서 한 번만 읽어 공유하는 기본 인스턴스.
+     * GameData 없이 세션을 만드는 경로(테스트 등)가 세션마다 json을 다시 읽지 않게 한다.
+     */
+    public static SkillUnlockRepository defaults() {
+        SkillUnlockRepository d = defaults;
+        if (d == null) {
+            synchronized (SkillUnlockRepository.class) {
+                d = defaults;
+                if (d == null) {
+                    d = new SkillUnlockRepository();
+                    defaults = d;
+                }
+            }
+        }
+        return d;
+    }
+
+    /** 직업별 해금 규칙(레벨순, 읽기 전용). 검증/스냅샷용. */
+    public Map<String, List<Rule>> rulesView() {
+        return rulesByClass;
     }
 
     /** 현재 레벨까지 습득 가능한 스킬 목록(중복 제거, 순서 유지). */
@@ -38,9 +79,7 @@ public class SkillUnlockRepository {
         List<Rule> rules = rulesByClass.get(c);
 
         if (rules != null && !rules.isEmpty()) {
-            rules.sort(Comparator.comparingInt(r -> r.level));
             for (Rule r : rules) {
-                if (r == null) continue;
                 if (r.level <= lv && r.skills != null) out.addAll(r.skills);
             }
             return out;
@@ -72,7 +111,7 @@ public class SkillUnlockRepository {
         if (rules != null && !rules.isEmpty()) {
             List<String> out = new ArrayList<>();
             for (Rule r : rules) {
-                if (r != null && r.level == lv && r.skills != null) out.addAll(r.skills);
+                if (r.level == lv && r.skills != null) out.addAll(r.skills);
             }
             return out;
         }
@@ -84,17 +123,4 @@ public class SkillUnlockRepository {
         if (idx >= 0 && idx < list.size()) return List.of(list.get(idx));
         return List.of();
     }
-
-    private Map<String, List<Rule>> loadRules() {
-        try (InputStream in = getClass().getResourceAsStream("/skill_unlocks.json")) {
-            if (in == null) return Collections.emptyMap();
-            ObjectMapper om = new ObjectMapper();
-            Map<String, List<Rule>> m = om.readValue(in, new TypeReference<>() {});
-            if (m == null) return Collections.emptyMap();
-            return m;
-        } catch (Exception e) {
-            System.out.println("skill_unlocks.json 로드 실패: " + e.getMessage());
-            return Collections.emptyMap();
-        }
-    }
 }
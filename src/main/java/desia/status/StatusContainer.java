@@ -1,46 +1,92 @@
 package desia.status;
 
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.Map;
 
+/**
+ * 상태이상 스택 저장소.
+ * - 스택은 StatusType.ordinal() 인덱스의 int 배열에 둔다(박싱 없음).
+ * - activeMask 의 비트 i 는 "ordinal i 의 스택 > 0" 과 항상 같다.
+ * - snapshot() 은 변경이 있을 때만 다시 만든다.
+ */
 public class StatusContainer {
 
-    private final EnumMap<StatusType, Integer> stacks = new EnumMap<>(StatusType.class);
+    private static final StatusType[] TYPES = StatusType.values();
+
+    private final int[] stacks = new int[TYPES.length];
+    private int activeMask;
+
+    private Map<StatusType, Integer> snapshot; // null = 다시 만들어야 함
+
+    /** 해당 상태의 비트. activeMask() 와 함께 쓴다. */
+    public static int bit(StatusType type) {
+        return (type == null) ? 0 : (1 << type.ordinal());
+    }
+
+    /** 스택이 1 이상인 상태들의 비트 집합. */
+    public int activeMask() {
+        return activeMask;
+    }
 
     public int getStacks(StatusType type) {
         if (type == null) return 0;
-        Integer v = stacks.get(type);
-        return (v == null) ? 0 : v;
+        return stacks[type.ordinal()];
     }
 
     public boolean has(StatusType type) {
-        return getStacks(type) > 0;
+        return (activeMask & bit(type)) != 0;
     }
 
     public void addStacks(StatusType type, int n) {
         if (type == null || n <= 0) return;
-        int cur = getStacks(type);
-        stacks.put(type, cur + n);
+        int i = type.ordinal();
+        stacks[i] += n;
+        activeMask |= (1 << i);
+        snapshot = null;
     }
 
     public void reduceStacks(StatusType type, int n) {
         if (type == null || n <= 0) return;
-        int cur = getStacks(type);
-        int next = Math.max(0, cur - n);
-        if (next == 0) stacks.remove(type);
-        else stacks.put(type, next);
+        int i = type.ordinal();
+        if (stacks[i] == 0) return;
+        set(i, Math.max(0, stacks[i] - n));
     }
 
     public void clear(StatusType type) {
         if (type == null) return;
-        stacks.remove(type);
+        int i = type.ordinal();
+        if (stacks[i] == 0) return;
+        set(i, 0);
     }
 
     public void clearAll() {
-        stacks.clear();
+        if (activeMask == 0) return;
+        Arrays.fill(stacks, 0);
+        activeMask = 0;
+        snapshot = null;
     }
 
     public Map<StatusType, Integer> snapshot() {
-        return Map.copyOf(stacks);
+        Map<StatusType, Integer> s = snapshot;
+        if (s == null) {
+            if (activeMask == 0) {
+                s = Map.of();
+            } else {
+                EnumMap<StatusType, Integer> m = new EnumMap<>(StatusType.class);
+                for (int i = 0; i < stacks.length; i++) {
+                    if (stacks[i] > 0) m.put(TYPES[i], stacks[i]);
+                }
+                s = Map.copyOf(m);
+            }
+            snapshot = s;
+        }
+        return s;
+    }
+
+    private void set(int i, int v) {
+        stacks[i] = v;
+        if (v == 0) activeMask &= ~(1 << i);
+        snapshot = null;
     }
 }
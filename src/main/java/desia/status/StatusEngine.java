@@ -1,6 +1,9 @@
 package desia.status;
 
 import desia.combat.ShieldCarrier;
+import desia.metrics.Counter;
+import desia.metrics.Histogram;
+import desia.metrics.Metrics;
 
 public final class StatusEngine {
 
@@ -8,18 +11,35 @@ public final class StatusEngine {
 
     public static final int DOT_DAMAGE_PER_STACK = 1;
 
+    private static final Counter DOT_TICKS = Metrics.counter("status.dot.ticks");
+    private static final Histogram DOT_DAMAGE = Metrics.histogram("status.dot.damage");
+
+    private static final int SLEEP = StatusContainer.bit(StatusType.SLEEP);
+    private static final int FREEZE = StatusContainer.bit(StatusType.FREEZE);
+    private static final int PARALYSIS = StatusContainer.bit(StatusType.PARALYSIS);
+    private static final int PANIC = StatusContainer.bit(StatusType.PANIC);
+    private static final int BURN = StatusContainer.bit(StatusType.BURN);
+
+    /** 행동 불가를 일으키는 제어계 상태 비트 */
+    static final int CONTROL_MASK = PARALYSIS | PANIC | FREEZE | SLEEP;
+    /** 엔드 페이즈 도트 대미지를 주는 상태 비트 */
+    static final int DOT_MASK = StatusContainer.bit(StatusType.BLEED)
+            | StatusContainer.bit(StatusType.POISON)
+            | BURN;
+
     // "피격(히트)" 이벤트: 도트에는 호출하지 말 것
     public static void onHitTaken(StatusCarrier target, int hitCount) {
         if (target == null || hitCount <= 0) return;
         StatusContainer st = target.statuses();
+        int mask = st.activeMask();
 
         // 수면: 피격 즉시 해제
-        if (st.has(StatusType.SLEEP)) {
+        if ((mask & SLEEP) != 0) {
             st.clear(StatusType.SLEEP);
         }
 
         // 화상: 피격 횟수만큼 스택 감소(연타면 연타 횟수만큼)
-        if (st.has(StatusType.BURN)) {
+        if ((mask & BURN) != 0) {
             st.reduceStacks(StatusType.BURN, hitCount);
         }
     }
@@ -27,20 +47,16 @@ public final class StatusEngine {
     // 행동 불가(스택형 제어계)
     public static boolean blocksAction(StatusCarrier unit) {
         if (unit == null) return false;
-        StatusContainer st = unit.statuses();
-        return st.has(StatusType.PARALYSIS)
-                || st.has(StatusType.PANIC)
-                || st.has(StatusType.FREEZE)
-                || st.has(StatusType.SLEEP);
+        return (unit.statuses().activeMask() & CONTROL_MASK) != 0;
     }
 
     public static String blockReason(StatusCarrier unit) {
         if (unit == null) return "";
-        StatusContainer st = unit.statuses();
-        if (st.has(StatusType.SLEEP)) return "수면";
-        if (st.has(StatusType.FREEZE)) return "빙결";
-        if (st.has(StatusType.PARALYSIS)) return "마비";
-        if (st.has(StatusType.PANIC)) return "패닉";
+        int mask = unit.statuses().activeMask();
+        if ((mask & SLEEP) != 0) return "수면";
+        if ((mask & FREEZE) != 0) return "빙결";
+        if ((mask & PARALYSIS) != 0) return "마비";
+        if ((mask & PANIC) != 0) return "패닉";
         return "상태이상";
     }
 
@@ -48,6 +64,9 @@ public final class StatusEngine {
     public static int applyEndPhase(StatusCarrier unit) {
         if (unit == null) return 0;
         StatusContainer st = unit.statuses();
+        int mask = st.activeMask();
+        // 도트도 제어계도 없으면 할 일이 없다.
+        if ((mask & (DOT_MASK | CONTROL_MASK)) == 0) return 0;
 
         int bleed = st.getStacks(StatusType.BLEED);
         int poison = st.getStacks(StatusType.POISON);
@@ -55,6 +74,8 @@ public final class StatusEngine {
 
         int dot = (bleed + poison + burn) * DOT_DAMAGE_PER_STACK;
         if (dot > 0) {
+            DOT_TICKS.inc();
+            DOT_DAMAGE.record(dot);
             // 도트는 경감 없이 고정 대미지(true)지만, 실드는 예외로 먼저 깎인다.
             if (unit instanceof ShieldCarrier sc) {
                 double hpDmg = sc.absorbDamage(dot);
@@ -68,10 +89,12 @@ public final class StatusEngine {
         if (poison > 0) st.reduceStacks(StatusType.POISON, 1);
 
         // 제어계: 엔드 페이즈마다 1스택 감소
-        reduceIfAny(st, StatusType.PARALYSIS, 1);
-        reduceIfAny(st, StatusType.PANIC, 1);
-        reduceIfAny(st, StatusType.FREEZE, 1);
-        reduceIfAny(st, StatusType.SLEEP, 1);
+        if ((mask & CONTROL_MASK) != 0) {
+            reduceIfAny(st, mask, PARALYSIS, StatusType.PARALYSIS);
+            reduceIfAny(st, mask, PANIC, StatusType.PANIC);
+            reduceIfAny(st, mask, FREEZE, StatusType.FREEZE);
+            reduceIfAny(st, mask, SLEEP, StatusType.SLEEP);
+        }
 
         // 화상: 피격으로만 감소(엔드 페이즈 감소 없음)
         // 출혈: 전투 종료까지 유지(감소 없음)
@@ -79,7 +102,7 @@ public final class StatusEngine {
         return dot;
     }
 
-    private static void reduceIfAny(StatusContainer st, StatusType type, int n) {
-        if (st.has(type)) st.reduceStacks(type, n);
+    private static void reduceIfAny(StatusContainer st, int mask, int bit, StatusType type) {
+        if ((mask & bit) != 0) st.reduceStacks(type, 1);
     }
 }
@@ -1,12 +1,16 @@
 package desia.story;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import desia.item.StatVector;
+import desia.loader.DataLoader;
 
-import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * story.json 로더.
@@ -29,8 +33,71 @@ public class StoryRepository {
 
     private final Map<String, JsonNode> story;
 
+    // STAT 효과의 stats 를 생성 시 1번 StatVector 로 바꿔 둔다(효과 노드 identity 기준).
+    private final Map<JsonNode, StatVector> statByEffect = new IdentityHashMap<>();
+    // 같은 내용을 "키 선택지N" 이름으로(검증 경고용)
+    private final Map<String, StatVector> statEffects = new LinkedHashMap<>();
+
+    // story.json을 직접 읽는다(단독 사용/테스트용). 게임은 GameData.story()를 쓸 것.
     public StoryRepository() {
-        this.story = load();
+        this(new DataLoader().loadStory());
+    }
+
+    // DataLoader.loadAll이 이미 읽은 노드들로 만든다.
+    public StoryRepository(Map<String, JsonNode> story) {
+        this.story = (story == null) ? Map.of() : Collections.unmodifiableMap(new HashMap<>(story));
+        resolveStatEffects();
+    }
+
+    private void resolveStatEffects() {
+        for (Map.Entry<String, JsonNode> e : new TreeMap<>(story).entrySet()) {
+            JsonNode choices = (e.getValue() == null) ? null : e.getValue().get("choices");
+            if (choices == null || !choices.isArray()) continue;
+            for (int i = 0; i < choices.size(); i++) {
+                JsonNode effects = choices.get(i).get("effects");
+                if (effects == null || !effects.isArray()) continue;
+                for (JsonNode eff : effects) {
+                    if (eff == null || !eff.isObject()) continue;
+                    JsonNode type = eff.get("type");
+                    JsonNode stats = eff.get("stats");
+                    if (type == null || !"STAT".equals(type.asText()) || stats == null || !stats.isObject()) continue;
+                    StatVector v = toStatVector(stats);
+                    statByEffect.put(eff, v);
+                    statEffects.put(e.getKey() + " 선택지" + (i + 1), v);
+                }
+            }
+        }
+    }
+
+    // 숫자 또는 숫자 문자열만 값으로 인정(나머지는 0)
+    private static StatVector toStatVector(JsonNode stats) {
+        Map<String, Integer> m = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = stats.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> f = it.next();
+            JsonNode v = f.getValue();
+            int n = 0;
+            if (v != null && v.isNumber()) {
+                n = v.asInt();
+            } else if (v != null && v.isTextual()) {
+                try { n = Integer.parseInt(v.asText().trim()); } catch (Exception ignored) {}
+            }
+            m.put(f.getKey(), n);
+        }
+        return StatVector.of(m);
+    }
+
+    /** STAT 효과 노드의 stats(로드 시 변환본). 이 저장소의 노드가 아니면 그 자리에서 변환한다. */
+    public StatVector statEffect(JsonNode effect) {
+        if (effect == null) return StatVector.ZERO;
+        StatVector v = statByEffect.get(effect);
+        if (v != null) return v;
+        JsonNode stats = effect.get("stats");
+        return (stats == null || !stats.isObject()) ? StatVector.ZERO : toStatVector(stats);
+    }
+
+    /** "스토리키 선택지N" -> STAT 효과 스탯. */
+    public Map<String, StatVector> statEffects() {
+        return Collections.unmodifiableMap(statEffects);
     }
 
     public JsonNode getNode(String key) {
@@ -54,25 +121,6 @@ public class StoryRepository {
     }
 
     public Map<String, JsonNode> raw() {
-        return Collections.unmodifiableMap(story);
-    }
-
-    private Map<String, JsonNode> load() {
-        try (InputStream in = getClass().getResourceAsStream("/story.json")) {
-            if (in == null) {
-                System.out.println("story.json 로드 실패: 리소스를 찾을 수 없음");
-                return Collections.emptyMap();
-            }
-            ObjectMapper om = new ObjectMapper();
-            JsonNode root = om.readTree(in);
-            if (root == null || !root.isObject()) return Collections.emptyMap();
-
-            Map<String, JsonNode> out = new HashMap<>();
-            root.fields().forEachRemaining(e -> out.put(e.getKey(), e.getValue()));
-            return out;
-        } catch (Exception e) {
-            System.out.println("story.json 로드 실패: " + e.getMessage());
-            return Collections.emptyMap();
-        }
+        return story;
     }
 }
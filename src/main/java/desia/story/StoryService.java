@@ -3,6 +3,8 @@ package desia.story;
 import com.fasterxml.jackson.databind.JsonNode;
 import desia.equipment.EquipmentDropService;
 import desia.io.Io;
+import desia.item.StatKey;
+import desia.item.StatVector;
 import desia.progress.ChapterConfig;
 import desia.progress.GameSession;
 import desia.ui.ConsoleUi;
@@ -24,9 +26,17 @@ public class StoryService {
      * (선택지 노드도 text만 출력하고 종료)
      */
     public void printStory(String key) {
+        showStory(key);
+        io.anythingToContinue();
+    }
+
+    /**
+     * 문자열 스토리 출력만 하고 입력은 기다리지 않는다.
+     * 비동기 흐름(CampaignEngine)은 이걸 부른 뒤 AsyncIo.continueAsync 로 이어 간다.
+     */
+    public void showStory(String key) {
         ConsoleUi.clearConsole();
         ConsoleUi.printHeading(repo.getText(key), 1);
-        io.anythingToContinue();
     }
 
     /**
@@ -97,7 +107,7 @@ public class StoryService {
                         boolean permanent = boolVal(eff, "permanent", true);
                         JsonNode stats = eff.get("stats");
                         if (stats != null && stats.isObject()) {
-                            applyStats(session, stats, permanent);
+                            applyStats(session, repo.statEffect(eff), permanent);
                         }
                     }
                     case "CONSUMABLE" -> {
@@ -149,15 +159,15 @@ public class StoryService {
         return (battle == null) ? StoryAction.none() : StoryAction.battle(battle);
     }
 
-    private static void applyStats(GameSession session, JsonNode stats, boolean permanent) {
-        // 지원 키: max_hp, max_mp, attack, defense, spell_power, magic_resist, speed
-        int maxHp = intVal(stats, "max_hp", 0);
-        int maxMp = intVal(stats, "max_mp", 0);
-        int atk = intVal(stats, "attack", 0);
-        int def = intVal(stats, "defense", 0);
-        int magic = intVal(stats, "spell_power", 0);
-        int mres = intVal(stats, "magic_resist", 0);
-        int spd = intVal(stats, "speed", 0);
+    private static void applyStats(GameSession session, StatVector stats, boolean permanent) {
+        // 지원 키: max_hp, max_mp, attack, defense, spell_power, magic_resist, speed (StatKey)
+        int maxHp = stats.get(StatKey.MAX_HP);
+        int maxMp = stats.get(StatKey.MAX_MP);
+        int atk = stats.get(StatKey.ATTACK);
+        int def = stats.get(StatKey.DEFENSE);
+        int magic = stats.get(StatKey.SPELL_POWER);
+        int mres = stats.get(StatKey.MAGIC_RESIST);
+        int spd = stats.get(StatKey.SPEED);
 
         if (!permanent) {
             // 임시: 현재치만 조정(클램프됨)
@@ -167,7 +177,7 @@ public class StoryService {
         }
 
         // 영구 보너스는 GameSession 내부 bonus 필드에 누적한다.
-        session.addPermanentStats(maxHp, maxMp, atk, magic, def, mres, spd);
+        session.addPermanentStats(stats);
 
         // 출력
         List<String> parts = new ArrayList<>();
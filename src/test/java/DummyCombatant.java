@@ -29,6 +29,11 @@ public class DummyCombatant implements Combatant {
     // setters (테스트에서 값 세팅용)
     public DummyCombatant level(int v) { this.level = v; return this; }
     public DummyCombatant maxHp(double v) { this.maxHp = v; return this; }
+    public DummyCombatant maxMp(double v) { this.maxMp = v; return this; }
+    public DummyCombatant atk(double v) { this.atk = v; return this; }
+    public DummyCombatant magic(double v) { this.magic = v; return this; }
+    public DummyCombatant spd(double v) { this.spd = v; return this; }
+    public DummyCombatant mp(double v) { this.mp = v; return this; }
     public DummyCombatant def(double v) { this.def = v; return this; }
     public DummyCombatant mdef(double v) { this.mdef = v; return this; }
     public DummyCombatant hp(double v) { this.hp = v; return this; }
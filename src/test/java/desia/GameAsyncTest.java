@@ -0,0 +1,86 @@
+package desia;
+
+import desia.io.AsyncIo;
+import desia.io.Io;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameAsyncTest {
+
+    private static final GameData DATA = new DataLoader().loadAll();
+
+    // FxIo 처럼 Io 와 AsyncIo 를 함께 구현한다. 블로킹 입력은 불리면 실패, 비동기 입력은 미완료 future 를 쌓는다.
+    private static final class ScriptedIo implements Io, AsyncIo {
+        final Deque<CompletableFuture<Object>> pending = new ArrayDeque<>();
+        final List<String> waits = new ArrayList<>();
+
+        private <T> T fail(String what) {
+            throw new AssertionError("비동기 흐름에서 블로킹 Io." + what + " 호출");
+        }
+
+        @Override public int readInt(String prompt, int userChoices) { return fail("readInt"); }
+        @Override public int readIntAllowZero(String prompt, int max) { return fail("readIntAllowZero"); }
+        @Override public int choose(String prompt, List<String> options) { return fail("choose"); }
+        @Override public int chooseAllowCancel(String prompt, List<String> options, String cancelLabel) { return fail("chooseAllowCancel"); }
+        @Override public String readNonEmptyString(String prompt, int maxLen) { return fail("readNonEmptyString"); }
+        @Override public void anythingToContinue() { fail("anythingToContinue"); }
+        @Override public boolean confirmExit() { return fail("confirmExit"); }
+
+        @Override public CompletionStage<Integer> chooseAsync(String prompt, List<String> options) { return push(prompt); }
+        @Override public CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel) { return push(prompt); }
+        @Override public CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen) { return push("read"); }
+        @Override public CompletionStage<Void> continueAsync() { return push("continue"); }
+        @Override public Io blocking() { return this; }
+
+        @Override
+        public <T> CompletionStage<T> callBlocking(Supplier<T> body) {
+            return CompletableFuture.failedFuture(new AssertionError("이 시나리오에는 블로킹 화면이 없다"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> CompletionStage<T> push(String what) {
+            assertTrue(pending.isEmpty(), "입력은 한 번에 하나만 기다린다");
+            waits.add(what);
+            CompletableFuture<Object> f = new CompletableFuture<>();
+            pending.add(f);
+            return (CompletionStage<T>) f;
+        }
+
+        void answer(Object v) {
+            assertEquals(1, pending.size(), "기다리는 입력이 없다: " + waits);
+            pending.poll().complete(v);
+        }
+    }
+
+    @Test
+    void newGame_toCampaignHub_andExit_onInputEvents() {
+        ScriptedIo io = new ScriptedIo();
+        CompletableFuture<Void> done = new Game(io, DATA).startAsync();
+
+        // 호출은 바로 돌아오고, 이후는 입력을 완료하는 쪽(여기선 테스트 스레드)에서 이어진다
+        assertFalse(done.isDone());
+        io.answer(1);       // [메인 메뉴] 새 게임
+        io.answer(1);       // [캐릭터 선택]
+        io.answer("용사");  // 이름
+        io.answer(null);    // 시작 스토리 [계속]
+        io.answer(6);       // [메뉴] 메인메뉴
+        io.answer(5);       // [메인 메뉴] 게임 종료
+        assertFalse(done.isDone());
+        io.answer(1);       // 예
+
+        done.join();
+        assertEquals(List.of("[메인 메뉴]", "[캐릭터 선택]", "read", "continue", "[메뉴]", "[메인 메뉴]", "게임을 종료하시겠습니까?"),
+                io.waits);
+    }
+}
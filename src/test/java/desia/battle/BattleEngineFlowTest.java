@@ -0,0 +1,130 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.io.AsyncIo;
+import desia.io.ConsoleIo;
+import desia.io.InputFlow;
+import desia.io.Io;
+import desia.progress.ChapterRepository;
+import desia.progress.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleEngineFlowTest {
+
+    private static GameSession session() {
+        Player p = Player.builder()
+                .classes("테스트").level(1)
+                .maxHp(100).maxMp(0).atk(20).def(0).mdef(0).spd(10)
+                .build();
+        return GameSession.newSession(p, Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), new ChapterRepository(), "p");
+    }
+
+    private static EnemyInstance dummy() {
+        Enemy e = Enemy.builder().name("허수아비").tier("minion").maxHp(50).atk(5).spd(1).build();
+        return new EnemyInstance(e, 1);
+    }
+
+    // 입력마다 미완료 future 를 내주고, 테스트가 직접 완료한다
+    private static final class PendingIo implements AsyncIo {
+        final Deque<CompletableFuture<?>> pending = new ArrayDeque<>();
+        int chooses = 0;
+        int continues = 0;
+        boolean waitingForChoice = false;
+
+        @Override
+        public CompletionStage<Integer> chooseAsync(String prompt, List<String> options) {
+            chooses++;
+            waitingForChoice = true;
+            return push(new CompletableFuture<Integer>());
+        }
+
+        @Override
+        public CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel) {
+            return push(new CompletableFuture<Integer>());
+        }
+
+        @Override
+        public CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen) {
+            return push(new CompletableFuture<String>());
+        }
+
+        @Override
+        public CompletionStage<Void> continueAsync() {
+            continues++;
+            waitingForChoice = false;
+            return push(new CompletableFuture<Void>());
+        }
+
+        @Override
+        public Io blocking() {
+            throw new UnsupportedOperationException();
+        }
+
+        private <T> CompletableFuture<T> push(CompletableFuture<T> f) {
+            assertTrue(pending.isEmpty(), "입력은 한 번에 하나만 기다린다");
+            pending.add(f);
+            return f;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fightAsync_advancesOnlyWhenInputArrives() {
+        PendingIo io = new PendingIo();
+        GameSession s = session();
+        CompletableFuture<BattleOutcome> result = new BattleEngine(io).fightAsync(s, dummy());
+
+        int answered = 0;
+        while (!result.isDone()) {
+            // 입력이 오기 전에는 멈춰 있다(스레드 없이)
+            assertEquals(1, io.pending.size());
+            CompletableFuture<Object> f = (CompletableFuture<Object>) io.pending.poll();
+            f.complete(io.waitingForChoice ? 1 : null); // 행동 선택: 기본 공격 / 계속
+            answered++;
+        }
+
+        assertEquals(BattleOutcome.WIN, result.join());
+        // 20 피해 x3, 라운드마다 [계속] + 승리 후 [계속]
+        assertEquals(3, io.chooses);
+        assertEquals(3, io.continues);
+        assertEquals(6, answered);
+        assertEquals(90, Math.round(s.getHp()));
+    }
+
+    @Test
+    void fight_blockingIo_runsTheSameMachine() {
+        Io io = new ConsoleIo() {
+            @Override
+            protected String readLine() {
+                return "1";
+            }
+        };
+        GameSession s = session();
+
+        assertEquals(BattleOutcome.WIN, new BattleEngine(io).fight(s, dummy()));
+        assertEquals(90, Math.round(s.getHp()));
+    }
+
+    @Test
+    void inputFailure_failsTheFight() {
+        PendingIo io = new PendingIo();
+        CompletableFuture<BattleOutcome> result = new BattleEngine(io).fightAsync(session(), dummy());
+
+        io.pending.poll().completeExceptionally(new IllegalStateException("연결 끊김"));
+
+        assertTrue(result.isCompletedExceptionally());
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> InputFlow.join(result));
+        assertEquals("연결 끊김", e.getMessage());
+    }
+}
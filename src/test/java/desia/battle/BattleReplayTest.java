@@ -0,0 +1,73 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.progress.ChapterRepository;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.progress.RngStream;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleReplayTest {
+
+    private static final Enemy ENEMY = Enemy.builder()
+            .name("마법 허수아비").tier("minion")
+            .maxHp(60).maxMp(100).atk(3).magic(9).spd(1)
+            .build();
+
+    private static GameSession session() {
+        Player p = Player.builder()
+                .classes("테스트").level(1)
+                .maxHp(100).maxMp(0).atk(5).def(0).mdef(0).spd(10)
+                .build();
+        return GameSession.newSession(p, Map.of(ENEMY.getName(), ENEMY), Map.of(), Map.of(), Map.of(), Map.of(),
+                new ChapterRepository(), "p", new GameRng(1));
+    }
+
+    // 체력이 낮으면 도망(난수 사용), 아니면 공격
+    private static final PlayerPolicy RUN_WHEN_LOW = (self, enemy) ->
+            (self.getHp() < 60) ? BattleAction.ESCAPE : BattleAction.ATTACK;
+
+    @Test
+    void replay_reproducesFightBitForBit_afterBinaryRoundTrip() throws Exception {
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(new Random());
+
+        for (long seed = 1; seed <= 50; seed++) {
+            BattleReplay rec = BattleReplay.record(engine, seed, session(), new EnemyInstance(ENEMY, 1),
+                    RUN_WHEN_LOW, EnemyPolicy.DEFAULT);
+            BattleReplay back = BattleReplay.fromBytes(rec.toBytes());
+
+            assertEquals(rec.decisionCount(), back.decisionCount());
+            assertEquals(rec.outcome(), back.outcome());
+            assertTrue(back.replay(engine, session(), null, EnemyPolicy.DEFAULT, null), "seed=" + seed);
+        }
+    }
+
+    @Test
+    void replay_detectsDivergence() throws Exception {
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(new Random());
+        BattleReplay rec = BattleReplay.record(engine, 3, session(), new EnemyInstance(ENEMY, 1),
+                PlayerPolicy.attackOnly(), EnemyPolicy.DEFAULT);
+
+        // 적 정책이 다르면 같은 결정으로도 결과가 달라진다.
+        EnemyPolicy alwaysSkill = (self, target, rng) -> EnemyAction.SKILL;
+        assertFalse(rec.replay(engine, session(), null, alwaysSkill, null));
+    }
+
+    @Test
+    void gameRng_streamsAreSeededAndIndependent() {
+        GameRng a = new GameRng(42);
+        GameRng b = new GameRng(42);
+
+        // 다른 스트림을 먼저 소비해도 BATTLE 스트림 값은 같다.
+        a.stream(RngStream.SHOP).nextInt();
+        assertEquals(a.stream(RngStream.BATTLE).nextLong(), b.stream(RngStream.BATTLE).nextLong());
+        assertNotEquals(GameRng.streamSeed(42, RngStream.WORLD), GameRng.streamSeed(42, RngStream.BATTLE));
+    }
+}
@@ -0,0 +1,133 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.combat.Combatant;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.ChapterRepository;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.skill.CompiledSkill;
+import desia.skill.SkillEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterEngineTest {
+
+    private static GameSession member(double spd) {
+        Player p = Player.builder()
+                .classes("테스트").level(1)
+                .maxHp(100).maxMp(50).atk(20).magic(30).def(0).mdef(0).spd(spd)
+                .build();
+        return GameSession.newSession(p, Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), new ChapterRepository(), "p");
+    }
+
+    private static EnemyInstance dummy(String name, double spd) {
+        Enemy e = Enemy.builder().name(name).tier("minion").maxHp(50).atk(5).spd(spd).build();
+        return new EnemyInstance(e, 1);
+    }
+
+    @Test
+    void timeline_fasterActsMoreOften_andTiesGoToLowerSlot() {
+        TurnTimeline t = new TurnTimeline();
+        t.reset(3);
+        t.add(0, 10);
+        t.add(1, 20);
+        t.add(2, 10);
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int slot = t.next();
+            order.add(slot);
+            t.requeue(slot);
+        }
+        // 시각 5:1, 10:0,1,2, 15:1, 20:0,1,2
+        assertEquals(List.of(1, 0, 1, 2, 1, 0, 1, 2), order);
+    }
+
+    @Test
+    void oneOnOne_equalSpeed_playerActsFirst() {
+        EncounterEngine engine = new EncounterEngine(new Random(1));
+        BattleStats stats = new BattleStats();
+
+        // HeadlessBattleEngineTest 와 같은 싸움: 20 피해 x3 으로 HP 50 처치, 그 사이 적은 2번 공격
+        GameSession s = member(1);
+        BattleOutcome o = engine.fight(List.of(s), List.of(PlayerPolicy.attackOnly()),
+                List.of(dummy("허수아비", 1)), EnemyPolicy.DEFAULT, null, stats);
+
+        assertEquals(BattleOutcome.WIN, o);
+        assertEquals(3, stats.rounds());
+        assertEquals(10, stats.damageToPlayer());
+        assertEquals(90, stats.playerHpLeft());
+    }
+
+    @Test
+    void pluralSkill_hitsEveryEnemy_sameAsSingleCast() {
+        GameData data = new DataLoader().loadAll();
+        CompiledSkill skill = data.compiledSkills().get("파이어 브레스");
+        assertTrue(skill.isPlural());
+
+        // 배치 시전과 단일 시전의 피해가 대상마다 같다
+        SkillEngine se = new SkillEngine(new Random(1), data.compiledSkills());
+        Combatant[] three = {dummy("a", 1), dummy("b", 1), dummy("c", 1)};
+        EnemyInstance single = dummy("d", 1);
+        assertTrue(se.castBatch(skill, member(1), three, 3));
+        assertTrue(se.castQuiet(skill, member(1), single));
+        for (Combatant c : three) assertEquals(single.getHp(), c.getHp());
+
+        // 엔진: 첫 행동 한 번으로 적 셋이 모두 맞는다
+        BattleAction breath = BattleAction.skill("파이어 브레스", data.skills().get("파이어 브레스"));
+        List<EnemyInstance> enemies = List.of(dummy("a", 1), dummy("b", 1), dummy("c", 1));
+        int[] actions = new int[1];
+        BattleEventSink sink = new BattleEventSink() {
+            @Override public void onPlayerAction(int round, BattleAction action, double hpDamage) {
+                if (actions[0]++ == 0) {
+                    for (EnemyInstance e : enemies) assertTrue(e.getHp() < e.getMaxHp(), e.getName());
+                    assertEquals(3 * (50 - single.getHp()), hpDamage, 1e-9);
+                }
+            }
+        };
+        EncounterEngine engine = new EncounterEngine(new Random(2), 100, data.compiledSkills());
+        engine.fight(List.of(member(5)), List.of((self, enemy) -> breath), enemies, EnemyPolicy.DEFAULT, sink, new BattleStats());
+        assertTrue(actions[0] > 0);
+    }
+
+    @Test
+    void fiveOnFive_isDeterministic() {
+        GameData data = new DataLoader().loadAll();
+        List<String> names = new ArrayList<>(data.enemies().keySet());
+        Collections.sort(names);
+        EncounterEngine engine = new EncounterEngine(new Random(0), 200, data.compiledSkills());
+        BattleStats stats = new BattleStats();
+
+        // 속도는 EncounterBenchmark(size=5)가 맡는다: 여기서는 같은 시드의 재현성만 본다
+        String first = null;
+        for (int fight = 0; fight <= 10; fight++) {
+            engine.reseed(fight % 10);
+            List<GameSession> party = new ArrayList<>();
+            List<PlayerPolicy> policies = new ArrayList<>();
+            List<EnemyInstance> enemies = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                GameSession s = GameSession.newSession(data, data.playables().get(i % data.playables().size()), "p" + i, new GameRng(i));
+                s.setLevel(10);
+                s.refreshKnownSkills();
+                party.add(s);
+                policies.add(PlayerPolicy.firstAffordableSkill());
+                enemies.add(new EnemyInstance(data.enemies().get(names.get((fight % 10 + i * 7) % names.size())), 12));
+            }
+            engine.fight(party, policies, enemies, null, null, stats);
+            assertNotNull(stats.outcome());
+            if (fight == 0) first = stats.toString();
+            if (fight == 10) assertEquals(first, stats.toString());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.status.StatusType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyAiTest {
+
+    private static final GameData DATA = new DataLoader().loadAll();
+
+    private static GameSession session() {
+        return GameSession.newSession(DATA, DATA.playables().get(0), "p", new GameRng(1));
+    }
+
+    private static Enemy testBoss() {
+        return Enemy.builder().name("시험 보스").tier("boss").maxHp(100).maxMp(100).atk(20).magic(30).spd(1).build();
+    }
+
+    // 보스 1종만 있는 설정: 구간 3개(마지막은 항상 회복/실드 시도, 항상 스킬, 센 것부터)
+    private static EnemyAi compile(List<String> skills, String pick) {
+        EnemyAiConfig cfg = new EnemyAiConfig(
+                Map.of("boss", new EnemyTierAi(List.of(
+                        new EnemyAiPhase(100, 100, 0, pick),
+                        new EnemyAiPhase(60, 100, 0, pick),
+                        new EnemyAiPhase(30, 100, 100, "strongest")))),
+                Map.of(),
+                Map.of("시험 보스", new EnemySkillPool(skills, null)));
+        return EnemyAi.compile(cfg, Map.of("시험 보스", testBoss()), DATA.compiledSkills(), DATA.skillSets());
+    }
+
+    @Test
+    void bundledConfig_compilesWithoutProblems() {
+        assertEquals(List.of(), DATA.enemyAi().problems());
+
+        EnemyBrain dragon = DATA.enemyAi().brain("레드 드래곤");
+        assertEquals(3, dragon.phaseCount());
+        assertEquals(3, dragon.attackCount());
+        // 개별 목록이 없는 엘리트는 기존 적 스킬 하나
+        assertSame(EnemyMove.LEGACY_SKILL, DATA.enemyAi().brain("타락한 마도사").attack(0));
+    }
+
+    @Test
+    void emptyConfig_matchesLegacyPolicy() {
+        EnemyAi ai = EnemyAi.empty();
+        EnemyInstance enemy = new EnemyInstance(testBoss(), 1);
+        EnemyPolicy bound = ai.bind(enemy);
+        GameSession s = session();
+        Random a = new Random(11), b = new Random(11);
+
+        for (int i = 0; i < 2000; i++) {
+            enemy.setMp(i % 12);
+            EnemyMove m = bound.choose(enemy, s, a);
+            assertEquals(EnemyPolicy.DEFAULT.decide(enemy, s, b), m.action(), "turn " + i);
+            assertNull(m.skill());
+        }
+    }
+
+    @Test
+    void lowHpBoss_switchesPhase_supportsThenPicksStrongest() {
+        EnemyAi ai = compile(List.of("드래곤 크로우", "파이어 브레스", "보호막"), "random");
+        EnemyBrain brain = ai.brain("시험 보스");
+        assertEquals(0, brain.phaseAt(100));
+        assertEquals(1, brain.phaseAt(60));
+        assertEquals(2, brain.phaseAt(20));
+        assertEquals(2, brain.attackCount());
+        assertEquals(1, brain.supportCount());
+
+        EnemyInstance enemy = new EnemyInstance(testBoss(), 1);
+        enemy.setHp(enemy.getMaxHp() * 0.2);
+        GameSession s = session();
+        Random rng = new Random(3);
+
+        assertSame(brain.support(0), brain.choose(enemy, s, rng));
+        // 실드가 이미 있으면 공격 스킬 중 가장 센 것
+        enemy.setShield(10);
+        for (int i = 0; i < 50; i++) assertSame(brain.attack(0), brain.choose(enemy, s, rng));
+    }
+
+    @Test
+    void prefersSkillsThatApplyMissingStatus() {
+        EnemyAi ai = compile(List.of("드래곤 크로우", "비열한 일격"), "random");
+        EnemyBrain brain = ai.brain("시험 보스");
+        EnemyInstance enemy = new EnemyInstance(testBoss(), 1);
+        GameSession s = session();
+        Random rng = new Random(5);
+
+        for (int i = 0; i < 100; i++) assertEquals("비열한 일격", brain.choose(enemy, s, rng).skill().name());
+
+        // 이미 출혈이면 둘 다 후보
+        s.statuses().addStacks(StatusType.BLEED, 1);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) seen.add(brain.choose(enemy, s, rng).skill().name());
+        assertEquals(Set.of("드래곤 크로우", "비열한 일격"), seen);
+    }
+
+    @Test
+    void choose_doesNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx)
+                || !mx.isThreadAllocatedMemorySupported()) return;
+
+        EnemyPolicy brain = DATA.enemyAi().bind(new EnemyInstance(DATA.enemies().get("라미아 여왕"), 10));
+        EnemyInstance enemy = new EnemyInstance(DATA.enemies().get("라미아 여왕"), 10);
+        GameSession s = session();
+        Random rng = new Random(9);
+        int sink = 0;
+        for (int i = 0; i < 200_000; i++) sink += run(brain, enemy, s, rng, i);
+
+        long tid = Thread.currentThread().getId();
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 100_000; i++) sink += run(brain, enemy, s, rng, i);
+        long allocated = mx.getThreadAllocatedBytes(tid) - before;
+
+        assertTrue(sink > 0);
+        // 측정 자체(MXBean 호출)의 작은 할당만 허용
+        assertTrue(allocated < 1024, "할당 " + allocated + " bytes");
+    }
+
+    // HP/MP/상태를 돌려 가며 모든 구간과 분기를 지나게 한다
+    private static int run(EnemyPolicy brain, EnemyInstance enemy, GameSession s, Random rng, int i) {
+        enemy.setHp(enemy.getMaxHp() * (1 + i % 100) / 100.0);
+        enemy.setMp(i % 25);
+        enemy.setShield((i & 1) == 0 ? 0 : 5);
+        if (i % 7 == 0) s.statuses().addStacks(StatusType.POISON, 1);
+        if (i % 11 == 0) s.statuses().clearAll();
+        return brain.choose(enemy, s, rng).action().ordinal() + 1;
+    }
+}
@@ -0,0 +1,127 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.ChapterRepository;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.status.StatusType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FightEstimatorTest {
+
+    private static final GameData DATA = new DataLoader().loadAll();
+
+    @Test
+    void deterministicFight_isExact() {
+        // HeadlessBattleEngineTest 와 같은 싸움: 20 피해 x3 으로 HP 50 처치, 그 사이 적은 2번 공격(MP 0 이라 스킬 없음)
+        Player p = Player.builder()
+                .classes("테스트").level(1)
+                .maxHp(100).maxMp(50).atk(20).magic(30).def(0).mdef(0).spd(1)
+                .build();
+        GameSession s = GameSession.newSession(p, Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), new ChapterRepository(), "p");
+        EnemyInstance e = new EnemyInstance(Enemy.builder().name("허수아비").tier("minion").maxHp(50).atk(5).spd(1).build(), 1);
+
+        FightEstimate est = new FightEstimator().estimate(s, e, FightEstimator.Plan.ATTACK_ONLY);
+
+        assertEquals(1.0, est.win(), 1e-12);
+        assertEquals(3.0, est.avgRounds(), 1e-12);
+        assertEquals(0.9, est.avgHpLeftOnWin(), 1e-12);
+        assertEquals(1, est.states());
+    }
+
+    @Test
+    void matchesMonteCarlo_legacyEnemy() {
+        // (직업 인덱스, 플레이어 레벨, 적, 적 레벨, 적에게 미리 건 상태이상): 승패가 갈리는 근접한 조합 위주
+        Object[][] cells = {
+                {1, 4, "해를 가리는 자", 4, false},
+                {1, 6, "마신 듀브", 6, false},
+                {1, 6, "마신 실러캔스", 6, true},
+                {2, 12, "타락한 마도사", 12, true},
+        };
+        assertMatchesMonteCarlo(cells, EnemyPolicy.DEFAULT);
+    }
+
+    @Test
+    void matchesMonteCarlo_dataEnemyAi() {
+        // 보스 표(HP% 구간 3개, 회복/실드 스킬): 라미아 여왕(독, 재생), 메탈 드래곤(보호막). 기존 정책으로 계산하면 승률이 1 로 나온다
+        Object[][] cells = {
+                {1, 2, "라미아 여왕", 2, false},
+                {1, 8, "라미아 여왕", 8, false},
+                {1, 8, "메탈 드래곤", 8, false},
+                {3, 2, "메탈 드래곤", 2, true},
+        };
+        assertMatchesMonteCarlo(cells, null);
+    }
+
+    // enemyPolicy 는 엔진과 추정기에 같은 값을 넘긴다(null 이면 세션의 데이터 적 AI)
+    private static void assertMatchesMonteCarlo(Object[][] cells, EnemyPolicy enemyPolicy) {
+        int fights = 4000;
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(new Random(7), HeadlessBattleEngine.DEFAULT_MAX_ROUNDS, DATA.compiledSkills());
+        FightEstimator estimator = new FightEstimator(HeadlessBattleEngine.DEFAULT_MAX_ROUNDS, DATA.compiledSkills());
+        BattleStats stats = new BattleStats();
+
+        for (Object[] c : cells) {
+            for (FightEstimator.Plan plan : FightEstimator.Plan.values()) {
+                GameSession s = GameSession.newSession(DATA, DATA.playables().get((int) c[0] % DATA.playables().size()), "p", new GameRng(1));
+                s.setLevel((int) c[1]);
+                s.refreshKnownSkills();
+                Enemy def = DATA.enemies().get((String) c[2]);
+                assertNotNull(def, (String) c[2]);
+                int enemyLevel = (int) c[3];
+
+                s.setHp(s.getMaxHp());
+                s.setMp(s.getMaxMp());
+                boolean preset = (boolean) c[4];
+                FightEstimate est = estimator.estimate(s, enemy(def, enemyLevel, preset), plan, enemyPolicy);
+
+                PlayerPolicy policy = (plan == FightEstimator.Plan.ATTACK_ONLY) ? PlayerPolicy.attackOnly() : PlayerPolicy.firstAffordableSkill();
+                int wins = 0;
+                long rounds = 0;
+                for (int i = 0; i < fights; i++) {
+                    s.setHp(s.getMaxHp());
+                    s.setMp(s.getMaxMp());
+                    if (engine.fight(s, enemy(def, enemyLevel, preset), policy, enemyPolicy, null, stats) == BattleOutcome.WIN) wins++;
+                    rounds += stats.rounds();
+                }
+
+                String cell = c[2] + " " + plan + " " + est + " mc=" + wins;
+                assertEquals(1.0, est.win() + est.lose() + est.draw(), 1e-6, cell);
+                // 4000회 표본의 표준오차는 많아야 0.008
+                assertEquals((double) wins / fights, est.win(), 0.035, cell);
+                double mcRounds = (double) rounds / fights;
+                assertEquals(mcRounds, est.avgRounds(), 0.05 * mcRounds + 0.1, cell);
+            }
+        }
+    }
+
+    @Test
+    void unknownEnemyPolicy_isRejected() {
+        GameSession s = GameSession.newSession(DATA, DATA.playables().get(0), "p", new GameRng(1));
+        EnemyInstance e = new EnemyInstance(DATA.enemies().get("메탈 드래곤"), 1);
+        EnemyPolicy custom = (self, target, rng) -> EnemyAction.ATTACK;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new FightEstimator().estimate(s, e, FightEstimator.Plan.ATTACK_ONLY, custom));
+    }
+
+    // 도트/화상(피격 감소)/제어계(행동 불가) 경로를 함께 맞춰 보기 위한 시작 상태이상
+    private static EnemyInstance enemy(Enemy def, int level, boolean preset) {
+        EnemyInstance e = new EnemyInstance(def, level);
+        if (preset) {
+            e.statuses().addStacks(StatusType.BLEED, 2);
+            e.statuses().addStacks(StatusType.POISON, 3);
+            e.statuses().addStacks(StatusType.BURN, 4);
+            e.statuses().addStacks(StatusType.PARALYSIS, 2);
+        }
+        return e;
+    }
+}
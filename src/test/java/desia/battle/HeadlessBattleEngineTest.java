@@ -0,0 +1,61 @@
+package desia.battle;
+
+import desia.Character.Enemy;
+import desia.Character.EnemyInstance;
+import desia.Character.Player;
+import desia.progress.ChapterRepository;
+import desia.progress.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessBattleEngineTest {
+
+    private static GameSession session() {
+        Player p = Player.builder()
+                .classes("테스트").level(1)
+                .maxHp(100).maxMp(0).atk(20).def(0).mdef(0).spd(10)
+                .build();
+        return GameSession.newSession(p, Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), new ChapterRepository(), "p");
+    }
+
+    private static EnemyInstance dummy() {
+        Enemy e = Enemy.builder().name("허수아비").tier("minion").maxHp(50).atk(5).spd(1).build();
+        return new EnemyInstance(e, 1);
+    }
+
+    @Test
+    void attackOnly_winsInExpectedRounds_andFillsStats() {
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(new Random(1));
+        BattleStats stats = new BattleStats();
+        GameSession s = session();
+
+        // 플레이어 선공, 20 피해 x3 으로 적 HP 50 처치(초과 피해 포함 60). 적은 2번 공격(5 x2)
+        BattleOutcome o = engine.fight(s, dummy(), PlayerPolicy.attackOnly(), EnemyPolicy.DEFAULT, null, stats);
+
+        assertEquals(BattleOutcome.WIN, o);
+        assertEquals(3, stats.rounds());
+        assertEquals(60, stats.damageToEnemy());
+        assertEquals(10, stats.damageToPlayer());
+        assertEquals(90, stats.playerHpLeft());
+    }
+
+    @Test
+    void engineAndStats_areReusableAcrossFights() {
+        HeadlessBattleEngine engine = new HeadlessBattleEngine(new Random(7));
+        BattleStats stats = new BattleStats();
+        int[] finishes = new int[1];
+        BattleEventSink sink = new BattleEventSink() {
+            @Override public void onFinish(BattleOutcome outcome, int rounds) { finishes[0]++; }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            engine.fight(session(), dummy(), PlayerPolicy.attackOnly(), EnemyPolicy.DEFAULT, sink, stats);
+            assertEquals(3, stats.rounds());
+        }
+        assertEquals(10, finishes[0]);
+    }
+}
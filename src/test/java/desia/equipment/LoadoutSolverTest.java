@@ -0,0 +1,240 @@
+package desia.equipment;
+
+import desia.Character.EnemyInstance;
+import desia.battle.EnemyAction;
+import desia.battle.EnemyBrain;
+import desia.combat.DamageEngine;
+import desia.combat.DamageType;
+import desia.item.EquipmentDef;
+import desia.item.StatKey;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.skill.SkillOutcomeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static desia.progress.GameSession.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadoutSolverTest {
+
+    private static final List<String> SLOTS = List.of(SLOT_HELMET, SLOT_CHEST, SLOT_LEGS, SLOT_BOOTS,
+            SLOT_CLOAK, SLOT_RING1, SLOT_RING2, SLOT_WEAPON1, SLOT_WEAPON2);
+
+    private static double[] stats(GameSession s) {
+        return new double[]{s.getMaxHp(), s.getMaxMp(), s.getAtk(), s.getMagic(), s.getDef(), s.getMdef(),
+                s.getSpd(), s.getEquipBaseShield()};
+    }
+
+    private static double score(GameSession s, LoadoutObjective o, Map<String, Double> tags) {
+        double v = o.score(stats(s));
+        for (String t : s.activeSpecialTagsView()) v += tags.getOrDefault(t, 0.0);
+        return v;
+    }
+
+    // EquipmentService 의 장착 규칙 그대로: 양손은 무기1(무기2 비움), 방패는 무기2, 한손은 어느 쪽이든
+    private static boolean fits(String slotKey, EquipmentDef d) {
+        String slot = d.getSlot();
+        boolean twoHand = GameSession.isTwoHand(d);
+        return switch (slotKey) {
+            case SLOT_HELMET -> slot.equals("투구");
+            case SLOT_CHEST -> slot.equals("흉갑");
+            case SLOT_LEGS -> slot.equals("각반");
+            case SLOT_BOOTS -> slot.equals("부츠");
+            case SLOT_CLOAK -> slot.equals("망토");
+            case SLOT_RING1, SLOT_RING2 -> slot.equals("반지");
+            case SLOT_WEAPON1 -> twoHand || slot.contains("한손");
+            case SLOT_WEAPON2 -> !twoHand && (slot.equals("방패") || slot.contains("한손"));
+            default -> false;
+        };
+    }
+
+    private static GameSession sessionWith(GameData data, Map<String, Integer> inv) {
+        GameSession s = GameSession.newSession(data, data.playables().get(0), "p", new GameRng(3));
+        inv.forEach(s::addItem);
+        return s;
+    }
+
+    @Test
+    void matchesBruteForceOnSmallInventory() {
+        GameData data = new DataLoader().loadAll();
+        Map<String, List<String>> bySlot = new TreeMap<>();
+        for (String name : new TreeSet<>(data.equipments().keySet())) {
+            EquipmentDef d = data.equipments().get(name);
+            String kind = GameSession.isTwoHand(d) ? "양손" : d.getSlot();
+            bySlot.computeIfAbsent(kind, k -> new ArrayList<>()).add(name);
+        }
+        Map<String, Double> tags = Map.of("SET_LEATHER_4", 5.0, "SET_PLATE_4", 5.0);
+        LoadoutObjective objective = LoadoutObjective.weighted(Map.of(
+                StatKey.MAX_HP, 0.1, StatKey.ATTACK, 1.0, StatKey.DEFENSE, 1.5,
+                StatKey.SPEED, 2.0, StatKey.MAX_SHIELD, 0.05));
+
+        Random r = new Random(5);
+        for (int round = 0; round < 4; round++) {
+            // 종류마다 1~2개(세트 부위가 자주 섞이도록 같은 세트 이름을 섞는다), 반지/한손은 2개씩 가질 때도 있다
+            Map<String, Integer> inv = new TreeMap<>();
+            for (List<String> names : bySlot.values()) {
+                int n = 1 + r.nextInt(2);
+                for (int i = 0; i < n; i++) inv.merge(names.get(r.nextInt(names.size())), 1, Integer::sum);
+            }
+            GameSession s = sessionWith(data, inv);
+
+            Loadout got = new LoadoutSolver(objective, tags, LoadoutSolver.DEFAULT_MAX_NODES).solve(s);
+            assertTrue(got.complete());
+
+            double brute = bruteForce(s, inv, objective, tags);
+            assertEquals(brute, Math.max(got.score(), got.currentScore()), 1e-6, "round " + round);
+
+            // 찾은 조합을 실제로 끼면 같은 점수가 나온다
+            GameSession check = sessionWith(data, Map.of());
+            got.slots().forEach(check::setEquippedSlot);
+            if (got.improves()) assertEquals(got.score(), score(check, objective, tags), 1e-6);
+        }
+    }
+
+    // 슬롯 9칸을 모든 장비로 채워 보는 완전 탐색(세션에 직접 껴서 점수를 잰다)
+    private static double bruteForce(GameSession s, Map<String, Integer> inv, LoadoutObjective o, Map<String, Double> tags) {
+        double[] best = {score(s, o, tags)};
+        List<List<String>> options = new ArrayList<>();
+        for (String slotKey : SLOTS) {
+            List<String> opts = new ArrayList<>();
+            opts.add(null);
+            for (String name : inv.keySet()) if (fits(slotKey, s.equipmentDef(name))) opts.add(name);
+            options.add(opts);
+        }
+        enumerate(s, inv, o, tags, options, 0, new HashMap<>(), best);
+        return best[0];
+    }
+
+    private static void enumerate(GameSession s, Map<String, Integer> inv, LoadoutObjective o, Map<String, Double> tags,
+                                  List<List<String>> options, int i, Map<String, Integer> used, double[] best) {
+        if (i == SLOTS.size()) {
+            best[0] = Math.max(best[0], score(s, o, tags));
+            return;
+        }
+        String slotKey = SLOTS.get(i);
+        for (String name : options.get(i)) {
+            if (slotKey.equals(SLOT_WEAPON2) && name != null && s.isTwoHandEquipped()) continue;
+            if (name != null && used.getOrDefault(name, 0) >= inv.get(name)) continue;
+            if (name != null) used.merge(name, 1, Integer::sum);
+            s.setEquippedSlot(slotKey, name);
+            enumerate(s, inv, o, tags, options, i + 1, used, best);
+            s.setEquippedSlot(slotKey, null);
+            if (name != null) used.merge(name, -1, Integer::sum);
+        }
+    }
+
+    @Test
+    void largeInventory_solvesQuicklyAndRespectsHands() {
+        GameData data = new DataLoader().loadAll();
+        Map<String, Integer> inv = new TreeMap<>();
+        for (String name : data.equipments().keySet()) inv.put(name, 2);
+        GameSession s = sessionWith(data, inv);
+        assertTrue(inv.values().stream().mapToInt(Integer::intValue).sum() >= 100);
+
+        List<EnemyInstance> enemies = LoadoutSolver.chapterEnemies(s);
+        assertFalse(enemies.isEmpty());
+
+        for (LoadoutObjective objective : List.of(LoadoutObjective.effectiveHp(s, enemies),
+                LoadoutObjective.expectedDamage(enemies))) {
+            long t0 = System.nanoTime();
+            Loadout got = new LoadoutSolver(objective).solve(s);
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+
+            assertTrue(got.complete(), "노드 " + got.nodes());
+            assertTrue(got.improves());
+            assertTrue(ms < 2000, "느림: " + ms + "ms, 노드 " + got.nodes());
+
+            EquipmentDef w1 = s.equipmentDef(got.slots().get(SLOT_WEAPON1));
+            if (GameSession.isTwoHand(w1)) assertNull(got.slots().get(SLOT_WEAPON2));
+            got.slots().forEach((slotKey, name) -> assertTrue(fits(slotKey, s.equipmentDef(name)), slotKey + "=" + name));
+
+            GameSession check = sessionWith(data, Map.of());
+            got.slots().forEach(check::setEquippedSlot);
+            assertEquals(got.score(), objective.score(stats(check)), 1e-6);
+        }
+    }
+
+    @Test
+    void effectiveHp_followsTheEnemyBrain() {
+        GameData data = new DataLoader().loadAll();
+        GameSession s = sessionWith(data, Map.of());
+        s.setHp(s.getMaxHp());
+        s.setMp(s.getMaxMp());
+        List<EnemyInstance> enemies = LoadoutSolver.chapterEnemies(s);
+        assertFalse(enemies.isEmpty());
+
+        // 적마다 전투 시작 결정 표의 갈래를 그대로 따라 평균 피해를 구한다
+        double[] taken = {0};
+        boolean[] dataSkill = {false};
+        for (EnemyInstance e : enemies) {
+            EnemyBrain brain = EnemyBrain.of(s.enemyPolicy().bind(e));
+            assertNotNull(brain);
+            brain.openingBranches(e, (move, p) -> {
+                double dmg;
+                if (move.skill() != null) {
+                    dataSkill[0] = true;
+                    dmg = move.skill().targetsEnemy() ? SkillOutcomeCalculator.compute(move.skill(), e, s).damage() : 0;
+                } else if (move.action() == EnemyAction.ATTACK) {
+                    dmg = DamageEngine.mitigate(s, Math.max(1, e.getAtk()), DamageType.PHYSICAL);
+                } else {
+                    dmg = DamageEngine.mitigate(s, Math.max(1, e.getMagic()), DamageType.MAGIC);
+                }
+                taken[0] += p * dmg;
+            });
+        }
+        assertTrue(dataSkill[0], "데이터 스킬을 쓰는 적이 없다");
+
+        double expected = (s.getMaxHp() + s.getEquipBaseShield()) / (taken[0] / enemies.size());
+        assertEquals(expected, LoadoutObjective.effectiveHp(s, enemies).score(stats(s)), 1e-9);
+    }
+
+    @Test
+    void applyLoadout_keepsHpAndMp() {
+        GameData data = new DataLoader().loadAll();
+        // 최대 HP 를 올리는 장비 1개 + 반지 2개(반지만 바꾼다)
+        String hpGear = null;
+        List<String> rings = new ArrayList<>();
+        for (String name : new TreeSet<>(data.equipments().keySet())) {
+            EquipmentDef d = data.equipments().get(name);
+            if (d.getSlot().equals("반지")) {
+                if (rings.size() < 2) rings.add(name);
+            } else if (hpGear == null && !d.getSlot().contains("손") && d.getStats() != null && d.getStats().get(StatKey.MAX_HP) > 0) {
+                hpGear = name;
+            }
+        }
+        assertNotNull(hpGear);
+        assertEquals(2, rings.size());
+
+        GameSession s = sessionWith(data, Map.of(hpGear, 1, rings.get(0), 1, rings.get(1), 1));
+        String gearSlot = null;
+        for (String slotKey : SLOTS) if (fits(slotKey, s.equipmentDef(hpGear))) gearSlot = slotKey;
+        s.removeItem(hpGear, 1);
+        s.setEquippedSlot(gearSlot, hpGear);
+        s.removeItem(rings.get(0), 1);
+        s.setEquippedSlot(SLOT_RING1, rings.get(0));
+        s.setHp(s.getMaxHp());
+        s.setMp(s.getMaxMp());
+        double hp = s.getHp(), mp = s.getMp();
+
+        Map<String, String> next = new HashMap<>(s.equippedView());
+        next.put(SLOT_RING1, rings.get(1));
+        EquipmentService.applyLoadout(s, next);
+
+        assertEquals(rings.get(1), s.equippedItem(SLOT_RING1));
+        assertEquals(hpGear, s.equippedItem(gearSlot));
+        assertEquals(1, s.inventoryView().getOrDefault(rings.get(0), 0));
+        assertEquals(Math.min(hp, s.getMaxHp()), s.getHp(), 1e-9);
+        assertEquals(Math.min(mp, s.getMaxMp()), s.getMp(), 1e-9);
+        assertTrue(s.getHp() > s.getMaxHp() - s.equipmentDef(hpGear).getStats().get(StatKey.MAX_HP));
+    }
+}
@@ -0,0 +1,65 @@
+package desia.equipment;
+
+import desia.item.EquipmentDef;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LootTablesTest {
+
+    @Test
+    void aliasTable_followsWeights() {
+        AliasTable t = new AliasTable(new double[]{45, 40, 12, 3, 0});
+        Random r = new Random(1);
+        int[] hits = new int[t.size()];
+        int n = 200_000;
+        for (int i = 0; i < n; i++) hits[t.sample(r)]++;
+
+        assertEquals(0, hits[4], "가중치 0 인 칸이 뽑힘");
+        assertEquals(0.45, hits[0] / (double) n, 0.01);
+        assertEquals(0.40, hits[1] / (double) n, 0.01);
+        assertEquals(0.12, hits[2] / (double) n, 0.01);
+        assertEquals(0.03, hits[3] / (double) n, 0.005);
+    }
+
+    @Test
+    void rollDrop_noDuplicatesAndRespectsConfig() {
+        GameData data = new DataLoader().loadAll();
+        LootTables t = LootTables.of(data.equipments(), data.dropWeights());
+        Random r = new Random(7);
+
+        for (int i = 0; i < 2000; i++) {
+            List<EquipmentDef> picks = t.rollDrop(r, 1, 3, null);
+            assertEquals(3, picks.size());
+            Set<String> names = new HashSet<>();
+            for (EquipmentDef d : picks) {
+                assertTrue(names.add(d.getName()), "중복: " + d.getName());
+                // 챕터 1~2 는 LEGENDARY 가중치 0
+                assertNotEquals("LEGENDARY", d.getRarity());
+            }
+
+            for (EquipmentDef d : t.rollDrop(r, 4, 3, "드래곤")) assertEquals("드래곤", d.getSetName());
+        }
+
+        // 세트 크기보다 많이 달라고 하면 세트 전체(중복 없이)만 나온다
+        int dragon = 0;
+        for (EquipmentDef d : data.equipments().values()) if ("드래곤".equals(d.getSetName())) dragon++;
+        assertEquals(dragon, t.rollDrop(r, 4, dragon + 5, "드래곤").size());
+        assertEquals(List.of(), t.rollDrop(r, 4, 3, "없는 세트"));
+    }
+
+    @Test
+    void roll_isDeterministicForSeed() {
+        GameData data = new DataLoader().loadAll();
+        LootTables t = LootTables.of(data.equipments(), data.dropWeights());
+        assertEquals(t.rollShop(new Random(5), 4, 5), t.rollShop(new Random(5), 4, 5));
+        assertEquals(t.rollDrop(new Random(5), 6, 3, null), t.rollDrop(new Random(5), 6, 3, null));
+    }
+}
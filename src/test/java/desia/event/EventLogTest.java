@@ -0,0 +1,105 @@
+package desia.event;
+
+import desia.battle.BattleOutcome;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.status.StatusType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+
+    private static List<GameEvent> sample() {
+        StatusType st = StatusType.values()[0];
+        return List.of(
+                new GameEvent.BattleStarted("슬라임", 3, "끈적하다"),
+                new GameEvent.DamageDealt("p", "슬라임", true, GameEvent.Cause.ATTACK, 12.5, 0),
+                new GameEvent.DamageDealt("슬라임", "p", false, GameEvent.Cause.SKILL, 4, 2.25),
+                new GameEvent.DamageDealt(null, "슬라임", false, GameEvent.Cause.DOT, 3, 0),
+                new GameEvent.StatusApplied("슬라임", st, 2, 5),
+                new GameEvent.ItemUsed("p", "포션", true),
+                new GameEvent.LevelUp("p", 4, List.of("화염구", "치유")),
+                new GameEvent.DropOffered(null, List.of("철검", "가죽갑옷", "철검")),
+                new GameEvent.BattleEnded("슬라임", BattleOutcome.WIN));
+    }
+
+    @Test
+    void roundTripsEveryEventType() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EventLog log = new EventLog(bytes)) {
+            for (GameEvent e : sample()) log.on(e);
+        }
+
+        List<GameEvent> read = EventLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(sample(), read);
+    }
+
+    @Test
+    void rejectsForeignData() {
+        byte[] junk = {1, 2, 3, 4, 5};
+        assertThrows(java.io.IOException.class, () -> EventLog.read(new ByteArrayInputStream(junk)));
+    }
+
+    @Test
+    void busWithoutSinksIsInactiveAndDropsFailingSink() {
+        EventBus bus = new EventBus();
+        assertFalse(bus.active());
+
+        EventCounters counters = new EventCounters();
+        bus.add(counters);
+        bus.add(counters);
+        bus.add(e -> { throw new IllegalStateException("boom"); });
+        assertTrue(bus.active());
+
+        for (GameEvent e : sample()) bus.publish(e);
+
+        assertEquals(3, counters.count(GameEvent.DamageDealt.class));
+        assertEquals(12.5, counters.damageByPlayer(), 1e-9);
+        assertEquals(7.0, counters.otherDamage(), 1e-9);
+
+        bus.remove(counters);
+        assertFalse(bus.active());
+    }
+
+    @Test
+    void tapsAttachToNewSessions() {
+        GameData data = new DataLoader().loadAll();
+        assertFalse(GameSession.newSession(data, data.playables().get(0), "p", new GameRng(1)).events().active());
+
+        EventCounters counters = new EventCounters();
+        EventTaps.add(counters);
+        try {
+            EventBus bus = GameSession.newSession(data, data.playables().get(0), "p", new GameRng(1)).events();
+            assertTrue(bus.active());
+            for (GameEvent e : sample()) bus.publish(e);
+            assertEquals(3, counters.count(GameEvent.DamageDealt.class));
+        } finally {
+            EventTaps.remove(counters);
+        }
+    }
+
+    @Test
+    void textRendererKeepsBattleLines() {
+        List<String> lines = new ArrayList<>();
+        TextEventRenderer r = new TextEventRenderer(lines::add);
+        for (GameEvent e : sample()) r.on(e);
+
+        assertEquals(List.of(
+                "\n[전투] 슬라임",
+                "끈적하다",
+                "플레이어의 공격! 13 피해",
+                "\n슬라임의 스킬 공격!",
+                "실드 2 흡수 + HP 4 피해를 입었다.",
+                "\n[엔드] 슬라임 도트 피해: 3",
+                "\n[스킬 습득] 화염구, 치유",
+                "\n승리!"), lines);
+    }
+}
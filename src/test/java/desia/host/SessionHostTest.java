@@ -0,0 +1,148 @@
+package desia.host;
+
+import desia.loader.DataLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionHostTest {
+
+    // 라우터는 JVM 에 1번만 건다(다시 걸면 라우터 자신이 bind 안 된 출력이 된다)
+    static {
+        SessionConsole.install(System.out);
+    }
+
+    @Test
+    void sessionsOnOneConnection_getTheirOwnOutput() throws Exception {
+        SessionHost host = new SessionHost(new DataLoader().loadAll(), Files.createTempDirectory("desia-host"), 300, System.err);
+
+        PipedOutputStream toHost = new PipedOutputStream();
+        PipedInputStream hostIn = new PipedInputStream(toHost, 1 << 16);
+        PipedInputStream fromHost = new PipedInputStream(1 << 16);
+        PipedOutputStream hostOut = new PipedOutputStream(fromHost);
+        Thread conn = SessionHost.startThread("test-conn", new HostConnection(host, hostIn, hostOut, hostOut));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(fromHost, StandardCharsets.UTF_8));
+
+        send(toHost, "a OPEN");
+        send(toHost, "b OPEN");
+        List<String> a = readUntil(reader, "a WAIT", "b WAIT");
+        assertTrue(a.stream().anyMatch(l -> l.startsWith("a OUT [메인 메뉴]")), a.toString());
+        assertTrue(a.stream().anyMatch(l -> l.startsWith("b OUT [메인 메뉴]")), a.toString());
+
+        send(toHost, "bad/id OPEN");
+        send(toHost, "c IN 1");
+        List<String> errs = readUntil(reader, "c ERR");
+        assertTrue(errs.stream().anyMatch(l -> l.startsWith("- ERR")), errs.toString());
+
+        // 아직 게임을 시작하지 않은 세션은 저장할 것이 없다
+        send(toHost, "a CLOSE");
+        List<String> closed = readUntil(reader, "a EVICTED");
+        assertTrue(closed.contains("a EVICTED 진행 중인 게임 없음"), closed.toString());
+
+        toHost.close();
+        conn.join(5000);
+        host.shutdown();
+        assertEquals(0, host.sessionCount());
+    }
+
+    @Test
+    @Timeout(30) // 문구가 다른 곳으로 새면 readUntil 이 끝나지 않는다
+    void backgroundSaveMessage_reachesThePlayer() throws Exception {
+        SessionHost host = new SessionHost(new DataLoader().loadAll(), Files.createTempDirectory("desia-host"), 300, System.err);
+
+        PipedOutputStream toHost = new PipedOutputStream();
+        PipedInputStream hostIn = new PipedInputStream(toHost, 1 << 16);
+        PipedInputStream fromHost = new PipedInputStream(1 << 16);
+        PipedOutputStream hostOut = new PipedOutputStream(fromHost);
+        Thread conn = SessionHost.startThread("test-conn", new HostConnection(host, hostIn, hostOut, hostOut));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(fromHost, StandardCharsets.UTF_8));
+
+        send(toHost, "s OPEN");
+        readUntil(reader, "s WAIT");
+        // 새 게임 -> 첫 직업 -> 이름 -> 시작 스토리 [계속] -> 허브 [저장] -> 슬롯 1
+        for (String in : List.of("1", "1", "세이브", "", "5", "1")) {
+            send(toHost, "s IN " + in);
+            readUntil(reader, "s WAIT");
+        }
+
+        // 쓰기 스레드에서 끝난 저장 문구가 서버 stdout 이 아니라 이 세션의 OUT 으로 온다
+        List<String> saved = readUntil(reader, "s OUT 저장 완료: 슬롯 1");
+        assertFalse(saved.isEmpty());
+
+        send(toHost, "s CLOSE");
+        readUntil(reader, "s EVICTED");
+        toHost.close();
+        conn.join(5000);
+        host.shutdown();
+    }
+
+    @Test
+    @Timeout(30)
+    void closeMidAct_keepsTheSessionLive() throws Exception {
+        SessionHost host = new SessionHost(new DataLoader().loadAll(), Files.createTempDirectory("desia-host"), 300, System.err);
+
+        PipedOutputStream toHost = new PipedOutputStream();
+        PipedInputStream hostIn = new PipedInputStream(toHost, 1 << 16);
+        PipedInputStream fromHost = new PipedInputStream(1 << 16);
+        PipedOutputStream hostOut = new PipedOutputStream(fromHost);
+        Thread conn = SessionHost.startThread("test-conn", new HostConnection(host, hostIn, hostOut, hostOut));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(fromHost, StandardCharsets.UTF_8));
+
+        send(toHost, "s OPEN");
+        readUntil(reader, "s WAIT");
+        // 새 게임 -> 첫 직업 -> 이름 -> 시작 스토리 [계속] -> 허브 [진행]: 액트(전투/상점/스토리) 안에서 입력 대기
+        for (String in : List.of("1", "1", "도망", "", "1")) {
+            send(toHost, "s IN " + in);
+            readUntil(reader, "s WAIT");
+        }
+
+        // 액트 도중에 나가도 내리지 않는다(내리면 다시 OPEN 할 때 액트를 새로 굴린다)
+        send(toHost, "s CLOSE");
+        Thread.sleep(300);
+        assertEquals(1, host.sessionCount());
+
+        send(toHost, "s OPEN");
+        List<String> back = readUntil(reader, "s OUT [세션에 다시 연결했습니다]");
+        assertFalse(back.stream().anyMatch(l -> l.startsWith("s EVICTED")), back.toString());
+
+        toHost.close();
+        conn.join(5000);
+        host.shutdown();
+        assertEquals(0, host.sessionCount());
+    }
+
+    private static void send(OutputStream out, String line) throws Exception {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    // 주어진 접두어 줄이 모두 나올 때까지 읽는다
+    private static List<String> readUntil(BufferedReader r, String... prefixes) throws Exception {
+        List<String> seen = new ArrayList<>();
+        boolean[] hit = new boolean[prefixes.length];
+        int remaining = prefixes.length;
+        while (remaining > 0) {
+            String line = r.readLine();
+            assertNotNull(line, "연결이 먼저 닫혔다: " + seen);
+            seen.add(line);
+            for (int i = 0; i < prefixes.length; i++) {
+                if (!hit[i] && line.startsWith(prefixes[i])) {
+                    hit[i] = true;
+                    remaining--;
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,72 @@
+package desia.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicSaveWriterTest {
+
+    @Test
+    void write_rotatesBackupGenerations() throws Exception {
+        Path dir = Files.createTempDirectory("desia-save");
+        Path slot = dir.resolve("slot1.json");
+
+        for (int i = 1; i <= 4; i++) {
+            AtomicSaveWriter.writeAsync(slot, ("v" + i).getBytes(StandardCharsets.UTF_8), true).get();
+        }
+
+        assertEquals("v4", Files.readString(slot));
+        assertEquals("v3", Files.readString(AtomicSaveWriter.backupPath(slot, 1)));
+        assertEquals("v2", Files.readString(AtomicSaveWriter.backupPath(slot, 2)));
+        assertFalse(Files.exists(AtomicSaveWriter.backupPath(slot, 3)));
+        assertFalse(Files.exists(dir.resolve("slot1.json.tmp")));
+    }
+
+    @Test
+    void restore_leavesBackupsAlone() throws Exception {
+        Path dir = Files.createTempDirectory("desia-save");
+        Path slot = dir.resolve("slot2.json");
+
+        AtomicSaveWriter.writeAsync(slot, "good".getBytes(StandardCharsets.UTF_8), true);
+        AtomicSaveWriter.writeAsync(slot, "{broken".getBytes(StandardCharsets.UTF_8), true);
+        AtomicSaveWriter.writeAsync(slot, "good".getBytes(StandardCharsets.UTF_8), false);
+        AtomicSaveWriter.awaitPending();
+
+        assertEquals("good", Files.readString(slot));
+        assertEquals("good", Files.readString(AtomicSaveWriter.backupPath(slot, 1)));
+    }
+
+    @Test
+    void awaitPending_waitsOnlyForItsOwnFolder() throws Exception {
+        Path mine = Files.createTempDirectory("desia-save");
+        Path other = Files.createTempDirectory("desia-save");
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 다른 플레이어의 쓰기가 끝나지 않은 채로 있다
+        CompletableFuture<Path> stuck = AtomicSaveWriter.writeAsync(other.resolve("slot1.json"),
+                "other".getBytes(StandardCharsets.UTF_8), true, () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        AtomicSaveWriter.writeAsync(mine.resolve("slot1.json"), "mine".getBytes(StandardCharsets.UTF_8), true);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> AtomicSaveWriter.awaitPending(mine));
+        assertEquals("mine", Files.readString(mine.resolve("slot1.json")));
+        assertFalse(stuck.isDone());
+
+        release.countDown();
+        AtomicSaveWriter.awaitPending(other);
+        assertTrue(stuck.isDone());
+        assertEquals("other", Files.readString(other.resolve("slot1.json")));
+    }
+}
@@ -0,0 +1,66 @@
+package desia.loader;
+
+import desia.Character.Player;
+import desia.item.Consumables;
+import desia.item.StatKey;
+import desia.item.StatVector;
+import desia.progress.ChapterRepository;
+import desia.skill.SkillUnlockRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+
+    @Test
+    void loadAll_carriesEveryResource() {
+        GameData d = new DataLoader().loadAll();
+
+        assertFalse(d.playables().isEmpty());
+        assertFalse(d.enemies().isEmpty());
+        assertFalse(d.equipments().isEmpty());
+        assertFalse(d.equipmentSets().isEmpty());
+        assertEquals(d.skills().size(), d.compiledSkills().size());
+
+        assertEquals(new ChapterRepository().all().size(), d.chapters().all().size());
+        assertNotNull(d.story().getText("game.start"));
+        assertFalse(d.skillSets().rawSets().isEmpty());
+        assertEquals(List.of(), GameDataValidator.statKeyProblems(d));
+    }
+
+    @Test
+    void sharedUnlockRules_matchStandaloneRepository() {
+        GameData d = new DataLoader().loadAll();
+        SkillUnlockRepository standalone = new SkillUnlockRepository();
+
+        for (Player p : d.playables()) {
+            for (int lv = 1; lv <= 60; lv += 7) {
+                assertEquals(standalone.knownSkillsUpTo(p.getClasses(), lv),
+                        d.skillUnlocks().knownSkillsUpTo(p.getClasses(), lv), p.getClasses() + " lv" + lv);
+            }
+        }
+    }
+
+    @Test
+    void consumablePermanentStats_resolvedOnceAtLoad() throws Exception {
+        GameData d = new DataLoader().loadAll();
+
+        int perm = 0;
+        for (Consumables c : d.consumables().values()) {
+            if (!"PERM_STATS".equals(c.getEffectType())) continue;
+            perm++;
+            assertSame(c.permanentStats(), c.permanentStats(), c.getName());
+            assertFalse(c.permanentStats().isZero(), c.getName());
+        }
+        assertTrue(perm > 0);
+
+        // 필드에 없는 키(오타)는 버려지지 않고 로드 때 보고된다
+        Consumables typo = DataLoader.mapper().readValue(
+                "{\"name\":\"x\",\"effectType\":\"PERM_STATS\",\"attack\":3,\"atk\":2}", Consumables.class);
+        StatVector v = typo.resolvePermanentStats();
+        assertEquals(List.of("attack"), v.unknownKeys());
+        assertEquals(2, v.get(StatKey.ATTACK));
+    }
+}
@@ -0,0 +1,61 @@
+package desia.loader;
+
+import desia.Character.Enemy;
+import desia.item.EquipmentDef;
+import desia.skill.SkillDef;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameDataSnapshotTest {
+
+    @Test
+    void roundTrip_preservesDefinitions() throws Exception {
+        DataLoader loader = new DataLoader();
+        GameData json = loader.loadAllFromJson(false);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        GameDataSnapshot.write(json, loader.resourceFingerprint(), bos);
+        GameData snap = GameDataSnapshot.read(new ByteArrayInputStream(bos.toByteArray()));
+
+        assertEquals(json.playables().size(), snap.playables().size());
+        assertEquals(json.enemies().keySet(), snap.enemies().keySet());
+        assertEquals(json.consumables().keySet(), snap.consumables().keySet());
+        assertEquals(json.skills().keySet(), snap.skills().keySet());
+        assertEquals(json.compiledSkills().keySet(), snap.compiledSkills().keySet());
+        assertEquals(json.equipments().keySet(), snap.equipments().keySet());
+        assertEquals(json.equipmentSets().keySet(), snap.equipmentSets().keySet());
+        assertEquals(json.chapters().all().size(), snap.chapters().all().size());
+        assertEquals(json.story().raw(), snap.story().raw());
+        assertEquals(json.skillSets().rawSets(), snap.skillSets().rawSets());
+        assertEquals(json.dropWeights().getDrop().getBands().size(), snap.dropWeights().getDrop().getBands().size());
+        assertEquals(json.dropWeights().getShop().getBands().get(0).getWeights(),
+                snap.dropWeights().getShop().getBands().get(0).getWeights());
+        assertEquals(json.dropWeights().getDrop().getUniformSets(), snap.dropWeights().getDrop().getUniformSets());
+
+        for (Enemy e : json.enemies().values()) {
+            Enemy s = snap.enemies().get(e.getName());
+            assertEquals(e.getDescription(), s.getDescription());
+            assertEquals(e.getBaseLevel(), s.getBaseLevel());
+            assertEquals(e.getMaxHp(), s.getMaxHp());
+            assertEquals(e.getGrowthSpd(), s.getGrowthSpd());
+        }
+        for (EquipmentDef e : json.equipments().values()) {
+            EquipmentDef s = snap.equipments().get(e.getName());
+            assertEquals(e.getSlot(), s.getSlot());
+            assertEquals(e.getSetName(), s.getSetName());
+            assertEquals(e.getStats(), s.getStats());
+        }
+        for (String name : json.skills().keySet()) {
+            SkillDef a = json.skills().get(name);
+            SkillDef b = snap.skills().get(name);
+            assertEquals(a.getMpCost(), b.getMpCost());
+            assertEquals(a.getComponents().size(), b.getComponents().size());
+            assertEquals(a.getStatusEffects().size(), b.getStatusEffects().size());
+            assertEquals(a.getSpecial(), b.getSpecial());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package desia.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveIndexTest {
+
+    private static void writeSave(Path file, String cls, int level) throws Exception {
+        SaveData d = SaveData.builder().playerClass(cls).playerName("t").level(level).chapter(1).act(2).gold(10).build();
+        Files.write(file, DataLoader.mapper().writeValueAsBytes(d));
+    }
+
+    @Test
+    void list_readsFixturesAndRefreshesChangedSlots() throws Exception {
+        Path dir = Files.createTempDirectory("desia-index");
+        SaveIndex index = SaveIndex.of(dir);
+        for (int slot = 1; slot <= 250; slot++) writeSave(index.slotPath(slot), "전사", slot);
+        Files.writeString(index.slotPath(7), "{broken");
+
+        List<SaveSlotMeta> metas = index.list();
+        assertEquals(250, metas.size());
+        assertEquals(250, metas.get(249).getSlot());
+        assertEquals(250, metas.get(249).getLevel());
+        assertNull(metas.get(6).getPlayerClass());
+        assertTrue(Files.exists(dir.resolve(SaveIndex.FILE)));
+
+        // 크기가 바뀐 슬롯만 다시 읽는다
+        writeSave(index.slotPath(3), "마법사", 42);
+        SaveSlotMeta m3 = index.list().get(2);
+        assertEquals("마법사", m3.getPlayerClass());
+        assertEquals(42, m3.getLevel());
+    }
+
+    @Test
+    void list_fallsBackToBackupSummary() throws Exception {
+        Path dir = Files.createTempDirectory("desia-index");
+        SaveIndex index = SaveIndex.of(dir);
+        Path main = index.slotPath(1);
+        writeSave(AtomicSaveWriter.backupPath(main, 1), "궁수", 5);
+        Files.writeString(main, "");
+
+        SaveSlotMeta m = index.list().get(0);
+        assertEquals("궁수", m.getPlayerClass());
+        assertEquals(1, m.getBackup());
+    }
+}
@@ -0,0 +1,64 @@
+package desia.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void bucketsCoverTheirOwnValues() {
+        for (long v : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789L, Long.MAX_VALUE / 3}) {
+            int idx = Histogram.index(v);
+            assertTrue(idx < Histogram.BUCKETS, "index " + idx);
+            assertTrue(Histogram.upperBound(idx) >= v, "v=" + v);
+            if (idx > 0) assertTrue(Histogram.upperBound(idx - 1) < v, "v=" + v);
+        }
+    }
+
+    @Test
+    void quantilesStayWithinBucketError() {
+        Histogram h = new Histogram(true);
+        for (int v = 1; v <= 1000; v++) h.record(v);
+
+        Histogram.Snapshot s = h.snapshot();
+        assertEquals(1000, s.count());
+        assertEquals(1, s.min());
+        assertEquals(1000, s.max());
+        assertEquals(500.5, s.mean(), 1e-9);
+        assertEquals(500, s.p50(), 500 * 0.125);
+        assertEquals(990, s.p99(), 990 * 0.125);
+        assertTrue(s.p99() <= s.max());
+    }
+
+    @Test
+    void disabledInstrumentsRecordNothing() {
+        Histogram h = new Histogram(false);
+        h.record(5);
+        assertEquals(0, h.snapshot().count());
+
+        Timer t = new Timer(false);
+        assertEquals(0, t.stop(t.start()));
+        assertEquals(0, t.snapshot().count());
+    }
+
+    @Test
+    void registryReturnsSameInstanceAndRejectsKindClash() {
+        Counter c = Metrics.counter("test.registry.counter");
+        assertSame(c, Metrics.counter("test.registry.counter"));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.timer("test.registry.counter"));
+
+        c.add(3);
+        Metrics.timer("test.registry.timer").recordNanos(2_000_000);
+        Map<String, Object> snap = Metrics.snapshot();
+        if (Metrics.ENABLED) {
+            assertEquals(3L, snap.get("test.registry.counter"));
+            Map<?, ?> timer = (Map<?, ?>) snap.get("test.registry.timer");
+            assertEquals(1L, timer.get("count"));
+            assertEquals("us", timer.get("unit"));
+            assertEquals(2000.0, (Double) timer.get("max"), 2000 * 0.125);
+        }
+    }
+}
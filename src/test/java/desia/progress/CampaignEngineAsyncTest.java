@@ -0,0 +1,159 @@
+package desia.progress;
+
+import desia.io.AsyncIo;
+import desia.io.Io;
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.story.StoryService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampaignEngineAsyncTest {
+
+    private static final GameData DATA = new DataLoader().loadAll();
+
+    // 블로킹 Io: 어떤 입력 메서드든 불리면 실패로 센다
+    private static final class TripwireIo implements Io {
+        final List<String> calls = new ArrayList<>();
+
+        private <T> T fail(String what) {
+            calls.add(what);
+            throw new AssertionError("비동기 흐름에서 블로킹 Io." + what + " 호출");
+        }
+
+        @Override public int readInt(String prompt, int userChoices) { return fail("readInt"); }
+        @Override public int readIntAllowZero(String prompt, int max) { return fail("readIntAllowZero"); }
+        @Override public int choose(String prompt, List<String> options) { return fail("choose"); }
+        @Override public int chooseAllowCancel(String prompt, List<String> options, String cancelLabel) { return fail("chooseAllowCancel"); }
+        @Override public String readNonEmptyString(String prompt, int maxLen) { return fail("readNonEmptyString"); }
+        @Override public void anythingToContinue() { fail("anythingToContinue"); }
+        @Override public boolean confirmExit() { return fail("confirmExit"); }
+    }
+
+    // 입력마다 미완료 future 를 내주고 무엇을 기다리는지 기록한다. 블로킹 경로는 전부 막는다.
+    private static final class ScriptedIo implements AsyncIo {
+        final TripwireIo blocking = new TripwireIo();
+        final Deque<CompletableFuture<Object>> pending = new ArrayDeque<>();
+        final List<String> waits = new ArrayList<>();
+        int blockingCalls = 0;
+
+        @Override
+        public CompletionStage<Integer> chooseAsync(String prompt, List<String> options) {
+            return push("choose");
+        }
+
+        @Override
+        public CompletionStage<Integer> chooseAllowCancelAsync(String prompt, List<String> options, String cancelLabel) {
+            return push("chooseAllowCancel");
+        }
+
+        @Override
+        public CompletionStage<String> readNonEmptyStringAsync(String prompt, int maxLen) {
+            return push("read");
+        }
+
+        @Override
+        public CompletionStage<Void> continueAsync() {
+            return push("continue");
+        }
+
+        @Override
+        public Io blocking() {
+            return blocking;
+        }
+
+        @Override
+        public <T> CompletionStage<T> callBlocking(Supplier<T> body) {
+            blockingCalls++;
+            return CompletableFuture.failedFuture(new AssertionError("이 시나리오에는 블로킹 화면이 없다"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> CompletionStage<T> push(String what) {
+            assertTrue(pending.isEmpty(), "입력은 한 번에 하나만 기다린다");
+            waits.add(what);
+            CompletableFuture<Object> f = new CompletableFuture<>();
+            pending.add(f);
+            return (CompletionStage<T>) f;
+        }
+
+        // 메뉴는 answer, 그 외 선택은 1, [계속]은 null 로 답한다
+        void drive(CompletableFuture<Void> result, int answer) {
+            int guard = 0;
+            while (!result.isDone()) {
+                assertEquals(1, pending.size(), "입력 없이 멈췄다: " + waits);
+                String what = waits.get(waits.size() - 1);
+                pending.poll().complete(what.equals("continue") ? null : (waits.size() == 1 ? answer : 1));
+                assertTrue(++guard < 1000, "끝나지 않는다: " + waits);
+            }
+        }
+    }
+
+    private static GameSession session() {
+        return GameSession.newSession(DATA, DATA.playables().get(0), "p", new GameRng(1));
+    }
+
+    private static CompletableFuture<Void> start(ScriptedIo io, GameSession s) {
+        StoryService story = new StoryService(io.blocking(), DATA.story());
+        return new CampaignEngine(io, story).runAsync(s);
+    }
+
+    @Test
+    void gameClear_waitsForContinueAsync() {
+        ScriptedIo io = new ScriptedIo();
+        GameSession s = session();
+        s.setChapter(DATA.chapters().maxChapterId() + 1);
+
+        CompletableFuture<Void> result = start(io, s);
+
+        // 클리어 문구를 띄우고 [계속]을 기다리는 중(스레드 없이)
+        assertFalse(result.isDone());
+        assertEquals(List.of("continue"), io.waits);
+
+        io.drive(result, 1);
+        result.join();
+        assertEquals(List.of(), io.blocking.calls);
+    }
+
+    @Test
+    void bossAct_storyThenFight_neverBlocks() {
+        ScriptedIo io = new ScriptedIo();
+        GameSession s = session();
+        s.setAct(12);
+        s.setHp(1); // 보스에게 지고 끝나도록: 드랍(블로킹 화면) 없이 끝까지 간다
+
+        CompletableFuture<Void> result = start(io, s);
+        io.drive(result, 1); // [메뉴] 진행
+
+        result.join();
+        // 허브 메뉴 -> 보스 스토리 [계속] -> 전투 입력
+        assertEquals(List.of("choose", "continue"), io.waits.subList(0, 2));
+        assertTrue(io.waits.size() > 2, "전투 입력이 없다: " + io.waits);
+        assertEquals(List.of(), io.blocking.calls);
+        assertEquals(0, io.blockingCalls);
+        assertTrue(s.getHp() <= 0);
+    }
+
+    @Test
+    void statusScreen_thenMainMenu_neverBlocks() {
+        ScriptedIo io = new ScriptedIo();
+        CompletableFuture<Void> result = start(io, session());
+
+        io.pending.poll().complete(2); // 스테이터스
+        io.pending.poll().complete(null); // [계속]
+        io.pending.poll().complete(6); // 메인메뉴
+
+        result.join();
+        assertEquals(List.of("choose", "continue", "choose"), io.waits);
+        assertEquals(List.of(), io.blocking.calls);
+    }
+}
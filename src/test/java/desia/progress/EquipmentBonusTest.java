@@ -0,0 +1,79 @@
+package desia.progress;
+
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentBonusTest {
+
+    private static final List<String> SLOTS = List.of(
+            GameSession.SLOT_HELMET, GameSession.SLOT_CHEST, GameSession.SLOT_LEGS, GameSession.SLOT_BOOTS,
+            GameSession.SLOT_CLOAK, GameSession.SLOT_RING1, GameSession.SLOT_RING2,
+            GameSession.SLOT_WEAPON1, GameSession.SLOT_WEAPON2);
+
+    private static double[] snapshot(GameSession s) {
+        return new double[]{s.getMaxHp(), s.getMaxMp(), s.getAtk(), s.getMagic(), s.getDef(), s.getMdef(),
+                s.getSpd(), s.getEquipBaseShield()};
+    }
+
+    @Test
+    void incrementalEquip_matchesFullRecalc() {
+        GameData data = new DataLoader().loadAll();
+        GameSession s = GameSession.newSession(data, data.playables().get(0), "p", new GameRng(3));
+
+        // 세트 구간이 자주 켜지고 꺼지도록 세트 부위 이름을 한 번 더 넣는다
+        List<String> names = new ArrayList<>(new TreeSet<>(data.equipments().keySet()));
+        for (var set : new TreeSet<>(data.equipmentSets().keySet())) {
+            for (String piece : data.equipmentSets().get(set).getPieces()) {
+                if (data.equipments().containsKey(piece)) names.add(piece);
+            }
+        }
+        names.add(null);
+        Random r = new Random(11);
+        int withTags = 0;
+
+        for (int i = 0; i < 2000; i++) {
+            s.setEquippedSlot(SLOTS.get(r.nextInt(SLOTS.size())), names.get(r.nextInt(names.size())));
+            if (i % 50 != 0) continue;
+
+            double[] inc = snapshot(s);
+            Set<String> incTags = Set.copyOf(s.activeSpecialTagsView());
+            s.recalcEquipmentBonuses();
+            assertSameStats(snapshot(s), inc, "step " + i);
+            assertEquals(Set.copyOf(s.activeSpecialTagsView()), incTags);
+            if (!incTags.isEmpty()) withTags++;
+        }
+        assertTrue(withTags > 0, "세트 구간이 한 번도 켜지지 않음");
+    }
+
+    @Test
+    void derivedStats_followLevelAndPermanentBonuses() {
+        GameData data = new DataLoader().loadAll();
+        GameSession s = GameSession.newSession(data, data.playables().get(0), "p", new GameRng(3));
+
+        double hp1 = s.getMaxHp();
+        int v1 = s.statsVersion();
+        assertEquals(hp1, s.getMaxHp());
+        assertEquals(v1, s.statsVersion(), "조회만으로 버전이 바뀌면 안 됨");
+
+        s.addPermanentStats(7, 0, 2, 0, 0, 0, 0);
+        assertEquals(hp1 + 7, s.getMaxHp());
+        assertTrue(s.statsVersion() != v1);
+
+        double atk = s.getAtk();
+        s.setLevel(s.getLevel() + 3);
+        assertEquals(atk + 3 * data.playables().get(0).getGrowthAtk(), s.getAtk(), 0.5 + 1e-9);
+    }
+
+    private static void assertSameStats(double[] e, double[] a, String m) {
+        for (int i = 0; i < e.length; i++) assertEquals(e[i], a[i], m + " #" + i);
+    }
+}
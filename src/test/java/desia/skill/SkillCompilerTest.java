@@ -0,0 +1,90 @@
+package desia.skill;
+
+import desia.combat.DamageType;
+import desia.loader.DataLoader;
+import desia.metrics.Metrics;
+import desia.testutil.DummyCombatant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillCompilerTest {
+
+    @Test
+    void skillsJson_compilesWithOnlyKnownUnsupportedKinds() throws Exception {
+        Map<String, SkillDef> defs = new DataLoader().loadSkillMap();
+        SkillCompiler.Result r = SkillCompiler.compileAll(defs);
+
+        assertEquals(defs.size(), r.skills().size());
+        // 현재 데이터에서 미지원인 것은 summon 컴포넌트뿐이어야 한다.
+        for (String p : r.problems()) {
+            assertTrue(p.contains("summon"), p);
+        }
+    }
+
+    @Test
+    void compile_resolvesStringsOnce() {
+        SkillDef def = new SkillDef();
+        def.setTarget(" Enemy ");
+        def.setMpCost(-3);
+        def.setComponents(List.of(new SkillComponent("DAMAGE", "Magic",
+                List.of(new SkillTerm("self_magic", 1.5), new SkillTerm("constant", 4), new SkillTerm("??", 9)))));
+        def.setStatusEffects(List.of(new SkillStatusEffect("Poison", "enemy", 1.0, 0)));
+
+        CompiledSkill cs = SkillCompiler.compile("테스트", def);
+
+        assertTrue(cs.targetsEnemy());
+        assertEquals(0, cs.mpCost());
+        assertEquals(CompiledSkill.Kind.DAMAGE, cs.kind(0));
+        assertEquals(DamageType.MAGIC, cs.damageType(0));
+        assertEquals(1, cs.effectCount());
+        assertEquals(1, cs.effectStacks(0)); // 최소 1스택
+    }
+
+    @Test
+    void cast_usesFlattenedTerms() {
+        SkillDef def = new SkillDef();
+        def.setTarget("enemy");
+        def.setComponents(List.of(new SkillComponent("damage", "physical",
+                List.of(new SkillTerm("self_attack", 1.25), new SkillTerm("constant", 5)))));
+
+        DummyCombatant caster = new DummyCombatant("c").atk(20);
+        DummyCombatant target = new DummyCombatant("t").hp(100).def(10);
+
+        SkillCastResult r = new SkillEngine(new Random(1)).cast("베기", def, caster, target);
+
+        // 20*1.25 + 5 = 30, 방어 10*0.5 감산 -> 25
+        assertTrue(r.isSpentTurn());
+        assertEquals(75, target.getHp());
+    }
+
+    @Test
+    void castTimers_sampleEachSkillEvenWhenAlternating() {
+        SkillDef a = oneDamage();
+        SkillDef b = oneDamage();
+        DummyCombatant caster = new DummyCombatant("c");
+        DummyCombatant target = new DummyCombatant("t").maxHp(1_000_000).hp(1_000_000);
+        SkillEngine engine = new SkillEngine(new Random(1));
+
+        // 두 스킬을 번갈아 32번씩: 스킬마다 1번째, 17번째 시전을 잰다
+        for (int i = 0; i < 32; i++) {
+            engine.cast("교대 샘플 A", a, caster, target);
+            engine.cast("교대 샘플 B", b, caster, target);
+        }
+
+        if (!Metrics.ENABLED) return;
+        assertEquals(2, Metrics.timer("skill.cast.교대 샘플 A").snapshot().count());
+        assertEquals(2, Metrics.timer("skill.cast.교대 샘플 B").snapshot().count());
+    }
+
+    private static SkillDef oneDamage() {
+        SkillDef def = new SkillDef();
+        def.setTarget("enemy");
+        def.setComponents(List.of(new SkillComponent("damage", "physical", List.of(new SkillTerm("constant", 1)))));
+        return def;
+    }
+}
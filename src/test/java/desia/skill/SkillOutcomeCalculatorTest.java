@@ -0,0 +1,100 @@
+package desia.skill;
+
+import desia.loader.DataLoader;
+import desia.loader.GameData;
+import desia.progress.GameRng;
+import desia.progress.GameSession;
+import desia.status.StatusType;
+import desia.testutil.DummyCombatant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillOutcomeCalculatorTest {
+
+    private static final GameData DATA = new DataLoader().loadAll();
+
+    private static DummyCombatant caster() {
+        return new DummyCombatant("c").atk(30).magic(40).def(5).maxHp(100).hp(70).maxMp(999).mp(999);
+    }
+
+    @Test
+    void expectedDamage_matchesActualCast_forEveryBundledSkill() {
+        SkillEngine engine = new SkillEngine(new Random(1), DATA.compiledSkills());
+        for (Map.Entry<String, CompiledSkill> e : DATA.compiledSkills().entrySet()) {
+            CompiledSkill skill = e.getValue();
+            if (!skill.targetsEnemy()) continue;
+            DummyCombatant target = new DummyCombatant("t").maxHp(10_000).hp(10_000).def(12).mdef(8);
+
+            SkillOutcome o = SkillOutcomeCalculator.compute(skill, caster(), target);
+            assertTrue(engine.castQuiet(skill, caster(), target), e.getKey());
+            assertEquals(10_000 - target.getHp(), o.damage(), 1e-9, e.getKey());
+        }
+    }
+
+    @Test
+    void statusChance_combinesRepeatedEffects() {
+        SkillDef def = new SkillDef();
+        def.setTarget("enemy");
+        def.setComponents(List.of());
+        def.setStatusEffects(List.of(
+                new SkillStatusEffect("bleed", "enemy", 0.5, 1),
+                new SkillStatusEffect("bleed", "enemy", 0.5, 2),
+                new SkillStatusEffect("paralysis", "ally", 0.2, 1)));
+        CompiledSkill skill = SkillCompiler.compile("시험", def);
+
+        SkillOutcome o = SkillOutcomeCalculator.compute(skill, caster(), new DummyCombatant("t"));
+        assertEquals(0.75, o.statusChance(StatusType.BLEED), 1e-9);
+        assertEquals(1.5, o.expectedStacks(StatusType.BLEED), 1e-9);
+        assertEquals(0.2, o.selfStatusChance(StatusType.PARALYSIS), 1e-9);
+        assertEquals(0.0, o.statusChance(StatusType.PARALYSIS));
+        assertEquals("BLEED 75%", o.summary());
+    }
+
+    @Test
+    void cache_hitsUntilStatsVersionChanges() {
+        SkillOutcomeCalculator calc = new SkillOutcomeCalculator(4);
+        GameSession s = GameSession.newSession(DATA, DATA.playables().get(0), "p", new GameRng(1));
+        s.setLevel(5);
+        CompiledSkill skill = DATA.compiledSkills().get("파이어 브레스");
+        DummyCombatant target = new DummyCombatant("t").mdef(4);
+
+        SkillOutcome first = calc.outcome(skill, s, target);
+        // HP/MP 변화는 스탯 버전을 바꾸지 않는다
+        s.setMp(0);
+        assertSame(first, calc.outcome(skill, s, target));
+
+        s.setLevel(12);
+        SkillOutcome after = calc.outcome(skill, s, target);
+        assertNotSame(first, after);
+        assertTrue(after.damage() > first.damage());
+        assertEquals(2, calc.size());
+
+        // 용량을 넘으면 가장 오래 안 쓴 것부터 버린다
+        for (int i = 0; i < 4; i++) calc.outcome(skill, s, new DummyCombatant("x" + i));
+        assertEquals(4, calc.size());
+        assertNotSame(after, calc.outcome(skill, s, target));
+    }
+
+    @Test
+    void hpTermSkill_isKeyedOnCurrentHp() {
+        SkillDef def = new SkillDef();
+        def.setTarget("enemy");
+        def.setComponents(List.of(new SkillComponent("damage", "true",
+                List.of(new SkillTerm("target_missing_hp", 0.5)))));
+        CompiledSkill skill = SkillCompiler.compile("처형", def);
+        SkillOutcomeCalculator calc = new SkillOutcomeCalculator();
+        DummyCombatant target = new DummyCombatant("t").maxHp(100).hp(100);
+
+        assertEquals(1, calc.outcome(skill, caster(), target).damage(), 1e-9); // 최소 1
+        DummyCombatant c = caster();
+        SkillOutcome full = calc.outcome(skill, c, target);
+        target.setHp(40);
+        assertNotSame(full, calc.outcome(skill, c, target));
+        assertEquals(30, calc.outcome(skill, c, target).damage(), 1e-9);
+    }
+}
@@ -0,0 +1,45 @@
+package desia.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusContainerTest {
+
+    @Test
+    void activeMask_tracksNonZeroStacks() {
+        StatusContainer st = new StatusContainer();
+        assertEquals(0, st.activeMask());
+
+        st.addStacks(StatusType.FREEZE, 2);
+        st.addStacks(StatusType.POISON, 1);
+        assertEquals(StatusContainer.bit(StatusType.FREEZE) | StatusContainer.bit(StatusType.POISON), st.activeMask());
+
+        st.reduceStacks(StatusType.FREEZE, 1);
+        assertTrue(st.has(StatusType.FREEZE));
+        st.reduceStacks(StatusType.FREEZE, 5);
+        assertFalse(st.has(StatusType.FREEZE));
+        assertEquals(0, st.getStacks(StatusType.FREEZE));
+
+        st.clearAll();
+        assertEquals(0, st.activeMask());
+    }
+
+    @Test
+    void snapshot_isCachedUntilChanged() {
+        StatusContainer st = new StatusContainer();
+        st.addStacks(StatusType.BLEED, 3);
+
+        Map<StatusType, Integer> a = st.snapshot();
+        assertSame(a, st.snapshot());
+        assertEquals(Map.of(StatusType.BLEED, 3), a);
+
+        st.addStacks(StatusType.BLEED, 1);
+        Map<StatusType, Integer> b = st.snapshot();
+        assertEquals(Map.of(StatusType.BLEED, 4), b);
+        assertEquals(Map.of(StatusType.BLEED, 3), a); // 이전 스냅샷은 불변
+        assertThrows(UnsupportedOperationException.class, () -> b.put(StatusType.BURN, 1));
+    }
+}